@@ -0,0 +1,41 @@
+package src.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import src.model.InventoryItem;
+
+public class BenchmarkCatalog {
+
+    // Item types used for the generated catalog
+    static final String[] TYPES = { "Vases", "Table Runners", "Greeneries" };
+
+    // Words item names are built from
+    private static final String[] WORDS = { "Crystal", "Gold", "Rustic", "Ivory", "Lace", "Silk", "Eucalyptus",
+            "Garland", "Centerpiece", "Bud", "Cylinder", "Satin", "Burlap", "Fern", "Boxwood" };
+
+    // Fixed seed so every run benchmarks the same catalog
+    private static final long SEED = 20240501L;
+
+    /**
+     * Generates a catalog of items with unique item numbers, random names built
+     * from a small vocabulary, and creation dates spread over about three years.
+     *
+     * @param itemCount The number of items to generate.
+     * @return The generated items.
+     */
+    static List<InventoryItem> generateItems(int itemCount) {
+        Random random = new Random(SEED);
+        LocalDate firstDate = LocalDate.of(2021, 1, 1);
+        List<InventoryItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            String itemName = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " "
+                    + random.nextInt(1000);
+            items.add(new InventoryItem(itemName, 1 + random.nextInt(500), i, TYPES[random.nextInt(TYPES.length)],
+                    firstDate.plusDays(random.nextInt(1100))));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,112 @@
+package src.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.CSVReaderWriter.BinarySnapshot;
+import src.CSVReaderWriter.CSVHandler;
+import src.CSVReaderWriter.InventoryCSVParser;
+import src.model.InventoryItem;
+import src.store.InventoryStore;
+
+/**
+ * Loading and saving the inventory files. CSVHandler is pointed at a temporary
+ * data directory holding a generated catalog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class CSVHandlerBenchmark {
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int catalogSize;
+
+    private Path dataDirectory;
+    private String csvPath;
+    private String snapshotPath;
+    private List<InventoryItem> items;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Must happen before CSVHandler is first used, since it reads its paths once
+        dataDirectory = Files.createTempDirectory("inventory-benchmark");
+        System.setProperty("inventory.dataDirectory", dataDirectory.toString() + File.separator);
+        csvPath = dataDirectory.resolve("inventory.csv").toString();
+        snapshotPath = dataDirectory.resolve("inventory.bin").toString();
+
+        // Write the catalog as inventory.csv and its binary snapshot inventory.bin
+        items = BenchmarkCatalog.generateItems(catalogSize);
+        CSVHandler.writeCreatedItemToInventoryCSV(items);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        CSVHandler.flushPendingSaves();
+        try (var files = Files.list(dataDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dataDirectory);
+    }
+
+    /**
+     * Full load through CSVHandler: the binary snapshot plus the (empty) journal.
+     */
+    @Benchmark
+    public InventoryStore loadInventory() {
+        return CSVHandler.readItemsFromInventoryCSVFile();
+    }
+
+    /**
+     * Parsing inventory.csv, the load path used when the snapshot is stale.
+     */
+    @Benchmark
+    public List<InventoryItem> parseInventoryCSV() throws IOException {
+        List<InventoryItem> loaded = new ArrayList<>(catalogSize);
+        InventoryCSVParser.parseFile(csvPath, loaded);
+        return loaded;
+    }
+
+    /**
+     * Memory-mapping the binary snapshot of inventory.csv.
+     */
+    @Benchmark
+    public List<InventoryItem> readBinarySnapshot() throws IOException {
+        List<InventoryItem> loaded = new ArrayList<>(catalogSize);
+        if (!BinarySnapshot.read(snapshotPath, csvPath, loaded)) {
+            throw new IllegalStateException("Binary snapshot could not be loaded");
+        }
+        return loaded;
+    }
+
+    /**
+     * Rewriting inventory.csv and its snapshot atomically, including the fsyncs.
+     */
+    @Benchmark
+    public void writeInventory() {
+        CSVHandler.writeCreatedItemToInventoryCSV(items);
+    }
+}
@@ -0,0 +1,446 @@
+package src.benchmark;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a synthetic catalog as inventory.csv and deleted_items.csv, in the
+ * same name,quantity,itemNumber,itemType,date format CSVHandler reads and
+ * writes, for load tests and benchmarks at sizes the sample data cannot reach.
+ *
+ * The rows are encoded straight into a fixed buffer that is drained to the
+ * file, so memory use does not grow with the row count and multi-GB catalogs
+ * are written at disk speed. The same options and seed always produce the
+ * same files.
+ *
+ * Usage (every option is optional):
+ *
+ * <pre>
+ *   gradle :benchmarks:generateCatalog -PgeneratorArgs="--rows=10000000 --output=/tmp/catalog"
+ *
+ *   --rows=N                  total rows of both files (default 1000000)
+ *   --types=Type:weight,...   item types and their share of the rows
+ *                             (default Vases:1,Table Runners:1,Greeneries:1)
+ *   --name-length=MIN-MAX     length of the item names (default 10-40)
+ *   --name-distribution=D     uniform or normal, centered on the middle of
+ *                             the name length range (default uniform)
+ *   --quantity=MIN-MAX        range of the quantities (default 1-500)
+ *   --start-date=YYYY-MM-DD   earliest creation date (default 2021-01-01)
+ *   --date-spread=DAYS        number of days creation dates are spread over
+ *                             (default 1100)
+ *   --trash-ratio=R           share of the rows written to deleted_items.csv
+ *                             (default 0.1)
+ *   --first-item-number=N     first item number handed out (default 0)
+ *   --seed=N                  seed of the random generator (default 20240501)
+ *   --output=DIR              directory the files are written to (default .)
+ * </pre>
+ *
+ * Item numbers are unique across both files. Each item type gets its own block
+ * of numbers, registered as its category in a categories.csv written next to
+ * the catalog so the application can be started on it.
+ */
+public class CatalogGenerator {
+
+    // Words item names are built from
+    private static final String[] WORDS = { "Crystal", "Gold", "Rustic", "Ivory", "Lace", "Silk", "Eucalyptus",
+            "Garland", "Centerpiece", "Bud", "Cylinder", "Satin", "Burlap", "Fern", "Boxwood", "Vintage", "Glass",
+            "Candle", "Linen", "Velvet", "Blush", "Sage", "Champagne", "Ribbon", "Lantern", "Mercury", "Peony",
+            "Runner", "Tall", "Petite", "Round", "Square", "Hanging", "Greenery", "Ceramic", "Marble", "Copper" };
+
+    // Size of the buffer between the encoder and each output file
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    // Longest possible row: name, three numbers of at most 11 characters, the
+    // type, the date and the separators
+    private static final int MAX_NUMBER_LENGTH = 11;
+
+    // Number of rows written between two progress messages
+    private static final long PROGRESS_INTERVAL = 10_000_000L;
+
+    // Files CSVHandler derives from inventory.csv; stale copies would be applied
+    // on top of the generated catalog
+    private static final String[] DERIVED_FILES = { "inventory.bin", "inventory.journal",
+            "inventory.journal.compacting", "inventory.csv.tmp", "deleted_items.csv.tmp" };
+
+    /**
+     * Settings of a generated catalog.
+     */
+    public static class Options {
+        long rows = 1_000_000L;
+        Map<String, Double> typeWeights = defaultTypeWeights();
+        int minNameLength = 10;
+        int maxNameLength = 40;
+        boolean normalNameLengths;
+        int minQuantity = 1;
+        int maxQuantity = 500;
+        LocalDate startDate = LocalDate.of(2021, 1, 1);
+        int dateSpreadDays = 1100;
+        double trashRatio = 0.1;
+        int firstItemNumber;
+        long seed = 20240501L;
+        Path outputDirectory = Paths.get(".");
+
+        /**
+         * Parses the command line options described in the class comment.
+         *
+         * @param args The command line arguments.
+         * @return The parsed options.
+         * @throws IllegalArgumentException If an option is unknown or invalid.
+         */
+        public static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                if (!arg.startsWith("--") || equals < 0) {
+                    throw new IllegalArgumentException("Expected --option=value but got: " + arg);
+                }
+                String name = arg.substring(2, equals);
+                String value = arg.substring(equals + 1);
+                switch (name) {
+                    case "rows":
+                        options.rows = Long.parseLong(value);
+                        break;
+                    case "types":
+                        options.typeWeights = parseTypeWeights(value);
+                        break;
+                    case "name-length":
+                        int[] nameLengths = parseRange(value);
+                        options.minNameLength = nameLengths[0];
+                        options.maxNameLength = nameLengths[1];
+                        break;
+                    case "name-distribution":
+                        if (!value.equals("uniform") && !value.equals("normal")) {
+                            throw new IllegalArgumentException("Unknown name distribution: " + value);
+                        }
+                        options.normalNameLengths = value.equals("normal");
+                        break;
+                    case "quantity":
+                        int[] quantities = parseRange(value);
+                        options.minQuantity = quantities[0];
+                        options.maxQuantity = quantities[1];
+                        break;
+                    case "start-date":
+                        options.startDate = LocalDate.parse(value);
+                        break;
+                    case "date-spread":
+                        options.dateSpreadDays = Integer.parseInt(value);
+                        break;
+                    case "trash-ratio":
+                        options.trashRatio = Double.parseDouble(value);
+                        break;
+                    case "first-item-number":
+                        options.firstItemNumber = Integer.parseInt(value);
+                        break;
+                    case "seed":
+                        options.seed = Long.parseLong(value);
+                        break;
+                    case "output":
+                        options.outputDirectory = Paths.get(value);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option: --" + name);
+                }
+            }
+            options.validate();
+            return options;
+        }
+
+        private void validate() {
+            if (rows < 0) {
+                throw new IllegalArgumentException("The row count cannot be negative");
+            }
+            if (minNameLength < 1 || minNameLength > maxNameLength) {
+                throw new IllegalArgumentException("Invalid name length range");
+            }
+            if (minQuantity < 0 || minQuantity > maxQuantity) {
+                throw new IllegalArgumentException("Invalid quantity range");
+            }
+            if (dateSpreadDays < 1) {
+                throw new IllegalArgumentException("The date spread must be at least one day");
+            }
+            if (trashRatio < 0 || trashRatio > 1) {
+                throw new IllegalArgumentException("The trash ratio must be between 0 and 1");
+            }
+            if (typeWeights.isEmpty()) {
+                throw new IllegalArgumentException("At least one item type is required");
+            }
+            // Every type gets a block of rows item numbers
+            if (firstItemNumber < 0 || firstItemNumber + (double) rows * typeWeights.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many rows for unique item numbers");
+            }
+        }
+
+        private static Map<String, Double> defaultTypeWeights() {
+            Map<String, Double> typeWeights = new LinkedHashMap<>();
+            typeWeights.put("Vases", 1.0);
+            typeWeights.put("Table Runners", 1.0);
+            typeWeights.put("Greeneries", 1.0);
+            return typeWeights;
+        }
+
+        private static Map<String, Double> parseTypeWeights(String value) {
+            Map<String, Double> typeWeights = new LinkedHashMap<>();
+            for (String entry : value.split(",")) {
+                int colon = entry.lastIndexOf(':');
+                String type = (colon < 0 ? entry : entry.substring(0, colon)).trim();
+                double weight = colon < 0 ? 1.0 : Double.parseDouble(entry.substring(colon + 1));
+                if (type.isEmpty() || !type.matches("[a-zA-Z0-9\\s]+") || weight <= 0) {
+                    throw new IllegalArgumentException("Invalid item type: " + entry);
+                }
+                typeWeights.put(type, weight);
+            }
+            return typeWeights;
+        }
+
+        private static int[] parseRange(String value) {
+            int dash = value.indexOf('-');
+            if (dash < 0) {
+                int single = Integer.parseInt(value);
+                return new int[] { single, single };
+            }
+            return new int[] { Integer.parseInt(value.substring(0, dash)), Integer.parseInt(value.substring(dash + 1)) };
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        generate(options);
+    }
+
+    /**
+     * Method to write the catalog described by the options to inventory.csv,
+     * deleted_items.csv and categories.csv in the output directory, replacing
+     * any existing files.
+     *
+     * @param options The settings of the catalog.
+     * @throws IOException If a file cannot be written.
+     */
+    public static void generate(Options options) throws IOException {
+        long startNanos = System.nanoTime();
+        Files.createDirectories(options.outputDirectory);
+        for (String derivedFile : DERIVED_FILES) {
+            Files.deleteIfExists(options.outputDirectory.resolve(derivedFile));
+        }
+
+        // Everything written per row is encoded once up front
+        List<String> types = new ArrayList<>(options.typeWeights.keySet());
+        byte[][] typeBytes = new byte[types.size()][];
+        double[] cumulativeWeights = new double[types.size()];
+        double totalWeight = 0;
+        for (int i = 0; i < types.size(); i++) {
+            typeBytes[i] = types.get(i).getBytes(StandardCharsets.UTF_8);
+            totalWeight += options.typeWeights.get(types.get(i));
+            cumulativeWeights[i] = totalWeight;
+        }
+        byte[][] wordBytes = new byte[WORDS.length][];
+        for (int i = 0; i < WORDS.length; i++) {
+            wordBytes[i] = WORDS[i].getBytes(StandardCharsets.US_ASCII);
+        }
+        byte[][] dateBytes = new byte[options.dateSpreadDays][];
+        for (int i = 0; i < dateBytes.length; i++) {
+            dateBytes[i] = options.startDate.plusDays(i).toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        byte[] lineSeparator = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+        int longestType = 0;
+        for (byte[] type : typeBytes) {
+            longestType = Math.max(longestType, type.length);
+        }
+        int maxRowLength = options.maxNameLength + longestType + 10 + 3 * MAX_NUMBER_LENGTH + 4 + lineSeparator.length;
+
+        // Next item number of each type; type i owns the block starting at
+        // firstItemNumber + i * rows
+        int[] nextItemNumbers = new int[types.size()];
+        for (int i = 0; i < types.size(); i++) {
+            nextItemNumbers[i] = (int) (options.firstItemNumber + i * options.rows);
+        }
+
+        SplittableRandom random = new SplittableRandom(options.seed);
+        int nameLengthRange = options.maxNameLength - options.minNameLength + 1;
+        int quantityRange = options.maxQuantity - options.minQuantity + 1;
+        long trashRows = 0;
+        try (RowWriter inventory = new RowWriter(options.outputDirectory.resolve("inventory.csv"), maxRowLength);
+                RowWriter trash = new RowWriter(options.outputDirectory.resolve("deleted_items.csv"), maxRowLength)) {
+            for (long row = 0; row < options.rows; row++) {
+                // Draw every field first so the sequence does not depend on the output
+                boolean deleted = random.nextDouble() < options.trashRatio;
+                double typeDraw = random.nextDouble() * totalWeight;
+                int type = 0;
+                while (type < cumulativeWeights.length - 1 && typeDraw >= cumulativeWeights[type]) {
+                    type++;
+                }
+                int nameLength;
+                if (options.normalNameLengths) {
+                    // Bell curve over the range, about 99.7% of it within the bounds
+                    double middle = (options.minNameLength + options.maxNameLength) / 2.0;
+                    double gaussian = middle + random.nextGaussian() * (nameLengthRange / 6.0);
+                    nameLength = (int) Math.max(options.minNameLength,
+                            Math.min(options.maxNameLength, Math.round(gaussian)));
+                } else {
+                    nameLength = options.minNameLength + random.nextInt(nameLengthRange);
+                }
+
+                RowWriter out = deleted ? trash : inventory;
+                out.reserve();
+                out.writeName(wordBytes, nameLength, random);
+                out.writeByte(',');
+                out.writeInt(options.minQuantity + random.nextInt(quantityRange));
+                out.writeByte(',');
+                out.writeInt(nextItemNumbers[type]++);
+                out.writeByte(',');
+                out.writeBytes(typeBytes[type]);
+                out.writeByte(',');
+                out.writeBytes(dateBytes[random.nextInt(dateBytes.length)]);
+                out.writeBytes(lineSeparator);
+
+                if (deleted) {
+                    trashRows++;
+                }
+                if ((row + 1) % PROGRESS_INTERVAL == 0) {
+                    System.out.printf("%,d rows written%n", row + 1);
+                }
+            }
+
+            double seconds = (System.nanoTime() - startNanos) / 1e9;
+            long bytes = inventory.getBytesWritten() + trash.getBytesWritten();
+            System.out.printf(Locale.ROOT, "Wrote %,d inventory rows and %,d deleted rows (%.1f MB) to %s in %.2f s (%.1f MB/s)%n",
+                    options.rows - trashRows, trashRows, bytes / 1e6, options.outputDirectory.toAbsolutePath(),
+                    seconds, bytes / 1e6 / seconds);
+        }
+
+        // Register the item number block of every type as its category
+        if (options.rows > 0) {
+            StringBuilder categories = new StringBuilder("# Generated by CatalogGenerator: name,firstItemNumber,lastItemNumber")
+                    .append(System.lineSeparator());
+            for (int i = 0; i < types.size(); i++) {
+                long first = options.firstItemNumber + i * options.rows;
+                categories.append(types.get(i)).append(',').append(first).append(',')
+                        .append(first + options.rows - 1).append(System.lineSeparator());
+            }
+            Files.write(options.outputDirectory.resolve("categories.csv"),
+                    categories.toString().getBytes(StandardCharsets.UTF_8));
+            System.out.println("Start the application with -Dinventory.dataDirectory="
+                    + options.outputDirectory.toAbsolutePath() + "/");
+        }
+    }
+
+    /**
+     * Encodes rows into a fixed-size buffer that is written to the file whenever
+     * the next row might not fit.
+     */
+    private static class RowWriter implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final byte[] bytes = buffer.array();
+        private final int maxRowLength;
+        private int position;
+        private long bytesWritten;
+
+        RowWriter(Path path, int maxRowLength) throws IOException {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE);
+            this.maxRowLength = maxRowLength;
+        }
+
+        /**
+         * Makes room for a whole row, so the other methods need no bounds checks.
+         */
+        void reserve() throws IOException {
+            if (position > BUFFER_SIZE - maxRowLength) {
+                drain();
+            }
+        }
+
+        void writeByte(char c) {
+            bytes[position++] = (byte) c;
+        }
+
+        void writeBytes(byte[] source) {
+            System.arraycopy(source, 0, bytes, position, source.length);
+            position += source.length;
+        }
+
+        void writeInt(int value) {
+            if (value == 0) {
+                bytes[position++] = '0';
+                return;
+            }
+            // Write the digits backwards into place
+            int digits = 0;
+            for (int v = value; v > 0; v /= 10) {
+                digits++;
+            }
+            int end = position + digits;
+            for (int i = end - 1; i >= position; i--) {
+                bytes[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+            position = end;
+        }
+
+        /**
+         * Writes an item name of exactly the given length made of random words.
+         * Names never start or end with a space, since the validators of the
+         * application trim them.
+         */
+        void writeName(byte[][] words, int length, SplittableRandom random) {
+            int start = position;
+            int end = start + length;
+            while (position < end) {
+                if (position > start) {
+                    bytes[position++] = ' ';
+                }
+                byte[] word = words[random.nextInt(words.length)];
+                int count = Math.min(word.length, end - position);
+                System.arraycopy(word, 0, bytes, position, count);
+                position += count;
+            }
+            if (bytes[end - 1] == ' ') {
+                bytes[end - 1] = 's';
+            }
+        }
+
+        long getBytesWritten() {
+            return bytesWritten + position;
+        }
+
+        private void drain() throws IOException {
+            buffer.limit(position).position(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            bytesWritten += position;
+            position = 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package src.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.model.InventoryItem;
+import src.validators.DataValidator;
+
+/**
+ * The regular expression checks of DataValidator, run over the name and
+ * quantity of every item of a catalog. Only valid input is used, since invalid
+ * input opens an error dialog.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-Djava.awt.headless=true" })
+public class DataValidatorBenchmark {
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int catalogSize;
+
+    private String[] itemNames;
+    private String[] quantityStrings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<InventoryItem> items = BenchmarkCatalog.generateItems(catalogSize);
+        itemNames = new String[catalogSize];
+        quantityStrings = new String[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            itemNames[i] = items.get(i).getItemName();
+            quantityStrings[i] = Integer.toString(items.get(i).getQuantity());
+        }
+    }
+
+    @Benchmark
+    public int isValidItemName() {
+        int validCount = 0;
+        for (String itemName : itemNames) {
+            if (DataValidator.isValidItemName(itemName)) {
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+
+    @Benchmark
+    public int isQuantityInputValid() {
+        int validCount = 0;
+        for (String quantityString : quantityStrings) {
+            if (DataValidator.isQuantityInputValid(quantityString)) {
+                validCount++;
+            }
+        }
+        return validCount;
+    }
+}
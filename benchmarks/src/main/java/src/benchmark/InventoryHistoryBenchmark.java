@@ -0,0 +1,107 @@
+package src.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.CSVReaderWriter.CSVHandler;
+import src.service.InventoryService;
+import src.store.CategoryRegistry;
+import src.store.InventorySnapshot;
+import src.store.InventoryStore;
+import src.store.ItemNumberRange;
+
+/**
+ * Time to rebuild a past version of the inventory from the inventory history.
+ * The history of a generated catalog is filled with three quantity updates per
+ * item, so it spans several segments, and the inventory is rebuilt as it was
+ * halfway through and at the end. Both should take about the time of reading
+ * one checkpoint, however long the history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class InventoryHistoryBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int catalogSize;
+
+    private Path dataDirectory;
+    private long halfwayTime;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        // Must happen before CSVHandler is first used, since it reads its paths once
+        dataDirectory = Files.createTempDirectory("inventory-history-benchmark");
+        System.setProperty("inventory.dataDirectory", dataDirectory.toString() + File.separator);
+        CategoryRegistry.install(new CategoryRegistry(Arrays.asList(
+                new ItemNumberRange("Vases", 0, 2 * catalogSize - 1),
+                new ItemNumberRange("Table Runners", 2 * catalogSize, 2 * catalogSize + 99),
+                new ItemNumberRange("Greeneries", 2 * catalogSize + 100, 2 * catalogSize + 199))));
+
+        CSVHandler.writeCreatedItemToInventoryCSV(BenchmarkCatalog.generateItems(catalogSize));
+        InventoryStore inventory = new InventoryStore();
+        CSVHandler.loadExisitingDataFromInventoryCSVDuringStartUp(inventory);
+        InventoryService service = new InventoryService(inventory);
+
+        int updates = 3 * catalogSize;
+        for (int update = 0; update < updates; update++) {
+            service.updateItem(update % catalogSize, InventoryService.ItemField.QUANTITY, 1000 + update);
+            if (update == updates / 2) {
+                CSVHandler.flushPendingSaves();
+                Thread.sleep(2);
+                halfwayTime = System.currentTimeMillis();
+                Thread.sleep(2);
+            }
+        }
+        CSVHandler.flushPendingSaves();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        CSVHandler.flushPendingSaves();
+        CategoryRegistry.install(CategoryRegistry.defaults());
+        try (var files = Files.list(dataDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dataDirectory);
+    }
+
+    /**
+     * Rebuilding the inventory as it was halfway through the history.
+     */
+    @Benchmark
+    public InventorySnapshot inventoryHalfwayThrough() throws IOException {
+        return CSVHandler.readInventoryFromHistory(halfwayTime);
+    }
+
+    /**
+     * Rebuilding the latest inventory.
+     */
+    @Benchmark
+    public InventorySnapshot latestInventory() throws IOException {
+        return CSVHandler.readInventoryFromHistory(Long.MAX_VALUE);
+    }
+}
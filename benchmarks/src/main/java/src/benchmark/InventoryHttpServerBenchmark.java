@@ -0,0 +1,108 @@
+package src.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.CSVReaderWriter.CSVHandler;
+import src.server.InventoryHttpServer;
+import src.service.InventoryService;
+import src.store.InventoryStore;
+
+/**
+ * Read requests per second served by the embedded HTTP API on localhost, with
+ * eight clients reusing their keep-alive connections. The clients run in the
+ * same JVM, so the numbers include their cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-Djava.awt.headless=true" })
+public class InventoryHttpServerBenchmark {
+
+    @Param({ "1000", "100000" })
+    public int catalogSize;
+
+    private Path dataDirectory;
+    private InventoryHttpServer server;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Must happen before CSVHandler is first used, since it reads its paths once
+        dataDirectory = Files.createTempDirectory("inventory-http-benchmark");
+        System.setProperty("inventory.dataDirectory", dataDirectory.toString() + File.separator);
+
+        CSVHandler.writeCreatedItemToInventoryCSV(BenchmarkCatalog.generateItems(catalogSize));
+        InventoryStore inventory = new InventoryStore();
+        CSVHandler.loadExisitingDataFromInventoryCSVDuringStartUp(inventory);
+
+        server = new InventoryHttpServer(new InventoryService(inventory), null);
+        server.start(new InetSocketAddress("127.0.0.1", 0));
+        baseUrl = "http://127.0.0.1:" + server.getPort();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        server.stop();
+        CSVHandler.flushPendingSaves();
+        try (var files = Files.list(dataDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dataDirectory);
+    }
+
+    /**
+     * GET /api/items/{n} of a random item.
+     */
+    @Benchmark
+    public int lookupItem() throws IOException {
+        return get("/api/items/" + ThreadLocalRandom.current().nextInt(catalogSize));
+    }
+
+    /**
+     * GET /api/items of a random page of 100 items.
+     */
+    @Benchmark
+    public int listPage() throws IOException {
+        return get("/api/items?limit=100&offset=" + ThreadLocalRandom.current().nextInt(catalogSize));
+    }
+
+    /**
+     * Sends a GET request and reads the whole response, so the connection is
+     * reused by the next request.
+     */
+    private int get(String path) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        try (InputStream body = connection.getInputStream()) {
+            return body.readAllBytes().length;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package src.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.CSVReaderWriter.CSVHandler;
+import src.service.BatchResult;
+import src.service.InventoryService;
+import src.service.OperationResult;
+import src.store.CategoryRegistry;
+import src.store.InventoryStore;
+import src.store.ItemNumberRange;
+import src.util.ReportEngine;
+
+/**
+ * Throughput of the InventoryService operations, including their journal
+ * records and deleted items saves. CSVHandler is pointed at a temporary data
+ * directory holding a generated catalog, and every operation is paired with its
+ * inverse so the inventory keeps its size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class InventoryServiceBenchmark {
+
+    // Number of items of each batch operation
+    private static final int BATCH_SIZE = 100;
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int catalogSize;
+
+    private Path dataDirectory;
+    private InventoryService service;
+    private List<Integer> batchItemNumbers;
+    private int nextItemNumber;
+    private int nextQuantity = 1;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Must happen before CSVHandler is first used, since it reads its paths once
+        dataDirectory = Files.createTempDirectory("inventory-service-benchmark");
+        System.setProperty("inventory.dataDirectory", dataDirectory.toString() + File.separator);
+
+        // The catalog numbers its items from 0; leave as many numbers free for new
+        // Vases as the catalog uses
+        CategoryRegistry.install(new CategoryRegistry(Arrays.asList(
+                new ItemNumberRange("Vases", 0, 2 * catalogSize - 1),
+                new ItemNumberRange("Table Runners", 2 * catalogSize, 2 * catalogSize + 99),
+                new ItemNumberRange("Greeneries", 2 * catalogSize + 100, 2 * catalogSize + 199))));
+
+        CSVHandler.writeCreatedItemToInventoryCSV(BenchmarkCatalog.generateItems(catalogSize));
+        InventoryStore inventory = new InventoryStore();
+        CSVHandler.loadExisitingDataFromInventoryCSVDuringStartUp(inventory);
+        service = new InventoryService(inventory);
+        service.loadDeletedItems();
+
+        batchItemNumbers = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batchItemNumbers.add(i * (catalogSize / BATCH_SIZE));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        CSVHandler.flushPendingSaves();
+        CategoryRegistry.install(CategoryRegistry.defaults());
+        try (var files = Files.list(dataDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dataDirectory);
+    }
+
+    /**
+     * Validating a new item, including finding a free item number.
+     */
+    @Benchmark
+    public OperationResult checkNewItem() {
+        return service.checkNewItem("Crystal Vase", 12, "Vases");
+    }
+
+    /**
+     * Creating an item, then deleting it and removing it from the trash.
+     */
+    @Benchmark
+    public OperationResult createDeletePurge() {
+        OperationResult created = service.createItem("Crystal Vase", 12, "Vases");
+        int itemNumber = created.getItem().getItemNumber();
+        service.deleteItem(itemNumber);
+        return service.purgeItem(itemNumber);
+    }
+
+    /**
+     * Updating the quantity of an item.
+     */
+    @Benchmark
+    public OperationResult updateQuantity() {
+        nextItemNumber = (nextItemNumber + 1) % catalogSize;
+        nextQuantity = nextQuantity % 500 + 1;
+        OperationResult result = service.updateItem(nextItemNumber, InventoryService.ItemField.QUANTITY,
+                nextQuantity);
+        return result.getStatus() == OperationResult.Status.NO_CHANGE
+                ? service.updateItem(nextItemNumber, InventoryService.ItemField.QUANTITY, nextQuantity + 500)
+                : result;
+    }
+
+    /**
+     * Moving an item to the trash and back.
+     */
+    @Benchmark
+    public OperationResult deleteRestore() {
+        nextItemNumber = (nextItemNumber + 1) % catalogSize;
+        service.deleteItem(nextItemNumber);
+        return service.restoreItem(nextItemNumber);
+    }
+
+    /**
+     * Moving a batch of items to the trash and back.
+     */
+    @Benchmark
+    public BatchResult batchDeleteRestore() {
+        service.deleteItems(batchItemNumbers);
+        return service.restoreItems(batchItemNumbers);
+    }
+
+    /**
+     * Generating the alphabetical report of the inventory.
+     */
+    @Benchmark
+    public String generateReport() {
+        return service.generateReport(ReportEngine.SortKey.ALPHABETICAL);
+    }
+}
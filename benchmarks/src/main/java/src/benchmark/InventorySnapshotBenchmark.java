@@ -0,0 +1,85 @@
+package src.benchmark;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.model.InventoryItem;
+import src.store.InventorySnapshot;
+
+/**
+ * Reads of an InventorySnapshot and the cost of publishing a new version. The
+ * reads take no lock, so their total throughput should grow with the number of
+ * threads, e.g. with -PjmhArgs="InventorySnapshotBenchmark -t 8".
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class InventorySnapshotBenchmark {
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int catalogSize;
+
+    private List<InventoryItem> items;
+    private InventorySnapshot snapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        items = BenchmarkCatalog.generateItems(catalogSize);
+        snapshot = InventorySnapshot.of(items);
+    }
+
+    /**
+     * Finding a random item by its item number.
+     */
+    @Benchmark
+    public InventoryItem lookupItem() {
+        return snapshot.get(ThreadLocalRandom.current().nextInt(catalogSize));
+    }
+
+    /**
+     * Reading a random page of 100 items in item number order.
+     */
+    @Benchmark
+    public int readPage() {
+        int from = ThreadLocalRandom.current().nextInt(Math.max(1, catalogSize - 100));
+        int quantity = 0;
+        for (InventoryItem item : snapshot.asList().subList(from, Math.min(from + 100, catalogSize))) {
+            quantity += item.getQuantity();
+        }
+        return quantity;
+    }
+
+    /**
+     * Creating the version of the snapshot with one item replaced, as done after
+     * every change.
+     */
+    @Benchmark
+    public InventorySnapshot publishChange() {
+        return snapshot.with(items.get(ThreadLocalRandom.current().nextInt(catalogSize)));
+    }
+
+    /**
+     * Building the snapshot of the whole inventory, as done when it is replaced.
+     */
+    @Benchmark
+    public InventorySnapshot buildSnapshot() {
+        return InventorySnapshot.of(items);
+    }
+}
@@ -0,0 +1,81 @@
+package src.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JTextArea;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.gui_components.InventoryTableModel;
+import src.model.InventoryItem;
+import src.util.UpdateInventoryTextArea;
+
+/**
+ * Refreshing the inventory view: the full text rebuild of the former JTextArea
+ * pane against the table model that replaced it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g", "-Djava.awt.headless=true" })
+public class InventoryViewBenchmark {
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int catalogSize;
+
+    private List<InventoryItem> items;
+    private JTextArea inventoryTextArea;
+    private InventoryTableModel inventoryTableModel;
+    private InventoryItem probeItem;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        items = BenchmarkCatalog.generateItems(catalogSize);
+        inventoryTextArea = new JTextArea();
+        inventoryTableModel = new InventoryTableModel();
+        inventoryTableModel.setItems(items);
+        probeItem = items.get(items.size() / 2);
+    }
+
+    /**
+     * Regrouping, re-sorting and formatting every row into the text area.
+     */
+    @Benchmark
+    public String reloadTextArea() {
+        UpdateInventoryTextArea.reloadTextArea(items, inventoryTextArea);
+        return inventoryTextArea.getText();
+    }
+
+    /**
+     * Replacing every row of the table model (done when a whole list changes).
+     */
+    @Benchmark
+    public int tableModelSetItems() {
+        inventoryTableModel.setItems(items);
+        return inventoryTableModel.getRowCount();
+    }
+
+    /**
+     * Removing and re-inserting a single row (done for single-item changes).
+     */
+    @Benchmark
+    public int tableModelRemoveAndAddItem() {
+        inventoryTableModel.removeItem(probeItem);
+        inventoryTableModel.addItem(probeItem);
+        return inventoryTableModel.getRowCount();
+    }
+}
@@ -0,0 +1,88 @@
+package src.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.model.InventoryItem;
+import src.store.InventoryStore;
+import src.util.RandomNumberGenerator;
+
+/**
+ * Generating a new item number when the item type's range is partly used. The
+ * range of the benchmarked type is sized to the catalog, and the given
+ * percentage of it is filled with items at random positions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemNumberBenchmark {
+
+    // Item type whose range is benchmarked
+    private static final String ITEM_TYPE = "Vases";
+
+    // First item number of the benchmarked range
+    private static final int FIRST_ITEM_NUMBER = 100;
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int catalogSize;
+
+    @Param({ "0", "50", "90", "99" })
+    public int fillPercent;
+
+    private InventoryStore inventoryItemsList;
+    private InventoryItem newItem;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        System.setProperty("inventory.itemNumbers." + ITEM_TYPE,
+                FIRST_ITEM_NUMBER + "-" + (FIRST_ITEM_NUMBER + catalogSize - 1));
+
+        // Use a random selection of the range's item numbers
+        List<Integer> itemNumbers = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            itemNumbers.add(FIRST_ITEM_NUMBER + i);
+        }
+        Collections.shuffle(itemNumbers, new Random(42));
+
+        inventoryItemsList = new InventoryStore();
+        LocalDate creationDate = LocalDate.of(2024, 1, 1);
+        int filledCount = (int) ((long) catalogSize * fillPercent / 100);
+        for (int i = 0; i < filledCount; i++) {
+            inventoryItemsList.add(new InventoryItem("Item " + i, 1, itemNumbers.get(i), ITEM_TYPE, creationDate));
+        }
+        newItem = new InventoryItem("New Item", 1, 0, ITEM_TYPE, creationDate);
+    }
+
+    /**
+     * Generating a number, adding an item with it and removing the item again,
+     * so the fill level stays the same across invocations.
+     */
+    @Benchmark
+    public int generateAddAndRemove() {
+        int itemNumber = RandomNumberGenerator.generateRandomNumber(ITEM_TYPE, inventoryItemsList);
+        newItem.setItemNumber(itemNumber);
+        inventoryItemsList.add(newItem);
+        inventoryItemsList.removeByItemNumber(itemNumber);
+        return itemNumber;
+    }
+}
@@ -0,0 +1,80 @@
+package src.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.model.InventoryItem;
+import src.util.GenerateReports;
+import src.util.ReportEngine;
+
+/**
+ * Generating the inventory report in each of its three sort orders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReportBenchmark {
+
+    @Param({ "1000", "10000", "100000", "1000000" })
+    public int catalogSize;
+
+    @Param({ "ALPHABETICAL", "ITEM_NUMBER", "QUANTITY" })
+    public ReportEngine.SortKey sortKey;
+
+    private List<InventoryItem> items;
+    private Path reportPath;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        items = BenchmarkCatalog.generateItems(catalogSize);
+        reportPath = Files.createTempFile("inventory-report-benchmark", ".txt");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(reportPath);
+    }
+
+    /**
+     * The GenerateReports entry points, which return the whole report as a String.
+     */
+    @Benchmark
+    public String generateReport() {
+        switch (sortKey) {
+            case QUANTITY:
+                return GenerateReports.generateReportContentSortedByQuantity(items);
+            case ITEM_NUMBER:
+                return GenerateReports.generateReportContentSortedByItemNumber(items);
+            default:
+                return GenerateReports.generateReportSortedAlphabetically(items);
+        }
+    }
+
+    /**
+     * Streaming the report to a file, as the Generate Report button does.
+     */
+    @Benchmark
+    public void writeReportToFile() throws IOException {
+        ReportEngine.writeReportToFile(items, sortKey, reportPath, null);
+    }
+}
@@ -0,0 +1,138 @@
+package src.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import src.CSVReaderWriter.CSVHandler;
+import src.model.InventoryItem;
+import src.service.InventoryService;
+import src.service.ReservationResult;
+import src.service.ReservationService;
+import src.store.InventoryStore;
+
+/**
+ * Time of the reservation queries with many bookings. The first 100 items of a
+ * generated catalog are booked by reservationCount reservations of one to four
+ * days spread over three years, and each query looks at one weekend of a
+ * random item. The queries should take about the same time however many
+ * reservations there are.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx4g" })
+public class ReservationBenchmark {
+
+    // Number of items booked and days over which the bookings are spread
+    private static final int BOOKED_ITEMS = 100;
+    private static final int BOOKED_DAYS = 3 * 365;
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    @Param({ "1000", "10000", "100000" })
+    public int reservationCount;
+
+    private Path dataDirectory;
+    private ReservationService reservations;
+    private int[] itemNumbers;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Must happen before CSVHandler is first used, since it reads its paths once
+        dataDirectory = Files.createTempDirectory("reservation-benchmark");
+        System.setProperty("inventory.dataDirectory", dataDirectory.toString() + File.separator);
+
+        CSVHandler.writeCreatedItemToInventoryCSV(BenchmarkCatalog.generateItems(BOOKED_ITEMS));
+        InventoryStore inventory = new InventoryStore();
+        CSVHandler.loadExisitingDataFromInventoryCSVDuringStartUp(inventory);
+        InventoryService service = new InventoryService(inventory);
+        reservations = service.getReservations();
+
+        List<InventoryItem> items = service.copyInventory();
+        itemNumbers = new int[items.size()];
+        for (int i = 0; i < itemNumbers.length; i++) {
+            itemNumbers[i] = items.get(i).getItemNumber();
+            service.updateItem(itemNumbers[i], InventoryService.ItemField.QUANTITY, Integer.MAX_VALUE / 2);
+        }
+
+        random = new Random(20240501L);
+        for (int i = 0; i < reservationCount; i++) {
+            LocalDate start = FIRST_DAY.plusDays(random.nextInt(BOOKED_DAYS));
+            reservations.reserve(randomItemNumber(), 1 + random.nextInt(10), start,
+                    start.plusDays(random.nextInt(4)), "Wedding " + i);
+        }
+        CSVHandler.flushPendingSaves();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        CSVHandler.flushPendingSaves();
+        try (var files = Files.list(dataDirectory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dataDirectory);
+    }
+
+    /**
+     * Units of an item free over a weekend.
+     */
+    @Benchmark
+    public int availableForWeekend() {
+        LocalDate friday = randomDay();
+        return reservations.available(randomItemNumber(), friday, friday.plusDays(2));
+    }
+
+    /**
+     * Items reserved beyond their stock over a weekend; every item with
+     * reservations is checked.
+     */
+    @Benchmark
+    public int overbookingsForWeekend() {
+        LocalDate friday = randomDay();
+        return reservations.findOverbookings(friday, friday.plusDays(2)).size();
+    }
+
+    /**
+     * Booking an item for a weekend and cancelling the booking.
+     */
+    @Benchmark
+    public ReservationResult reserveAndCancel() {
+        LocalDate friday = randomDay();
+        ReservationResult result = reservations.reserve(randomItemNumber(), 5, friday, friday.plusDays(2),
+                "Benchmark Wedding");
+        return reservations.cancel(result.getReservation().getReservationNumber());
+    }
+
+    private int randomItemNumber() {
+        return itemNumbers[random.nextInt(itemNumbers.length)];
+    }
+
+    private LocalDate randomDay() {
+        return FIRST_DAY.plusDays(random.nextInt(BOOKED_DAYS));
+    }
+}
@@ -0,0 +1,54 @@
+package src.benchmark;
+
+import java.util.List;
+
+import src.model.InventoryItem;
+import src.store.ColumnarInventoryStore;
+import src.store.InventoryStore;
+
+/**
+ * Prints the heap used per item by InventoryStore and ColumnarInventoryStore
+ * holding the same generated catalog. Heap use is measured after a full
+ * garbage collection, so run it with a heap large enough for the catalog, e.g.
+ *
+ * <pre>
+ *   gradle :benchmarks:storeFootprint -PcatalogSize=1000000
+ * </pre>
+ */
+public class StoreFootprint {
+
+    public static void main(String[] args) {
+        int catalogSize = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        long baseline = usedHeapAfterGc();
+        InventoryStore store = new InventoryStore();
+        store.addAll(BenchmarkCatalog.generateItems(catalogSize));
+        print("InventoryStore", usedHeapAfterGc() - baseline, store.size());
+        store = null;
+
+        baseline = usedHeapAfterGc();
+        ColumnarInventoryStore columnarStore = new ColumnarInventoryStore();
+        List<InventoryItem> items = BenchmarkCatalog.generateItems(catalogSize);
+        columnarStore.addAll(items);
+        items = null;
+        print("ColumnarInventoryStore", usedHeapAfterGc() - baseline, columnarStore.size());
+
+        // Touch every item, as a table showing all of them does
+        for (InventoryItem item : columnarStore) {
+            item.getItemNumber();
+        }
+        print("ColumnarInventoryStore with views", usedHeapAfterGc() - baseline, columnarStore.size());
+    }
+
+    private static void print(String storeName, long bytes, int itemCount) {
+        System.out.printf("%-36s %,14d bytes %8.1f bytes/item%n", storeName, bytes, (double) bytes / itemCount);
+    }
+
+    private static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
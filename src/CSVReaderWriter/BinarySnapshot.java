@@ -0,0 +1,219 @@
+package src.CSVReaderWriter;
+
+import src.model.InventoryItem;
+import src.model.ItemTypeDictionary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+public class BinarySnapshot {
+
+    // Marks the start of a binary inventory snapshot ("WDIS")
+    private static final int MAGIC = 0x57444953;
+
+    // Version of the layout written by this class
+    private static final int VERSION = 2;
+
+    /*
+     * Layout (big-endian):
+     * int magic, int version
+     * long csvLength, long csvChecksum -- the CSV file this snapshot mirrors
+     * int itemCount
+     * int typeCount, then per type: int byteLength + UTF-8 bytes
+     * int[itemCount] quantity
+     * int[itemCount] itemNumber
+     * int[itemCount] creationDate as epoch day
+     * byte[itemCount] item type code
+     * int[itemCount + 1] offsets into the name heap
+     * byte[] name heap holding every item name as UTF-8
+     */
+
+    /**
+     * Method to write the binary snapshot mirroring a CSV file.
+     *
+     * The items are stored column by column: quantities, item numbers and epoch
+     * day creation dates as int columns, item types as one-byte codes into a type
+     * dictionary and names in a single UTF-8 string heap. The length and CRC-32
+     * of the CSV file are recorded, so a snapshot that no longer matches the CSV
+     * file is ignored on startup, even if the file was changed without changing
+     * its length or last modified time. The file is written atomically.
+     *
+     * @param snapshotPath The path of the binary snapshot to write.
+     * @param csvPath      The path of the CSV file holding the same items.
+     * @param items        The InventoryItem objects to write.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public static void write(String snapshotPath, String csvPath, Collection<InventoryItem> items) throws IOException {
+        File csvFile = new File(csvPath);
+        long csvLength = csvFile.length();
+        long csvChecksum = checksumOf(csvFile);
+        int itemCount = items.size();
+
+        // Build the type dictionary and the name heap
+        Map<String, Integer> typeCodes = new LinkedHashMap<>();
+        byte[] typeColumn = new byte[itemCount];
+        int[] nameOffsets = new int[itemCount + 1];
+        ByteArrayOutputStream nameHeap = new ByteArrayOutputStream(itemCount * 32);
+        int i = 0;
+        for (InventoryItem item : items) {
+            Integer typeCode = typeCodes.get(item.getItemType());
+            if (typeCode == null) {
+                if (typeCodes.size() == 256) {
+                    throw new IOException("Too many item types for the binary snapshot");
+                }
+                typeCode = typeCodes.size();
+                typeCodes.put(item.getItemType(), typeCode);
+            }
+            typeColumn[i] = (byte) (int) typeCode;
+            byte[] name = item.getItemName().getBytes(StandardCharsets.UTF_8);
+            nameHeap.write(name, 0, name.length);
+            nameOffsets[++i] = nameHeap.size();
+        }
+
+        GroupCommitWriter.writeBinaryAtomically(snapshotPath, outputStream -> {
+            DataOutputStream out = new DataOutputStream(outputStream);
+
+            // Header
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(csvLength);
+            out.writeLong(csvChecksum);
+            out.writeInt(itemCount);
+
+            // Type dictionary
+            out.writeInt(typeCodes.size());
+            for (String type : typeCodes.keySet()) {
+                byte[] typeBytes = type.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(typeBytes.length);
+                out.write(typeBytes);
+            }
+
+            // Int columns
+            for (InventoryItem item : items) {
+                out.writeInt(item.getQuantity());
+            }
+            for (InventoryItem item : items) {
+                out.writeInt(item.getItemNumber());
+            }
+            for (InventoryItem item : items) {
+                out.writeInt((int) item.getCreationDate().toEpochDay());
+            }
+
+            // Type codes, name offsets and the name heap
+            out.write(typeColumn);
+            for (int offset : nameOffsets) {
+                out.writeInt(offset);
+            }
+            nameHeap.writeTo(out);
+            out.flush();
+        });
+    }
+
+    /**
+     * Method to load the items of a binary snapshot into a list.
+     *
+     * The snapshot is memory-mapped and decoded column by column. Item types are
+     * the canonical instances of the ItemTypeDictionary, and creation dates come
+     * from the shared LocalDateCache. Nothing is
+     * added to the list if the snapshot is missing, was written by another
+     * version, or no longer matches the length and CRC-32 of the CSV file; the
+     * caller then falls back to parsing the CSV file.
+     *
+     * @param snapshotPath The path of the binary snapshot.
+     * @param csvPath      The path of the CSV file the snapshot mirrors.
+     * @param items        The collection the InventoryItem objects are added to.
+     * @return True if the snapshot was loaded, false if it could not be used.
+     */
+    public static boolean read(String snapshotPath, String csvPath, Collection<InventoryItem> items) {
+        File snapshotFile = new File(snapshotPath);
+        File csvFile = new File(csvPath);
+        if (!snapshotFile.exists() || !csvFile.exists()) {
+            return false;
+        }
+
+        long startTime = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(Paths.get(snapshotPath), StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            // Validate the header against the CSV file
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != csvFile.length()
+                    || buffer.getLong() != checksumOf(csvFile)) {
+                return false;
+            }
+            int itemCount = buffer.getInt();
+
+            // Type dictionary
+            int typeCount = buffer.getInt();
+            String[] types = new String[typeCount];
+            for (int i = 0; i < typeCount; i++) {
+                byte[] typeBytes = new byte[buffer.getInt()];
+                buffer.get(typeBytes);
+                types[i] = ItemTypeDictionary.canonical(typeBytes, 0, typeBytes.length);
+            }
+
+            // Column positions
+            int quantityBase = buffer.position();
+            int itemNumberBase = quantityBase + itemCount * 4;
+            int epochDayBase = itemNumberBase + itemCount * 4;
+            int typeBase = epochDayBase + itemCount * 4;
+            int offsetBase = typeBase + itemCount;
+            int heapBase = offsetBase + (itemCount + 1) * 4;
+
+            // Copy the name heap once so names can be decoded from a plain array
+            byte[] nameHeap = new byte[buffer.getInt(offsetBase + itemCount * 4)];
+            buffer.position(heapBase);
+            buffer.get(nameHeap);
+
+            // Decode the items row by row from the columns
+            List<InventoryItem> decoded = new ArrayList<>(itemCount);
+            for (int i = 0; i < itemCount; i++) {
+                int nameStart = buffer.getInt(offsetBase + i * 4);
+                int nameEnd = buffer.getInt(offsetBase + (i + 1) * 4);
+                String itemName = new String(nameHeap, nameStart, nameEnd - nameStart, StandardCharsets.UTF_8);
+                int quantity = buffer.getInt(quantityBase + i * 4);
+                int itemNumber = buffer.getInt(itemNumberBase + i * 4);
+                String itemType = types[buffer.get(typeBase + i) & 0xFF];
+                LocalDate creationDate = LocalDateCache.ofEpochDay(buffer.getInt(epochDayBase + i * 4));
+                decoded.add(new InventoryItem(itemName, quantity, itemNumber, itemType, creationDate));
+            }
+
+            items.addAll(decoded);
+            InventoryCSVParser.reportThroughput(snapshotPath, itemCount, System.nanoTime() - startTime);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // A corrupted snapshot is ignored in favour of the CSV file
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the CRC-32 of the whole content of a file, read through a memory
+     * mapping.
+     */
+    private static long checksumOf(File file) throws IOException {
+        CRC32 checksum = new CRC32();
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            for (long position = 0; position < size; position += Integer.MAX_VALUE) {
+                checksum.update(channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(Integer.MAX_VALUE, size - position)));
+            }
+        }
+        return checksum.getValue();
+    }
+}
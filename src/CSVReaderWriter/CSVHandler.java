@@ -1,73 +1,128 @@
 package src.CSVReaderWriter;
 
 import src.model.InventoryItem;
+import src.model.Reservation;
+import src.store.CategoryRegistry;
+import src.store.InventorySnapshot;
+import src.store.InventoryStore;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
-
-import javax.swing.JOptionPane;
+import java.util.Map;
 
 public class CSVHandler {
 
+    // Absolute Path to the directory holding the data files, configurable with
+    // -Dinventory.dataDirectory=<path>
+    private static final String DATA_DIRECTORY = System.getProperty("inventory.dataDirectory",
+            "C:/ITCS-3112-Design-Implement-Object-Orient-System/++Wedding-Inventory-(Java-Swing)/src/data/");
+
     // Absolute Path to the CSV file for data storage
-    private static final String INVENTORY_CSV_FILE_PATH = "C:/ITCS-3112-Design-Implement-Object-Orient-System/++Wedding-Inventory-(Java-Swing)/src/data/inventory.csv";
+    private static final String INVENTORY_CSV_FILE_PATH = DATA_DIRECTORY + "inventory.csv";
 
     // Absolute Path to the Delete Item CSV file for data storage
-    private static final String DELETED_ITEMS_CSV_FILE_PATH = "C:/ITCS-3112-Design-Implement-Object-Orient-System/++Wedding-Inventory-(Java-Swing)/src/data/deleted_items.csv";
+    private static final String DELETED_ITEMS_CSV_FILE_PATH = DATA_DIRECTORY + "deleted_items.csv";
+
+    // Absolute Path to the Reservations CSV file for data storage
+    private static final String RESERVATIONS_CSV_FILE_PATH = DATA_DIRECTORY + "reservations.csv";
+
+    // Absolute Path to the journal of item-level changes applied on top of
+    // inventory.csv
+    private static final String INVENTORY_JOURNAL_FILE_PATH = DATA_DIRECTORY + "inventory.journal";
+
+    // Absolute Path to the binary columnar copy of inventory.csv, memory-mapped
+    // during startup
+    private static final String INVENTORY_SNAPSHOT_FILE_PATH = DATA_DIRECTORY + "inventory.bin";
+
+    // Absolute Path prefixes of the segments of the inventory history and of
+    // the checkpoints they start from, followed by the segment number
+    private static final String INVENTORY_HISTORY_FILE_PATH = DATA_DIRECTORY + "inventory.history.";
+    private static final String INVENTORY_CHECKPOINT_FILE_PATH = DATA_DIRECTORY + "inventory.checkpoint.";
+
+    // Number of events per segment of the inventory history, configurable with
+    // -Dinventory.historySegmentEvents=<events>
+    private static final int HISTORY_SEGMENT_EVENTS = Integer.getInteger("inventory.historySegmentEvents", 10000);
+
+    // Absolute Path to the configuration of the item categories and their item
+    // number ranges, configurable with -Dinventory.categoriesFile=<path>
+    private static final String CATEGORIES_FILE_PATH = System.getProperty("inventory.categoriesFile",
+            DATA_DIRECTORY + "categories.csv");
+
+    // Time window in milliseconds in which saves are coalesced into one fsync,
+    // configurable with -Dinventory.groupCommitWindowMs=<millis>
+    private static final long GROUP_COMMIT_WINDOW_MILLIS = Long.getLong("inventory.groupCommitWindowMs", 50);
+
+    // Writer saving files atomically and batching their fsyncs
+    private static final GroupCommitWriter FILE_WRITER = new GroupCommitWriter(GROUP_COMMIT_WINDOW_MILLIS);
+
+    // Watcher picking up rows added to inventory.csv by other programs
+    private static final InventoryFileWatcher INVENTORY_FILE_WATCHER = new InventoryFileWatcher(
+            INVENTORY_CSV_FILE_PATH);
+
+    // Write-ahead journal recording every change made to the inventory
+    private static final InventoryJournal INVENTORY_JOURNAL = new InventoryJournal(INVENTORY_CSV_FILE_PATH,
+            INVENTORY_SNAPSHOT_FILE_PATH, INVENTORY_JOURNAL_FILE_PATH, FILE_WRITER, INVENTORY_FILE_WATCHER);
+
+    // History of every change made to the inventory, kept for point-in-time
+    // queries
+    private static final InventoryHistory INVENTORY_HISTORY = new InventoryHistory(INVENTORY_HISTORY_FILE_PATH,
+            INVENTORY_CHECKPOINT_FILE_PATH, HISTORY_SEGMENT_EVENTS);
+
+    // Deleted items kept in memory between reads of deleted_items.csv, and the
+    // only writer of the file, so its appends and rewrites stay in call order
+    private static final DeletedItemsCache DELETED_ITEMS_CACHE = new DeletedItemsCache(DELETED_ITEMS_CSV_FILE_PATH,
+            FILE_WRITER);
+
+    /**
+     * Method to load the item categories from categories.csv during startup
+     * 
+     * Each line of the file names a category and its item number range, such as
+     * "Vases,100,199". The loaded categories replace the default ones (Vases,
+     * Table Runners and Greeneries) in the category registry, so this method must
+     * run before the inventory is loaded. If the file is missing or invalid, the
+     * exception is printed to the standard error stream and the default
+     * categories are kept.
+     */
+    public static void loadCategoriesDuringStartUp() {
+        try {
+            CategoryRegistry.install(CategoryRegistry.load(CATEGORIES_FILE_PATH));
+        } catch (IOException e) {
+            e.printStackTrace(); // Keep the default categories
+        }
+    }
 
     /**
      * Method to load inventory data from inventory.csv during startup
      * 
      * This method reads data from a CSV file located at the path specified by
-     * CSV_FILE_PATH. If the file exists, it iterates through each line, parses it
-     * into individual data parts, and creates InventoryItem objects from them.
+     * CSV_FILE_PATH. If the binary copy of the file (inventory.bin) is up to date,
+     * it is memory-mapped instead; otherwise the CSV file is parsed by
+     * InventoryCSVParser, which tokenizes each line in place and creates
+     * InventoryItem objects from them, and a new binary copy is written.
      * These objects are then added to the inventoryItems list. Each line of the CSV
      * file represents an InventoryItem, with its attributes separated by commas. If
-     * a line does not contain exactly five parts, it is skipped. If an IOException
-     * occurs during file reading, the exception is printed to the standard error
-     * stream.
-     * 
-     */
-    public static void loadExisitingDataFromInventoryCSVDuringStartUp(List<InventoryItem> inventoryItemsList) {
-        File file = new File(INVENTORY_CSV_FILE_PATH); // Create a File object representing the CSV file
-        if (file.exists()) { // Check if the file exists
-            try (BufferedReader reader = new BufferedReader(new FileReader(INVENTORY_CSV_FILE_PATH))) {
-
-                // Create a BufferedReader to read from the file
-                String line;
-
-                // Read each line from the file
-                while ((line = reader.readLine()) != null) {
-                    // Split the line into parts using comma as delimiter
-                    String[] parts = line.split(",");
-
-                    // Check if the line contains all five parts
-                    if (parts.length == 5) {
-                        // Extract data parts from the line
-                        String itemName = parts[0];
-                        int quantity = Integer.parseInt(parts[1]);
-                        int itemNumber = Integer.parseInt(parts[2]);
-                        String itemType = parts[3];
-                        LocalDate creationDate = LocalDate.parse(parts[4]);
-
-                        // Create a new InventoryItem object from the extracted data
-                        InventoryItem item = new InventoryItem(itemName, quantity, itemNumber, itemType, creationDate);
-
-                        // Add the InventoryItem object to the list of inventory items
-                        inventoryItemsList.add(item);
-                    }
-                }
-            } catch (IOException e) {
-                e.printStackTrace(); // Print the stack trace of the IOException
-            }
+     * a line does not contain exactly five parts, it is skipped. The changes
+     * recorded in the inventory journal since the last compaction are then
+     * replayed on top of the list, and the list is kept as the live list the
+     * journal is compacted from. If an IOException occurs during file reading, the
+     * exception is printed to the standard error stream.
+     * 
+     */
+    public static void loadExisitingDataFromInventoryCSVDuringStartUp(InventoryStore inventoryItemsList) {
+        try {
+            // Parse every row of the snapshot and replay the journal on top of it
+            INVENTORY_JOURNAL.attach(inventoryItemsList);
+        } catch (IOException e) {
+            e.printStackTrace(); // Print the stack trace of the IOException
         }
     }
 
@@ -79,193 +134,475 @@ public class CSVHandler {
      * inventoryItems list and writesits attributes to a new line in the CSV file.
      * The attributes are separated by commas. Each line in the CSV file represents
      * an InventoryItem, with its attributes ordered as follows: Item Name,
-     * Quantity, Item Number, Item Type, Creation Date. If an IOException occurs
-     * during file writing, the exception is printed to the standard error stream.
+     * Quantity, Item Number, Item Type, Creation Date. Since the file then holds
+     * every change, the inventory journal is cleared afterwards. Rows appended to
+     * the file by other programs since it was read are written along with the
+     * list; if the file was rewritten by another program, it is left alone until
+     * it is reloaded or overwritten. If an IOException occurs during file
+     * writing, the exception is printed to the standard error stream.
      */
     public static void writeCreatedItemToInventoryCSV(List<InventoryItem> inventoryItemsList) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(INVENTORY_CSV_FILE_PATH))) {
-            // Create a PrintWriter to write to the CSV file
-            for (InventoryItem item : inventoryItemsList) {
-                // Iterate through each InventoryItem in the inventoryItems list
-                // Write the attributes of the InventoryItem to a new line in the CSV file
-                writer.println(item.getItemName() + "," + item.getQuantity() + "," + item.getItemNumber() + ","
-                        + item.getItemType() + "," + item.getCreationDate());
-            }
+        try {
+            // Write every item to the CSV file and its binary copy; the journal is
+            // folded into them
+            INVENTORY_JOURNAL.rewriteSnapshot(inventoryItemsList);
+        } catch (IOException e) {
+            e.printStackTrace(); // Print the stack trace of the IOException
+        }
+    }
+
+    /**
+     * Method to start watching inventory.csv for changes made by other programs
+     * while the application is running.
+     * 
+     * Rows appended to the file are parsed from where the last read stopped and
+     * handed to the listener; any other change is reported as a rewrite, to be
+     * resolved with reloadInventoryCSVFile or overwriteInventoryCSVFile. If the
+     * data directory cannot be watched, the exception is printed to the standard
+     * error stream and changes are only noticed before the next snapshot write.
+     * 
+     * @param listener Receives the changes on the event dispatch thread.
+     */
+    public static void watchInventoryCSVFile(InventoryFileWatcher.Listener listener) {
+        try {
+            INVENTORY_FILE_WATCHER.start(listener);
         } catch (IOException e) {
             e.printStackTrace(); // Print the stack trace of the IOException
         }
     }
 
+    /**
+     * Method to load inventory.csv again after another program rewrote it.
+     * 
+     * The inventory journal is replayed on top of the file, so the changes made
+     * in the application are kept, and later changes of the file are compared
+     * with its current content.
+     * 
+     * @return A store of the reloaded InventoryItem objects.
+     * @throws IOException If the file or the journal cannot be read.
+     */
+    public static InventoryStore reloadInventoryCSVFile() throws IOException {
+        InventoryStore items = new InventoryStore();
+        INVENTORY_JOURNAL.reload(items);
+        return items;
+    }
+
+    /**
+     * Method to replace inventory.csv with the given items even though another
+     * program changed it, after the user chose to keep the inventory of the
+     * application. The inventory journal is cleared afterwards.
+     * 
+     * @param inventoryItemsList The items to save.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void overwriteInventoryCSVFile(List<InventoryItem> inventoryItemsList) throws IOException {
+        INVENTORY_JOURNAL.overwriteSnapshot(inventoryItemsList);
+    }
+
+    /**
+     * Method to record a newly created inventory item in the inventory journal.
+     * 
+     * Instead of rewriting the whole inventory.csv file, a single record holding
+     * the item details is appended to the journal. The journal is folded back into
+     * inventory.csv by a background compaction once it has grown large enough.
+     * 
+     * @param item The InventoryItem object representing the created item.
+     */
+    public static void appendCreatedItemToInventoryJournal(InventoryItem item) {
+        INVENTORY_JOURNAL.appendAdded(item);
+    }
+
+    /**
+     * Method to record the items of rows another program appended to
+     * inventory.csv in the inventory journal as one batch, with a single write.
+     * 
+     * The rows are already in the file, but a snapshot written from a copy of the
+     * inventory taken before they were added would leave them out; the records
+     * keep them either way, and replaying them over the rows in the file only
+     * replaces each item with itself.
+     * 
+     * @param items The InventoryItem objects of the appended rows.
+     */
+    public static void appendExternalItemsToInventoryJournal(List<InventoryItem> items) {
+        INVENTORY_JOURNAL.appendAddedBatch(items);
+    }
+
+    /**
+     * Method to record an updated inventory item in the inventory journal.
+     * 
+     * @param previousItemNumber The item number of the item before the update.
+     * @param item               The InventoryItem object holding the updated
+     *                           details.
+     */
+    public static void appendUpdatedItemToInventoryJournal(int previousItemNumber, InventoryItem item) {
+        INVENTORY_JOURNAL.appendUpdated(previousItemNumber, item);
+    }
+
+    /**
+     * Method to record the removal of an inventory item in the inventory journal.
+     * 
+     * @param itemNumber The item number of the removed item.
+     */
+    public static void appendDeletedItemToInventoryJournal(int itemNumber) {
+        INVENTORY_JOURNAL.appendRemoved(itemNumber);
+    }
+
+    /**
+     * Method to record the removal of several inventory items in the inventory
+     * journal as one batch, with a single write.
+     * 
+     * @param itemNumbers The item numbers of the removed items.
+     */
+    public static void appendDeletedItemsToInventoryJournal(Collection<Integer> itemNumbers) {
+        INVENTORY_JOURNAL.appendRemovedBatch(itemNumbers);
+    }
+
+    /**
+     * Method to open the inventory history once the inventory is loaded.
+     * 
+     * If the history does not end with the loaded inventory, such as on the first
+     * run or after inventory.csv was changed by another program, a checkpoint of
+     * the loaded inventory is recorded.
+     * 
+     * @param inventory The inventory as loaded.
+     */
+    public static void openInventoryHistory(InventorySnapshot inventory) {
+        INVENTORY_HISTORY.open(inventory);
+    }
+
+    /**
+     * Method to record created inventory items in the inventory history.
+     * 
+     * @param itemNumbers The item numbers of the created items.
+     * @param state       The inventory after the change.
+     */
+    public static void recordCreatedItemsInHistory(Collection<Integer> itemNumbers, InventorySnapshot state) {
+        INVENTORY_HISTORY.recordCreated(itemNumbers, state);
+    }
+
+    /**
+     * Method to record an update of an inventory item in the inventory history.
+     * 
+     * @param before     A copy of the item before the update.
+     * @param itemNumber The item number of the item after the update.
+     * @param state      The inventory after the change.
+     */
+    public static void recordUpdatedItemInHistory(InventoryItem before, int itemNumber, InventorySnapshot state) {
+        INVENTORY_HISTORY.recordUpdated(before, itemNumber, state);
+    }
+
+    /**
+     * Method to record deleted inventory items in the inventory history.
+     * 
+     * @param itemNumbers The item numbers of the deleted items.
+     * @param state       The inventory after the change.
+     */
+    public static void recordDeletedItemsInHistory(Collection<Integer> itemNumbers, InventorySnapshot state) {
+        INVENTORY_HISTORY.recordDeleted(itemNumbers, state);
+    }
+
+    /**
+     * Method to record restored inventory items in the inventory history.
+     * 
+     * @param itemNumbers The item numbers of the restored items.
+     * @param state       The inventory after the change.
+     */
+    public static void recordRestoredItemsInHistory(Collection<Integer> itemNumbers, InventorySnapshot state) {
+        INVENTORY_HISTORY.recordRestored(itemNumbers, state);
+    }
+
+    /**
+     * Method to record in the inventory history that the whole inventory was
+     * replaced, such as by a reload of inventory.csv.
+     * 
+     * @param state The new inventory.
+     */
+    public static void recordReplacedInventoryInHistory(InventorySnapshot state) {
+        INVENTORY_HISTORY.recordReplaced(state);
+    }
+
+    /**
+     * Method to rebuild the inventory as it was at a given time from the
+     * inventory history.
+     * 
+     * @param epochMillis The time, in milliseconds since the epoch.
+     * @return The inventory at that time, or null if the history does not go back
+     *         that far.
+     * @throws IOException If the history cannot be read.
+     */
+    public static InventorySnapshot readInventoryFromHistory(long epochMillis) throws IOException {
+        return INVENTORY_HISTORY.inventoryAt(epochMillis);
+    }
+
+    /**
+     * Writes each item of the list to a new line of the given CSV file, replacing
+     * its previous content. The rows are written to a temporary file that is
+     * forced to disk and atomically renamed over the CSV file, so a crash never
+     * leaves a truncated file behind.
+     * 
+     * @param filePath The path of the CSV file to write.
+     * @param items    The list of InventoryItem objects to write.
+     * @throws IOException If the file cannot be written.
+     */
+    static void writeItemsToCSVFile(String filePath, Collection<InventoryItem> items) throws IOException {
+        // Stream the rows into a temporary file that atomically replaces the CSV file
+        GroupCommitWriter.writeAtomically(filePath, writer -> {
+            for (InventoryItem item : items) {
+                writer.write(toCSVRow(item));
+                writer.write(System.lineSeparator());
+            }
+        });
+    }
+
+    /**
+     * Formats every item of the list as CSV rows.
+     * 
+     * @param items The list of InventoryItem objects to format.
+     * @return The encoded CSV content.
+     */
+    private static byte[] toCSVBytes(List<InventoryItem> items) {
+        StringBuilder content = new StringBuilder(items.size() * 64);
+        for (InventoryItem item : items) {
+            content.append(toCSVRow(item)).append(System.lineSeparator());
+        }
+        return content.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Formats an item as a CSV row: Item Name, Quantity, Item Number, Item Type,
+     * Creation Date.
+     * 
+     * @param item The InventoryItem object to format.
+     * @return The CSV row, without a line terminator.
+     */
+    static String toCSVRow(InventoryItem item) {
+        return item.getItemName() + "," + item.getQuantity() + "," + item.getItemNumber() + ","
+                + item.getItemType() + "," + item.getCreationDate();
+    }
+
     /**
      * Method to append the details of a restored inventory item to a CSV file.
      * 
      * This method takes an InventoryItem object representing the restored item and
-     * appends its details, including item name, quantity, item number, item type,
-     * and creation date, to the CSV file specified by INVENTORY_CSV_FILE_PATH.
-     * If an IOException occurs during file writing, the stack trace is printed,
-     * and an error message is displayed using a JOptionPane.
+     * records it in the inventory journal, which is replayed on top of the CSV
+     * file specified by INVENTORY_CSV_FILE_PATH. The record includes the item
+     * name, quantity, item number, item type, and creation date.
      * 
      * @param item The InventoryItem object representing the restored item.
      */
     public static void writeRestoredItemToCSV(InventoryItem item) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(INVENTORY_CSV_FILE_PATH, true))) {
-            // Append the item details to the CSV file
-            writer.println(item.getItemName() + "," + item.getQuantity() + "," + item.getItemNumber() + ","
-                    + item.getItemType() + "," + item.getCreationDate());
-        } catch (IOException e) {
-            e.printStackTrace(); // Print the stack trace of the IOException
-            JOptionPane.showMessageDialog(null, "Error occurred while writing the restored item to inventory.csv",
-                    "Error", JOptionPane.ERROR_MESSAGE);
-        }
+        // Append the item details to the inventory journal
+        INVENTORY_JOURNAL.appendAdded(item);
+    }
+
+    /**
+     * Method to record several restored inventory items in the inventory journal
+     * as one batch, with a single write.
+     * 
+     * @param items The InventoryItem objects representing the restored items.
+     */
+    public static void writeRestoredItemsToCSV(List<InventoryItem> items) {
+        INVENTORY_JOURNAL.appendAddedBatch(items);
     }
 
     /**
      * Method to write updated deleted items to a CSV file.
      * 
      * This method takes a list of InventoryItem objects representing the updated
-     * list of deleted items. It opens a PrintWriter to the CSV file specified by
-     * DELETED_ITEMS_CSV_PATH and writes each item's details to a new line in the
-     * file. The details include item name, quantity, item number, item type, and
-     * creation date, separated by commas. If an IOException occurs during file
-     * writing, it is caught, the stack trace is printed, and an error message is
-     * displayed using a JOptionPane.
+     * list of deleted items and formats each item's details as a line of the CSV
+     * file specified by DELETED_ITEMS_CSV_PATH. The details include item name,
+     * quantity, item number, item type, and creation date, separated by commas.
+     * The content is handed to the group commit writer, which atomically replaces
+     * the file and coalesces saves arriving within the commit window into a
+     * single fsync, and the in-memory copy of the deleted items is replaced as
+     * well. If an IOException occurs during file writing, the stack trace
+     * is printed, and an error message is displayed using a JOptionPane.
      * 
      * @param items The list of InventoryItem objects representing the updated
      *              list of deleted items.
      */
     public static void writeItemsToDeletedItemsCSV(List<InventoryItem> items) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(DELETED_ITEMS_CSV_FILE_PATH))) {
-            // Write each item to the CSV file
-            for (InventoryItem item : items) {
-                writer.println(item.getItemName() + "," + item.getQuantity() + "," + item.getItemNumber() + ","
-                        + item.getItemType() + "," + item.getCreationDate());
-            }
-        } catch (IOException ex) {
-            ex.printStackTrace(); // Handle the IOException appropriately
-            JOptionPane.showMessageDialog(null, "Error writing to deleted items CSV file!", "Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        DELETED_ITEMS_CACHE.replace(items, toCSVBytes(items), "Error writing to deleted items CSV file!");
     }
 
     /**
      * Writes deleted item details to the CSV file.
      * 
-     * It takes an InventoryItem object representing the deleted item as input.
-     * Inside a try-with-resources block, it opens a PrintWriter to append data to
-     * the specified CSV file (DELETED_ITEMS_CSV_FILE_PATH).
-     * It then appends the details of the deleted item to the CSV file. These
-     * details include the item name, quantity, item number, item type, and creation
-     * date, all separated by commas.
-     * If an IOException occurs during file writing, it catches the exception,
-     * prints the stack trace, and displays an error message using a JOptionPane.
+     * It takes an InventoryItem object representing the deleted item as input and
+     * appends its details to the specified CSV file (DELETED_ITEMS_CSV_FILE_PATH)
+     * through the group commit writer, and adds the item to the in-memory copy
+     * of the deleted items. These details include the item name, quantity, item
+     * number, item type, and creation date, all separated by commas.
+     * If an IOException occurs during file writing, the stack trace is printed,
+     * and an error message is displayed using a JOptionPane.
      * 
      * @param item The InventoryItem object representing the deleted item.
      */
     public static void writeDeletedItemToCSV(InventoryItem item) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(DELETED_ITEMS_CSV_FILE_PATH, true))) {
-            // Append the item details to the CSV file, including the creation date
-            writer.println(item.getItemName() + "," + item.getQuantity() + "," + item.getItemNumber() + ","
-                    + item.getItemType() + "," + item.getCreationDate());
-        } catch (IOException ex) {
-            ex.printStackTrace(); // Print the stack trace of the IOException
-            JOptionPane.showMessageDialog(null, "Error writing to CSV file for deleted items!", "Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        // Append the item details to the CSV file, including the creation date
+        DELETED_ITEMS_CACHE.append(item, (toCSVRow(item) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                "Error writing to CSV file for deleted items!");
     }
 
     /**
-     * Reads from Deleted CSV file and returns a list of InventoryItem
-     * objects.
+     * Writes the details of several deleted items to the CSV file with a single
+     * append, and adds them to the in-memory copy of the deleted items.
      * 
-     * @return A list of InventoryItem objects read from the CSV file.
+     * @param items The InventoryItem objects representing the deleted items.
      */
-    public static List<InventoryItem> readItemsFromDeletedCSVFile() {
-        List<InventoryItem> items = new ArrayList<>();
-
-        // Create a File object representing the CSV file
-        File file = new File(DELETED_ITEMS_CSV_FILE_PATH);
-
-        // If the file does not exist, return an empty list
-        if (!file.exists()) {
-            return items;
-        }
+    public static void writeDeletedItemsToCSV(List<InventoryItem> items) {
+        DELETED_ITEMS_CACHE.appendAll(items, toCSVBytes(items), "Error writing to CSV file for deleted items!");
+    }
 
-        // If the file exists, read from it
-        try (BufferedReader reader = new BufferedReader(new FileReader(DELETED_ITEMS_CSV_FILE_PATH))) {
-
-            // Create a BufferedReader to read from the file
-            String line;
-
-            // Read each line from the file
-            while ((line = reader.readLine()) != null) {
-                // Split the CSV line by comma and create an InventoryItem object
-                String[] parts = line.split(",");
-
-                // Check if the CSV line contains all required fields (5 fields):
-                // If so, extract each field:
-                if (parts.length == 5) {
-                    String itemName = parts[0];
-                    int quantity = Integer.parseInt(parts[1]);
-                    int itemNumber = Integer.parseInt(parts[2]);
-                    String itemType = parts[3];
-                    LocalDate creationDate = LocalDate.parse(parts[4]);
-
-                    // Create a new InventoryItem object using the extracted information and add it
-                    // to the list of items.
-                    InventoryItem item = new InventoryItem(itemName, quantity, itemNumber, itemType, creationDate);
-                    items.add(item);
+    /**
+     * Method to read the reservations from reservations.csv.
+     * 
+     * Each line of the file holds a reservation: Reservation Number, Item Number,
+     * Quantity, Start Date, End Date, Event Name, or cancels the reservation
+     * with the number following a minus sign. Lines that do not contain exactly
+     * six parts or hold an invalid number or date are skipped. A missing file
+     * holds no reservations.
+     * 
+     * @return The reservations that were not cancelled, in the order of the file.
+     */
+    public static List<Reservation> readReservationsFromCSVFile() {
+        Map<Integer, Reservation> reservations = new LinkedHashMap<>();
+        try {
+            for (String line : Files.readAllLines(Paths.get(RESERVATIONS_CSV_FILE_PATH), StandardCharsets.UTF_8)) {
+                String[] parts = line.split(",", -1);
+                try {
+                    if (parts.length == 1 && line.startsWith("-")) {
+                        reservations.remove(Integer.parseInt(line.substring(1)));
+                    } else if (parts.length == 6) {
+                        Reservation reservation = new Reservation(Integer.parseInt(parts[0]),
+                                Integer.parseInt(parts[1]), Integer.parseInt(parts[2]), LocalDate.parse(parts[3]),
+                                LocalDate.parse(parts[4]), parts[5]);
+                        reservations.put(reservation.getReservationNumber(), reservation);
+                    }
+                } catch (NumberFormatException | DateTimeParseException e) {
+                    // Skip the invalid line
                 }
             }
-        } catch (IOException | DateTimeParseException | NumberFormatException e) {
-            e.printStackTrace(); // Handle exceptions appropriately
+        } catch (NoSuchFileException e) {
+            // No reservation was made yet
+        } catch (IOException e) {
+            e.printStackTrace(); // Print the stack trace of the IOException
         }
-        return items;
+        return new ArrayList<>(reservations.values());
     }
 
     /**
-     * Reads from Inventory CSV file and returns a list of InventoryItem
-     * objects.
+     * Method to append a new reservation to reservations.csv through the group
+     * commit writer.
      * 
-     * @return A list of InventoryItem objects read from the CSV file.
+     * @param reservation The new reservation.
      */
-    public static List<InventoryItem> readItemsFromInventoryCSVFile() {
-        List<InventoryItem> items = new ArrayList<>();
+    public static void appendReservationToCSV(Reservation reservation) {
+        FILE_WRITER.append(RESERVATIONS_CSV_FILE_PATH,
+                (toCSVRow(reservation) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                "Error writing to reservations CSV file!");
+    }
 
-        // Create a File object representing the CSV file
-        File file = new File(INVENTORY_CSV_FILE_PATH);
+    /**
+     * Method to record the cancellation of a reservation by appending a line to
+     * reservations.csv, so the file is not rewritten for every cancellation.
+     * 
+     * @param reservationNumber The reservation number of the cancelled
+     *                          reservation.
+     */
+    public static void appendCancelledReservationToCSV(int reservationNumber) {
+        FILE_WRITER.append(RESERVATIONS_CSV_FILE_PATH,
+                ("-" + reservationNumber + System.lineSeparator()).getBytes(StandardCharsets.UTF_8),
+                "Error writing to reservations CSV file!");
+    }
 
-        // If the file does not exist, return an empty list
-        if (!file.exists()) {
-            return items;
+    /**
+     * Method to replace the content of reservations.csv with the given
+     * reservations, dropping the cancelled ones. The file is replaced atomically
+     * through the group commit writer.
+     * 
+     * @param reservations Every remaining reservation.
+     */
+    public static void writeReservationsToCSV(Collection<Reservation> reservations) {
+        StringBuilder content = new StringBuilder(reservations.size() * 48);
+        for (Reservation reservation : reservations) {
+            content.append(toCSVRow(reservation)).append(System.lineSeparator());
         }
+        FILE_WRITER.replace(RESERVATIONS_CSV_FILE_PATH, content.toString().getBytes(StandardCharsets.UTF_8),
+                "Error writing to reservations CSV file!");
+    }
+
+    /**
+     * Formats a reservation as a CSV row, without a line terminator.
+     */
+    private static String toCSVRow(Reservation reservation) {
+        return reservation.getReservationNumber() + "," + reservation.getItemNumber() + ","
+                + reservation.getQuantity() + "," + reservation.getStartDate() + "," + reservation.getEndDate()
+                + "," + reservation.getEventName();
+    }
 
-        // If the file exists, read from it
-        try (BufferedReader reader = new BufferedReader(new FileReader(INVENTORY_CSV_FILE_PATH))) {
+    /**
+     * Method to save every pending change to disk right away.
+     * 
+     * This is called before the application exits, so saves still waiting for
+     * the end of the group commit window are not lost.
+     */
+    public static void flushPendingSaves() {
+        INVENTORY_HISTORY.awaitPendingEvents();
+        FILE_WRITER.flush();
+    }
 
-            // Create a BufferedReader to read from the file
-            String line;
+    /**
+     * Reads from Deleted CSV file and returns a store of InventoryItem
+     * objects.
+     * 
+     * The deleted items are kept in memory after the file is first parsed, and
+     * the file is parsed again only if its size or modification time shows it
+     * was changed outside of this class.
+     * 
+     * @return A store of InventoryItem objects read from the CSV file.
+     */
+    public static InventoryStore readItemsFromDeletedCSVFile() {
+        return DELETED_ITEMS_CACHE.read();
+    }
 
-            // Read each line from the file
-            while ((line = reader.readLine()) != null) {
+    /**
+     * Reads the changes made to the Deleted CSV file outside of this class, such
+     * as an edit by hand, since it was last read.
+     * 
+     * The file is parsed only if its size or modification time changed, and the
+     * parsed items are compared with the ones kept in memory, so the deleted
+     * items held elsewhere can be updated without being read again.
+     * 
+     * @return The items added to and removed from the CSV file.
+     */
+    public static DeletedItemsCache.Change readChangesToDeletedCSVFile() {
+        return DELETED_ITEMS_CACHE.readChange();
+    }
 
-                // Split the CSV line by comma and create an InventoryItem object
-                String[] parts = line.split(",");
+    /**
+     * Checks whether the Deleted CSV file was rewritten since a change was read,
+     * in which case the items added by the change must be written again.
+     * 
+     * @param change The change read by readChangesToDeletedCSVFile.
+     * @return True if the file was rewritten since.
+     */
+    public static boolean isDeletedCSVFileRewrittenSince(DeletedItemsCache.Change change) {
+        return DELETED_ITEMS_CACHE.isReplacedSince(change);
+    }
 
-                // Check if the CSV line contains all required fields (5 fields):
-                // If so, extract each field:
-                if (parts.length == 5) {
-                    String itemName = parts[0];
-                    int quantity = Integer.parseInt(parts[1]);
-                    int itemNumber = Integer.parseInt(parts[2]);
-                    String itemType = parts[3];
-                    LocalDate creationDate = LocalDate.parse(parts[4]);
+    /**
+     * Reads from Inventory CSV file and returns a store of InventoryItem
+     * objects, including the changes recorded in the inventory journal.
+     * 
+     * @return A store of InventoryItem objects read from the CSV file.
+     */
+    public static InventoryStore readItemsFromInventoryCSVFile() {
+        InventoryStore items = new InventoryStore();
 
-                    // Create a new InventoryItem object using the extracted information and add it
-                    // to the list of items.
-                    InventoryItem item = new InventoryItem(itemName, quantity, itemNumber, itemType, creationDate);
-                    items.add(item);
-                }
-            }
+        // Parse the CSV file and replay the inventory journal on top of it
+        try {
+            INVENTORY_JOURNAL.load(items);
         } catch (IOException | DateTimeParseException | NumberFormatException e) {
             e.printStackTrace(); // Handle exceptions appropriately
         }
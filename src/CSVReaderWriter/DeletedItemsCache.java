@@ -0,0 +1,285 @@
+package src.CSVReaderWriter;
+
+import src.model.InventoryItem;
+import src.store.ColumnarInventoryStore;
+import src.store.InventorySnapshot;
+import src.store.InventoryStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deleted items of deleted_items.csv kept in memory, and the one path through
+ * which the file is written. Appends and full rewrites are handed to the group
+ * commit writer under the cache's lock, in the order they are called, and each
+ * rewrite is built from the caller's items at the time of the call, so a later
+ * save can never be overtaken by an earlier one. Nothing else writes the file.
+ */
+public class DeletedItemsCache {
+
+    // Marks a modification time that is not known yet, because a save of the
+    // cache has not been committed to disk
+    private static final long UNKNOWN_MODIFICATION_TIME = Long.MIN_VALUE;
+
+    // Path of the deleted items CSV file
+    private final String csvPath;
+
+    // Writer saving the CSV file with group-committed fsyncs
+    private final GroupCommitWriter fileWriter;
+
+    // Deleted items as last loaded or saved, or null before the first load; held
+    // as primitive columns since the trash stays in memory for the whole session
+    private ColumnarInventoryStore items;
+
+    // Size the CSV file has once every save of the cache is on disk
+    private long expectedSize;
+
+    // Modification time of the CSV file holding exactly the cached items
+    private long knownModificationTime = UNKNOWN_MODIFICATION_TIME;
+
+    // Number of times the content of the file was replaced by the cache
+    private int replaceCount;
+
+    /**
+     * Creates a cache of the given deleted items CSV file. Nothing is read until
+     * the items are first requested. Only CSVHandler creates one, so every write
+     * of the file goes through the same cache.
+     *
+     * @param csvPath    The path of the deleted items CSV file.
+     * @param fileWriter The writer saving the CSV file.
+     */
+    DeletedItemsCache(String csvPath, GroupCommitWriter fileWriter) {
+        this.csvPath = csvPath;
+        this.fileWriter = fileWriter;
+    }
+
+    /**
+     * Items added to and removed from deleted_items.csv by something other than
+     * the cache, such as an edit by hand.
+     */
+    public static final class Change {
+        private final List<InventoryItem> addedItems;
+        private final List<InventoryItem> removedItems;
+        private final int replaceCount;
+
+        Change(List<InventoryItem> addedItems, List<InventoryItem> removedItems, int replaceCount) {
+            this.addedItems = Collections.unmodifiableList(addedItems);
+            this.removedItems = Collections.unmodifiableList(removedItems);
+            this.replaceCount = replaceCount;
+        }
+
+        // Getter method for retrieving detached copies of the items added to the file
+        public List<InventoryItem> getAddedItems() {
+            return addedItems;
+        }
+
+        // Getter method for retrieving detached copies of the items removed from
+        // the file
+        public List<InventoryItem> getRemovedItems() {
+            return removedItems;
+        }
+
+        // Getter method for retrieving whether the file was left as the cache knew it
+        public boolean isEmpty() {
+            return addedItems.isEmpty() && removedItems.isEmpty();
+        }
+    }
+
+    /**
+     * Method to get the deleted items.
+     *
+     * The CSV file is parsed on the first call only. Afterwards the cache is kept
+     * up to date by append and replace, and the file is parsed again only if its
+     * size or modification time shows it was changed by something else (such as
+     * an edit by hand). Pending saves are committed first, so the comparison is
+     * made against a file holding every change of the cache.
+     *
+     * @return A new store holding detached copies of the deleted items, which
+     *         the caller may change and keep; unlike views of the cached
+     *         columns, they do not hold on to the cache once it is replaced.
+     */
+    public synchronized InventoryStore read() {
+        refresh();
+
+        InventoryStore store = new InventoryStore();
+        for (InventoryItem item : items) {
+            store.add(InventorySnapshot.copyOf(item));
+        }
+        return store;
+    }
+
+    /**
+     * Method to find the changes made to the CSV file by something else since it
+     * was last read. Like read, the file is parsed again only if its size or
+     * modification time changed, so this is cheap when nothing changed; the
+     * cached items are then compared with the parsed ones.
+     *
+     * @return The items added and removed, as detached copies; everything in the
+     *         file counts as added on the first call.
+     */
+    public synchronized Change readChange() {
+        ColumnarInventoryStore previousItems = refresh();
+        if (previousItems == null) {
+            return new Change(new ArrayList<>(), new ArrayList<>(), replaceCount);
+        }
+
+        // Count the previous items by content, then match the parsed items against
+        // them; the unmatched previous items are the removed ones
+        Map<List<Object>, Integer> unmatchedCounts = new HashMap<>();
+        for (InventoryItem item : previousItems) {
+            unmatchedCounts.merge(contentOf(item), 1, Integer::sum);
+        }
+        List<InventoryItem> addedItems = new ArrayList<>();
+        for (InventoryItem item : items) {
+            if (!takeOne(unmatchedCounts, contentOf(item))) {
+                addedItems.add(InventorySnapshot.copyOf(item));
+            }
+        }
+        List<InventoryItem> removedItems = new ArrayList<>();
+        for (InventoryItem item : previousItems) {
+            if (takeOne(unmatchedCounts, contentOf(item))) {
+                removedItems.add(InventorySnapshot.copyOf(item));
+            }
+        }
+        return new Change(addedItems, removedItems, replaceCount);
+    }
+
+    /**
+     * Method to append a deleted item to the CSV file and the cache.
+     *
+     * @param item         The deleted item.
+     * @param row          The encoded CSV row of the item, with its line
+     *                     terminator.
+     * @param errorMessage The message shown to the user if the save fails.
+     */
+    public synchronized void append(InventoryItem item, byte[] row, String errorMessage) {
+        fileWriter.append(csvPath, row, errorMessage);
+
+        // If the file was never loaded, the next read parses it with the row included
+        if (items != null) {
+            items.add(item);
+            expectedSize += row.length;
+            knownModificationTime = UNKNOWN_MODIFICATION_TIME;
+        }
+    }
+
+    /**
+     * Method to append several deleted items to the CSV file and the cache with
+     * a single write.
+     *
+     * @param newItems     The deleted items.
+     * @param rows         The encoded CSV rows of the items, with their line
+     *                     terminators.
+     * @param errorMessage The message shown to the user if the save fails.
+     */
+    public synchronized void appendAll(List<InventoryItem> newItems, byte[] rows, String errorMessage) {
+        fileWriter.append(csvPath, rows, errorMessage);
+
+        // If the file was never loaded, the next read parses it with the rows included
+        if (items != null) {
+            items.addAll(newItems);
+            expectedSize += rows.length;
+            knownModificationTime = UNKNOWN_MODIFICATION_TIME;
+        }
+    }
+
+    /**
+     * Method to replace the content of the CSV file and the cache.
+     *
+     * @param newItems     The deleted items to keep.
+     * @param content      The encoded CSV content of the items.
+     * @param errorMessage The message shown to the user if the save fails.
+     */
+    public synchronized void replace(List<InventoryItem> newItems, byte[] content, String errorMessage) {
+        fileWriter.replace(csvPath, content, errorMessage);
+        items = new ColumnarInventoryStore();
+        items.addAll(newItems);
+        expectedSize = content.length;
+        knownModificationTime = UNKNOWN_MODIFICATION_TIME;
+        replaceCount++;
+    }
+
+    /**
+     * Method to check whether the content of the CSV file was replaced since a
+     * change was read, in which case the replacing content did not hold the
+     * items added by the change.
+     *
+     * @param change The change read by readChange.
+     * @return True if the file was replaced since.
+     */
+    public synchronized boolean isReplacedSince(Change change) {
+        return replaceCount != change.replaceCount;
+    }
+
+    /**
+     * Commits the pending saves and parses the CSV file again if it was changed
+     * by something else or never loaded. Returns the items cached before the
+     * file was parsed (empty on the first load), or null if it was not parsed.
+     */
+    private ColumnarInventoryStore refresh() {
+        fileWriter.flush();
+
+        File file = new File(csvPath);
+        long size = file.exists() ? file.length() : 0;
+        long modificationTime = file.exists() ? file.lastModified() : 0;
+
+        if (items == null || size != expectedSize
+                || (knownModificationTime != UNKNOWN_MODIFICATION_TIME && modificationTime != knownModificationTime)) {
+            ColumnarInventoryStore previousItems = items == null ? new ColumnarInventoryStore() : items;
+            load(file, size, modificationTime);
+            return previousItems;
+        }
+        // The committed saves of the cache account for the whole file
+        knownModificationTime = modificationTime;
+        return null;
+    }
+
+    /**
+     * Parses the CSV file into the cache. A missing or unreadable file leaves
+     * the cache empty.
+     */
+    private void load(File file, long size, long modificationTime) {
+        ColumnarInventoryStore loadedItems = new ColumnarInventoryStore();
+        if (file.exists()) {
+            try {
+                InventoryCSVParser.parseFile(csvPath, loadedItems);
+            } catch (IOException | DateTimeParseException | NumberFormatException e) {
+                e.printStackTrace(); // Handle exceptions appropriately
+            }
+        }
+        items = loadedItems;
+        expectedSize = size;
+        knownModificationTime = modificationTime;
+    }
+
+    /**
+     * Returns the fields of an item, equal for items written as the same row.
+     */
+    private static List<Object> contentOf(InventoryItem item) {
+        return List.of(item.getItemNumber(), item.getItemName(), item.getQuantity(), item.getItemType(),
+                item.getCreationDate());
+    }
+
+    /**
+     * Takes one unmatched item with the given content, returning false if none
+     * is left.
+     */
+    private static boolean takeOne(Map<List<Object>, Integer> unmatchedCounts, List<Object> content) {
+        Integer count = unmatchedCounts.get(content);
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            unmatchedCounts.remove(content);
+        } else {
+            unmatchedCounts.put(content, count - 1);
+        }
+        return true;
+    }
+}
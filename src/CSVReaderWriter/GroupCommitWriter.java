@@ -0,0 +1,379 @@
+package src.CSVReaderWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JOptionPane;
+import javax.swing.SwingUtilities;
+
+public class GroupCommitWriter {
+
+    /**
+     * Callback streaming the content of a file that is written atomically.
+     */
+    public interface ContentWriter {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * Callback streaming the binary content of a file that is written atomically.
+     */
+    public interface BinaryContentWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    // Writes waiting for the next group commit, keyed by file path
+    private final Map<String, PendingWrite> pendingWrites = new LinkedHashMap<>();
+
+    // Time window in which saves are coalesced into a single commit
+    private final long commitWindowMillis;
+
+    // Delay in milliseconds before a failed write is tried again
+    private static final long RETRY_DELAY_MILLIS = 1000;
+
+    // Lock held while a group commit writes and forces files to disk
+    private final Object commitLock = new Object();
+
+    // True while a group commit is scheduled on the background thread
+    private boolean commitScheduled;
+
+    // Background thread running the scheduled group commits
+    private final ScheduledExecutorService commitScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inventory-group-commit");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Holds the coalesced writes of a single file: an optional full replacement of
+     * its content followed by the bytes appended after it.
+     */
+    private static class PendingWrite {
+        private byte[] replacement;
+        private final ByteArrayOutputStream appended = new ByteArrayOutputStream();
+        private String errorMessage;
+
+        // Callbacks run once the appended bytes are on disk
+        private final List<Runnable> onCommitted = new ArrayList<>();
+
+        // Length the file had before a failed append, so a torn tail it left is
+        // cut off before the bytes are appended again; -1 if there is none
+        private long validLength = -1;
+
+        // Whether the user was already told that the write failed
+        private boolean errorShown;
+    }
+
+    /**
+     * Creates a writer that coalesces saves arriving within the given window.
+     * Pending saves are also committed when the JVM shuts down.
+     *
+     * @param commitWindowMillis The group commit window in milliseconds.
+     */
+    public GroupCommitWriter(long commitWindowMillis) {
+        this.commitWindowMillis = commitWindowMillis;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "inventory-group-commit-shutdown"));
+    }
+
+    /**
+     * Method to schedule a full replacement of a file's content.
+     *
+     * Replacing a file discards any write still pending for it, so only the last
+     * content saved within the window reaches the disk.
+     *
+     * @param filePath     The path of the file to replace.
+     * @param content      The new content of the file.
+     * @param errorMessage The message shown to the user if the write fails.
+     */
+    public synchronized void replace(String filePath, byte[] content, String errorMessage) {
+        PendingWrite pendingWrite = new PendingWrite();
+        pendingWrite.replacement = content;
+        pendingWrite.errorMessage = errorMessage;
+        pendingWrites.put(filePath, pendingWrite);
+        scheduleCommit();
+    }
+
+    /**
+     * Method to schedule bytes to be appended to the end of a file.
+     *
+     * @param filePath     The path of the file to append to.
+     * @param content      The bytes to append.
+     * @param errorMessage The message shown to the user if the write fails.
+     */
+    public synchronized void append(String filePath, byte[] content, String errorMessage) {
+        append(filePath, content, errorMessage, null);
+    }
+
+    /**
+     * Method to schedule bytes to be appended to the end of a file, running a
+     * callback once they are forced to disk. The callback is not run if the
+     * write fails or is discarded, and it runs on the thread committing the
+     * write while the commit lock is held, so it must not wait for other locks.
+     *
+     * @param filePath     The path of the file to append to.
+     * @param content      The bytes to append.
+     * @param errorMessage The message shown to the user if the write fails.
+     * @param onCommitted  The callback run once the bytes are on disk, or null.
+     */
+    public synchronized void append(String filePath, byte[] content, String errorMessage, Runnable onCommitted) {
+        PendingWrite pendingWrite = pendingWrites.computeIfAbsent(filePath, path -> new PendingWrite());
+        pendingWrite.appended.write(content, 0, content.length);
+        pendingWrite.errorMessage = errorMessage;
+        if (onCommitted != null) {
+            pendingWrite.onCommitted.add(onCommitted);
+        }
+        scheduleCommit();
+    }
+
+    /**
+     * Method to drop every write still pending for a file.
+     *
+     * @param filePath The path of the file.
+     */
+    public synchronized void discard(String filePath) {
+        pendingWrites.remove(filePath);
+    }
+
+    /**
+     * Method to commit every pending write right away, waiting for a commit that
+     * is already running. Readers call this before reading a file so they always
+     * see the latest saved content.
+     *
+     * A write that fails is kept pending and tried again a moment later, ahead of
+     * the writes saved since, and the user is told once. Bytes a failed append
+     * left at the end of the file are cut off first, so nothing is ever appended
+     * after a torn record.
+     */
+    public void flush() {
+        synchronized (commitLock) {
+            Map<String, PendingWrite> writes;
+            synchronized (this) {
+                if (pendingWrites.isEmpty()) {
+                    return;
+                }
+                writes = new LinkedHashMap<>(pendingWrites);
+                pendingWrites.clear();
+            }
+
+            // Write each file once, paying a single fsync per file for the whole window
+            for (Map.Entry<String, PendingWrite> entry : writes.entrySet()) {
+                PendingWrite pendingWrite = entry.getValue();
+                try {
+                    if (pendingWrite.replacement != null) {
+                        writeAtomically(entry.getKey(), pendingWrite.replacement, pendingWrite.appended.toByteArray());
+                    } else {
+                        appendAndForce(entry.getKey(), pendingWrite);
+                    }
+                    for (Runnable onCommitted : pendingWrite.onCommitted) {
+                        onCommitted.run();
+                    }
+                } catch (IOException e) {
+                    e.printStackTrace(); // Print the stack trace of the IOException
+                    if (!pendingWrite.errorShown) {
+                        pendingWrite.errorShown = true;
+                        showError(pendingWrite.errorMessage);
+                    }
+                    retry(entry.getKey(), pendingWrite);
+                }
+            }
+        }
+    }
+
+    /**
+     * Method to write a file atomically and durably.
+     *
+     * The content is streamed into a temporary file next to the target, forced to
+     * disk and then renamed over the target, so a crash leaves either the old or
+     * the new file in place, never a truncated one.
+     *
+     * @param filePath      The path of the file to write.
+     * @param contentWriter The callback writing the new content.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeAtomically(String filePath, ContentWriter contentWriter) throws IOException {
+        writeBinaryAtomically(filePath, outputStream -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            contentWriter.writeTo(writer);
+            writer.flush();
+        });
+    }
+
+    /**
+     * Method to write a binary file atomically and durably, in the same way as
+     * writeAtomically.
+     *
+     * @param filePath      The path of the file to write.
+     * @param contentWriter The callback writing the new content.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeBinaryAtomically(String filePath, BinaryContentWriter contentWriter)
+            throws IOException {
+        Path target = Paths.get(filePath);
+        Path temporary = Paths.get(filePath + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream outputStream = new BufferedOutputStream(Channels.newOutputStream(channel), 64 * 1024);
+            contentWriter.writeTo(outputStream);
+            outputStream.flush();
+            channel.force(true);
+        }
+        moveIntoPlace(temporary, target);
+    }
+
+    /**
+     * Writes the given bytes to a temporary file, forces it and renames it over
+     * the target.
+     */
+    private static void writeAtomically(String filePath, byte[] content, byte[] appended) throws IOException {
+        Path target = Paths.get(filePath);
+        Path temporary = Paths.get(filePath + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, content);
+            writeFully(channel, appended);
+            channel.force(true);
+        }
+        moveIntoPlace(temporary, target);
+    }
+
+    /**
+     * Appends the bytes of a pending write to the end of a file and forces them to
+     * disk. The tail left by an earlier failed append is cut off first; if this
+     * append fails, the file is cut back to its previous length, and that length
+     * is kept in the pending write in case cutting it failed too.
+     */
+    private static void appendAndForce(String filePath, PendingWrite pendingWrite) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE)) {
+            // A smaller file was replaced since the failure, so there is no tail to cut
+            if (pendingWrite.validLength >= 0 && channel.size() > pendingWrite.validLength) {
+                channel.truncate(pendingWrite.validLength);
+            }
+            long start = channel.size();
+            pendingWrite.validLength = start;
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(pendingWrite.appended.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer, start + buffer.position());
+                }
+                channel.force(true);
+            } catch (IOException e) {
+                try {
+                    channel.truncate(start);
+                    channel.force(true);
+                } catch (IOException truncateFailure) {
+                    e.addSuppressed(truncateFailure);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Writes every byte of the array to the channel.
+     */
+    private static void writeFully(FileChannel channel, byte[] content) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Renames the temporary file over the target and forces the directory entry
+     * to disk where the platform allows it.
+     */
+    private static void moveIntoPlace(Path temporary, Path target) throws IOException {
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        // Directories cannot be opened for syncing on every platform (e.g. Windows)
+        Path directory = target.toAbsolutePath().getParent();
+        if (directory != null) {
+            try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+                channel.force(true);
+            } catch (IOException e) {
+                // The rename itself is still atomic, only its durability is best effort
+            }
+        }
+    }
+
+    /**
+     * Puts a failed write back in front of the writes of the same file saved
+     * since, and schedules another commit. A replacement saved since makes the
+     * failed write obsolete, as in replace.
+     */
+    private synchronized void retry(String filePath, PendingWrite failedWrite) {
+        PendingWrite laterWrite = pendingWrites.get(filePath);
+        if (laterWrite != null) {
+            if (laterWrite.replacement != null) {
+                return;
+            }
+            byte[] laterBytes = laterWrite.appended.toByteArray();
+            failedWrite.appended.write(laterBytes, 0, laterBytes.length);
+            failedWrite.onCommitted.addAll(laterWrite.onCommitted);
+            failedWrite.errorMessage = laterWrite.errorMessage;
+        }
+        pendingWrites.put(filePath, failedWrite);
+        scheduleCommit(Math.max(commitWindowMillis, RETRY_DELAY_MILLIS));
+    }
+
+    /**
+     * Schedules a group commit at the end of the current window, unless one is
+     * already scheduled.
+     */
+    private void scheduleCommit() {
+        scheduleCommit(commitWindowMillis);
+    }
+
+    /**
+     * Schedules a group commit after the given delay, unless one is already
+     * scheduled.
+     */
+    private void scheduleCommit(long delayMillis) {
+        if (!commitScheduled) {
+            commitScheduled = true;
+            commitScheduler.schedule(() -> {
+                synchronized (this) {
+                    commitScheduled = false;
+                }
+                flush();
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Displays an error message on the Swing event dispatch thread.
+     */
+    private static void showError(String errorMessage) {
+        if (errorMessage != null) {
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null, errorMessage, "Error",
+                    JOptionPane.ERROR_MESSAGE));
+        }
+    }
+}
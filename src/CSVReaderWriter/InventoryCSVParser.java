@@ -0,0 +1,452 @@
+package src.CSVReaderWriter;
+
+import src.model.InventoryItem;
+import src.model.ItemTypeDictionary;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class InventoryCSVParser {
+
+    // Size of the read buffer used when streaming the CSV file from disk
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Byte values used while tokenizing a CSV line
+    private static final byte COMMA = ',';
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    // Whether the loading throughput is printed after each file, off unless
+    // enabled with -Dinventory.logLoadThroughput=true (e.g. when profiling)
+    private static final boolean LOG_LOAD_THROUGHPUT = Boolean
+            .parseBoolean(System.getProperty("inventory.logLoadThroughput", "false"));
+
+    // Whether large files are parsed by several threads, configurable with
+    // -Dinventory.parallelLoad=false
+    private static final boolean PARALLEL_LOAD = Boolean
+            .parseBoolean(System.getProperty("inventory.parallelLoad", "true"));
+
+    // Files smaller than this are parsed on the calling thread, since splitting
+    // them costs more than it saves
+    private static final long PARALLEL_LOAD_THRESHOLD = 4L * 1024 * 1024;
+
+    // Size of the chunks a file is split into for parallel parsing, before the
+    // chunk ends are moved to the next line feed
+    private static final long CHUNK_SIZE = 8L * 1024 * 1024;
+
+    // Size of the buffer used to look for the line feed ending a chunk
+    private static final int BOUNDARY_SCAN_SIZE = 4 * 1024;
+
+    /**
+     * Method to parse an inventory CSV file into a list of InventoryItem objects.
+     *
+     * This method streams the file through a NIO FileChannel into a reusable byte
+     * buffer and tokenizes every line in place. Quantities, item numbers and ISO
+     * creation dates are parsed straight from the bytes, so no intermediate line
+     * String or String[] array is built per row. Lines that do not contain exactly
+     * five fields are skipped, matching the previous String.split(",") behaviour.
+     * Files of several megabytes are parsed in parallel on machines with more
+     * than one core (unless disabled with -Dinventory.parallelLoad=false); the
+     * items are added in the same order either way. With
+     * -Dinventory.logLoadThroughput=true, the number of rows and the throughput
+     * in rows/sec are printed to the standard output stream once the file has
+     * been read.
+     *
+     * @param filePath The path of the CSV file to parse.
+     * @param items    The list the parsed InventoryItem objects are added to.
+     * @return The number of rows added to the list.
+     * @throws IOException If the file cannot be read.
+     */
+    public static int parseFile(String filePath, Collection<InventoryItem> items) throws IOException {
+        long startTime = System.nanoTime();
+        int rowCount;
+
+        try (FileChannel channel = FileChannel.open(Paths.get(filePath), StandardOpenOption.READ)) {
+            if (PARALLEL_LOAD && channel.size() >= PARALLEL_LOAD_THRESHOLD
+                    && Runtime.getRuntime().availableProcessors() > 1) {
+                rowCount = parseChunksInParallel(channel, items);
+            } else {
+                rowCount = parseSequentially(channel, items);
+            }
+        }
+
+        reportThroughput(filePath, rowCount, System.nanoTime() - startTime);
+        return rowCount;
+    }
+
+    /**
+     * Streams the whole file through a single buffer on the calling thread.
+     */
+    private static int parseSequentially(FileChannel channel, Collection<InventoryItem> items) throws IOException {
+        int rowCount = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        // Read the file chunk by chunk, parsing every complete line in the buffer
+        while (channel.read(buffer) != -1) {
+            byte[] bytes = buffer.array();
+            int limit = buffer.position();
+            int consumed = 0;
+
+            // Parse each complete line (terminated by a line feed) in the buffer
+            for (int i = 0; i < limit; i++) {
+                if (bytes[i] == LINE_FEED) {
+                    if (parseLine(bytes, consumed, i, items)) {
+                        rowCount++;
+                    }
+                    consumed = i + 1;
+                }
+            }
+
+            // Move the trailing partial line to the front of the buffer
+            System.arraycopy(bytes, consumed, bytes, 0, limit - consumed);
+            buffer.position(limit - consumed);
+
+            // Grow the buffer if a single line does not fit into it
+            if (!buffer.hasRemaining()) {
+                ByteBuffer largerBuffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                buffer.flip();
+                largerBuffer.put(buffer);
+                buffer = largerBuffer;
+            }
+        }
+
+        // Parse the last line if the file does not end with a line feed
+        if (buffer.position() > 0 && parseLine(buffer.array(), 0, buffer.position(), items)) {
+            rowCount++;
+        }
+        return rowCount;
+    }
+
+    /**
+     * Maps the file, splits it into chunks that end on a line feed and parses the
+     * chunks on the common fork/join pool. Every chunk collects its items into a
+     * list of its own, and the lists are appended to the items in file order, so
+     * the result is the same as a sequential parse.
+     */
+    private static int parseChunksInParallel(FileChannel channel, Collection<InventoryItem> items) throws IOException {
+        long[] boundaries = chunkBoundaries(channel);
+        int chunkCount = boundaries.length - 1;
+        List<List<InventoryItem>> chunkItems = new ArrayList<>(chunkCount);
+        for (int i = 0; i < chunkCount; i++) {
+            chunkItems.add(null);
+        }
+
+        try {
+            ForkJoinPool.commonPool().invoke(new ParseChunksTask(channel, boundaries, chunkItems, 0, chunkCount));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        // Merge the chunks in their original order
+        int rowCount = 0;
+        for (List<InventoryItem> chunk : chunkItems) {
+            items.addAll(chunk);
+            rowCount += chunk.size();
+        }
+        return rowCount;
+    }
+
+    /**
+     * Returns the offsets the chunks of the file start at, followed by the size
+     * of the file. Each chunk ends just past the first line feed found at least
+     * CHUNK_SIZE bytes after its start, so no line is split between two chunks.
+     */
+    private static long[] chunkBoundaries(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+
+        ByteBuffer scanBuffer = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        long position = CHUNK_SIZE;
+        while (position < size) {
+            // Look for the next line feed, reading a small block at a time
+            long boundary = size;
+            scan: while (position < size) {
+                scanBuffer.clear();
+                int read = channel.read(scanBuffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                byte[] bytes = scanBuffer.array();
+                for (int i = 0; i < read; i++) {
+                    if (bytes[i] == LINE_FEED) {
+                        boundary = position + i + 1;
+                        break scan;
+                    }
+                }
+                position += read;
+            }
+            if (boundary < size) {
+                boundaries.add(boundary);
+            }
+            position = boundary + CHUNK_SIZE;
+        }
+        boundaries.add(size);
+
+        long[] result = new long[boundaries.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = boundaries.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Parses a range of chunks, splitting it in halves until a single chunk is
+     * left.
+     */
+    private static class ParseChunksTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final List<List<InventoryItem>> chunkItems;
+        private final int fromChunk;
+        private final int toChunk;
+
+        ParseChunksTask(FileChannel channel, long[] boundaries, List<List<InventoryItem>> chunkItems, int fromChunk,
+                int toChunk) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.chunkItems = chunkItems;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                invokeAll(new ParseChunksTask(channel, boundaries, chunkItems, fromChunk, middle),
+                        new ParseChunksTask(channel, boundaries, chunkItems, middle, toChunk));
+                return;
+            }
+
+            try {
+                chunkItems.set(fromChunk, parseChunk(boundaries[fromChunk], boundaries[fromChunk + 1]));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * Maps one chunk, copies it into an array and parses its lines.
+         */
+        private List<InventoryItem> parseChunk(long start, long end) throws IOException {
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("CSV line too long at offset " + start);
+            }
+            MappedByteBuffer mapped = channel.map(MapMode.READ_ONLY, start, end - start);
+            byte[] bytes = new byte[(int) (end - start)];
+            mapped.get(bytes);
+
+            // Lines are about 50 bytes long
+            List<InventoryItem> items = new ArrayList<>(bytes.length / 48 + 1);
+            int lineStart = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] == LINE_FEED) {
+                    parseLine(bytes, lineStart, i, items);
+                    lineStart = i + 1;
+                }
+            }
+
+            // Only the last chunk of a file without a final line feed has a partial line
+            if (lineStart < bytes.length) {
+                parseLine(bytes, lineStart, bytes.length, items);
+            }
+            return items;
+        }
+    }
+
+    /**
+     * Parses a single CSV line stored in the given byte range and adds the
+     * resulting InventoryItem to the list.
+     *
+     * @param bytes The buffer holding the line.
+     * @param start The index of the first byte of the line.
+     * @param end   The index just past the last byte of the line (excluding the
+     *              line feed).
+     * @param items The list the parsed item is added to.
+     * @return True if an item was added, false if the line was skipped.
+     */
+    static boolean parseLine(byte[] bytes, int start, int end, Collection<InventoryItem> items) {
+        // Ignore the carriage return of Windows line endings
+        if (end > start && bytes[end - 1] == CARRIAGE_RETURN) {
+            end--;
+        }
+
+        // Locate the four commas separating the five fields
+        int comma1 = indexOfComma(bytes, start, end);
+        int comma2 = indexOfComma(bytes, comma1 + 1, end);
+        int comma3 = indexOfComma(bytes, comma2 + 1, end);
+        int comma4 = indexOfComma(bytes, comma3 + 1, end);
+
+        // Skip the line if it does not contain all five fields
+        if (comma4 >= end) {
+            return false;
+        }
+        int fieldEnd = indexOfComma(bytes, comma4 + 1, end);
+
+        // Extra fields are only tolerated when they are empty (String.split drops
+        // trailing empty strings)
+        for (int i = fieldEnd; i < end; i++) {
+            if (bytes[i] != COMMA) {
+                return false;
+            }
+        }
+
+        // Skip the line if the trailing creation date field is empty
+        if (fieldEnd == comma4 + 1) {
+            return false;
+        }
+
+        // Extract data parts from the line; the item type is the shared instance
+        // of the type dictionary, so no String is created for it
+        String itemName = new String(bytes, start, comma1 - start, StandardCharsets.UTF_8);
+        int quantity = parseInt(bytes, comma1 + 1, comma2);
+        int itemNumber = parseInt(bytes, comma2 + 1, comma3);
+        String itemType = ItemTypeDictionary.canonical(bytes, comma3 + 1, comma4);
+        LocalDate creationDate = parseIsoDate(bytes, comma4 + 1, fieldEnd);
+
+        // Create a new InventoryItem object and add it to the list
+        items.add(new InventoryItem(itemName, quantity, itemNumber, itemType, creationDate));
+        return true;
+    }
+
+    /**
+     * Returns the index of the next comma in the byte range, or end if there is
+     * none.
+     */
+    private static int indexOfComma(byte[] bytes, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == COMMA) {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Parses a decimal integer directly from a byte range, following the rules of
+     * Integer.parseInt.
+     *
+     * @param bytes The buffer holding the digits.
+     * @param start The index of the first byte.
+     * @param end   The index just past the last byte.
+     * @return The parsed integer.
+     * @throws NumberFormatException If the range is not a valid integer.
+     */
+    static int parseInt(byte[] bytes, int start, int end) {
+        if (start >= end) {
+            throw new NumberFormatException("For input string: \"\"");
+        }
+
+        // Handle an optional leading sign
+        boolean negative = false;
+        int i = start;
+        if (bytes[i] == '-' || bytes[i] == '+') {
+            negative = bytes[i] == '-';
+            i++;
+            if (i == end) {
+                throw numberFormatException(bytes, start, end);
+            }
+        }
+
+        // Accumulate the value as a negative number to cover Integer.MIN_VALUE
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int result = 0;
+        for (; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9 || result < limit / 10) {
+                throw numberFormatException(bytes, start, end);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw numberFormatException(bytes, start, end);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Parses an ISO-8601 date (yyyy-MM-dd) directly from a byte range, reusing the
+     * instance held by the LocalDateCache. Dates in any other ISO form fall back
+     * to LocalDate.parse.
+     *
+     * @param bytes The buffer holding the date.
+     * @param start The index of the first byte.
+     * @param end   The index just past the last byte.
+     * @return The parsed LocalDate.
+     * @throws DateTimeParseException If the range is not a valid ISO date.
+     */
+    static LocalDate parseIsoDate(byte[] bytes, int start, int end) {
+        // Fast path for the common yyyy-MM-dd layout
+        if (end - start == 10 && bytes[start + 4] == '-' && bytes[start + 7] == '-') {
+            int year = parseDigits(bytes, start, start + 4);
+            int month = parseDigits(bytes, start + 5, start + 7);
+            int day = parseDigits(bytes, start + 8, start + 10);
+            if (year >= 0 && month >= 0 && day >= 0) {
+                try {
+                    return LocalDateCache.of(year, month, day);
+                } catch (DateTimeException e) {
+                    String text = new String(bytes, start, end - start, StandardCharsets.UTF_8);
+                    throw new DateTimeParseException(e.getMessage(), text, 0, e);
+                }
+            }
+        }
+
+        // Fall back to the standard parser for anything unusual
+        return LocalDate.parse(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a run of ASCII digits, returning -1 if any byte is not a digit.
+     */
+    private static int parseDigits(byte[] bytes, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+
+    /**
+     * Builds a NumberFormatException with the same message as Integer.parseInt.
+     */
+    private static NumberFormatException numberFormatException(byte[] bytes, int start, int end) {
+        return new NumberFormatException(
+                "For input string: \"" + new String(bytes, start, end - start, StandardCharsets.UTF_8) + "\"");
+    }
+
+    /**
+     * Prints the number of loaded rows and the loading throughput in rows/sec, if
+     * enabled with -Dinventory.logLoadThroughput=true.
+     */
+    static void reportThroughput(String filePath, int rowCount, long elapsedNanos) {
+        if (!LOG_LOAD_THROUGHPUT) {
+            return;
+        }
+        double seconds = Math.max(elapsedNanos, 1) / 1_000_000_000.0;
+        System.out.printf("Loaded %d rows from %s in %.1f ms (%.0f rows/sec)%n", rowCount, filePath,
+                elapsedNanos / 1_000_000.0, rowCount / seconds);
+    }
+}
@@ -0,0 +1,371 @@
+package src.CSVReaderWriter;
+
+import src.model.InventoryItem;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.swing.SwingUtilities;
+
+public class InventoryFileWatcher {
+
+    /**
+     * Receives the changes made to the CSV file outside of the application, on
+     * the event dispatch thread.
+     */
+    public interface Listener {
+        /**
+         * Called with the items of rows appended to the file. The rows are no
+         * longer kept by later snapshot writes once they are handed over, so the
+         * items merged into the live store must be journaled like any other
+         * change.
+         */
+        void itemsAppended(List<InventoryItem> items);
+
+        /**
+         * Called when the file was changed in any other way than by appending
+         * rows. Snapshot writes are refused until the change is resolved with
+         * acceptCurrentFile or a forced snapshot write.
+         */
+        void fileRewritten();
+    }
+
+    /**
+     * Writes a snapshot of the inventory into the CSV file.
+     */
+    public interface SnapshotWriter {
+        void write(Collection<InventoryItem> items) throws IOException;
+    }
+
+    // Number of bytes at the end of the known content compared to tell an
+    // append from a rewrite
+    private static final int TAIL_SIZE = 4096;
+
+    // Delay in milliseconds before a change is read, so the events of a single
+    // write are handled together
+    private static final long SETTLE_DELAY_MILLIS = 100;
+
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    // Kinds of changes of the CSV file
+    private enum Change {
+        NONE, APPENDED, REWRITTEN
+    }
+
+    // Path of the watched CSV file
+    private final String csvPath;
+
+    // Length and modification time of the content the application accounts for
+    private long knownLength;
+    private long knownModificationTime;
+
+    // Last bytes of the content the application accounts for
+    private byte[] knownTail = new byte[0];
+
+    // Items of appended rows not yet handed to the listener
+    private final List<InventoryItem> pendingItems = new ArrayList<>();
+
+    // Set once a rewrite was detected, until it is resolved
+    private boolean rewritten;
+
+    // Set once the listener was told about the current rewrite
+    private boolean rewriteDelivered;
+
+    // Receives the changes, or null until watching starts
+    private Listener listener;
+
+    // Thread waiting for events of the data directory
+    private Thread watchThread;
+
+    /**
+     * Creates a watcher of the given CSV file. Changes are only tracked once
+     * acceptCurrentFile has been called with the file as loaded.
+     *
+     * @param csvPath The path of the CSV file to watch.
+     */
+    public InventoryFileWatcher(String csvPath) {
+        this.csvPath = csvPath;
+    }
+
+    /**
+     * Method to start watching the directory of the CSV file on a background
+     * thread. Changes found before watching started are delivered right away.
+     *
+     * @param listener Receives the changes on the event dispatch thread.
+     * @throws IOException If the directory cannot be watched.
+     */
+    public synchronized void start(Listener listener) throws IOException {
+        this.listener = listener;
+        if (watchThread != null) {
+            return;
+        }
+
+        Path file = Paths.get(csvPath).toAbsolutePath();
+        WatchService watchService = FileSystems.getDefault().newWatchService();
+        file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+
+        watchThread = new Thread(() -> watch(watchService, file.getFileName()), "inventory-file-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+
+        deliverPendingChanges();
+    }
+
+    /**
+     * Method to record the current content of the CSV file as the content the
+     * application accounts for, after loading or reloading it. A pending rewrite
+     * counts as resolved.
+     */
+    public synchronized void acceptCurrentFile() {
+        File file = new File(csvPath);
+        knownLength = file.length();
+        knownModificationTime = file.lastModified();
+        knownTail = new byte[0];
+        rewritten = false;
+        rewriteDelivered = false;
+        if (knownLength > 0) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                knownTail = readFully(channel, Math.max(0, knownLength - TAIL_SIZE),
+                        (int) Math.min(TAIL_SIZE, knownLength));
+            } catch (IOException e) {
+                e.printStackTrace(); // The next change is treated as a rewrite
+            }
+        }
+    }
+
+    /**
+     * Method to write a snapshot into the CSV file without losing changes made to
+     * it outside of the application.
+     *
+     * Rows appended to the file since it was last read are parsed and written
+     * along with the snapshot (and handed to the listener, so the live store
+     * gets them too). If the file was rewritten instead, nothing is written: the
+     * listener is told, and the external content stays until the user resolves
+     * the conflict.
+     *
+     * @param items  The items of the snapshot.
+     * @param writer Writes the snapshot into the CSV file.
+     * @throws IOException If the file was rewritten outside of the application or
+     *                     the snapshot cannot be written.
+     */
+    public synchronized void writeSnapshot(Collection<InventoryItem> items, SnapshotWriter writer) throws IOException {
+        Change change = checkForChanges();
+        if (change == Change.REWRITTEN) {
+            deliverPendingChanges();
+            throw new IOException(csvPath + " was changed outside of the application; the snapshot was not written");
+        }
+
+        Collection<InventoryItem> snapshot = items;
+        if (!pendingItems.isEmpty()) {
+            // Keep the appended rows that the snapshot does not hold yet
+            Set<Integer> itemNumbers = new HashSet<>(items.size() * 2);
+            for (InventoryItem item : items) {
+                itemNumbers.add(item.getItemNumber());
+            }
+            List<InventoryItem> merged = new ArrayList<>(items);
+            for (InventoryItem item : pendingItems) {
+                if (itemNumbers.add(item.getItemNumber())) {
+                    merged.add(item);
+                }
+            }
+            snapshot = merged;
+        }
+        writer.write(snapshot);
+        acceptCurrentFile();
+        deliverPendingChanges();
+    }
+
+    /**
+     * Method to write a snapshot into the CSV file even if the file was changed
+     * outside of the application, after the user chose to keep the inventory of
+     * the application.
+     *
+     * @param items  The items of the snapshot.
+     * @param writer Writes the snapshot into the CSV file.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public synchronized void overwriteSnapshot(Collection<InventoryItem> items, SnapshotWriter writer) throws IOException {
+        pendingItems.clear();
+        writer.write(items);
+        acceptCurrentFile();
+    }
+
+    /**
+     * Waits for events of the CSV file and checks it for changes once the events
+     * settle.
+     */
+    private void watch(WatchService watchService, Path fileName) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean csvFileChanged = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+                        csvFileChanged = true;
+                    }
+                }
+                if (!key.reset()) {
+                    return; // The directory is gone
+                }
+                if (csvFileChanged) {
+                    Thread.sleep(SETTLE_DELAY_MILLIS);
+                    synchronized (this) {
+                        checkForChanges();
+                        deliverPendingChanges();
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Compares the CSV file with the known content. Rows appended to it are
+     * parsed into pendingItems and become part of the known content.
+     */
+    private Change checkForChanges() {
+        if (rewritten) {
+            return Change.REWRITTEN;
+        }
+
+        File file = new File(csvPath);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            long modificationTime = file.lastModified();
+            if (length == knownLength && modificationTime == knownModificationTime) {
+                return Change.NONE;
+            }
+            // Anything but a longer file ending in the known content, such as an
+            // edit in place, is a rewrite
+            if (length <= knownLength || !tailMatches(channel)) {
+                return markRewritten();
+            }
+            return readAppendedRows(channel, length, modificationTime);
+        } catch (NoSuchFileException e) {
+            return knownLength == 0 ? Change.NONE : markRewritten();
+        } catch (IOException e) {
+            e.printStackTrace(); // Try again on the next event
+            return Change.NONE;
+        }
+    }
+
+    /**
+     * Parses the complete rows between the known length and the end of the file.
+     * A trailing row without its line feed is left for the next check, since it
+     * may still be being written.
+     */
+    private Change readAppendedRows(FileChannel channel, long length, long modificationTime) throws IOException {
+        long appendedLength = length - knownLength;
+        if (appendedLength > Integer.MAX_VALUE - 8) {
+            return markRewritten(); // Too large to merge; reload instead
+        }
+        byte[] appended = readFully(channel, knownLength, (int) appendedLength);
+
+        // A row appended to a last line without a line feed would extend that line
+        boolean knownEndsWithLineFeed = knownTail.length == 0 || knownTail[knownTail.length - 1] == LINE_FEED;
+        if (!knownEndsWithLineFeed && appended[0] != LINE_FEED && appended[0] != CARRIAGE_RETURN) {
+            return markRewritten();
+        }
+
+        int consumed = 0;
+        for (int i = 0; i < appended.length; i++) {
+            if (appended[i] == LINE_FEED) {
+                try {
+                    InventoryCSVParser.parseLine(appended, consumed, i, pendingItems);
+                } catch (RuntimeException e) {
+                    e.printStackTrace(); // Skip a row that cannot be parsed
+                }
+                consumed = i + 1;
+            }
+        }
+        if (consumed == 0) {
+            return Change.NONE; // No complete row yet
+        }
+
+        // The parsed rows are now part of the known content
+        byte[] tail = new byte[(int) Math.min(TAIL_SIZE, knownLength + consumed)];
+        int fromAppended = Math.min(consumed, tail.length);
+        int fromKnown = tail.length - fromAppended;
+        System.arraycopy(knownTail, knownTail.length - fromKnown, tail, 0, fromKnown);
+        System.arraycopy(appended, consumed - fromAppended, tail, fromKnown, fromAppended);
+        knownTail = tail;
+        knownLength += consumed;
+        knownModificationTime = consumed == appended.length ? modificationTime : knownModificationTime;
+        return Change.APPENDED;
+    }
+
+    /**
+     * Returns true if the file still holds the last known bytes at the same
+     * position, which is how an append is told apart from a rewrite.
+     */
+    private boolean tailMatches(FileChannel channel) throws IOException {
+        if (knownTail.length == 0) {
+            return true;
+        }
+        byte[] tail = readFully(channel, knownLength - knownTail.length, knownTail.length);
+        return Arrays.equals(tail, knownTail);
+    }
+
+    /**
+     * Records a rewrite; appended rows found before it are dropped, since the
+     * reload picks up whatever the file holds now.
+     */
+    private Change markRewritten() {
+        rewritten = true;
+        pendingItems.clear();
+        return Change.REWRITTEN;
+    }
+
+    /**
+     * Hands the pending changes to the listener on the event dispatch thread.
+     */
+    private void deliverPendingChanges() {
+        if (listener == null) {
+            return; // Delivered once watching starts
+        }
+        Listener receiver = listener;
+        if (!pendingItems.isEmpty()) {
+            List<InventoryItem> items = new ArrayList<>(pendingItems);
+            pendingItems.clear();
+            SwingUtilities.invokeLater(() -> receiver.itemsAppended(items));
+        }
+        if (rewritten && !rewriteDelivered) {
+            rewriteDelivered = true;
+            SwingUtilities.invokeLater(receiver::fileRewritten);
+        }
+    }
+
+    /**
+     * Reads length bytes of the file starting at the given position.
+     */
+    private static byte[] readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of file");
+            }
+        }
+        return buffer.array();
+    }
+}
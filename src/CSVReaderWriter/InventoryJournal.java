@@ -0,0 +1,610 @@
+package src.CSVReaderWriter;
+
+import src.model.InventoryItem;
+import src.store.InventoryStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+public class InventoryJournal {
+
+    // Record markers written at the start of every journal line
+    private static final byte ADDED = 'A';
+    private static final byte UPDATED = 'U';
+    private static final byte REMOVED = 'R';
+    private static final byte BATCH = 'B';
+
+    // Number of journal records after which the journal is folded into the snapshot
+    private static final int COMPACTION_THRESHOLD = 1000;
+
+    // Path of the base CSV snapshot the journal applies to
+    private final String snapshotPath;
+
+    // Path of the binary columnar copy of the CSV snapshot, used for fast startup
+    private final String binarySnapshotPath;
+
+    // Path of the journal receiving new mutation records
+    private final String journalPath;
+
+    // Path the journal is moved to while it is being folded into the snapshot
+    private final String compactingJournalPath;
+
+    // Path of the stamp written before the snapshot is rewritten, naming the
+    // journal records the new snapshot already holds (see writeFoldedStamp)
+    private final String foldedStampPath;
+
+    // Live list of inventory items, copied when a compaction is started
+    private Collection<InventoryItem> liveItems;
+
+    // Writer appending records to the journal with group-committed fsyncs
+    private final GroupCommitWriter fileWriter;
+
+    // Number of records of the journal forced to disk; records still waiting for
+    // the group commit, or whose commit failed, are not counted
+    private final AtomicInteger recordCount = new AtomicInteger();
+
+    // Watcher of the CSV snapshot, through which every snapshot write goes so
+    // rows added to the file by other programs are not overwritten
+    private final InventoryFileWatcher fileWatcher;
+
+    // Lock held while a compaction rewrites the snapshot
+    private final Object compactionLock = new Object();
+
+    // Incremented whenever the snapshot is rewritten in full, so a compaction
+    // started before does not overwrite it with its older copy
+    private int snapshotGeneration;
+
+    // Background thread folding the journal back into the snapshot
+    private final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inventory-journal-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a journal for the given CSV snapshot.
+     *
+     * @param snapshotPath       The path of the base CSV snapshot.
+     * @param binarySnapshotPath The path of the binary copy of the CSV snapshot.
+     * @param journalPath        The path of the journal file.
+     * @param fileWriter         The writer used to append records to the journal.
+     * @param fileWatcher        The watcher of the CSV snapshot.
+     */
+    public InventoryJournal(String snapshotPath, String binarySnapshotPath, String journalPath,
+            GroupCommitWriter fileWriter, InventoryFileWatcher fileWatcher) {
+        this.snapshotPath = snapshotPath;
+        this.binarySnapshotPath = binarySnapshotPath;
+        this.journalPath = journalPath;
+        this.fileWriter = fileWriter;
+        this.fileWatcher = fileWatcher;
+        this.compactingJournalPath = journalPath + ".compacting";
+        this.foldedStampPath = journalPath + ".folded";
+    }
+
+    /**
+     * Method to attach the live list of inventory items and load it from disk.
+     *
+     * The list is filled with the rows of the CSV snapshot and every record of the
+     * journal is replayed on top of it, so the list reflects all mutations made
+     * since the last compaction. If a previous compaction or snapshot rewrite
+     * was interrupted, the snapshot is rewritten from the replayed list before
+     * returning.
+     *
+     * @param inventoryItemsList The list to load the inventory items into.
+     * @throws IOException If the snapshot or the journal cannot be read.
+     */
+    public synchronized void attach(InventoryStore inventoryItemsList) throws IOException {
+        liveItems = inventoryItemsList;
+        boolean interruptedCompaction = new File(compactingJournalPath).exists()
+                || new File(foldedStampPath).exists();
+        recordCount.set(load(inventoryItemsList, true));
+        fileWatcher.acceptCurrentFile();
+
+        // Finish a compaction or rewrite that was interrupted by a crash or exit
+        if (interruptedCompaction) {
+            synchronized (compactionLock) {
+                writeSnapshot(inventoryItemsList);
+                reset();
+            }
+        }
+    }
+
+    /**
+     * Method to load the snapshot and replay the journal on top of it.
+     *
+     * The snapshot is read from its binary copy when that copy still matches the
+     * CSV file, and parsed from the CSV file otherwise. Records of an unfinished
+     * compaction are applied first, followed by the records of the current
+     * journal. Records the snapshot already holds, because a crash came between
+     * rewriting the snapshot and discarding the journal, are skipped as named by
+     * the folded stamp; replaying them again could apply an old renumbering to
+     * an item that took the number later. Loading waits for a running
+     * compaction, so the snapshot is never read half-written.
+     *
+     * @param inventoryItemsList The list to load the inventory items into.
+     * @return The number of journal records replayed.
+     * @throws IOException If the snapshot or the journal cannot be read.
+     */
+    public int load(InventoryStore inventoryItemsList) throws IOException {
+        return load(inventoryItemsList, false);
+    }
+
+    /**
+     * Method to rewrite the snapshot from the given list and discard the journal.
+     *
+     * Rows appended to the CSV file by other programs are kept. If the file was
+     * rewritten by another program, nothing is written and the journal is kept.
+     *
+     * @param inventoryItemsList The list holding every inventory item.
+     * @throws IOException If the snapshot cannot be written or the CSV file was
+     *                     rewritten by another program.
+     */
+    public synchronized void rewriteSnapshot(Collection<InventoryItem> inventoryItemsList) throws IOException {
+        synchronized (compactionLock) {
+            writeSnapshot(inventoryItemsList);
+            snapshotGeneration++;
+            reset();
+        }
+    }
+
+    /**
+     * Method to rewrite the snapshot from the given list and discard the journal,
+     * even if the CSV file was changed by another program since it was read.
+     * Since the whole journal is discarded, nothing may be journaled between
+     * copying the list and this call (see InventoryService.overwriteInventoryFile).
+     *
+     * @param inventoryItemsList The list holding every inventory item.
+     * @throws IOException If the snapshot cannot be written.
+     */
+    public synchronized void overwriteSnapshot(Collection<InventoryItem> inventoryItemsList) throws IOException {
+        synchronized (compactionLock) {
+            fileWatcher.overwriteSnapshot(inventoryItemsList, this::writeSnapshotFiles);
+            snapshotGeneration++;
+            reset();
+        }
+    }
+
+    /**
+     * Method to load the CSV file again after it was changed by another program,
+     * replaying the journal on top of it.
+     *
+     * The current content of the file becomes the content the watcher compares
+     * later changes with. If a compaction was held back by the change, the
+     * reloaded items are written as the new snapshot right away.
+     *
+     * @param inventoryItemsList The list to load the inventory items into.
+     * @throws IOException If the snapshot or the journal cannot be read.
+     */
+    public synchronized void reload(InventoryStore inventoryItemsList) throws IOException {
+        synchronized (compactionLock) {
+            fileWatcher.acceptCurrentFile();
+            recordCount.set(load(inventoryItemsList, false));
+            if (new File(compactingJournalPath).exists() || new File(foldedStampPath).exists()) {
+                writeSnapshot(inventoryItemsList);
+                snapshotGeneration++;
+                reset();
+            }
+        }
+    }
+
+    /**
+     * Loads the snapshot and replays the journal, optionally writing a fresh
+     * binary copy when the snapshot had to be parsed from the CSV file.
+     */
+    private int load(InventoryStore inventoryItemsList, boolean refreshBinarySnapshot) throws IOException {
+        // Make sure records still waiting for the group commit are on disk
+        fileWriter.flush();
+
+        synchronized (compactionLock) {
+            if (new File(snapshotPath).exists()
+                    && !BinarySnapshot.read(binarySnapshotPath, snapshotPath, inventoryItemsList)) {
+                InventoryCSVParser.parseFile(snapshotPath, inventoryItemsList);
+
+                // Keep a binary copy so the next startup can skip parsing the CSV file
+                if (refreshBinarySnapshot) {
+                    writeBinarySnapshot(inventoryItemsList);
+                }
+            }
+            long[] foldedLengths = readFoldedStamp();
+            return replayFile(compactingJournalPath, foldedLengths[0], inventoryItemsList)
+                    + replayFile(journalPath, foldedLengths[1], inventoryItemsList);
+        }
+    }
+
+    /**
+     * Writes the CSV snapshot followed by its binary copy, unless the CSV file was
+     * rewritten by another program. The snapshot holds every record of both
+     * journals, which must be discarded right after (see reset).
+     */
+    private void writeSnapshot(Collection<InventoryItem> items) throws IOException {
+        fileWatcher.writeSnapshot(items, this::writeSnapshotFiles);
+    }
+
+    /**
+     * Writes the CSV snapshot holding every record of both journals, followed by
+     * its binary copy.
+     */
+    private void writeSnapshotFiles(Collection<InventoryItem> items) throws IOException {
+        // Nothing can be appended meanwhile, since the callers hold the journal's lock
+        fileWriter.flush();
+        writeSnapshotFiles(items, new File(compactingJournalPath).length(), new File(journalPath).length());
+    }
+
+    /**
+     * Writes the CSV snapshot holding the given number of bytes of the compacting
+     * and current journals, followed by its binary copy. The folded stamp is
+     * written first, so from the moment the new snapshot is in place its
+     * records are not replayed again, even if a crash comes before the journals
+     * are discarded.
+     */
+    private void writeSnapshotFiles(Collection<InventoryItem> items, long foldedCompactingLength,
+            long foldedJournalLength) throws IOException {
+        writeFoldedStamp(items, foldedCompactingLength, foldedJournalLength);
+        CSVHandler.writeItemsToCSVFile(snapshotPath, items);
+        writeBinarySnapshot(items);
+    }
+
+    /**
+     * Writes the folded stamp: the length and CRC-32 of the CSV snapshot about to
+     * be written, followed by the number of bytes of the compacting and current
+     * journals it holds. The stamp only counts while the CSV file still starts
+     * with that content, so a stamp left by a rewrite that failed is ignored.
+     */
+    private void writeFoldedStamp(Collection<InventoryItem> items, long foldedCompactingLength,
+            long foldedJournalLength) throws IOException {
+        CRC32 checksum = new CRC32();
+        long length = 0;
+        for (InventoryItem item : items) {
+            byte[] row = (CSVHandler.toCSVRow(item) + System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+            checksum.update(row);
+            length += row.length;
+        }
+        String stamp = length + "," + checksum.getValue() + "," + foldedCompactingLength + ","
+                + foldedJournalLength;
+        GroupCommitWriter.writeAtomically(foldedStampPath, writer -> writer.write(stamp));
+    }
+
+    /**
+     * Returns the number of bytes of the compacting and current journals the
+     * snapshot holds, as named by the folded stamp, or zeros if there is no
+     * stamp or it does not match the snapshot.
+     */
+    private long[] readFoldedStamp() {
+        long[] foldedLengths = new long[2];
+        Path stampFile = Paths.get(foldedStampPath);
+        if (!Files.exists(stampFile)) {
+            return foldedLengths;
+        }
+        try {
+            String[] fields = new String(Files.readAllBytes(stampFile), StandardCharsets.UTF_8).trim().split(",");
+            long length = Long.parseLong(fields[0]);
+            byte[] snapshot = Files.readAllBytes(Paths.get(snapshotPath));
+
+            // Rows appended by other programs after the snapshot was written are allowed
+            CRC32 checksum = new CRC32();
+            if (snapshot.length >= length) {
+                checksum.update(snapshot, 0, (int) length);
+                if (checksum.getValue() == Long.parseLong(fields[1])) {
+                    foldedLengths[0] = Long.parseLong(fields[2]);
+                    foldedLengths[1] = Long.parseLong(fields[3]);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace(); // Print the stack trace of the exception
+        }
+        return foldedLengths;
+    }
+
+    /**
+     * Writes the binary copy of the CSV snapshot. A failure only costs startup
+     * time, since a missing or stale binary copy falls back to the CSV file.
+     */
+    private void writeBinarySnapshot(Collection<InventoryItem> items) {
+        try {
+            BinarySnapshot.write(binarySnapshotPath, snapshotPath, items);
+        } catch (IOException e) {
+            e.printStackTrace(); // Print the stack trace of the IOException
+        }
+    }
+
+    /**
+     * Appends a record for a newly created or restored item.
+     *
+     * @param item The item added to the inventory.
+     */
+    public void appendAdded(InventoryItem item) {
+        append((char) ADDED + "," + CSVHandler.toCSVRow(item));
+    }
+
+    /**
+     * Appends a record for an item whose fields were updated.
+     *
+     * @param previousItemNumber The item number before the update.
+     * @param item               The item holding the updated fields.
+     */
+    public void appendUpdated(int previousItemNumber, InventoryItem item) {
+        append((char) UPDATED + "," + previousItemNumber + "," + CSVHandler.toCSVRow(item));
+    }
+
+    /**
+     * Appends a record for an item removed from the inventory.
+     *
+     * @param itemNumber The item number of the removed item.
+     */
+    public void appendRemoved(int itemNumber) {
+        append((char) REMOVED + "," + itemNumber);
+    }
+
+    /**
+     * Appends the records for several items added to the inventory as one batch.
+     *
+     * @param items The items added to the inventory.
+     */
+    public void appendAddedBatch(List<InventoryItem> items) {
+        List<String> records = new ArrayList<>(items.size());
+        for (InventoryItem item : items) {
+            records.add((char) ADDED + "," + CSVHandler.toCSVRow(item));
+        }
+        appendBatch(records);
+    }
+
+    /**
+     * Appends the records for several items removed from the inventory as one
+     * batch.
+     *
+     * @param itemNumbers The item numbers of the removed items.
+     */
+    public void appendRemovedBatch(Collection<Integer> itemNumbers) {
+        List<String> records = new ArrayList<>(itemNumbers.size());
+        for (int itemNumber : itemNumbers) {
+            records.add((char) REMOVED + "," + itemNumber);
+        }
+        appendBatch(records);
+    }
+
+    /**
+     * Discards the journal, including one held back for a compaction, after the
+     * snapshot was rewritten in full.
+     */
+    private synchronized void reset() {
+        synchronized (compactionLock) {
+            try {
+                fileWriter.discard(journalPath);
+                Files.deleteIfExists(Paths.get(journalPath));
+                Files.deleteIfExists(Paths.get(compactingJournalPath));
+                Files.deleteIfExists(Paths.get(foldedStampPath));
+                recordCount.set(0);
+            } catch (IOException e) {
+                e.printStackTrace(); // Print the stack trace of the IOException
+            }
+        }
+    }
+
+    /**
+     * Appends a single record to the journal and starts a background compaction
+     * once the journal holds enough records. The record is forced to disk by the
+     * next group commit, up to the commit window later, and only counts towards
+     * the compaction once it is; this method returns before that, so callers
+     * acknowledge a change before it is durable, and a failing commit is
+     * reported by its own error dialog afterwards. While the CSV file holds
+     * changes of another program
+     * that were not resolved yet, the compaction keeps failing and the journal
+     * is held back until the file is reloaded or overwritten.
+     */
+    private void append(String record) {
+        append(record + "\n", 1);
+    }
+
+    /**
+     * Appends several records with a single write. They are preceded by a header
+     * holding their number, so replaying skips the whole batch if a crash cut
+     * it short.
+     */
+    private void appendBatch(List<String> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        StringBuilder content = new StringBuilder(records.size() * 64);
+        content.append((char) BATCH).append(',').append(records.size()).append('\n');
+        for (String record : records) {
+            content.append(record).append('\n');
+        }
+        append(content.toString(), records.size());
+    }
+
+    /**
+     * Appends the given lines holding the given number of records.
+     */
+    private synchronized void append(String lines, int records) {
+        fileWriter.append(journalPath, lines.getBytes(StandardCharsets.UTF_8),
+                "Error writing to the inventory journal!", () -> recordCount.addAndGet(records));
+
+        // Fold the journal into the snapshot once it has grown large enough
+        if (recordCount.get() >= COMPACTION_THRESHOLD && liveItems != null
+                && !new File(compactingJournalPath).exists()) {
+            startCompaction();
+        }
+    }
+
+    /**
+     * Moves the journal aside and rewrites the snapshot from a copy of the live
+     * list on the background compaction thread. New records keep going to a
+     * fresh journal while the snapshot is being written.
+     */
+    private void startCompaction() {
+        // Copy the items so later edits on the live list do not leak into the snapshot
+        List<InventoryItem> snapshot = new ArrayList<>(liveItems.size());
+        for (InventoryItem item : liveItems) {
+            snapshot.add(new InventoryItem(item.getItemName(), item.getQuantity(), item.getItemNumber(),
+                    item.getItemType(), item.getCreationDate()));
+        }
+
+        long foldedCompactingLength;
+        try {
+            fileWriter.flush();
+            Files.move(Paths.get(journalPath), Paths.get(compactingJournalPath), StandardCopyOption.ATOMIC_MOVE);
+            foldedCompactingLength = new File(compactingJournalPath).length();
+            recordCount.set(0);
+        } catch (IOException e) {
+            e.printStackTrace(); // Print the stack trace of the IOException
+            return;
+        }
+
+        int generation = snapshotGeneration;
+        compactionExecutor.execute(() -> {
+            synchronized (compactionLock) {
+                if (generation != snapshotGeneration) {
+                    return; // The snapshot was rewritten in full in the meantime
+                }
+                try {
+                    // The snapshot holds the compacting journal only; new records
+                    // keep going to the current journal
+                    fileWatcher.writeSnapshot(snapshot,
+                            items -> writeSnapshotFiles(items, foldedCompactingLength, 0));
+                    Files.deleteIfExists(Paths.get(compactingJournalPath));
+                    Files.deleteIfExists(Paths.get(foldedStampPath));
+                } catch (IOException e) {
+                    e.printStackTrace(); // Print the stack trace of the IOException
+                }
+            }
+        });
+    }
+
+    /**
+     * Applies every record of a journal file after its first bytes, which the
+     * snapshot already holds, to the list. A batch whose records are not all
+     * complete can only be the end of the file, left by a crash while it was
+     * written, so replaying stops there.
+     *
+     * @return The number of records applied.
+     */
+    private static int replayFile(String path, long foldedLength, InventoryStore inventoryItemsList)
+            throws IOException {
+        Path file = Paths.get(path);
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        byte[] bytes = Files.readAllBytes(file);
+        List<InventoryItem> parsed = new ArrayList<>(1);
+        int replayed = 0;
+        int lineStart = (int) Math.min(foldedLength, bytes.length);
+        for (int i = lineStart; i <= bytes.length; i++) {
+            if (i == bytes.length || bytes[i] == '\n') {
+                // A record needs at least its marker, a comma and one more byte
+                if (i - lineStart > 2 && bytes[lineStart + 1] == ',') {
+                    if (bytes[lineStart] == BATCH) {
+                        if (!isCompleteBatch(bytes, lineStart, i)) {
+                            break;
+                        }
+                        lineStart = i + 1;
+                        continue;
+                    }
+                    parsed.clear();
+                    if (applyRecord(bytes, lineStart, i, parsed, inventoryItemsList)) {
+                        replayed++;
+                    }
+                }
+                lineStart = i + 1;
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Checks that the batch whose header is stored in the given byte range is
+     * complete: the header holds a record count and as many records follow it,
+     * each ending with a line terminator.
+     */
+    private static boolean isCompleteBatch(byte[] bytes, int headerStart, int headerEnd) {
+        if (headerEnd == bytes.length) {
+            return false;
+        }
+        int records;
+        try {
+            records = InventoryCSVParser.parseInt(bytes, headerStart + 2, headerEnd);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        int position = headerEnd + 1;
+        for (int record = 0; record < records; record++) {
+            while (position < bytes.length && bytes[position] != '\n') {
+                position++;
+            }
+            if (position == bytes.length) {
+                return false;
+            }
+            position++;
+        }
+        return true;
+    }
+
+    /**
+     * Applies a single journal record stored in the given byte range.
+     */
+    private static boolean applyRecord(byte[] bytes, int start, int end, List<InventoryItem> parsed,
+            InventoryStore inventoryItemsList) {
+        int bodyStart = start + 2;
+        try {
+            switch (bytes[start]) {
+                case ADDED:
+                    if (!InventoryCSVParser.parseLine(bytes, bodyStart, end, parsed)) {
+                        return false;
+                    }
+                    // Replace any copy of the item that is already present
+                    InventoryItem addedItem = parsed.get(0);
+                    inventoryItemsList.removeByItemNumber(addedItem.getItemNumber());
+                    inventoryItemsList.add(addedItem);
+                    return true;
+
+                case UPDATED:
+                    int comma = bodyStart;
+                    while (comma < end && bytes[comma] != ',') {
+                        comma++;
+                    }
+                    int previousItemNumber = InventoryCSVParser.parseInt(bytes, bodyStart, comma);
+                    if (!InventoryCSVParser.parseLine(bytes, comma + 1, end, parsed)) {
+                        return false;
+                    }
+                    InventoryItem updatedItem = parsed.get(0);
+                    InventoryItem existingItem = inventoryItemsList.findByItemNumber(previousItemNumber);
+                    if (existingItem == null) {
+                        existingItem = inventoryItemsList.findByItemNumber(updatedItem.getItemNumber());
+                    }
+                    if (existingItem == null) {
+                        return false;
+                    }
+                    existingItem.setItemName(updatedItem.getItemName());
+                    existingItem.setQuantity(updatedItem.getQuantity());
+                    inventoryItemsList.renumber(existingItem, updatedItem.getItemNumber());
+                    existingItem.setItemType(updatedItem.getItemType());
+                    existingItem.setCreationDate(updatedItem.getCreationDate());
+                    return true;
+
+                case REMOVED:
+                    int itemNumber = InventoryCSVParser.parseInt(bytes, bodyStart, end);
+                    inventoryItemsList.removeByItemNumber(itemNumber);
+                    return true;
+
+                default:
+                    return false;
+            }
+        } catch (RuntimeException e) {
+            // Skip a torn or corrupted record rather than failing the whole replay
+            e.printStackTrace();
+            return false;
+        }
+    }
+}
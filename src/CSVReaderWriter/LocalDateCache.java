@@ -0,0 +1,65 @@
+package src.CSVReaderWriter;
+
+import java.time.LocalDate;
+
+/**
+ * Cache of the LocalDate instances created while loading the inventory files.
+ * Creation dates repeat a lot (every item created on the same day shares one),
+ * so parsed rows reuse a cached instance instead of allocating a new one.
+ *
+ * The cache is a fixed direct-mapped table: each date has a single slot, and a
+ * date found in its slot is checked before it is reused. Writes are not
+ * synchronized, since a LocalDate is immutable and losing a racing write only
+ * costs a later allocation, so the cache is shared by the parser threads
+ * without locking.
+ */
+public class LocalDateCache {
+
+    // Number of slots of each table, a power of two; consecutive days never
+    // share a slot within about eleven years
+    private static final int SLOT_COUNT = 4096;
+
+    // Dates looked up by year, month and day
+    private static final LocalDate[] DATES_BY_FIELDS = new LocalDate[SLOT_COUNT];
+
+    // Dates looked up by epoch day
+    private static final LocalDate[] DATES_BY_EPOCH_DAY = new LocalDate[SLOT_COUNT];
+
+    /**
+     * Method to get the date with the given fields, like LocalDate.of.
+     *
+     * @param year  The year.
+     * @param month The month of the year, from 1 to 12.
+     * @param day   The day of the month, from 1 to 31.
+     * @return The date.
+     * @throws java.time.DateTimeException If the fields are not a valid date.
+     */
+    public static LocalDate of(int year, int month, int day) {
+        int slot = (year * 512 + month * 32 + day) & (SLOT_COUNT - 1);
+        LocalDate cached = DATES_BY_FIELDS[slot];
+        if (cached != null && cached.getDayOfMonth() == day && cached.getMonthValue() == month
+                && cached.getYear() == year) {
+            return cached;
+        }
+        LocalDate date = LocalDate.of(year, month, day);
+        DATES_BY_FIELDS[slot] = date;
+        return date;
+    }
+
+    /**
+     * Method to get the date of the given epoch day, like LocalDate.ofEpochDay.
+     *
+     * @param epochDay The number of days since 1970-01-01.
+     * @return The date.
+     */
+    public static LocalDate ofEpochDay(long epochDay) {
+        int slot = (int) epochDay & (SLOT_COUNT - 1);
+        LocalDate cached = DATES_BY_EPOCH_DAY[slot];
+        if (cached != null && cached.toEpochDay() == epochDay) {
+            return cached;
+        }
+        LocalDate date = LocalDate.ofEpochDay(epochDay);
+        DATES_BY_EPOCH_DAY[slot] = date;
+        return date;
+    }
+}
@@ -0,0 +1,201 @@
+package src.gui_components;
+
+import java.awt.BorderLayout;
+import java.awt.Dialog.ModalityType;
+import java.awt.KeyboardFocusManager;
+import java.awt.Window;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+
+public class BackgroundTaskRunner {
+
+    /**
+     * Work run off the event dispatch thread. It must not touch Swing components
+     * or lists owned by the GUI; pass it a copy of what it needs instead.
+     */
+    public interface BackgroundTask<T> {
+        T run(TaskProgress progress) throws Exception;
+    }
+
+    /**
+     * Save run off the event dispatch thread, such as writing a file.
+     */
+    public interface SaveTask {
+        void save() throws Exception;
+    }
+
+    /**
+     * Lets a running task report its progress and notice a cancellation.
+     */
+    public interface TaskProgress {
+        /**
+         * Reports that done out of total units of work are finished.
+         */
+        void update(long done, long total);
+
+        /**
+         * Returns true once the user has cancelled the task.
+         */
+        boolean isCancelled();
+
+        /**
+         * Throws a CancellationException once the user has cancelled the task.
+         */
+        default void checkCancelled() {
+            if (isCancelled()) {
+                throw new CancellationException();
+            }
+        }
+    }
+
+    // Delay before the progress dialog appears, so quick tasks do not flash it
+    private static final int PROGRESS_DIALOG_DELAY_MILLIS = 300;
+
+    // Runs the tasks one at a time in the order they were started, so a save is
+    // never overtaken by a later read of the same file
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "inventory-background-task");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Method to run a save in the background and notify the event dispatch
+     * thread once it is on disk.
+     *
+     * A save cannot be cancelled, since stopping it halfway would lose the
+     * changes being written; its progress dialog has no Cancel button.
+     *
+     * @param message      The message shown in the progress dialog.
+     * @param errorMessage The message shown to the user if the save fails.
+     * @param task         The save to run.
+     * @param onSaved      Called on the event dispatch thread after the save.
+     */
+    public static void runSave(String message, String errorMessage, SaveTask task, Runnable onSaved) {
+        start(message, errorMessage, false, progress -> {
+            task.save();
+            return null;
+        }, result -> onSaved.run());
+    }
+
+    /**
+     * Method to run a task in the background and deliver its result on the event
+     * dispatch thread.
+     *
+     * Must be called on the event dispatch thread. If the task takes longer than
+     * a moment, a progress dialog with a Cancel button is shown; the rest of the
+     * GUI stays responsive. A cancelled task delivers nothing, and a failed task
+     * shows the error message instead of calling onSuccess.
+     *
+     * @param message      The message shown in the progress dialog.
+     * @param errorMessage The message shown to the user if the task fails.
+     * @param task         The task to run.
+     * @param onSuccess    Receives the result of the task on the event dispatch
+     *                     thread.
+     */
+    public static <T> void run(String message, String errorMessage, BackgroundTask<T> task, Consumer<T> onSuccess) {
+        start(message, errorMessage, true, task, onSuccess);
+    }
+
+    /**
+     * Submits the task to the background thread and shows its progress dialog.
+     */
+    private static <T> void start(String message, String errorMessage, boolean cancellable,
+            BackgroundTask<T> task, Consumer<T> onSuccess) {
+        JProgressBar progressBar = new JProgressBar(0, 100);
+        progressBar.setIndeterminate(true);
+        JButton cancelButton = new JButton("Cancel");
+
+        // Build the progress dialog, shown only if the task runs for a while
+        Window owner = KeyboardFocusManager.getCurrentKeyboardFocusManager().getActiveWindow();
+        JDialog progressDialog = new JDialog(owner, "Please Wait", ModalityType.MODELESS);
+        JPanel panel = new JPanel(new BorderLayout(10, 10));
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+        panel.add(new JLabel(message), BorderLayout.NORTH);
+        panel.add(progressBar, BorderLayout.CENTER);
+        if (cancellable) {
+            panel.add(cancelButton, BorderLayout.SOUTH);
+        }
+        progressDialog.add(panel);
+        progressDialog.pack();
+        progressDialog.setLocationRelativeTo(owner);
+        progressDialog.setDefaultCloseOperation(JDialog.DO_NOTHING_ON_CLOSE);
+
+        Timer showDialogTimer = new Timer(PROGRESS_DIALOG_DELAY_MILLIS, e -> progressDialog.setVisible(true));
+        showDialogTimer.setRepeats(false);
+
+        SwingWorker<T, Integer> worker = new SwingWorker<T, Integer>() {
+            @Override
+            protected T doInBackground() throws Exception {
+                SwingWorker<T, Integer> worker = this;
+                return task.run(new TaskProgress() {
+                    @Override
+                    public void update(long done, long total) {
+                        if (total > 0) {
+                            publish((int) Math.min(100, done * 100 / total));
+                        }
+                    }
+
+                    @Override
+                    public boolean isCancelled() {
+                        return worker.isCancelled() || Thread.currentThread().isInterrupted();
+                    }
+                });
+            }
+
+            @Override
+            protected void process(List<Integer> percentages) {
+                // Only the latest progress matters
+                progressBar.setIndeterminate(false);
+                progressBar.setValue(percentages.get(percentages.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                showDialogTimer.stop();
+                progressDialog.dispose();
+                if (isCancelled()) {
+                    return; // The user cancelled the task
+                }
+
+                T result;
+                try {
+                    result = get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof CancellationException) {
+                        return; // The task stopped itself after a cancellation
+                    }
+                    e.getCause().printStackTrace();
+                    JOptionPane.showMessageDialog(null, errorMessage, "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                onSuccess.accept(result);
+            }
+        };
+
+        cancelButton.addActionListener(e -> {
+            cancelButton.setEnabled(false);
+            worker.cancel(true);
+        });
+
+        showDialogTimer.start();
+        EXECUTOR.execute(worker);
+    }
+}
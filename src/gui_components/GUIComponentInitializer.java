@@ -1,11 +1,11 @@
 package src.gui_components;
 
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Predicate;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -13,18 +13,22 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JScrollPane;
-import javax.swing.JTextArea;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 
 import src.CSVReaderWriter.CSVHandler;
+import src.CSVReaderWriter.InventoryFileWatcher;
 import src.model.InventoryItem;
-import src.util.GenerateReports;
+import src.server.InventoryHttpServer;
+import src.service.BatchResult;
+import src.service.InventoryService;
+import src.service.OperationResult;
+import src.store.CategoryAggregates;
+import src.store.CategoryRegistry;
+import src.store.InventoryStore;
 import src.util.PromptForUpdateConfirmation;
-import src.util.RandomNumberGenerator;
-import src.util.UpdateDeletedItemsTextArea;
-import src.util.UpdateInventoryTextArea;
+import src.util.ReportEngine;
 import src.validators.DataValidator;
-import src.validators.DataValidatorForUpdates;
 import src.validators.DataValidatorForViewDeleted;
 import src.validators.DataValidatorForViewInventory;
 
@@ -38,25 +42,44 @@ import java.awt.event.ActionListener;
 
 public class GUIComponentInitializer {
 
-    private static List<InventoryItem> inventoryItemsList;
+    private static InventoryStore inventoryItemsList;
 
-    // Text area to display inventory
-    private static JTextArea inventoryTextArea;
+    // Service applying the operations to the inventory and the trash
+    private static InventoryService inventoryService;
 
-    // Text area to display deleted items
-    private static JTextArea deletedInventoryTextArea;
+    // Number of failures listed when a batch is not applied
+    private static final int MAX_LISTED_FAILURES = 10;
+
+    // Table to display inventory and the model holding its rows
+    private static InventoryTable inventoryTable;
+    private static InventoryTableModel inventoryTableModel;
+
+    // Table to display deleted items and the model holding its rows
+    private static InventoryTable deletedInventoryTable;
+    private static InventoryTableModel deletedInventoryTableModel;
+
+    // Header showing the item count, stock and low-stock items of each item type
+    private static JLabel summaryLabel;
+
+    // Whether a refresh of the summary header is already queued
+    private static boolean summaryRefreshPending;
+
+    // Number of low-stock item numbers listed in the tooltip of the summary header
+    private static final int MAX_LISTED_LOW_STOCK_ITEMS = 20;
 
     /**
      * Initializes the GUI components for a specific part of the application and
      * adds them to the given container.
      * 
      * @param container The container to which the GUI components will be added.
-     * @param itemsList The list of InventoryItem objects used to initialize certain
-     *                  GUI components.
+     * @param itemsList The store of InventoryItem objects used to initialize
+     *                  certain GUI components.
      */
-    public static void initializeGUIComponents(Container container, List<InventoryItem> itemsList) {
-        // Store the inventoryItemsList reference for later use
+    public static void initializeGUIComponents(Container container, InventoryStore itemsList) {
+        // Store the inventoryItemsList reference and the service working on it for
+        // later use
         inventoryItemsList = itemsList;
+        inventoryService = new InventoryService(itemsList);
 
         // Panel to hold inventory-related components
         JPanel inventoryPanel = new JPanel(new BorderLayout());
@@ -66,7 +89,16 @@ public class GUIComponentInitializer {
         JLabel titleLabel = new JLabel("Wedding Decors Inventory Management System");
         titleLabel.setFont(new Font("Arial", Font.BOLD, 20));
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
-        inventoryPanel.add(titleLabel, BorderLayout.NORTH);
+
+        // Summary header below the title, refreshed whenever the inventory changes
+        summaryLabel = new JLabel();
+        summaryLabel.setFont(new Font("Arial", Font.PLAIN, 13));
+        summaryLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        summaryLabel.setBorder(BorderFactory.createEmptyBorder(4, 0, 8, 0));
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.add(titleLabel, BorderLayout.NORTH);
+        headerPanel.add(summaryLabel, BorderLayout.SOUTH);
+        inventoryPanel.add(headerPanel, BorderLayout.NORTH);
 
         // Panels to hold buttons/button sizes
         JPanel leftButtonPanel = new JPanel(new GridLayout(12, 1, 7, 7));
@@ -84,12 +116,12 @@ public class GUIComponentInitializer {
             public void actionPerformed(ActionEvent e) {
 
                 // Validate the list of inventory items to see if it is empty
-                if (DataValidatorForViewInventory.isInventoryItemsListEmpty(inventoryItemsList, inventoryTextArea)) {
+                if (DataValidatorForViewInventory.isInventoryItemsListEmpty(inventoryItemsList, inventoryTable)) {
                     return; // If true, exit method
                 }
 
-                // Update inventory text area to display current inventory
-                UpdateInventoryTextArea.reloadTextArea(inventoryItemsList, inventoryTextArea);
+                // Scroll the inventory table back to the top (its rows are always current)
+                inventoryTable.scrollRectToVisible(inventoryTable.getCellRect(0, 0, true));
             }
         });
 
@@ -101,16 +133,22 @@ public class GUIComponentInitializer {
         viewDeletedItemsButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                // Read items from the deleted_items.csv file
-                List<InventoryItem> trashItems = CSVHandler.readItemsFromDeletedCSVFile();
-
-                // Validate the list of deleted items to see if empty, update the text area
-                if (DataValidatorForViewDeleted.isDeletedItemsListEmpty(trashItems, deletedInventoryTextArea)) {
-                    return; // If true, exit method
-                }
+                // Check the deleted_items.csv file for changes in the background
+                BackgroundTaskRunner.run("Loading deleted items...", "Error reading deleted items CSV file!",
+                        progress -> CSVHandler.readChangesToDeletedCSVFile(),
+                        change -> {
+                            // Merge any change made to the file by hand into the trash kept by the service
+                            InventoryStore trashItems = inventoryService.applyDeletedItemsChange(change);
+
+                            // Validate the list of deleted items to see if empty, update the table
+                            if (DataValidatorForViewDeleted.isDeletedItemsListEmpty(trashItems,
+                                    deletedInventoryTable)) {
+                                return; // If true, exit method
+                            }
 
-                // Update the text area with deleted items
-                UpdateDeletedItemsTextArea.populateTextArea(trashItems, deletedInventoryTextArea);
+                            // Update the table with deleted items
+                            deletedInventoryTableModel.setItems(trashItems);
+                        });
             }
         });
 
@@ -125,9 +163,6 @@ public class GUIComponentInitializer {
             @Override
             public void actionPerformed(ActionEvent e) {
 
-                // Update inventory text area to display current inventory
-                UpdateInventoryTextArea.reloadTextArea(inventoryItemsList, inventoryTextArea);
-
                 // Prompt user to enter item name
                 String itemName = JOptionPane.showInputDialog(null, "Enter Item Name:");
 
@@ -177,8 +212,8 @@ public class GUIComponentInitializer {
                         return; // If false, exit method
                     }
 
-                    // Prompt user to select item type from a predefined list of options.
-                    String[] types = { "Vases", "Table Runners", "Greeneries" };
+                    // Prompt user to select item type from the registered categories
+                    String[] types = CategoryRegistry.get().getItemTypes();
                     String itemType = (String) JOptionPane.showInputDialog(null,
                             "Select Item Type:",
                             "Item Type",
@@ -189,12 +224,10 @@ public class GUIComponentInitializer {
                         return; // If true, exit method
                     }
 
-                    // Generate random item number based on item type
-                    int itemNumber = RandomNumberGenerator.generateRandomNumber(itemType,
-                            inventoryItemsList);
-
-                    // Get current date
-                    LocalDate creationDate = LocalDate.now();
+                    // Validate the item, including that its type still has a free item number
+                    if (showFailure(inventoryService.checkNewItem(itemName, quantity, itemType))) {
+                        return; // If invalid, exit method
+                    }
 
                     // Display confirmation dialog
                     String message = String.format(
@@ -209,18 +242,18 @@ public class GUIComponentInitializer {
                     // If confirmation is YES
                     if (confirmation == JOptionPane.YES_OPTION) {
 
-                        // User confirmed, add the new inventory item
-                        InventoryItem newItem = new InventoryItem(itemName, quantity,
-                                itemNumber, itemType, creationDate);
+                        // User confirmed, create the new inventory item with a generated item
+                        // number and today's date
+                        OperationResult result = inventoryService.createItem(itemName, quantity, itemType);
+                        if (showFailure(result)) {
+                            return; // If failed, exit method
+                        }
 
-                        // Add new item to inventory items list
-                        // Update inventory display and write to inventory.CSV
-                        inventoryItemsList.add(newItem);
-                        UpdateInventoryTextArea.reloadTextArea(inventoryItemsList, inventoryTextArea);
-                        CSVHandler.writeCreatedItemToInventoryCSV(inventoryItemsList);
+                        // Update inventory display
+                        inventoryTableModel.addItem(result.getItem());
 
                         // Display successful message
-                        JOptionPane.showMessageDialog(null, "Item Created Successfully!",
+                        JOptionPane.showMessageDialog(null, result.getMessage(),
                                 "Created Successful", JOptionPane.INFORMATION_MESSAGE);
 
                     }
@@ -246,18 +279,12 @@ public class GUIComponentInitializer {
             @Override
             public void actionPerformed(ActionEvent e) {
 
-                // Read from inventory csv file
-                List<InventoryItem> list = CSVHandler.readItemsFromInventoryCSVFile();
-
                 try {
-                    // Validate if the list is empty
-                    if (DataValidator.isCSVFileEmpty(list)) {
+                    // Validate if the inventory is empty (the store always matches the saved files)
+                    if (DataValidator.isCSVFileEmpty(inventoryItemsList)) {
                         return; // If true, exit method
                     }
 
-                    // Update inventory text area to display current inventory
-                    UpdateInventoryTextArea.reloadTextArea(inventoryItemsList, inventoryTextArea);
-
                     // Prompt user to enter the item number for the item to be updated
                     String itemNumberString = JOptionPane.showInputDialog(null, "Enter Item Number to Update:");
 
@@ -285,16 +312,8 @@ public class GUIComponentInitializer {
                         return; // If false, exit method
                     }
 
-                    // Create variable
-                    InventoryItem selectedItem = null;
-
-                    // Iterate thorugh list and find the item to update, if not found, exit loops
-                    for (InventoryItem item : inventoryItemsList) {
-                        if (item.getItemNumber() == itemNumberToUpdate) {
-                            selectedItem = item;
-                            break; // selectedItem will remain 'null' if the item number is not found
-                        }
-                    }
+                    // Look up the item to update by its item number ('null' if not found)
+                    InventoryItem selectedItem = inventoryItemsList.findByItemNumber(itemNumberToUpdate);
 
                     // Validate if the item number exists
                     if (!DataValidator.isItemNumberFound(selectedItem, itemNumberToUpdate)) {
@@ -302,7 +321,11 @@ public class GUIComponentInitializer {
                     }
 
                     // Display a dialog to select the field to update
-                    String[] updateOptions = { "Item Number", "Item Type", "Item Name", "Quantity" };
+                    InventoryService.ItemField[] fields = InventoryService.ItemField.values();
+                    String[] updateOptions = new String[fields.length];
+                    for (int i = 0; i < fields.length; i++) {
+                        updateOptions[i] = fields[i].getLabel();
+                    }
 
                     // Prompt user to select a field to update
                     String selectedOption = (String) JOptionPane.showInputDialog(null,
@@ -312,8 +335,10 @@ public class GUIComponentInitializer {
 
                     // Validate if a field to update is selected
                     if (selectedOption != null) {
-                        switch (selectedOption) {
-                            case "Item Number":
+                        InventoryService.ItemField selectedField = InventoryService.ItemField
+                                .fromLabel(selectedOption);
+                        switch (selectedField) {
+                            case ITEM_NUMBER:
                                 // Prompt user to enter a new value for the item number
                                 String newItemNumberString = JOptionPane.showInputDialog(null,
                                         "Enter new value for Item Number:",
@@ -344,28 +369,17 @@ public class GUIComponentInitializer {
                                         return; // If false, exit method
                                     }
 
-                                    // Validate that the new updated item number is valid
-                                    if (!DataValidatorForUpdates.isUpdatedItemNumberValid(selectedItem.getItemType(),
-                                            newUpdatedItemNumber)) {
+                                    // Validate that the new updated item number is in the range of the
+                                    // item type, differs from the current one and is not in use
+                                    if (showFailure(inventoryService.checkUpdate(itemNumberToUpdate,
+                                            selectedField, newUpdatedItemNumber))) {
                                         return; // Exit method if validation fails
                                     }
 
-                                    // Validate if the new updated item number is a duplicate
-                                    if (DataValidatorForUpdates.isUpdatedItemNumberDuplicate(selectedItem,
-                                            newUpdatedItemNumber)) {
-                                        return; // Exit method if validation passes
-                                    }
-
-                                    // Validate if the new updated item number is an existing item number
-                                    if (DataValidatorForUpdates.doesUpdatedItemNumberExist(itemsList,
-                                            newUpdatedItemNumber)) {
-                                        return; // Exit method if validation passes
-                                    }
-
                                     // Show confirmation dialog for the update
                                     PromptForUpdateConfirmation.showUpdateConfirmationDialog(selectedItem,
-                                            selectedOption,
-                                            newUpdatedItemNumber, inventoryItemsList, inventoryTextArea);
+                                            selectedField,
+                                            newUpdatedItemNumber, inventoryService, inventoryTableModel);
 
                                 } catch (NumberFormatException ex) {
                                     JOptionPane.showMessageDialog(null,
@@ -374,9 +388,9 @@ public class GUIComponentInitializer {
 
                                 break;
 
-                            case "Item Type":
-                                // Display a dropdown list of current item types
-                                String[] currentTypes = { "Greeneries", "Table Runners", "Vases" };
+                            case ITEM_TYPE:
+                                // Display a dropdown list of the registered item types
+                                String[] currentTypes = CategoryRegistry.get().getItemTypes();
 
                                 // Prompt user to select a new item type
                                 String newType = (String) JOptionPane.showInputDialog(null,
@@ -391,13 +405,14 @@ public class GUIComponentInitializer {
                                     }
 
                                     // Validate if the new updated item type is the same as the current item type
-                                    if (DataValidatorForUpdates.isSameItemType(selectedItem, newType)) {
+                                    if (showFailure(inventoryService.checkUpdate(itemNumberToUpdate,
+                                            selectedField, newType))) {
                                         return; // If true, exit method
                                     }
 
                                     // Show confirmation dialog for the update
                                     PromptForUpdateConfirmation.showUpdateConfirmationDialog(selectedItem,
-                                            selectedOption, newType, inventoryItemsList, inventoryTextArea);
+                                            selectedField, newType, inventoryService, inventoryTableModel);
 
                                 } catch (NumberFormatException ex) {
                                     JOptionPane.showMessageDialog(null,
@@ -405,7 +420,7 @@ public class GUIComponentInitializer {
                                 }
                                 break;
 
-                            case "Item Name":
+                            case ITEM_NAME:
                                 // Prompt user to enter a new value for the item name
                                 String newUpdatedItemName = JOptionPane.showInputDialog(null,
                                         "Enter new value for Item Name:",
@@ -425,19 +440,16 @@ public class GUIComponentInitializer {
                                         return; // If true, exit method
                                     }
 
-                                    // Validate if the new updated item name is the same as the current item name
-                                    if (DataValidatorForUpdates.isSameItemName(selectedItem, newUpdatedItemName)) {
-                                        return; // If true, exit method
-                                    }
-
-                                    // Validate if the new updated item name contains only valid characters
-                                    if (!DataValidator.isValidItemName(newUpdatedItemName)) {
-                                        return; // If false, exit method
+                                    // Validate if the new updated item name differs from the current item name
+                                    // and contains only valid characters
+                                    if (showFailure(inventoryService.checkUpdate(itemNumberToUpdate,
+                                            selectedField, newUpdatedItemName))) {
+                                        return; // If invalid, exit method
                                     }
 
                                     // Show confirmation dialog for the update
                                     PromptForUpdateConfirmation.showUpdateConfirmationDialog(selectedItem,
-                                            selectedOption, newUpdatedItemName, inventoryItemsList, inventoryTextArea);
+                                            selectedField, newUpdatedItemName, inventoryService, inventoryTableModel);
 
                                 } catch (NumberFormatException ex) {
                                     JOptionPane.showMessageDialog(null,
@@ -447,7 +459,7 @@ public class GUIComponentInitializer {
                                 }
                                 break;
 
-                            case "Quantity":
+                            case QUANTITY:
                                 // Prompt user to enter a new value for the quantity
                                 String newQuantityStr = JOptionPane.showInputDialog(null,
                                         "Enter new value for Quantity:",
@@ -479,13 +491,14 @@ public class GUIComponentInitializer {
                                     }
 
                                     // Validate if new quantity is the same as the current quantity;
-                                    if (DataValidatorForUpdates.isSameQuantity(selectedItem, newQuantity)) {
+                                    if (showFailure(inventoryService.checkUpdate(itemNumberToUpdate,
+                                            selectedField, newQuantity))) {
                                         return; // if true, exit method
                                     }
 
                                     // Show confirmation dialog for the update
                                     PromptForUpdateConfirmation.showUpdateConfirmationDialog(selectedItem,
-                                            selectedOption, newQuantity, inventoryItemsList, inventoryTextArea);
+                                            selectedField, newQuantity, inventoryService, inventoryTableModel);
 
                                 } catch (NumberFormatException ex) {
                                     JOptionPane.showMessageDialog(null,
@@ -516,20 +529,15 @@ public class GUIComponentInitializer {
             @Override
             public void actionPerformed(ActionEvent e) {
 
-                // Read from inventory csv file
-                List<InventoryItem> list = CSVHandler.readItemsFromInventoryCSVFile();
-
                 try {
-                    // Validate if the list is empty
-                    if (DataValidator.isCSVFileEmpty(list)) {
+                    // Validate if the inventory is empty (the store always matches the saved files)
+                    if (DataValidator.isCSVFileEmpty(inventoryItemsList)) {
                         return; // If true, exit method
                     }
 
-                    // Update inventory text area to display current inventory
-                    UpdateInventoryTextArea.reloadTextArea(inventoryItemsList, inventoryTextArea);
-
                     // Prompt the user to enter the item number to delete
-                    String itemNumberString = JOptionPane.showInputDialog(null, "Enter Item Number to Delete:");
+                    String itemNumberString = JOptionPane.showInputDialog(null,
+                            "Enter Item Number to Delete (or several, ex: 101, 105-110):");
 
                     // Validate if user clicked cancel or closed the dialog
                     if (DataValidator.isInputNull(itemNumberString)) {
@@ -544,6 +552,12 @@ public class GUIComponentInitializer {
                         return; // If true, exit method
                     }
 
+                    // Delete every listed item at once if several were entered
+                    if (DataValidator.isItemNumberSelection(itemNumberString)) {
+                        deleteSelectedItems(itemNumberString);
+                        return;
+                    }
+
                     // Validate the user input contains valid characters (ex: 1, 5, 100, 5000)
                     if (!DataValidator.isQuantityInputValid(itemNumberString)) {
                         return; // If false, exit method
@@ -555,16 +569,8 @@ public class GUIComponentInitializer {
                         return; // If false, exit method
                     }
 
-                    // Create variable
-                    InventoryItem itemToDelete = null;
-
-                    // Iterate thorugh list and find the item to delete, if not found, exit loops
-                    for (InventoryItem item : inventoryItemsList) {
-                        if (item.getItemNumber() == itemNumberToDelete) {
-                            itemToDelete = item;
-                            break; // selectedItem will remain 'null' if the item number is not found
-                        }
-                    }
+                    // Look up the item to delete by its item number ('null' if not found)
+                    InventoryItem itemToDelete = inventoryService.findItem(itemNumberToDelete);
 
                     // Validate if the item number exists
                     if (!DataValidator.isItemNumberFound(itemToDelete, itemNumberToDelete)) {
@@ -573,34 +579,25 @@ public class GUIComponentInitializer {
 
                     // Display a confirmation dialog with item details before deletion
                     int confirmDelete = JOptionPane.showConfirmDialog(null,
-                            "Are you sure you want to delete this item?\n\n" +
-                                    "Item Number: " + itemToDelete.getItemNumber() + "\n" +
-                                    "Item Name: " + itemToDelete.getItemName() + "\n" +
-                                    "Quantity: " + itemToDelete.getQuantity() + "\n" +
-                                    "Item Type: " + itemToDelete.getItemType() + "\n" +
-                                    "Create Date: "
-                                    + itemToDelete.getCreationDate()
-                                            .format(DateTimeFormatter.ofPattern("MMMM d, yyyy"))
-                                    + "\n\n",
+                            "Are you sure you want to delete this item?\n\n"
+                                    + InventoryService.describeItem(itemToDelete) + "\n\n",
                             "Confirm Deletion", JOptionPane.YES_NO_OPTION);
 
                     // If the user confirms deletion
                     if (confirmDelete == JOptionPane.YES_OPTION) {
-                        // Write the item details to the CSV file for deleted items
-                        CSVHandler.writeDeletedItemToCSV(itemToDelete);
-                        // Remove the item from the main inventory list
-                        inventoryItemsList.remove(itemToDelete);
-                        // Update the inventory text area
-                        UpdateInventoryTextArea.reloadTextArea(inventoryItemsList, inventoryTextArea);
-                        // Update the text area with deleted items
-                        UpdateDeletedItemsTextArea.populateTextArea(
-                                CSVHandler.readItemsFromDeletedCSVFile(),
-                                deletedInventoryTextArea);
-                        // Write created item to Inventory.csv
-                        CSVHandler.writeCreatedItemToInventoryCSV(inventoryItemsList);
+                        // Move the item to the trash, which saves it to the deleted items CSV file
+                        // and records the removal in the inventory journal
+                        OperationResult result = inventoryService.deleteItem(itemNumberToDelete);
+                        if (showFailure(result)) {
+                            return; // If failed, exit method
+                        }
+
+                        // Move the item's row from the inventory table to the deleted items table
+                        inventoryTableModel.removeItem(itemToDelete);
+                        deletedInventoryTableModel.addItem(itemToDelete);
 
                         // Display success deletion message
-                        JOptionPane.showMessageDialog(null, "Item Deleted Successfully!",
+                        JOptionPane.showMessageDialog(null, result.getMessage(),
                                 "Deletion Successful", JOptionPane.INFORMATION_MESSAGE);
                     }
 
@@ -620,135 +617,130 @@ public class GUIComponentInitializer {
         permanentDeleteButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                // Read from deleted item csv file and set to list
-                List<InventoryItem> deletedItemsList = CSVHandler.readItemsFromDeletedCSVFile();
-
-                // Validate if CSV file is empty
-                if (DataValidator.isCSVFileEmpty(deletedItemsList)) {
-                    return; // If true, exit method
-                }
-
-                // Update the text area with deleted items
-                UpdateDeletedItemsTextArea.populateTextArea(deletedItemsList, deletedInventoryTextArea);
-
-                // Prompt the user to choose between deleting one item, all items, or cancel
-                Object[] options = { "One Item", "All Items", "Cancel" };
-                int choice = JOptionPane.showOptionDialog(null,
-                        "Do you want to delete ONE ITEM, ALL ITEMS, or Cancel?",
-                        "Delete Options", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE,
-                        null, options, options[0]);
-
-                // Perform actions based on user choice
-                switch (choice) {
-                    case JOptionPane.YES_OPTION: // Permanently delete one item
-                        String itemNumberString = JOptionPane.showInputDialog(null,
-                                "Enter the item number to PERMANENTLY DELETE:");
-
-                        try {
-                            // Validate if user clicked cancel or closed the dialog
-                            if (DataValidator.isInputNull(itemNumberString)) {
-                                return; // If true, exit method
-                            }
-
-                            // Trim and normalize whitespace in the itemNumberStr
-                            itemNumberString = itemNumberString.replaceAll("\\s+", " ").trim();
-
-                            // Validate if input is empty
-                            if (DataValidator.isInputEmpty(itemNumberString)) {
+                // Check the deleted item csv file for changes in the background, then continue with the list
+                BackgroundTaskRunner.run("Loading deleted items...", "Error reading deleted items CSV file!",
+                        progress -> CSVHandler.readChangesToDeletedCSVFile(),
+                        change -> {
+                            // Merge any change made to the file by hand into the trash kept by the service
+                            InventoryStore deletedItemsList = inventoryService.applyDeletedItemsChange(change);
+
+                            // Validate if CSV file is empty
+                            if (DataValidator.isCSVFileEmpty(deletedItemsList)) {
                                 return; // If true, exit method
                             }
 
-                            // Validate the user input contains valid characters (ex: 1, 5, 100, 5000)
-                            if (!DataValidator.isQuantityInputValid(itemNumberString)) {
-                                return; // If false, exit method
-                            }
+                            // Update the table with deleted items
+                            deletedInventoryTableModel.setItems(deletedItemsList);
+
+                            // Prompt the user to choose between deleting one item, all items, or cancel
+                            Object[] options = { "One Item", "All Items", "Cancel" };
+                            int choice = JOptionPane.showOptionDialog(null,
+                                    "Do you want to delete ONE ITEM, ALL ITEMS, or Cancel?",
+                                    "Delete Options", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE,
+                                    null, options, options[0]);
+
+                            // Perform actions based on user choice
+                            switch (choice) {
+                                case JOptionPane.YES_OPTION: // Permanently delete one item
+                                    String itemNumberString = JOptionPane.showInputDialog(null,
+                                            "Enter the item number to PERMANENTLY DELETE (or several, ex: 101, 105-110):");
+
+                                    try {
+                                        // Validate if user clicked cancel or closed the dialog
+                                        if (DataValidator.isInputNull(itemNumberString)) {
+                                            return; // If true, exit method
+                                        }
+
+                                        // Trim and normalize whitespace in the itemNumberStr
+                                        itemNumberString = itemNumberString.replaceAll("\\s+", " ").trim();
+
+                                        // Validate if input is empty
+                                        if (DataValidator.isInputEmpty(itemNumberString)) {
+                                            return; // If true, exit method
+                                        }
+
+                                        // Delete every listed item at once if several were entered
+                                        if (DataValidator.isItemNumberSelection(itemNumberString)) {
+                                            purgeSelectedItems(itemNumberString, deletedItemsList);
+                                            return;
+                                        }
+
+                                        // Validate the user input contains valid characters (ex: 1, 5, 100, 5000)
+                                        if (!DataValidator.isQuantityInputValid(itemNumberString)) {
+                                            return; // If false, exit method
+                                        }
+
+                                        // Parse and validate that quantity is a positive number
+                                        int itemNumberToDeletePermanently = Integer.parseInt(itemNumberString);
+                                        if (!DataValidator.isPositiveQuantity(itemNumberToDeletePermanently)) {
+                                            return; // If false, exit method
+                                        }
+
+                                        // Look up the item to delete by its item number ('null' if not found)
+                                        InventoryItem itemToDelete = deletedItemsList
+                                                .findByItemNumber(itemNumberToDeletePermanently);
+
+                                        // Validate if the item number exists
+                                        if (!DataValidator.isItemNumberFound(itemToDelete,
+                                                itemNumberToDeletePermanently)) {
+                                            return; // If false, exit the method
+                                        }
+
+                                        int confirmDelete = JOptionPane.showConfirmDialog(null,
+                                                "Are you sure you want to delete this item PERMANENTLY?\n\n"
+                                                        + InventoryService.describeItem(itemToDelete) + "\n\n",
+                                                "Confirm Deletion", JOptionPane.YES_NO_OPTION);
+
+                                        // if confrim yes
+                                        if (confirmDelete == JOptionPane.YES_OPTION) {
+
+                                            // Remove item from the deleted items, which saves the deleted items
+                                            // csv file
+                                            OperationResult result = inventoryService
+                                                    .purgeItem(itemNumberToDeletePermanently);
+                                            if (showFailure(result)) {
+                                                return; // If failed, exit method
+                                            }
+
+                                            // Remove the item's row from the deleted items table
+                                            deletedInventoryTableModel.removeItem(itemToDelete);
+
+                                            // Display success deletion message
+                                            JOptionPane.showMessageDialog(null,
+                                                    result.getMessage(),
+                                                    "Permanent Deletion Successful",
+                                                    JOptionPane.INFORMATION_MESSAGE);
+                                        }
+
+                                    } catch (NumberFormatException ex) {
+                                        JOptionPane.showMessageDialog(null, "Invalid entry!", "Error",
+                                                JOptionPane.ERROR_MESSAGE);
+                                    }
 
-                            // Parse and validate that quantity is a positive number
-                            int itemNumberToDeletePermanently = Integer.parseInt(itemNumberString);
-                            if (!DataValidator.isPositiveQuantity(itemNumberToDeletePermanently)) {
-                                return; // If false, exit method
-                            }
+                                    break;
 
-                            // Read from deleted item csv file and set to list
-                            deletedItemsList = CSVHandler.readItemsFromDeletedCSVFile();
+                                case JOptionPane.NO_OPTION: // Permanently delete all items
+                                    int confirmDeleteAll = JOptionPane.showConfirmDialog(null,
+                                            "Are you sure you want to delete ALL items PERMANENTLY?",
+                                            "Confirm Deletion", JOptionPane.YES_NO_OPTION);
 
-                            // Create variables
-                            InventoryItem itemToDelete = null;
+                                    if (confirmDeleteAll == JOptionPane.YES_OPTION) {
+                                        // Remove every deleted item and save the empty deleted items csv file
+                                        inventoryService.purgeAllItems();
+                                        // Update cleared list to the table
+                                        deletedInventoryTableModel.setItems(deletedItemsList);
 
-                            // Iterate thorugh list and find the item to delete, if not found, exit loops
-                            for (InventoryItem item : deletedItemsList) {
-                                if (item.getItemNumber() == itemNumberToDeletePermanently) {
-                                    itemToDelete = item;
-                                    break; // selectedItem will remain 'null' if the item number is not found
-                                }
-                            }
+                                        // Display success deletion message
+                                        JOptionPane.showMessageDialog(null, "All Items Deleted Successfully!",
+                                                "Permanent Deletion Successful", JOptionPane.INFORMATION_MESSAGE);
+                                    }
 
-                            // Validate if the item number exists
-                            if (!DataValidator.isItemNumberFound(itemToDelete, itemNumberToDeletePermanently)) {
-                                return; // If false, exit the method
-                            }
+                                    break;
 
-                            int confirmDelete = JOptionPane.showConfirmDialog(null,
-                                    "Are you sure you want to delete this item PERMANENTLY?\n\n" +
-                                            "Item Number: " + itemToDelete.getItemNumber() + "\n" +
-                                            "Item Name: " + itemToDelete.getItemName() + "\n" +
-                                            "Quantity: " + itemToDelete.getQuantity() + "\n" +
-                                            "Item Type: " + itemToDelete.getItemType() + "\n" +
-                                            "Create Date: "
-                                            + itemToDelete.getCreationDate()
-                                                    .format(DateTimeFormatter.ofPattern("MMMM d, yyyy"))
-                                            + "\n\n",
-                                    "Confirm Deletion", JOptionPane.YES_NO_OPTION);
-
-                            // if confrim yes
-                            if (confirmDelete == JOptionPane.YES_OPTION) {
-
-                                // Remove item from deleted item list
-                                deletedItemsList.remove(itemToDelete);
-
-                                // Upddate deleted items text area with list
-                                UpdateDeletedItemsTextArea.populateTextArea(deletedItemsList,
-                                        deletedInventoryTextArea);
-
-                                // Write items from deleted items list to deleted items csv file
-                                CSVHandler.writeItemsToDeletedItemsCSV(deletedItemsList);
-
-                                // Display success deletion message
-                                JOptionPane.showMessageDialog(null, "Item Permanently Deleted Successfully!",
-                                        "Permanent Deletion Successful", JOptionPane.INFORMATION_MESSAGE);
+                                default: // Cancel
+                                    break;
                             }
-
-                        } catch (NumberFormatException ex) {
-                            JOptionPane.showMessageDialog(null, "Invalid entry!", "Error",
-                                    JOptionPane.ERROR_MESSAGE);
-                        }
-
-                        break;
-
-                    case JOptionPane.NO_OPTION: // Permanently delete all items
-                        int confirmDeleteAll = JOptionPane.showConfirmDialog(null,
-                                "Are you sure you want to delete ALL items PERMANENTLY?",
-                                "Confirm Deletion", JOptionPane.YES_NO_OPTION);
-
-                        if (confirmDeleteAll == JOptionPane.YES_OPTION) {
-                            // Clear the list
-                            deletedItemsList.clear();
-                            // Update cleared list to text area
-                            UpdateDeletedItemsTextArea.populateTextArea(deletedItemsList,
-                                    deletedInventoryTextArea);
-                            // Write cleared list to delete item csv file
-                            CSVHandler.writeItemsToDeletedItemsCSV(deletedItemsList);
-
-                            // Display success deletion message
-                            JOptionPane.showMessageDialog(null, "All Items Deleted Successfully!",
-                                    "Permanent Deletion Successful", JOptionPane.INFORMATION_MESSAGE);
-                        }
-
-                        break;
-
-                    default: // Cancel
-                        break;
-                }
+                        });
             }
         });
 
@@ -760,134 +752,125 @@ public class GUIComponentInitializer {
         restoreButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                // Read from deleted item csv file and set to list
-                List<InventoryItem> deletedItemsList = CSVHandler.readItemsFromDeletedCSVFile();
-
-                // Validate if CSV file is empty
-                if (DataValidator.isCSVFileEmpty(deletedItemsList)) {
-                    return; // If true, exit method
-                }
-
-                // Update the text area with deleted items
-                UpdateDeletedItemsTextArea.populateTextArea(deletedItemsList, deletedInventoryTextArea);
-
-                // Prompt the user to choose between restoring one item, all items, or cancel
-                Object[] options = { "Restore One Item", "Restore All Items", "Cancel" };
-                int choice = JOptionPane.showOptionDialog(null,
-                        "Do you want to restore ONE ITEM, ALL ITEMS, or Cancel?",
-                        "Restore Options", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE,
-                        null, options, options[0]);
-
-                // Perform actions based on user choice
-                switch (choice) {
-                    case JOptionPane.YES_OPTION: // Restore one item
-                        String itemNumberString = JOptionPane.showInputDialog(null,
-                                "Enter the item number to restore:");
-                        try {
-
-                            // Validate if user selected 'cancel' or closed the dialog
-                            if (DataValidator.isInputNull(itemNumberString)) {
+                // Check the deleted item csv file for changes in the background, then continue with the list
+                BackgroundTaskRunner.run("Loading deleted items...", "Error reading deleted items CSV file!",
+                        progress -> CSVHandler.readChangesToDeletedCSVFile(),
+                        change -> {
+                            // Merge any change made to the file by hand into the trash kept by the service
+                            InventoryStore deletedItemsList = inventoryService.applyDeletedItemsChange(change);
+
+                            // Validate if CSV file is empty
+                            if (DataValidator.isCSVFileEmpty(deletedItemsList)) {
                                 return; // If true, exit method
                             }
 
-                            // Trim and normalize whitespace in the input
-                            itemNumberString = itemNumberString.replaceAll("\\s+", " ").trim();
-
-                            if (DataValidator.isInputEmpty(itemNumberString)) {
-                                return; // If true, exit method
-                            }
-
-                            // Validate the user input contains valid characters (ex: 1, 5, 100, 5000)
-                            if (!DataValidator.isQuantityInputValid(itemNumberString)) {
-                                return; // If false, exit method
-                            }
-
-                            // Parse and validate that quantity is a positive number
-                            int itemNumber = Integer.parseInt(itemNumberString);
-                            if (!DataValidator.isPositiveQuantity(itemNumber)) {
-                                return; // If false, exit method
-                            }
-
-                            // Create variablea
-                            InventoryItem itemToRestore = null;
-
-                            // Iterate thorugh list and find the item to restore, if not found, exit loops
-                            for (InventoryItem item : deletedItemsList) {
-                                if (item.getItemNumber() == itemNumber) {
-                                    itemToRestore = item;
-                                    break; // selectedItem will remain 'null' if the item number is not found
-                                }
-                            }
-
-                            // Validate if the item number exists
-                            if (!DataValidator.isItemNumberFound(itemToRestore, itemNumber)) {
-                                return; // If false, exit the method
-                            }
-
-                            // Remove the item from deleted items list
-                            deletedItemsList.remove(itemToRestore);
-
-                            // Write the updated list back to deleted_items.csv
-                            CSVHandler.writeItemsToDeletedItemsCSV(deletedItemsList);
+                            // Update the table with deleted items
+                            deletedInventoryTableModel.setItems(deletedItemsList);
+
+                            // Prompt the user to choose between restoring one item, all items, or cancel
+                            Object[] options = { "Restore One Item", "Restore All Items", "Cancel" };
+                            int choice = JOptionPane.showOptionDialog(null,
+                                    "Do you want to restore ONE ITEM, ALL ITEMS, or Cancel?",
+                                    "Restore Options", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.QUESTION_MESSAGE,
+                                    null, options, options[0]);
+
+                            // Perform actions based on user choice
+                            switch (choice) {
+                                case JOptionPane.YES_OPTION: // Restore one item
+                                    String itemNumberString = JOptionPane.showInputDialog(null,
+                                            "Enter the item number to restore (or several, ex: 101, 105-110):");
+                                    try {
+
+                                        // Validate if user selected 'cancel' or closed the dialog
+                                        if (DataValidator.isInputNull(itemNumberString)) {
+                                            return; // If true, exit method
+                                        }
+
+                                        // Trim and normalize whitespace in the input
+                                        itemNumberString = itemNumberString.replaceAll("\\s+", " ").trim();
+
+                                        if (DataValidator.isInputEmpty(itemNumberString)) {
+                                            return; // If true, exit method
+                                        }
+
+                                        // Restore every listed item at once if several were entered
+                                        if (DataValidator.isItemNumberSelection(itemNumberString)) {
+                                            restoreSelectedItems(itemNumberString, deletedItemsList);
+                                            return;
+                                        }
+
+                                        // Validate the user input contains valid characters (ex: 1, 5, 100, 5000)
+                                        if (!DataValidator.isQuantityInputValid(itemNumberString)) {
+                                            return; // If false, exit method
+                                        }
+
+                                        // Parse and validate that quantity is a positive number
+                                        int itemNumber = Integer.parseInt(itemNumberString);
+                                        if (!DataValidator.isPositiveQuantity(itemNumber)) {
+                                            return; // If false, exit method
+                                        }
+
+                                        // Look up the item to restore by its item number ('null' if not found)
+                                        InventoryItem itemToRestore = deletedItemsList.findByItemNumber(itemNumber);
+
+                                        // Validate if the item number exists
+                                        if (!DataValidator.isItemNumberFound(itemToRestore, itemNumber)) {
+                                            return; // If false, exit the method
+                                        }
+
+                                        // Move the item back to the inventory, which records it in the inventory
+                                        // journal and writes the updated list back to deleted_items.csv
+                                        OperationResult result = inventoryService.restoreItem(itemNumber);
+                                        if (showFailure(result)) {
+                                            return; // If failed, exit method
+                                        }
+
+                                        // Move the item's row from the deleted items table to the inventory table
+                                        deletedInventoryTableModel.removeItem(itemToRestore);
+                                        inventoryTableModel.addItem(itemToRestore);
+
+                                        // Message stating restoration is successful
+                                        JOptionPane.showMessageDialog(null, result.getMessage(),
+                                                "Restore Successful", JOptionPane.INFORMATION_MESSAGE);
+
+                                    } catch (NumberFormatException ex) {
+                                        JOptionPane.showMessageDialog(null, "Invalid item number!", "Error",
+                                                JOptionPane.ERROR_MESSAGE);
+                                    }
 
-                            // Add the item back to inventory.csv
-                            CSVHandler.writeRestoredItemToCSV(itemToRestore);
+                                    break;
 
-                            // Add the item back to inventoryItem
-                            inventoryItemsList.add(itemToRestore);
+                                case JOptionPane.NO_OPTION: // Restore all items
+                                    int confirmRestoreAll = JOptionPane.showConfirmDialog(null,
+                                            "Are you sure you want to restore ALL items?",
+                                            "Confirm Restoration", JOptionPane.YES_NO_OPTION);
 
-                            // Update the GUI
-                            UpdateDeletedItemsTextArea.populateTextArea(deletedItemsList,
-                                    deletedInventoryTextArea);
-                            // Update inventory text area
-                            UpdateInventoryTextArea.reloadTextArea(inventoryItemsList, inventoryTextArea);
+                                    if (confirmRestoreAll == JOptionPane.YES_OPTION) {
 
-                            // Message stating restoration is successful
-                            JOptionPane.showMessageDialog(null, "Item restored successfully!",
-                                    "Restore Successful", JOptionPane.INFORMATION_MESSAGE);
+                                        // Restore all items as one batch and write the updated list back to
+                                        // deleted_items.csv once
+                                        BatchResult results = inventoryService.restoreAllItems();
 
-                        } catch (NumberFormatException ex) {
-                            JOptionPane.showMessageDialog(null, "Invalid item number!", "Error",
-                                    JOptionPane.ERROR_MESSAGE);
-                        }
+                                        // If an item number was taken again, nothing is restored
+                                        if (showFailures(results, "restored")) {
+                                            return; // If failed, exit method
+                                        }
 
-                        break;
+                                        // Update the GUI and show a message dialog
+                                        deletedInventoryTableModel.setItems(deletedItemsList);
+                                        // Update the inventory table
+                                        inventoryTableModel.setItems(inventoryItemsList);
 
-                    case JOptionPane.NO_OPTION: // Restore all items
-                        int confirmRestoreAll = JOptionPane.showConfirmDialog(null,
-                                "Are you sure you want to restore ALL items?",
-                                "Confirm Restoration", JOptionPane.YES_NO_OPTION);
-
-                        if (confirmRestoreAll == JOptionPane.YES_OPTION) {
+                                        // Display success message
+                                        JOptionPane.showMessageDialog(null, "All items restored successfully!",
+                                                "Restore Successful", JOptionPane.INFORMATION_MESSAGE);
+                                    }
+                                    break;
 
-                            // Restore all items
-                            for (InventoryItem itemToRestore : deletedItemsList) {
-                                // Write to Inventory.csv
-                                CSVHandler.writeRestoredItemToCSV(itemToRestore);
-                                // Add the item back to inventoryItem
-                                inventoryItemsList.add(itemToRestore);
+                                default: // Cancel button selected
+                                    break;
                             }
-
-                            // Clear the deletedItems list and write the updated list back to
-                            // deleted_items.csv
-                            deletedItemsList.clear();
-                            CSVHandler.writeItemsToDeletedItemsCSV(deletedItemsList);
-
-                            // Update the GUI and show a message dialog
-                            UpdateDeletedItemsTextArea.populateTextArea(deletedItemsList,
-                                    deletedInventoryTextArea);
-                            // Update Invenotry Text Area
-                            UpdateInventoryTextArea.reloadTextArea(inventoryItemsList, inventoryTextArea);
-
-                            // Display success message
-                            JOptionPane.showMessageDialog(null, "All items restored successfully!",
-                                    "Restore Successful", JOptionPane.INFORMATION_MESSAGE);
-                        }
-                        break;
-
-                    default: // Cancel button selected
-                        break;
-                }
+                        });
             }
         });
 
@@ -907,12 +890,10 @@ public class GUIComponentInitializer {
                     return; // If true, exit method
                 }
 
-                // Update inventory text area to display current inventory
-                UpdateInventoryTextArea.reloadTextArea(inventoryItemsList, inventoryTextArea);
-
                 // Ask the user for confirmation
                 int confirmChoice = JOptionPane.showConfirmDialog(null,
-                        "Are you sure you want to generate the report? \nIf you select 'Yes', the report will be generate to your download folder.",
+                        "Are you sure you want to generate the report? \n"
+                                + "If you select 'Yes', the report will be generate to your download folder.",
                         "Confirmation", JOptionPane.YES_NO_OPTION);
                 if (confirmChoice == JOptionPane.YES_OPTION) {
                     // Prompt user for sorting preference
@@ -925,36 +906,37 @@ public class GUIComponentInitializer {
                     if (selectedOption != null) {
                         String sortChoice = (String) selectedOption;
 
-                        // Generate report based on user's sorting preference
-                        String reportContent;
+                        // Map the user's sorting preference to the order of the report
+                        ReportEngine.SortKey sortKey;
                         switch (sortChoice) {
                             case "By Quantity":
-                                reportContent = GenerateReports
-                                        .generateReportContentSortedByQuantity(inventoryItemsList);
+                                sortKey = ReportEngine.SortKey.QUANTITY;
                                 break;
                             case "By Item Number":
-                                reportContent = GenerateReports
-                                        .generateReportContentSortedByItemNumber(inventoryItemsList);
+                                sortKey = ReportEngine.SortKey.ITEM_NUMBER;
                                 break;
                             default:
-                                reportContent = GenerateReports.generateReportSortedAlphabetically(inventoryItemsList);
+                                sortKey = ReportEngine.SortKey.ALPHABETICAL;
                                 break;
                         }
 
-                        String downloadFolderPath = System.getProperty("user.home") + "/Downloads/";
-                        String fileName = "inventory_report_"
-                                + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + ".txt";
-                        String filePath = downloadFolderPath + fileName;
-                        try {
-                            PrintWriter writer = new PrintWriter(new FileWriter(filePath));
-                            writer.println(reportContent);
-                            writer.close();
-                            JOptionPane.showMessageDialog(null, "Report generated and saved to:\n" + filePath);
-                        } catch (IOException ex) {
-                            ex.printStackTrace();
-                            JOptionPane.showMessageDialog(null, "Error saving report!", "Error",
-                                    JOptionPane.ERROR_MESSAGE);
-                        }
+                        // Report file in the user's download folder
+                        Path filePath = InventoryService.defaultReportPath();
+
+                        // Generate and save the report in the background from a copy of the inventory
+                        List<InventoryItem> reportItems = inventoryService.copyInventory();
+                        BackgroundTaskRunner.run("Generating report...", "Error saving report!",
+                                progress -> {
+                                    // Stream the report sorted by the user's preference to the file
+                                    InventoryService.writeReport(reportItems, sortKey, filePath,
+                                            (written, total) -> {
+                                                progress.update(written, total);
+                                                progress.checkCancelled();
+                                            });
+                                    return filePath;
+                                },
+                                savedFilePath -> JOptionPane.showMessageDialog(null,
+                                        "Report generated and saved to:\n" + savedFilePath));
                     }
                 }
             }
@@ -972,7 +954,9 @@ public class GUIComponentInitializer {
                         "Exit Program", JOptionPane.YES_NO_OPTION);
                 // If the user confirms, exit the program
                 if (confirmation == JOptionPane.YES_OPTION) {
-                    System.exit(0);
+                    // Save changes still waiting for the group commit before exiting
+                    BackgroundTaskRunner.runSave("Saving changes...", "Error saving changes!",
+                            CSVHandler::flushPendingSaves, () -> System.exit(0));
                 }
             }
         });
@@ -990,21 +974,49 @@ public class GUIComponentInitializer {
         rightButtonPanel.add(restoreButton);
         rightButtonPanel.add(permanentDeleteButton);
 
-        // Text area to display inventory data
-        inventoryTextArea = new JTextArea();
-        JScrollPane inventoryScrollPane = new JScrollPane(inventoryTextArea);
+        // Table to display inventory data, grouped by type and sorted by name; only
+        // the rows scrolled into view are rendered
+        inventoryTableModel = new InventoryTableModel();
+        inventoryTableModel.setItems(inventoryItemsList);
+        inventoryTableModel.addTableModelListener(event -> scheduleSummaryRefresh());
+        refreshSummary();
+        inventoryTable = new InventoryTable(inventoryTableModel);
+        JScrollPane inventoryScrollPane = new JScrollPane(inventoryTable);
+        inventoryScrollPane.setBorder(BorderFactory.createTitledBorder("Inventory"));
+
+        // Pick up changes other programs make to inventory.csv while the application runs
+        CSVHandler.watchInventoryCSVFile(new InventoryFileWatcher.Listener() {
+            @Override
+            public void itemsAppended(List<InventoryItem> items) {
+                mergeExternallyAddedItems(items);
+            }
+
+            @Override
+            public void fileRewritten() {
+                resolveExternalInventoryChange();
+            }
+        });
+
+        // Table to display deleted items
+        deletedInventoryTableModel = new InventoryTableModel();
+        BackgroundTaskRunner.run("Loading deleted items...", "Error reading deleted items CSV file!",
+                progress -> CSVHandler.readChangesToDeletedCSVFile(), change -> {
+                    deletedInventoryTableModel.setItems(inventoryService.applyDeletedItemsChange(change));
+                });
+        deletedInventoryTable = new InventoryTable(deletedInventoryTableModel);
+        JScrollPane deletedInventoryScrollPane = new JScrollPane(deletedInventoryTable);
+        deletedInventoryScrollPane.setBorder(BorderFactory.createTitledBorder("Deleted Items"));
 
-        // Text area to display deleted items
-        deletedInventoryTextArea = new JTextArea();
-        JScrollPane deletedInventoryScrollPane = new JScrollPane(deletedInventoryTextArea);
+        // Serve the inventory to other stations if an HTTP port is configured
+        startHttpServer();
 
-        // Create a panel to hold the inventory and deleted items text areas
-        JPanel textAreasPanel = new JPanel(new GridLayout(1, 2)); // 1 row, 2 columns
-        textAreasPanel.add(inventoryScrollPane);
-        textAreasPanel.add(deletedInventoryScrollPane);
+        // Create a panel to hold the inventory and deleted items tables
+        JPanel tablesPanel = new JPanel(new GridLayout(1, 2)); // 1 row, 2 columns
+        tablesPanel.add(inventoryScrollPane);
+        tablesPanel.add(deletedInventoryScrollPane);
 
-        // Add the panel with text areas to the center of the inventory panel
-        inventoryPanel.add(textAreasPanel, BorderLayout.CENTER);
+        // Add the panel with tables to the center of the inventory panel
+        inventoryPanel.add(tablesPanel, BorderLayout.CENTER);
 
         // Add button panels to the inventory panel
         inventoryPanel.add(leftButtonPanel, BorderLayout.WEST);
@@ -1013,4 +1025,314 @@ public class GUIComponentInitializer {
         // Add inventory panel to the main frame
         container.add(inventoryPanel, BorderLayout.CENTER);
     }
+
+    /**
+     * Queues a refresh of the summary header, so a batch changing many rows of
+     * the inventory table refreshes it once.
+     */
+    private static void scheduleSummaryRefresh() {
+        if (!summaryRefreshPending) {
+            summaryRefreshPending = true;
+            SwingUtilities.invokeLater(GUIComponentInitializer::refreshSummary);
+        }
+    }
+
+    /**
+     * Shows the item count, total quantity and number of low-stock items of each
+     * item type in the summary header, and lists the low-stock items in its
+     * tooltip. The totals are kept by the service, so this does not go through
+     * the inventory.
+     */
+    private static void refreshSummary() {
+        summaryRefreshPending = false;
+        StringBuilder text = new StringBuilder();
+        StringBuilder tooltip = new StringBuilder();
+        for (CategoryAggregates.Summary summary : inventoryService
+                .getCategorySummaries(MAX_LISTED_LOW_STOCK_ITEMS)) {
+            if (text.length() > 0) {
+                text.append("   |   ");
+            }
+            text.append(summary.getItemType()).append(": ").append(summary.getItemCount()).append(" items, ")
+                    .append(summary.getTotalQuantity()).append(" in stock, ").append(summary.getLowStockCount())
+                    .append(" low");
+            if (summary.getLowStockCount() > 0) {
+                tooltip.append(tooltip.length() > 0 ? "<br>" : "").append(summary.getItemType()).append(": ")
+                        .append(summary.getLowStockItemNumbers())
+                        .append(summary.getLowStockCount() > summary.getLowStockItemNumbers().size() ? " ..." : "");
+            }
+        }
+        summaryLabel.setText(text.length() > 0 ? text.toString() : "No items in the inventory");
+        summaryLabel.setToolTipText(tooltip.length() > 0 ? "<html>Item numbers with a quantity below "
+                + InventoryService.getLowStockThreshold() + ":<br>" + tooltip + "</html>" : null);
+    }
+
+    /**
+     * Starts the HTTP API if the inventory.httpPort system property is set. The
+     * changes made through the API are shown in the tables like the changes made
+     * in the GUI.
+     */
+    private static void startHttpServer() {
+        try {
+            InventoryHttpServer.startIfEnabled(inventoryService, new InventoryHttpServer.ChangeListener() {
+                @Override
+                public void itemCreated(InventoryItem item) {
+                    inventoryTableModel.addItem(item);
+                }
+
+                @Override
+                public void itemUpdated(InventoryItem item, Runnable update) {
+                    inventoryTableModel.updateItem(item, update);
+                }
+
+                @Override
+                public void itemDeleted(InventoryItem item) {
+                    inventoryTableModel.removeItem(item);
+                    deletedInventoryTableModel.addItem(item);
+                }
+
+                @Override
+                public void itemRestored(InventoryItem item) {
+                    deletedInventoryTableModel.removeItem(item);
+                    inventoryTableModel.addItem(item);
+                }
+            });
+        } catch (IOException e) {
+            e.printStackTrace();
+            JOptionPane.showMessageDialog(null, "Error starting the HTTP API!\n" + e.getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    /**
+     * Adds the items of rows that another program appended to inventory.csv to
+     * the inventory. Rows whose item number is already in use by an inventory
+     * item or a deleted item are ignored and removed from the file, so the item
+     * of the application is kept, and the user is told about them.
+     *
+     * @param items The items of the appended rows.
+     */
+    private static void mergeExternallyAddedItems(List<InventoryItem> items) {
+        List<Integer> ignoredItemNumbers = new ArrayList<>();
+        for (OperationResult result : inventoryService.addExternalItems(items).getResults()) {
+            if (result.isSuccess()) {
+                inventoryTableModel.addItem(result.getItem());
+            } else {
+                ignoredItemNumbers.add(result.getItem().getItemNumber());
+            }
+        }
+
+        if (!ignoredItemNumbers.isEmpty()) {
+            JOptionPane.showMessageDialog(null,
+                    "Rows added to inventory.csv by another program were ignored and removed from the file "
+                            + "because their item numbers are already in use:\n" + ignoredItemNumbers,
+                    "Inventory Changed", JOptionPane.WARNING_MESSAGE);
+        }
+    }
+
+    /**
+     * Lets the user resolve a change another program made to inventory.csv other
+     * than appending rows. The file is read in the background and compared with
+     * the inventory; if they differ, the user chooses between reloading the
+     * inventory from the file (changes made in the application are replayed on
+     * top of it) and overwriting the file with the inventory.
+     */
+    private static void resolveExternalInventoryChange() {
+        BackgroundTaskRunner.run("Reading inventory.csv...", "Error reading inventory CSV file!",
+                progress -> CSVHandler.readItemsFromInventoryCSVFile(),
+                fileItems -> {
+                    String differences = inventoryService.describeDifferences(fileItems);
+                    if (differences != null) {
+                        int choice = JOptionPane.showConfirmDialog(null,
+                                "inventory.csv was changed by another program (" + differences + ").\n\n"
+                                        + "Reload the inventory from the file? Changes made in this application "
+                                        + "are kept on top of it.\n"
+                                        + "Choose No to keep the inventory shown here and overwrite the file.",
+                                "Inventory Changed", JOptionPane.YES_NO_OPTION, JOptionPane.WARNING_MESSAGE);
+                        if (choice == JOptionPane.NO_OPTION) {
+                            BackgroundTaskRunner.runSave("Saving inventory...", "Error writing to inventory CSV file!",
+                                    inventoryService::overwriteInventoryFile, () -> {
+                                    });
+                            return;
+                        }
+                    }
+
+                    // Reload the inventory, which also accepts the file as it is now
+                    BackgroundTaskRunner.run("Reloading inventory...", "Error reading inventory CSV file!",
+                            progress -> CSVHandler.reloadInventoryCSVFile(),
+                            reloadedItems -> {
+                                inventoryService.replaceInventory(reloadedItems);
+                                inventoryTableModel.setItems(inventoryItemsList);
+                            });
+                });
+    }
+
+    /**
+     * Shows the message of a failed operation: an information dialog if the new
+     * value matches the current one, an error dialog otherwise.
+     *
+     * @param result The result of the operation or check, or null if it passed.
+     * @return True if the operation failed, false if not.
+     */
+    private static boolean showFailure(OperationResult result) {
+        if (result == null || result.isSuccess()) {
+            return false; // Continue method
+        }
+        if (result.getStatus() == OperationResult.Status.NO_CHANGE) {
+            JOptionPane.showMessageDialog(null, result.getMessage(), "No Change Detected",
+                    JOptionPane.INFORMATION_MESSAGE);
+        } else {
+            JOptionPane.showMessageDialog(null, result.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+        return true; // Exit method
+    }
+
+    /**
+     * Method to show why a batch was not applied. Batches moving items to and
+     * from the trash are applied in full or not at all.
+     *
+     * @param results The results of the batch.
+     * @param action  The past participle of the batch's action (ex: "deleted").
+     * @return True if the batch failed, false otherwise.
+     */
+    private static boolean showFailures(BatchResult results, String action) {
+        if (results.getFailureCount() == 0) {
+            return false; // Continue method
+        }
+        StringBuilder message = new StringBuilder("No items were " + action + ". " + results.getFailureCount()
+                + " items could not be " + action + ":\n");
+        List<OperationResult> failures = results.getFailures();
+        for (int i = 0; i < Math.min(failures.size(), MAX_LISTED_FAILURES); i++) {
+            message.append("\n").append(failures.get(i).getMessage());
+        }
+        if (failures.size() > MAX_LISTED_FAILURES) {
+            message.append("\n...");
+        }
+        JOptionPane.showMessageDialog(null, message.toString(), "Error", JOptionPane.ERROR_MESSAGE);
+        return true; // Exit method
+    }
+
+    /**
+     * Method to count the items of a list accepted by a filter, showing a message
+     * if there is none.
+     *
+     * @param items     The items to look through.
+     * @param selection The filter.
+     * @return The number of items accepted by the filter.
+     */
+    private static int countSelectedItems(Collection<InventoryItem> items, Predicate<InventoryItem> selection) {
+        int count = 0;
+        for (InventoryItem item : items) {
+            if (selection.test(item)) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            JOptionPane.showMessageDialog(null, "No items found with the given item numbers.", "Information",
+                    JOptionPane.INFORMATION_MESSAGE);
+        }
+        return count;
+    }
+
+    /**
+     * Method to move every inventory item listed by the user (ex: 101, 105-110)
+     * to the trash as one batch.
+     *
+     * @param itemNumbersString The item numbers and ranges entered by the user.
+     */
+    private static void deleteSelectedItems(String itemNumbersString) {
+        Predicate<InventoryItem> selection = DataValidator.parseItemNumberSelection(itemNumbersString);
+        if (selection == null) {
+            return; // If invalid, exit method
+        }
+        int count = countSelectedItems(inventoryItemsList, selection);
+        if (count == 0) {
+            return; // If nothing to delete, exit method
+        }
+
+        int confirmDelete = JOptionPane.showConfirmDialog(null,
+                "Are you sure you want to delete " + count + " items?", "Confirm Deletion",
+                JOptionPane.YES_NO_OPTION);
+        if (confirmDelete != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        // Append the items to the deleted items CSV file and record their removal in
+        // the inventory journal, one write each
+        BatchResult results = inventoryService.deleteItemsMatching(selection);
+        if (showFailures(results, "deleted")) {
+            return; // If failed, exit method
+        }
+        // Move the items' rows from the inventory table to the deleted items table
+        inventoryTableModel.setItems(inventoryItemsList);
+        for (OperationResult result : results.getResults()) {
+            deletedInventoryTableModel.addItem(result.getItem());
+        }
+
+        JOptionPane.showMessageDialog(null, results.getSuccessCount() + " items deleted successfully!",
+                "Deletion Successful", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Method to remove every deleted item listed by the user (ex: 101, 105-110)
+     * for good as one batch.
+     *
+     * @param itemNumbersString The item numbers and ranges entered by the user.
+     * @param deletedItemsList  The deleted items.
+     */
+    private static void purgeSelectedItems(String itemNumbersString, InventoryStore deletedItemsList) {
+        Predicate<InventoryItem> selection = DataValidator.parseItemNumberSelection(itemNumbersString);
+        if (selection == null) {
+            return; // If invalid, exit method
+        }
+        int count = countSelectedItems(deletedItemsList, selection);
+        if (count == 0) {
+            return; // If nothing to delete, exit method
+        }
+
+        int confirmDelete = JOptionPane.showConfirmDialog(null,
+                "Are you sure you want to delete " + count + " items PERMANENTLY?", "Confirm Deletion",
+                JOptionPane.YES_NO_OPTION);
+        if (confirmDelete != JOptionPane.YES_OPTION) {
+            return;
+        }
+
+        // Remove the items and save the deleted items csv file once
+        BatchResult results = inventoryService.purgeItemsMatching(selection);
+        if (showFailures(results, "deleted")) {
+            return; // If failed, exit method
+        }
+        deletedInventoryTableModel.setItems(deletedItemsList);
+
+        JOptionPane.showMessageDialog(null, results.getSuccessCount() + " items deleted permanently!",
+                "Permanent Deletion Successful", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Method to move every deleted item listed by the user (ex: 101, 105-110)
+     * back to the inventory as one batch.
+     *
+     * @param itemNumbersString The item numbers and ranges entered by the user.
+     * @param deletedItemsList  The deleted items.
+     */
+    private static void restoreSelectedItems(String itemNumbersString, InventoryStore deletedItemsList) {
+        Predicate<InventoryItem> selection = DataValidator.parseItemNumberSelection(itemNumbersString);
+        if (selection == null) {
+            return; // If invalid, exit method
+        }
+        if (countSelectedItems(deletedItemsList, selection) == 0) {
+            return; // If nothing to restore, exit method
+        }
+
+        // Record the items in the inventory journal and save the deleted items csv
+        // file, one write each
+        BatchResult results = inventoryService.restoreItemsMatching(selection);
+        if (showFailures(results, "restored")) {
+            return; // If failed, exit method
+        }
+        deletedInventoryTableModel.setItems(deletedItemsList);
+        inventoryTableModel.setItems(inventoryItemsList);
+
+        JOptionPane.showMessageDialog(null, results.getSuccessCount() + " items restored successfully!",
+                "Restore Successful", JOptionPane.INFORMATION_MESSAGE);
+    }
 }
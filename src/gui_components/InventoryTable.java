@@ -0,0 +1,68 @@
+package src.gui_components;
+
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Insets;
+
+import javax.swing.JTable;
+import javax.swing.ListSelectionModel;
+
+public class InventoryTable extends JTable {
+
+    private static final long serialVersionUID = 1L;
+
+    // Message painted over the table while it has no rows
+    private String placeholderText = "";
+
+    /**
+     * Creates a table showing the rows of the given model.
+     *
+     * @param model The model holding the items to show.
+     */
+    public InventoryTable(InventoryTableModel model) {
+        super(model);
+        setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        setFillsViewportHeight(true);
+        setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        getTableHeader().setReorderingAllowed(false);
+
+        // Size the columns once; the item name gets the remaining width
+        getColumnModel().getColumn(InventoryTableModel.TYPE_COLUMN).setPreferredWidth(110);
+        getColumnModel().getColumn(InventoryTableModel.POSITION_COLUMN).setPreferredWidth(40);
+        getColumnModel().getColumn(InventoryTableModel.ITEM_NUMBER_COLUMN).setPreferredWidth(60);
+        getColumnModel().getColumn(InventoryTableModel.ITEM_NAME_COLUMN).setPreferredWidth(250);
+        getColumnModel().getColumn(InventoryTableModel.QUANTITY_COLUMN).setPreferredWidth(50);
+        getColumnModel().getColumn(InventoryTableModel.DATE_COLUMN).setPreferredWidth(70);
+    }
+
+    /**
+     * Method to set the message shown while the table has no rows.
+     *
+     * @param placeholderText The message to show, one line per '\n'.
+     */
+    public void setPlaceholderText(String placeholderText) {
+        this.placeholderText = placeholderText;
+        repaint();
+    }
+
+    @Override
+    public InventoryTableModel getModel() {
+        return (InventoryTableModel) super.getModel();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        // Paint the placeholder message when there is nothing else to show
+        if (getRowCount() == 0 && !placeholderText.isEmpty()) {
+            Insets insets = getInsets();
+            int lineHeight = g.getFontMetrics().getHeight();
+            int y = insets.top + lineHeight;
+            for (String line : placeholderText.split("\n")) {
+                g.drawString(line, insets.left + 5, y);
+                y += lineHeight;
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package src.gui_components;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.swing.table.AbstractTableModel;
+
+import src.model.InventoryItem;
+import src.model.ItemTypeDictionary;
+
+public class InventoryTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    // Column headers of the table
+    private static final String[] COLUMN_NAMES = { "Type", "#", "Item #", "Item Name", "Qty", "Date" };
+
+    // Column positions
+    static final int TYPE_COLUMN = 0;
+    static final int POSITION_COLUMN = 1;
+    static final int ITEM_NUMBER_COLUMN = 2;
+    static final int ITEM_NAME_COLUMN = 3;
+    static final int QUANTITY_COLUMN = 4;
+    static final int DATE_COLUMN = 5;
+
+    // Format of the creation date column, created once instead of per row
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MM/dd/yy");
+
+    // Order of the rows: grouped by item type (compared through the codes of the
+    // type dictionary), then alphabetically by item name
+    private static final Comparator<InventoryItem> ROW_ORDER = Comparator
+            .comparing(InventoryItem::getItemType, ItemTypeDictionary::compare)
+            .thenComparing(InventoryItem::getItemName)
+            .thenComparingInt(InventoryItem::getItemNumber);
+
+    // Items shown by the table, kept in ROW_ORDER
+    private final List<InventoryItem> rows = new ArrayList<>();
+
+    /**
+     * Method to replace every row of the table with the given items.
+     *
+     * The items are sorted once; afterwards single changes should go through
+     * addItem, removeItem and updateItem so that only the affected rows are
+     * repainted.
+     *
+     * @param items The items to show.
+     */
+    public void setItems(Collection<InventoryItem> items) {
+        rows.clear();
+        rows.addAll(items);
+        rows.sort(ROW_ORDER);
+        fireTableDataChanged();
+    }
+
+    /**
+     * Method to insert an item at its sorted position.
+     *
+     * @param item The item to show.
+     */
+    public void addItem(InventoryItem item) {
+        int insertionPoint = Collections.binarySearch(rows, item, ROW_ORDER);
+        int row = insertionPoint >= 0 ? insertionPoint : -insertionPoint - 1;
+        rows.add(row, item);
+        fireTableRowsInserted(row, row);
+        fireGroupRowsUpdated(row + 1, item.getItemType());
+    }
+
+    /**
+     * Method to remove an item from the table.
+     *
+     * @param item The item to remove.
+     * @return True if the item was shown by the table, false if not.
+     */
+    public boolean removeItem(InventoryItem item) {
+        int row = rowOf(item);
+        if (row < 0) {
+            return false;
+        }
+        rows.remove(row);
+        fireTableRowsDeleted(row, row);
+        fireGroupRowsUpdated(row, item.getItemType());
+        return true;
+    }
+
+    /**
+     * Method to change an item shown by the table.
+     *
+     * The change is applied between locating the item's current row and finding
+     * its new one, so an edit that keeps the item in place repaints a single row
+     * and an edit of its type or name moves just that row.
+     *
+     * @param item   The item to change.
+     * @param change The change to apply to the item.
+     */
+    public void updateItem(InventoryItem item, Runnable change) {
+        int row = rowOf(item);
+        String previousItemType = item.getItemType();
+        change.run();
+        if (row < 0) {
+            return;
+        }
+
+        // Repaint the row in place if it still sorts between its neighbours
+        boolean afterPrevious = row == 0 || ROW_ORDER.compare(rows.get(row - 1), item) <= 0;
+        boolean beforeNext = row == rows.size() - 1 || ROW_ORDER.compare(item, rows.get(row + 1)) <= 0;
+        if (afterPrevious && beforeNext) {
+            fireTableRowsUpdated(row, row);
+            return;
+        }
+
+        // Otherwise move the row to its new position
+        rows.remove(row);
+        fireTableRowsDeleted(row, row);
+        fireGroupRowsUpdated(row, previousItemType);
+        addItem(item);
+    }
+
+    /**
+     * Method to get the item shown in a row.
+     *
+     * @param row The row of the table.
+     * @return The item shown in the row.
+     */
+    public InventoryItem getItemAt(int row) {
+        return rows.get(row);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        switch (column) {
+            case POSITION_COLUMN:
+            case ITEM_NUMBER_COLUMN:
+            case QUANTITY_COLUMN:
+                return Integer.class;
+            default:
+                return String.class;
+        }
+    }
+
+    /**
+     * Returns the value of a single cell. JTable only asks for the cells it
+     * paints, so rows scrolled out of view are never formatted.
+     */
+    @Override
+    public Object getValueAt(int row, int column) {
+        InventoryItem item = rows.get(row);
+        switch (column) {
+            case TYPE_COLUMN:
+                // Show the type only on the first row of its group
+                return isFirstOfGroup(row) ? item.getItemType() : "";
+            case POSITION_COLUMN:
+                return row - firstRowOfGroup(row) + 1;
+            case ITEM_NUMBER_COLUMN:
+                return item.getItemNumber();
+            case ITEM_NAME_COLUMN:
+                return item.getItemName();
+            case QUANTITY_COLUMN:
+                return item.getQuantity();
+            case DATE_COLUMN:
+                return item.getCreationDate().format(DATE_FORMATTER);
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns the row of the given item, or -1 if it is not shown. The item must
+     * still have the type, name and item number it was inserted with; a row
+     * holding the same instance is preferred over an equal copy (such as one
+     * read again from a CSV file).
+     */
+    private int rowOf(InventoryItem item) {
+        int row = Collections.binarySearch(rows, item, ROW_ORDER);
+        if (row < 0) {
+            return -1;
+        }
+
+        // Items with equal sort keys are adjacent; look for the same instance among them
+        for (int i = row; i >= 0 && ROW_ORDER.compare(rows.get(i), item) == 0; i--) {
+            if (rows.get(i) == item) {
+                return i;
+            }
+        }
+        for (int i = row + 1; i < rows.size() && ROW_ORDER.compare(rows.get(i), item) == 0; i++) {
+            if (rows.get(i) == item) {
+                return i;
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Returns true if the row is the first row of its item type.
+     */
+    private boolean isFirstOfGroup(int row) {
+        return row == 0
+                || ItemTypeDictionary.compare(rows.get(row - 1).getItemType(), rows.get(row).getItemType()) != 0;
+    }
+
+    /**
+     * Returns the first row of the item type shown in the given row.
+     */
+    private int firstRowOfGroup(int row) {
+        return lowerBound(rows.get(row).getItemType(), false);
+    }
+
+    /**
+     * Binary search over the rows for the first row whose item type sorts after
+     * the given one (or, if inclusive is false, does not sort before it).
+     */
+    private int lowerBound(String itemType, boolean inclusive) {
+        int low = 0;
+        int high = rows.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = ItemTypeDictionary.compare(rows.get(middle).getItemType(), itemType);
+            if (comparison < 0 || (inclusive && comparison == 0)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Fires an update for the rows of the item type from the given row to the end
+     * of its group, since their position numbers (and the group header) shift
+     * when a row is inserted or removed before them. JTable only repaints the
+     * ones that are visible.
+     */
+    private void fireGroupRowsUpdated(int fromRow, String itemType) {
+        int endOfGroup = lowerBound(itemType, true);
+        if (fromRow < endOfGroup) {
+            fireTableRowsUpdated(fromRow, endOfGroup - 1);
+        }
+    }
+}
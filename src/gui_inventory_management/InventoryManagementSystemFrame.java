@@ -2,26 +2,27 @@ package src.gui_inventory_management;
 
 import src.CSVReaderWriter.CSVHandler;
 import src.gui_components.GUIComponentInitializer;
-import src.model.InventoryItem;
+import src.store.InventoryStore;
 
 import java.awt.BorderLayout;
-import java.util.ArrayList;
-import java.util.List;
 
 import javax.swing.ImageIcon;
 import javax.swing.JFrame;
 
 public class InventoryManagementSystemFrame extends JFrame {
-    // List to store inventory items
-    private List<InventoryItem> inventoryItemsList;
+    // Store holding the inventory items, indexed by item number
+    private InventoryStore inventoryItemsList;
 
     // Constructor to initialize the GUI
     public InventoryManagementSystemFrame() {
         // Sets the title of the JFrame window
         super("Wedding Decors Inventory Management System");
 
-        // Initialize the list of inventory items
-        inventoryItemsList = new ArrayList<>();
+        // Initialize the store of inventory items
+        inventoryItemsList = new InventoryStore();
+
+        // Load the item categories before any item number is checked
+        CSVHandler.loadCategoriesDuringStartUp();
 
         // Load existing data from the CSV file during startup
         CSVHandler.loadExisitingDataFromInventoryCSVDuringStartUp(inventoryItemsList);
@@ -0,0 +1,192 @@
+package src.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Dictionary of every item type seen by the application, mapping each type
+ * name to a small code. Codes are handed out in the order the types are first
+ * seen and never change, so they can index arrays (e.g. when grouping items by
+ * type), and each type name has one canonical String instance shared by every
+ * item parsed with it. The canonical instance is the interned String, so type
+ * names written as literals in the code are canonical too.
+ *
+ * Lookups read an immutable snapshot without locking, so the dictionary can be
+ * used by parser threads running in parallel; adding a type replaces the
+ * snapshot.
+ */
+public class ItemTypeDictionary {
+
+    // Current contents of the dictionary
+    private static volatile Snapshot snapshot = new Snapshot(new String[0]);
+
+    /**
+     * Method to get the canonical String of the item type stored as UTF-8 in a
+     * byte range, adding the type to the dictionary if it is new. No String is
+     * created for a type that is already known.
+     *
+     * @param bytes The buffer holding the type name.
+     * @param start The index of the first byte.
+     * @param end   The index just past the last byte.
+     * @return The canonical String of the type name.
+     */
+    public static String canonical(byte[] bytes, int start, int end) {
+        int code = snapshot.find(bytes, start, end);
+        if (code < 0) {
+            code = add(new String(bytes, start, end - start, StandardCharsets.UTF_8));
+        }
+        return snapshot.names[code];
+    }
+
+    /**
+     * Method to get the canonical String of an item type, adding the type to the
+     * dictionary if it is new.
+     *
+     * @param itemType The type name.
+     * @return The canonical String of the type name.
+     */
+    public static String canonical(String itemType) {
+        int code = codeOf(itemType);
+        return snapshot.names[code];
+    }
+
+    /**
+     * Method to get the code of an item type, adding the type to the dictionary
+     * if it is new.
+     *
+     * @param itemType The type name (not null).
+     * @return The code of the type, from 0 up to size() - 1.
+     */
+    public static int codeOf(String itemType) {
+        int code = snapshot.find(itemType);
+        return code >= 0 ? code : add(itemType);
+    }
+
+    /**
+     * Method to get the name of an item type by its code.
+     *
+     * @param code The code of the type.
+     * @return The canonical String of the type name.
+     */
+    public static String nameOf(int code) {
+        return snapshot.names[code];
+    }
+
+    /**
+     * Method to get the number of item types in the dictionary.
+     *
+     * @return The number of item types; every code is below it.
+     */
+    public static int size() {
+        return snapshot.names.length;
+    }
+
+    /**
+     * Method to compare two item types in alphabetical order, like
+     * String.compareTo, through their codes. Equal instances (the common case
+     * when both are canonical) are not looked up at all.
+     *
+     * @param itemType      The first type name.
+     * @param otherItemType The second type name.
+     * @return A negative number, zero or a positive number if the first type
+     *         sorts before, with or after the second one.
+     */
+    public static int compare(String itemType, String otherItemType) {
+        if (itemType == otherItemType) {
+            return 0;
+        }
+        int code = codeOf(itemType);
+        int otherCode = codeOf(otherItemType);
+        Snapshot current = snapshot;
+        return Integer.compare(current.ranks[code], current.ranks[otherCode]);
+    }
+
+    /**
+     * Adds a type to the dictionary unless another thread added it first.
+     */
+    private static synchronized int add(String itemType) {
+        int code = snapshot.find(itemType);
+        if (code < 0) {
+            String[] names = Arrays.copyOf(snapshot.names, snapshot.names.length + 1);
+            code = names.length - 1;
+            names[code] = itemType.intern();
+            snapshot = new Snapshot(names);
+        }
+        return code;
+    }
+
+    /**
+     * Immutable contents of the dictionary: the type names by code, the codes by
+     * type name, the UTF-8 bytes of the names in an open-addressing table, and
+     * the alphabetical ranks of the codes.
+     */
+    private static final class Snapshot {
+        private final String[] names;
+        private final Map<String, Integer> codesByName = new HashMap<>();
+        private final byte[][] encodedNames;
+        private final int[] ranks;
+
+        // Slots of the hash table, holding code + 1 (0 marks an empty slot)
+        private final int[] slots;
+
+        Snapshot(String[] names) {
+            this.names = names;
+            this.encodedNames = new byte[names.length][];
+            this.slots = new int[Integer.highestOneBit(Math.max(names.length, 4) * 4 - 1) << 1];
+            for (int code = 0; code < names.length; code++) {
+                codesByName.put(names[code], code);
+                encodedNames[code] = names[code].getBytes(StandardCharsets.UTF_8);
+                int mask = slots.length - 1;
+                int slot = hash(encodedNames[code], 0, encodedNames[code].length) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = code + 1;
+            }
+
+            // Rank the codes by type name
+            Integer[] codesInNameOrder = new Integer[names.length];
+            for (int code = 0; code < names.length; code++) {
+                codesInNameOrder[code] = code;
+            }
+            Arrays.sort(codesInNameOrder, (code, otherCode) -> names[code].compareTo(names[otherCode]));
+            this.ranks = new int[names.length];
+            for (int rank = 0; rank < codesInNameOrder.length; rank++) {
+                ranks[codesInNameOrder[rank]] = rank;
+            }
+        }
+
+        int find(String itemType) {
+            // Known types are usually the canonical instances themselves, so the
+            // first few are checked by identity before hashing
+            for (int code = 0; code < names.length && code < 8; code++) {
+                if (names[code] == itemType) {
+                    return code;
+                }
+            }
+            Integer code = codesByName.get(itemType);
+            return code == null ? -1 : code;
+        }
+
+        int find(byte[] bytes, int start, int end) {
+            int mask = slots.length - 1;
+            for (int slot = hash(bytes, start, end) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+                byte[] candidate = encodedNames[slots[slot] - 1];
+                if (Arrays.equals(candidate, 0, candidate.length, bytes, start, end)) {
+                    return slots[slot] - 1;
+                }
+            }
+            return -1;
+        }
+
+        private static int hash(byte[] bytes, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + bytes[i];
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package src.model;
+
+import java.time.LocalDate;
+
+public class Reservation {
+
+    // Attributes of a reservation; a reservation never changes once made
+    private final int reservationNumber; // Unique identification number of the reservation
+    private final int itemNumber; // Item number of the reserved item
+    private final int quantity; // Number of units reserved
+    private final LocalDate startDate; // First day the units are away
+    private final LocalDate endDate; // Last day the units are away
+    private final String eventName; // Name of the event the units are booked for
+
+    // Constructor to initialize a Reservation object
+    public Reservation(int reservationNumber, int itemNumber, int quantity, LocalDate startDate, LocalDate endDate,
+            String eventName) {
+        this.reservationNumber = reservationNumber;
+        this.itemNumber = itemNumber;
+        this.quantity = quantity;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.eventName = eventName;
+    }
+
+    // Getter method for retrieving the reservation number
+    public int getReservationNumber() {
+        return reservationNumber;
+    }
+
+    // Getter method for retrieving the item number of the reserved item
+    public int getItemNumber() {
+        return itemNumber;
+    }
+
+    // Getter method for retrieving the reserved quantity
+    public int getQuantity() {
+        return quantity;
+    }
+
+    // Getter method for retrieving the first day of the reservation
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    // Getter method for retrieving the last day of the reservation
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    // Getter method for retrieving the name of the event
+    public String getEventName() {
+        return eventName;
+    }
+
+    /**
+     * Method to create the same reservation for another item number, such as
+     * after the reserved item was renumbered.
+     *
+     * @param newItemNumber The new item number.
+     * @return The reservation for the new item number.
+     */
+    public Reservation withItemNumber(int newItemNumber) {
+        return new Reservation(reservationNumber, newItemNumber, quantity, startDate, endDate, eventName);
+    }
+
+    /**
+     * Method to check whether the reservation holds units on any day of a range.
+     *
+     * @param from The first day of the range.
+     * @param to   The last day of the range.
+     * @return True if the reservation overlaps the range, false if not.
+     */
+    public boolean overlaps(LocalDate from, LocalDate to) {
+        return !startDate.isAfter(to) && !endDate.isBefore(from);
+    }
+}
@@ -0,0 +1,898 @@
+package src.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.swing.SwingUtilities;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import src.model.InventoryItem;
+import src.model.Reservation;
+import src.service.InventoryService;
+import src.service.OperationResult;
+import src.service.ReservationResult;
+import src.service.ReservationService;
+import src.store.CategoryAggregates;
+import src.util.ReportEngine;
+
+/**
+ * Embedded HTTP server exposing the inventory as a JSON API, so several
+ * stations can work on the inventory of one running application:
+ *
+ * GET /api/items?type=&offset=&limit= lists items, GET /api/items/{n} looks one
+ * up, POST /api/items creates one, PATCH /api/items/{n} updates it, DELETE
+ * /api/items/{n} moves it to the trash, GET /api/trash lists the deleted items,
+ * POST /api/trash/{n}/restore restores one, GET
+ * /api/report?sort=alphabetical|quantity|itemNumber returns the report as text
+ * and GET /api/history?date=&type=&name=&offset=&limit= lists the items held at
+ * the end of a past day, with their total quantity.
+ *
+ * GET /api/reservations?itemNumber= lists the reservations of an item, POST
+ * /api/reservations books units of an item for an event and DELETE
+ * /api/reservations/{n} cancels a booking. GET
+ * /api/availability?itemNumber=|type=&from=&to= returns the units of an item or
+ * an item type free on every day of a date range, and GET
+ * /api/overbookings?from=&to= lists the items reserved beyond their stock. GET
+ * /api/summary?type=&limit= returns the item count, total quantity and low-stock
+ * items of every item type, or of one.
+ *
+ * Requests are handled on a virtual thread each when the runtime supports them
+ * (Java 21 and later) and on a pool of daemon threads otherwise. Reads of the
+ * inventory are answered from the latest snapshot of the service on the
+ * request thread, so they run in parallel and never wait for the GUI. Changes
+ * and reads of the trash are handed to the event dispatch thread, which
+ * applies every change to the live stores and the tables. Reservations are
+ * thread-safe and handled on the request thread.
+ */
+public class InventoryHttpServer {
+
+    /**
+     * Receives the changes made through the API on the event dispatch thread, so
+     * the GUI can update its tables.
+     */
+    public interface ChangeListener {
+        void itemCreated(InventoryItem item);
+
+        /**
+         * Called with an update of an item; the listener must run the update.
+         */
+        void itemUpdated(InventoryItem item, Runnable update);
+
+        void itemDeleted(InventoryItem item);
+
+        void itemRestored(InventoryItem item);
+    }
+
+    // Listener used when nobody has to be told about changes
+    private static final ChangeListener NO_LISTENER = new ChangeListener() {
+        @Override
+        public void itemCreated(InventoryItem item) {
+        }
+
+        @Override
+        public void itemUpdated(InventoryItem item, Runnable update) {
+            update.run();
+        }
+
+        @Override
+        public void itemDeleted(InventoryItem item) {
+        }
+
+        @Override
+        public void itemRestored(InventoryItem item) {
+        }
+    };
+
+    // Port of the server, configurable with -Dinventory.httpPort=<port>; the
+    // server is not started if the property is not set
+    private static final String PORT_PROPERTY = "inventory.httpPort";
+
+    // Address the server listens on, configurable with
+    // -Dinventory.httpAddress=<address> (use 0.0.0.0 to accept other stations)
+    private static final String ADDRESS_PROPERTY = "inventory.httpAddress";
+    private static final String DEFAULT_ADDRESS = "127.0.0.1";
+
+    // Number of request threads when virtual threads are not available,
+    // configurable with -Dinventory.httpThreads=<count>
+    private static final int FALLBACK_THREAD_COUNT = Integer.getInteger("inventory.httpThreads", 32);
+
+    // Property of the JDK server disabling Nagle's algorithm on its connections
+    private static final String NO_DELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    // Number of connections waiting to be accepted
+    private static final int BACKLOG = 256;
+
+    // Number of items of a list page by default and at most
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    // Order in which the fields of an update are applied, so a new item number
+    // is checked against the new item type
+    private static final String[] UPDATE_FIELDS = { "itemType", "itemName", "quantity", "itemNumber" };
+
+    private static final String ITEMS_PATH = "/api/items";
+    private static final String TRASH_PATH = "/api/trash";
+    private static final String REPORT_PATH = "/api/report";
+    private static final String HISTORY_PATH = "/api/history";
+    private static final String RESERVATIONS_PATH = "/api/reservations";
+    private static final String AVAILABILITY_PATH = "/api/availability";
+    private static final String OVERBOOKINGS_PATH = "/api/overbookings";
+    private static final String SUMMARY_PATH = "/api/summary";
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String TEXT = "text/plain; charset=utf-8";
+
+    // Service applying the requests
+    private final InventoryService service;
+
+    // Receives the changes made through the API
+    private final ChangeListener listener;
+
+    // Server and the executor running its requests, or null until started
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a server for the given service.
+     *
+     * @param service  The service applying the requests.
+     * @param listener Receives the changes made through the API, or null.
+     */
+    public InventoryHttpServer(InventoryService service, ChangeListener listener) {
+        this.service = service;
+        this.listener = listener != null ? listener : NO_LISTENER;
+    }
+
+    /**
+     * Method to start a server if the inventory.httpPort system property is set.
+     *
+     * @param service  The service applying the requests.
+     * @param listener Receives the changes made through the API, or null.
+     * @return The started server, or null if no port is configured.
+     * @throws IOException If the server cannot listen on the port.
+     */
+    public static InventoryHttpServer startIfEnabled(InventoryService service, ChangeListener listener)
+            throws IOException {
+        Integer port = Integer.getInteger(PORT_PROPERTY);
+        if (port == null) {
+            return null;
+        }
+        InventoryHttpServer httpServer = new InventoryHttpServer(service, listener);
+        httpServer.start(new InetSocketAddress(System.getProperty(ADDRESS_PROPERTY, DEFAULT_ADDRESS), port));
+        return httpServer;
+    }
+
+    /**
+     * Method to start listening for requests.
+     *
+     * @param address The address and port to listen on (port 0 picks a free one).
+     * @throws IOException If the server cannot listen on the address.
+     */
+    public synchronized void start(InetSocketAddress address) throws IOException {
+        // The JDK server writes the headers and the body of a response separately,
+        // which with Nagle's algorithm delays every response by the client's
+        // delayed ACK (about 40 ms); the property is read once, when the first
+        // server is created
+        if (System.getProperty(NO_DELAY_PROPERTY) == null) {
+            System.setProperty(NO_DELAY_PROPERTY, "true");
+        }
+        server = HttpServer.create(address, BACKLOG);
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+        server.createContext(ITEMS_PATH, exchange -> handle(exchange, this::handleItems));
+        server.createContext(TRASH_PATH, exchange -> handle(exchange, this::handleTrash));
+        server.createContext(REPORT_PATH, exchange -> handle(exchange, this::handleReport));
+        server.createContext(HISTORY_PATH, exchange -> handle(exchange, this::handleHistory));
+        server.createContext(RESERVATIONS_PATH, exchange -> handle(exchange, this::handleReservations));
+        server.createContext(AVAILABILITY_PATH, exchange -> handle(exchange, this::handleAvailability));
+        server.createContext(OVERBOOKINGS_PATH, exchange -> handle(exchange, this::handleOverbookings));
+        server.createContext(SUMMARY_PATH, exchange -> handle(exchange, this::handleSummary));
+        server.start();
+    }
+
+    /**
+     * Method to stop the server, letting running requests finish for up to a
+     * second.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(1);
+            executor.shutdown();
+            server = null;
+        }
+    }
+
+    // Getter method for retrieving the port the server listens on
+    public synchronized int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Creates the executor running the requests: one virtual thread per request
+     * if the runtime has them, a fixed pool of daemon threads otherwise.
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            // Looked up reflectively, since the application is compiled for Java 17
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            AtomicInteger threadCount = new AtomicInteger();
+            return Executors.newFixedThreadPool(FALLBACK_THREAD_COUNT, task -> {
+                Thread thread = new Thread(task, "inventory-http-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /*
+     * Request handling
+     */
+
+    /**
+     * Response of a request.
+     */
+    private static final class Response {
+        final int status;
+        final String contentType;
+        final String body;
+
+        Response(int status, String contentType, String body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Handles one kind of request.
+     */
+    private interface Handler {
+        Response handle(String method, List<String> path, Map<String, String> query, String body)
+                throws IOException;
+    }
+
+    /**
+     * Parses a request, hands it to the handler and sends its response. Invalid
+     * input is answered with 400, anything unexpected with 500.
+     */
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        Response response;
+        try {
+            String body = readBody(exchange);
+            List<String> path = pathSegments(exchange.getRequestURI().getRawPath());
+            Map<String, String> query = queryParameters(exchange.getRequestURI().getRawQuery());
+            response = handler.handle(exchange.getRequestMethod(), path, query, body);
+        } catch (IllegalArgumentException e) {
+            response = error(400, "INVALID", e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            e.printStackTrace();
+            response = error(500, "ERROR", "Internal error: " + e);
+        }
+
+        byte[] bytes = response.body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", response.contentType);
+        exchange.sendResponseHeaders(response.status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+        exchange.close();
+    }
+
+    /**
+     * /api/items and /api/items/{n}.
+     */
+    private Response handleItems(String method, List<String> path, Map<String, String> query, String body)
+            throws IOException {
+        if (path.size() == 2) {
+            switch (method) {
+                case "GET":
+                    String itemType = query.get("type");
+                    int offset = intParameter(query, "offset", 0);
+                    int limit = Math.min(intParameter(query, "limit", DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+                    return listPage(service.snapshot().asList(), itemType, offset, limit);
+                case "POST":
+                    Map<String, Object> fields = Json.parseObject(body);
+                    String itemName = stringField(fields, "itemName");
+                    int quantity = intField(fields, "quantity");
+                    String type = stringField(fields, "itemType");
+                    return onOwnerThread(() -> {
+                        OperationResult result = service.createItem(itemName, quantity, type);
+                        if (result.isSuccess()) {
+                            listener.itemCreated(result.getItem());
+                        }
+                        return result(result, 201);
+                    });
+                default:
+                    return methodNotAllowed();
+            }
+        }
+
+        if (path.size() != 3) {
+            return notFound();
+        }
+        int itemNumber = itemNumber(path.get(2));
+        switch (method) {
+            case "GET":
+                InventoryItem item = service.snapshot().get(itemNumber);
+                return item == null ? result(notFoundResult(itemNumber), 200) : itemResponse(item);
+            case "PATCH":
+            case "PUT":
+                Map<String, Object> fields = Json.parseObject(body);
+                return onOwnerThread(() -> update(itemNumber, fields));
+            case "DELETE":
+                return onOwnerThread(() -> {
+                    OperationResult result = service.deleteItem(itemNumber);
+                    if (result.isSuccess()) {
+                        listener.itemDeleted(result.getItem());
+                    }
+                    return result(result, 200);
+                });
+            default:
+                return methodNotAllowed();
+        }
+    }
+
+    /**
+     * /api/trash and /api/trash/{n}/restore.
+     */
+    private Response handleTrash(String method, List<String> path, Map<String, String> query, String body)
+            throws IOException {
+        if (path.size() == 2) {
+            if (!method.equals("GET")) {
+                return methodNotAllowed();
+            }
+            String itemType = query.get("type");
+            int offset = intParameter(query, "offset", 0);
+            int limit = Math.min(intParameter(query, "limit", DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+            return onOwnerThread(() -> listPage(service.getDeletedItems().asList(), itemType, offset, limit));
+        }
+
+        if (path.size() != 4 || !path.get(3).equals("restore")) {
+            return notFound();
+        }
+        if (!method.equals("POST")) {
+            return methodNotAllowed();
+        }
+        int itemNumber = itemNumber(path.get(2));
+        return onOwnerThread(() -> {
+            OperationResult result = service.restoreItem(itemNumber);
+            if (result.isSuccess()) {
+                listener.itemRestored(result.getItem());
+            }
+            return result(result, 200);
+        });
+    }
+
+    /**
+     * /api/report?sort=alphabetical|quantity|itemNumber.
+     */
+    private Response handleReport(String method, List<String> path, Map<String, String> query, String body)
+            throws IOException {
+        if (path.size() != 2) {
+            return notFound();
+        }
+        if (!method.equals("GET")) {
+            return methodNotAllowed();
+        }
+        ReportEngine.SortKey sortKey;
+        switch (query.getOrDefault("sort", "alphabetical")) {
+            case "alphabetical":
+                sortKey = ReportEngine.SortKey.ALPHABETICAL;
+                break;
+            case "quantity":
+                sortKey = ReportEngine.SortKey.QUANTITY;
+                break;
+            case "itemNumber":
+                sortKey = ReportEngine.SortKey.ITEM_NUMBER;
+                break;
+            default:
+                throw new IllegalArgumentException("sort must be alphabetical, quantity or itemNumber");
+        }
+
+        return new Response(200, TEXT, ReportEngine.generateReport(service.copyInventory(), sortKey));
+    }
+
+    /**
+     * /api/history?date=yyyy-MM-dd&type=&name=&offset=&limit=, where name matches
+     * the items whose name contains it, ignoring case. The inventory of the day
+     * is rebuilt from the history on the request thread.
+     */
+    private Response handleHistory(String method, List<String> path, Map<String, String> query, String body)
+            throws IOException {
+        if (path.size() != 2) {
+            return notFound();
+        }
+        if (!method.equals("GET")) {
+            return methodNotAllowed();
+        }
+        LocalDate date = dateParameter(query, "date");
+        String itemType = query.get("type");
+        String name = query.containsKey("name") ? query.get("name").toLowerCase() : null;
+        int offset = intParameter(query, "offset", 0);
+        int limit = Math.min(intParameter(query, "limit", DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+
+        List<InventoryItem> pastItems = service.inventoryAt(date);
+        if (pastItems == null) {
+            return error(404, "NOT_FOUND", "The inventory history does not go back to " + date);
+        }
+        List<InventoryItem> matchingItems = new ArrayList<>();
+        long totalQuantity = 0;
+        for (InventoryItem item : pastItems) {
+            if ((itemType == null || itemType.equals(item.getItemType()))
+                    && (name == null || item.getItemName().toLowerCase().contains(name))) {
+                matchingItems.add(item);
+                totalQuantity += item.getQuantity();
+            }
+        }
+        String header = "\"date\":\"" + date + "\",\"totalQuantity\":" + totalQuantity + ",";
+        return listPage(header, matchingItems, null, offset, limit);
+    }
+
+    /**
+     * /api/reservations?itemNumber= and /api/reservations/{n}.
+     */
+    private Response handleReservations(String method, List<String> path, Map<String, String> query,
+            String body) throws IOException {
+        ReservationService reservations = service.getReservations();
+        if (path.size() == 2) {
+            switch (method) {
+                case "GET":
+                    if (!query.containsKey("itemNumber")) {
+                        throw new IllegalArgumentException("itemNumber is required");
+                    }
+                    int itemNumber = itemNumber(query.get("itemNumber"));
+                    StringBuilder json = new StringBuilder(256);
+                    json.append("{\"itemNumber\":").append(itemNumber).append(",\"reservations\":[");
+                    int written = 0;
+                    for (Reservation reservation : reservations.getReservations(itemNumber)) {
+                        json.append(written++ > 0 ? "," : "");
+                        Json.appendReservation(json, reservation);
+                    }
+                    json.append("]}");
+                    return new Response(200, JSON, json.toString());
+                case "POST":
+                    Map<String, Object> fields = Json.parseObject(body);
+                    return result(reservations.reserve(intField(fields, "itemNumber"), intField(fields, "quantity"),
+                            dateField(fields, "startDate"), dateField(fields, "endDate"),
+                            stringField(fields, "eventName")), 201);
+                default:
+                    return methodNotAllowed();
+            }
+        }
+
+        if (path.size() != 3) {
+            return notFound();
+        }
+        if (!method.equals("DELETE")) {
+            return methodNotAllowed();
+        }
+        int reservationNumber;
+        try {
+            reservationNumber = Integer.parseInt(path.get(2));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid reservation number '" + path.get(2) + "'");
+        }
+        return result(reservations.cancel(reservationNumber), 200);
+    }
+
+    /**
+     * /api/availability?itemNumber=|type=&from=yyyy-MM-dd&to=yyyy-MM-dd, where to
+     * defaults to from.
+     */
+    private Response handleAvailability(String method, List<String> path, Map<String, String> query,
+            String body) {
+        if (path.size() != 2) {
+            return notFound();
+        }
+        if (!method.equals("GET")) {
+            return methodNotAllowed();
+        }
+        LocalDate from = dateParameter(query, "from");
+        LocalDate to = query.containsKey("to") ? dateParameter(query, "to") : from;
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+
+        StringBuilder json = new StringBuilder(128);
+        if (query.containsKey("itemNumber")) {
+            int itemNumber = itemNumber(query.get("itemNumber"));
+            if (service.snapshot().get(itemNumber) == null) {
+                return result(notFoundResult(itemNumber), 200);
+            }
+            json.append("{\"itemNumber\":").append(itemNumber);
+            json.append(",\"available\":").append(service.getReservations().available(itemNumber, from, to));
+        } else if (query.containsKey("type")) {
+            json.append("{\"itemType\":");
+            Json.appendString(json, query.get("type"));
+            json.append(",\"available\":")
+                    .append(service.getReservations().availableByType(query.get("type"), from, to));
+        } else {
+            throw new IllegalArgumentException("itemNumber or type is required");
+        }
+        json.append(",\"from\":\"").append(from).append("\",\"to\":\"").append(to).append("\"}");
+        return new Response(200, JSON, json.toString());
+    }
+
+    /**
+     * /api/overbookings?from=yyyy-MM-dd&to=yyyy-MM-dd.
+     */
+    private Response handleOverbookings(String method, List<String> path, Map<String, String> query,
+            String body) {
+        if (path.size() != 2) {
+            return notFound();
+        }
+        if (!method.equals("GET")) {
+            return methodNotAllowed();
+        }
+        LocalDate from = dateParameter(query, "from");
+        LocalDate to = dateParameter(query, "to");
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"overbookings\":[");
+        int written = 0;
+        for (ReservationService.Overbooking overbooking : service.getReservations().findOverbookings(from, to)) {
+            json.append(written++ > 0 ? "," : "");
+            json.append("{\"itemNumber\":").append(overbooking.getItemNumber());
+            json.append(",\"firstDay\":\"").append(overbooking.getFirstDay());
+            json.append("\",\"reservedUnits\":").append(overbooking.getReservedUnits());
+            json.append(",\"stock\":").append(overbooking.getStock()).append('}');
+        }
+        json.append("]}");
+        return new Response(200, JSON, json.toString());
+    }
+
+    /**
+     * /api/summary?type=&limit=, where limit caps the low-stock item numbers
+     * listed per item type. The totals are kept by the service as items change, so
+     * the inventory is not scanned.
+     */
+    private Response handleSummary(String method, List<String> path, Map<String, String> query, String body) {
+        if (path.size() != 2) {
+            return notFound();
+        }
+        if (!method.equals("GET")) {
+            return methodNotAllowed();
+        }
+        int limit = Math.min(intParameter(query, "limit", DEFAULT_PAGE_SIZE), MAX_PAGE_SIZE);
+        List<CategoryAggregates.Summary> summaries = query.containsKey("type")
+                ? List.of(service.getCategorySummary(query.get("type"), limit))
+                : service.getCategorySummaries(limit);
+
+        StringBuilder json = new StringBuilder(128 + summaries.size() * 128);
+        json.append("{\"lowStockThreshold\":").append(InventoryService.getLowStockThreshold());
+        json.append(",\"types\":[");
+        for (int i = 0; i < summaries.size(); i++) {
+            CategoryAggregates.Summary summary = summaries.get(i);
+            json.append(i > 0 ? "," : "").append("{\"itemType\":");
+            Json.appendString(json, summary.getItemType());
+            json.append(",\"itemCount\":").append(summary.getItemCount());
+            json.append(",\"totalQuantity\":").append(summary.getTotalQuantity());
+            json.append(",\"lowStockCount\":").append(summary.getLowStockCount());
+            json.append(",\"lowStockItemNumbers\":[");
+            List<Integer> lowStockItemNumbers = summary.getLowStockItemNumbers();
+            for (int j = 0; j < lowStockItemNumbers.size(); j++) {
+                json.append(j > 0 ? "," : "").append(lowStockItemNumbers.get(j));
+            }
+            json.append("]}");
+        }
+        json.append("]}");
+        return new Response(200, JSON, json.toString());
+    }
+
+    /**
+     * Applies the fields of an update request in UPDATE_FIELDS order. Fields
+     * matching the current values are skipped; the first failing field ends the
+     * update, keeping the fields applied before it.
+     */
+    private Response update(int itemNumber, Map<String, Object> fields) {
+        for (String name : fields.keySet()) {
+            if (!List.of(UPDATE_FIELDS).contains(name)) {
+                return error(400, "INVALID", "Unknown field '" + name + "'");
+            }
+        }
+
+        int currentItemNumber = itemNumber;
+        List<String> applied = new ArrayList<>();
+        for (String name : UPDATE_FIELDS) {
+            if (!fields.containsKey(name)) {
+                continue;
+            }
+            Object value = fields.get(name);
+            InventoryService.ItemField field = itemField(name);
+            OperationResult problem = service.checkUpdate(currentItemNumber, field, value);
+            if (problem != null && problem.getStatus() == OperationResult.Status.NO_CHANGE) {
+                continue;
+            }
+            if (problem != null) {
+                return result(problem, 200, applied);
+            }
+
+            InventoryItem item = service.findItem(currentItemNumber);
+            int updatedItemNumber = currentItemNumber;
+            OperationResult[] result = new OperationResult[1];
+            listener.itemUpdated(item, () -> result[0] = service.updateItem(updatedItemNumber, field, value));
+            if (!result[0].isSuccess()) {
+                return result(result[0], 200, applied);
+            }
+            applied.add(name);
+            currentItemNumber = result[0].getItem().getItemNumber();
+        }
+
+        InventoryItem item = service.findItem(currentItemNumber);
+        if (item == null) {
+            return result(notFoundResult(itemNumber), 200);
+        }
+        OperationResult outcome = applied.isEmpty()
+                ? new OperationResult(OperationResult.Status.NO_CHANGE, "No field was changed.", item)
+                : OperationResult.success("Item Updated Successfully!", item);
+        return result(outcome, 200, applied);
+    }
+
+    /**
+     * Encodes a page of the items of a store, optionally of one item type only.
+     */
+    private static Response listPage(List<InventoryItem> items, String itemType, int offset, int limit) {
+        return listPage("", items, itemType, offset, limit);
+    }
+
+    /**
+     * Encodes a page of items preceded by the given fields, each followed by a
+     * comma.
+     */
+    private static Response listPage(String header, List<InventoryItem> items, String itemType, int offset,
+            int limit) {
+        StringBuilder json = new StringBuilder(64 + header.length() + Math.min(limit, items.size()) * 128);
+        json.append('{').append(header).append("\"items\":[");
+        int total = 0;
+        int written = 0;
+        if (itemType == null) {
+            // Jump straight to the page
+            total = items.size();
+            int from = Math.min(offset, total);
+            for (InventoryItem item : items.subList(from, from + Math.min(limit, total - from))) {
+                json.append(written++ > 0 ? "," : "");
+                Json.appendItem(json, item);
+            }
+        } else {
+            for (InventoryItem item : items) {
+                if (itemType.equals(item.getItemType())) {
+                    if (total >= offset && written < limit) {
+                        json.append(written++ > 0 ? "," : "");
+                        Json.appendItem(json, item);
+                    }
+                    total++;
+                }
+            }
+        }
+        json.append("],\"offset\":").append(offset);
+        json.append(",\"limit\":").append(limit);
+        json.append(",\"total\":").append(total).append('}');
+        return new Response(200, JSON, json.toString());
+    }
+
+    /**
+     * Runs a task on the event dispatch thread, which owns the service, and
+     * returns its result.
+     */
+    private static <T> T onOwnerThread(Supplier<T> task) throws IOException {
+        if (SwingUtilities.isEventDispatchThread()) {
+            return task.get();
+        }
+        List<T> result = new ArrayList<>(1);
+        try {
+            SwingUtilities.invokeAndWait(() -> result.add(task.get()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the event dispatch thread");
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        return result.get(0);
+    }
+
+    /*
+     * Encoding of the responses
+     */
+
+    private static Response itemResponse(InventoryItem item) {
+        StringBuilder json = new StringBuilder(128);
+        Json.appendItem(json, item);
+        return new Response(200, JSON, json.toString());
+    }
+
+    private static Response result(OperationResult result, int successStatus) {
+        return result(result, successStatus, null);
+    }
+
+    /**
+     * Encodes an operation result; the HTTP status follows the outcome.
+     */
+    private static Response result(OperationResult result, int successStatus, List<String> appliedFields) {
+        StringBuilder json = new StringBuilder(192);
+        json.append("{\"status\":\"").append(result.getStatus()).append("\",\"message\":");
+        Json.appendString(json, result.getMessage());
+        if (result.getItem() != null) {
+            json.append(",\"item\":");
+            Json.appendItem(json, result.getItem());
+        }
+        if (result instanceof ReservationResult && ((ReservationResult) result).getReservation() != null) {
+            json.append(",\"reservation\":");
+            Json.appendReservation(json, ((ReservationResult) result).getReservation());
+        }
+        if (appliedFields != null) {
+            json.append(",\"appliedFields\":[");
+            for (int i = 0; i < appliedFields.size(); i++) {
+                json.append(i > 0 ? ",\"" : "\"").append(appliedFields.get(i)).append('"');
+            }
+            json.append(']');
+        }
+        json.append('}');
+        return new Response(statusOf(result, successStatus), JSON, json.toString());
+    }
+
+    private static int statusOf(OperationResult result, int successStatus) {
+        switch (result.getStatus()) {
+            case SUCCESS:
+                return successStatus;
+            case INVALID:
+                return 400;
+            case NOT_FOUND:
+                return 404;
+            case CONFLICT:
+                return 409;
+            default:
+                return 200;
+        }
+    }
+
+    private static Response error(int status, String kind, String message) {
+        StringBuilder json = new StringBuilder(128);
+        json.append("{\"status\":\"").append(kind).append("\",\"message\":");
+        Json.appendString(json, message);
+        json.append('}');
+        return new Response(status, JSON, json.toString());
+    }
+
+    private static Response notFound() {
+        return error(404, "NOT_FOUND", "No such resource");
+    }
+
+    private static Response methodNotAllowed() {
+        return error(405, "INVALID", "Method not allowed");
+    }
+
+    private static OperationResult notFoundResult(int itemNumber) {
+        return OperationResult.failure(OperationResult.Status.NOT_FOUND,
+                "Item not found! Item number " + itemNumber + " does not exist.");
+    }
+
+    /*
+     * Parsing of the requests
+     */
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream input = exchange.getRequestBody()) {
+            return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static List<String> pathSegments(String rawPath) {
+        List<String> segments = new ArrayList<>();
+        for (String segment : rawPath.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(URLDecoder.decode(segment, StandardCharsets.UTF_8));
+            }
+        }
+        return segments;
+    }
+
+    private static Map<String, String> queryParameters(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int separator = pair.indexOf('=');
+            String name = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+                    URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static int intParameter(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < 0) {
+                throw new IllegalArgumentException(name + " must not be negative");
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    private static int itemNumber(String segment) {
+        try {
+            return Integer.parseInt(segment);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid item number '" + segment + "'");
+        }
+    }
+
+    private static String stringField(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        if (!(value instanceof String)) {
+            throw new IllegalArgumentException(name + " must be a string");
+        }
+        return (String) value;
+    }
+
+    private static int intField(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        if (!(value instanceof Integer)) {
+            throw new IllegalArgumentException(name + " must be a whole number");
+        }
+        return (Integer) value;
+    }
+
+    private static LocalDate dateParameter(Map<String, String> query, String name) {
+        try {
+            return LocalDate.parse(query.getOrDefault(name, ""));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be a date such as 2024-03-01");
+        }
+    }
+
+    private static LocalDate dateField(Map<String, Object> fields, String name) {
+        try {
+            return LocalDate.parse(stringField(fields, name));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " must be a date such as 2024-03-01");
+        }
+    }
+
+    private static InventoryService.ItemField itemField(String name) {
+        switch (name) {
+            case "itemNumber":
+                return InventoryService.ItemField.ITEM_NUMBER;
+            case "itemType":
+                return InventoryService.ItemField.ITEM_TYPE;
+            case "itemName":
+                return InventoryService.ItemField.ITEM_NAME;
+            default:
+                return InventoryService.ItemField.QUANTITY;
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package src.server;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import src.model.InventoryItem;
+import src.model.Reservation;
+
+/**
+ * Minimal JSON support for the HTTP API: writing items, reservations and
+ * results, and parsing the flat request bodies (an object whose values are
+ * strings, numbers, booleans or null).
+ */
+final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Method to append an item as a JSON object.
+     *
+     * @param json The builder to append to.
+     * @param item The item.
+     */
+    static void appendItem(StringBuilder json, InventoryItem item) {
+        json.append("{\"itemNumber\":").append(item.getItemNumber());
+        json.append(",\"itemName\":");
+        appendString(json, item.getItemName());
+        json.append(",\"quantity\":").append(item.getQuantity());
+        json.append(",\"itemType\":");
+        appendString(json, item.getItemType());
+        json.append(",\"creationDate\":\"").append(item.getCreationDate()).append("\"}");
+    }
+
+    /**
+     * Method to append a reservation as a JSON object.
+     *
+     * @param json        The builder to append to.
+     * @param reservation The reservation.
+     */
+    static void appendReservation(StringBuilder json, Reservation reservation) {
+        json.append("{\"reservationNumber\":").append(reservation.getReservationNumber());
+        json.append(",\"itemNumber\":").append(reservation.getItemNumber());
+        json.append(",\"quantity\":").append(reservation.getQuantity());
+        json.append(",\"startDate\":\"").append(reservation.getStartDate());
+        json.append("\",\"endDate\":\"").append(reservation.getEndDate());
+        json.append("\",\"eventName\":");
+        appendString(json, reservation.getEventName());
+        json.append('}');
+    }
+
+    /**
+     * Method to append a string as a JSON string literal.
+     *
+     * @param json  The builder to append to.
+     * @param value The string, or null.
+     */
+    static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    /**
+     * Method to parse a flat JSON object.
+     *
+     * @param text The JSON text.
+     * @return The members of the object, in order: String, Integer, Long,
+     *         Double, Boolean or null values.
+     * @throws IllegalArgumentException If the text is not a flat JSON object.
+     */
+    static Map<String, Object> parseObject(String text) {
+        Parser parser = new Parser(text);
+        Map<String, Object> members = new LinkedHashMap<>();
+        parser.expect('{');
+        if (!parser.consume('}')) {
+            do {
+                String name = parser.readString();
+                parser.expect(':');
+                members.put(name, parser.readValue());
+            } while (parser.consume(','));
+            parser.expect('}');
+        }
+        parser.expectEnd();
+        return members;
+    }
+
+    /**
+     * Reads the tokens of a JSON text.
+     */
+    private static final class Parser {
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        void expect(char c) {
+            if (!consume(c)) {
+                throw error("'" + c + "' expected");
+            }
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (position < text.length() && text.charAt(position) == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        void expectEnd() {
+            skipWhitespace();
+            if (position != text.length()) {
+                throw error("end of input expected");
+            }
+        }
+
+        Object readValue() {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("value expected");
+            }
+            char c = text.charAt(position);
+            if (c == '"') {
+                return readString();
+            }
+            if (text.startsWith("true", position)) {
+                position += 4;
+                return Boolean.TRUE;
+            }
+            if (text.startsWith("false", position)) {
+                position += 5;
+                return Boolean.FALSE;
+            }
+            if (text.startsWith("null", position)) {
+                position += 4;
+                return null;
+            }
+            return readNumber();
+        }
+
+        String readString() {
+            skipWhitespace();
+            if (position >= text.length() || text.charAt(position) != '"') {
+                throw error("string expected");
+            }
+            position++;
+            StringBuilder value = new StringBuilder();
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw error("invalid escape");
+                        }
+                        try {
+                            value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("invalid escape");
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        value.append(escaped);
+                }
+            }
+            throw error("unterminated string");
+        }
+
+        Number readNumber() {
+            int start = position;
+            while (position < text.length() && "+-0123456789.eE".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            String number = text.substring(start, position);
+            try {
+                if (number.indexOf('.') < 0 && number.indexOf('e') < 0 && number.indexOf('E') < 0) {
+                    long value = Long.parseLong(number);
+                    if (value == (int) value) {
+                        return Integer.valueOf((int) value);
+                    }
+                    return Long.valueOf(value);
+                }
+                return Double.valueOf(number);
+            } catch (NumberFormatException e) {
+                throw error("value expected");
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid JSON at position " + position + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package src.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class BatchResult {
+
+    // Result of every operation of the batch, in the order they were applied
+    private final List<OperationResult> results = new ArrayList<>();
+
+    // Number of operations that were applied
+    private int successCount;
+
+    /**
+     * Method to record the result of one operation of the batch.
+     *
+     * @param result The result of the operation.
+     */
+    void add(OperationResult result) {
+        results.add(result);
+        if (result.isSuccess()) {
+            successCount++;
+        }
+    }
+
+    /**
+     * Method to get the result of every operation of the batch.
+     *
+     * @return The results, in the order the operations were applied.
+     */
+    public List<OperationResult> getResults() {
+        return Collections.unmodifiableList(results);
+    }
+
+    /**
+     * Method to get the results of the operations that were not applied.
+     *
+     * @return The failed results, in the order the operations were applied.
+     */
+    public List<OperationResult> getFailures() {
+        List<OperationResult> failures = new ArrayList<>();
+        for (OperationResult result : results) {
+            if (!result.isSuccess()) {
+                failures.add(result);
+            }
+        }
+        return failures;
+    }
+
+    // Getter method for retrieving the number of operations that were applied
+    public int getSuccessCount() {
+        return successCount;
+    }
+
+    // Getter method for retrieving the number of operations that were not applied
+    public int getFailureCount() {
+        return results.size() - successCount;
+    }
+}
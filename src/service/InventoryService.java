@@ -0,0 +1,1142 @@
+package src.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import src.CSVReaderWriter.CSVHandler;
+import src.CSVReaderWriter.DeletedItemsCache;
+import src.model.InventoryItem;
+import src.store.CategoryAggregates;
+import src.store.CategoryRegistry;
+import src.store.InventoryRecordStore;
+import src.store.InventorySnapshot;
+import src.store.InventoryStore;
+import src.store.ItemNumberAllocator;
+import src.store.ItemNumberRange;
+import src.util.RandomNumberGenerator;
+import src.util.ReportEngine;
+
+/**
+ * Operations of the inventory application, free of any Swing code: every
+ * operation validates its input, applies the change to the inventory or the
+ * trash, saves it through CSVHandler and returns an OperationResult instead of
+ * showing a dialog. Each operation has a batch variant that applies it to many
+ * items and writes the deleted items file once per batch. The batches moving
+ * items to and from the trash select them by item numbers, a range of item
+ * numbers or a filter, and are atomic: every item is checked first, and either
+ * all of them are applied, with one write to each file, or none is.
+ *
+ * Changes are serialized: every method working on the live stores holds the
+ * lock of the service. The live stores and their items belong to the thread
+ * applying the changes (the event dispatch thread in the application, whose
+ * tables show the live items). Other threads read the inventory through
+ * snapshot(), an immutable version published after every change, without
+ * locking and without waiting for the writer. Every change to the inventory is
+ * also recorded in the inventory history, from which the inventory of any past
+ * day can be rebuilt (see inventoryAt). The bookings of items for events are
+ * kept by the reservation service (see getReservations), which follows items
+ * that are renumbered or purged.
+ *
+ * A successful result means the change is applied in memory and queued for
+ * saving, not that it is on disk: the files are forced to disk by the next
+ * group commit, up to -Dinventory.groupCommitWindowMs (50 ms by default)
+ * later, so many changes share one fsync. A commit that fails is reported by
+ * an error dialog after the result, and a crash within the window loses the
+ * changes it held.
+ */
+public class InventoryService {
+
+    /**
+     * Field of an item that can be updated, with the label shown to the user.
+     */
+    public enum ItemField {
+        ITEM_NUMBER("Item Number"),
+        ITEM_TYPE("Item Type"),
+        ITEM_NAME("Item Name"),
+        QUANTITY("Quantity");
+
+        private final String label;
+
+        ItemField(String label) {
+            this.label = label;
+        }
+
+        // Getter method for retrieving the label of the field
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * Method to find a field by its label.
+         *
+         * @param label The label of the field.
+         * @return The field, or null if no field has the label.
+         */
+        public static ItemField fromLabel(String label) {
+            for (ItemField field : values()) {
+                if (field.label.equals(label)) {
+                    return field;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Update of one field of an item, for batch updates.
+     */
+    public static class ItemUpdate {
+        private final int itemNumber;
+        private final ItemField field;
+        private final Object newValue;
+
+        /**
+         * Creates an update of one field of an item.
+         *
+         * @param itemNumber The item number of the item to update.
+         * @param field      The field to update.
+         * @param newValue   The new value: an Integer for the item number and the
+         *                   quantity, a String for the item type and the name.
+         */
+        public ItemUpdate(int itemNumber, ItemField field, Object newValue) {
+            this.itemNumber = itemNumber;
+            this.field = field;
+            this.newValue = newValue;
+        }
+
+        // Getter method for retrieving the item number of the item to update
+        public int getItemNumber() {
+            return itemNumber;
+        }
+
+        // Getter method for retrieving the field to update
+        public ItemField getField() {
+            return field;
+        }
+
+        // Getter method for retrieving the new value of the field
+        public Object getNewValue() {
+            return newValue;
+        }
+    }
+
+    // Format of the creation date shown in the messages
+    private static final DateTimeFormatter MESSAGE_DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM d, yyyy");
+
+    // Format of the date in the name of a report file
+    private static final DateTimeFormatter REPORT_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    // Items with a quantity below this are low on stock, configurable with
+    // -Dinventory.lowStockThreshold=<quantity>
+    private static final int LOW_STOCK_THRESHOLD = Integer.getInteger("inventory.lowStockThreshold", 5);
+
+    // Inventory and trash, sharing one table of records
+    private final InventoryRecordStore records;
+
+    // Store holding the inventory items
+    private final InventoryStore inventory;
+
+    // Whether the deleted items were read from deleted_items.csv yet
+    private boolean deletedItemsLoaded;
+
+    // Immutable version of the inventory, replaced after every change
+    private volatile InventorySnapshot snapshot;
+
+    // Reservations of the inventory items for events
+    private final ReservationService reservations;
+
+    // Item count, total quantity and low-stock items of each item type, kept up
+    // to date by publish; they count the items of the snapshot, one per item
+    // number, so they match it even if an item number was loaded twice
+    private final CategoryAggregates aggregates = new CategoryAggregates(LOW_STOCK_THRESHOLD);
+
+    /**
+     * Creates a service working on the given inventory, which must already be
+     * loaded (see CSVHandler.loadExisitingDataFromInventoryCSVDuringStartUp).
+     *
+     * @param inventory The store of inventory items.
+     */
+    public InventoryService(InventoryStore inventory) {
+        this.records = new InventoryRecordStore(inventory);
+        this.inventory = inventory;
+        this.snapshot = InventorySnapshot.of(inventory);
+        this.reservations = new ReservationService(this);
+        aggregates.reset(snapshot.asList());
+        CSVHandler.openInventoryHistory(snapshot);
+    }
+
+    /**
+     * Method to get the current version of the inventory. It can be read on any
+     * thread and never changes; later changes produce new snapshots.
+     *
+     * @return The latest snapshot of the inventory.
+     */
+    public InventorySnapshot snapshot() {
+        return snapshot;
+    }
+
+    // Getter method for retrieving the live store of inventory items, to be used
+    // on the thread applying the changes only
+    public InventoryStore getInventory() {
+        return inventory;
+    }
+
+    // Getter method for retrieving the reservations of the inventory items, which
+    // can be used on any thread
+    public ReservationService getReservations() {
+        return reservations;
+    }
+
+    /**
+     * Method to find an inventory item by its item number.
+     *
+     * @param itemNumber The item number.
+     * @return The item, or null if no inventory item has the item number.
+     */
+    public synchronized InventoryItem findItem(int itemNumber) {
+        return inventory.findByItemNumber(itemNumber);
+    }
+
+    /**
+     * Method to pick up changes made to deleted_items.csv outside of the
+     * application, reading the deleted items the first time.
+     *
+     * @return The store of deleted items.
+     */
+    public synchronized InventoryStore loadDeletedItems() {
+        return applyDeletedItemsChange(CSVHandler.readChangesToDeletedCSVFile());
+    }
+
+    /**
+     * Method to get the deleted items, reading them from deleted_items.csv the
+     * first time.
+     *
+     * @return The store of deleted items.
+     */
+    public synchronized InventoryStore getDeletedItems() {
+        return deletedItemsLoaded ? records.getTrash() : loadDeletedItems();
+    }
+
+    /**
+     * Method to merge changes made to deleted_items.csv outside of the
+     * application, read elsewhere such as on a background thread (see
+     * CSVHandler.readChangesToDeletedCSVFile). Only the added and removed items
+     * are applied, so the items of the trash keep their records and the items
+     * deleted, restored or purged since the change was read stay as they are.
+     * The first time, the trash is filled from the file instead.
+     *
+     * @param change The changes to deleted_items.csv.
+     * @return The store of deleted items.
+     */
+    public synchronized InventoryStore applyDeletedItemsChange(DeletedItemsCache.Change change) {
+        if (!deletedItemsLoaded) {
+            records.replaceTrash(CSVHandler.readItemsFromDeletedCSVFile());
+            deletedItemsLoaded = true;
+            return records.getTrash();
+        }
+        if (change.isEmpty()) {
+            return records.getTrash();
+        }
+
+        InventoryStore trash = records.getTrash();
+        for (InventoryItem removedItem : change.getRemovedItems()) {
+            InventoryItem item = trash.findByItemNumber(removedItem.getItemNumber());
+            if (item != null && isSameItem(item, removedItem)) {
+                records.purge(item);
+            }
+        }
+        trash.addAll(change.getAddedItems());
+
+        // A purge since the change was read rewrote the file without the added items
+        if (!change.getAddedItems().isEmpty() && CSVHandler.isDeletedCSVFileRewrittenSince(change)) {
+            saveDeletedItems();
+        }
+        return trash;
+    }
+
+    /*
+     * Validation
+     */
+
+    /**
+     * Method to check whether an item name contains only valid characters (A-Z,
+     * a-z, digits 0-9 and spaces).
+     *
+     * @param itemName The item name.
+     * @return True if the name is valid, false if not.
+     */
+    public static boolean isValidItemName(String itemName) {
+        return itemName.matches("[a-zA-Z0-9\\s]+");
+    }
+
+    /**
+     * Method to trim an item name and collapse its runs of whitespace.
+     *
+     * @param itemName The item name as entered.
+     * @return The normalized item name.
+     */
+    public static String normalizeItemName(String itemName) {
+        return itemName.replaceAll("\\s+", " ").trim();
+    }
+
+    /**
+     * Method to check the details of a new item without creating it.
+     *
+     * @param itemName The name of the item.
+     * @param quantity The quantity of the item.
+     * @param itemType The type of the item.
+     * @return A failed result describing the first problem, or null if the item
+     *         can be created.
+     */
+    public synchronized OperationResult checkNewItem(String itemName, int quantity, String itemType) {
+        OperationResult problem = checkItemName(itemName);
+        if (problem == null) {
+            problem = checkQuantity(quantity);
+        }
+        if (problem == null) {
+            problem = checkItemType(itemType);
+        }
+        if (problem == null) {
+            // Item numbers of deleted items count as used, so read the trash first
+            getDeletedItems();
+        }
+        if (problem == null && RandomNumberGenerator.generateRandomNumber(itemType,
+                inventory) == ItemNumberAllocator.NO_FREE_ITEM_NUMBER) {
+            ItemNumberRange range = ItemNumberRange.forType(itemType);
+            problem = OperationResult.failure(OperationResult.Status.CONFLICT,
+                    "No item numbers left for '" + itemType + "'! All item numbers between "
+                            + range.getFirstItemNumber() + " and " + range.getLastItemNumber() + " are in use.");
+        }
+        return problem;
+    }
+
+    /**
+     * Method to check an update of an item without applying it.
+     *
+     * @param itemNumber The item number of the item to update.
+     * @param field      The field to update.
+     * @param newValue   The new value of the field.
+     * @return A failed result describing the first problem, or null if the
+     *         update can be applied.
+     */
+    public synchronized OperationResult checkUpdate(int itemNumber, ItemField field, Object newValue) {
+        InventoryItem item = inventory.findByItemNumber(itemNumber);
+        if (item == null) {
+            return notFound(itemNumber);
+        }
+
+        switch (field) {
+            case ITEM_NUMBER:
+                if (!(newValue instanceof Integer)) {
+                    return invalid("Invalid entry!");
+                }
+                int newItemNumber = (Integer) newValue;
+                ItemNumberRange range = CategoryRegistry.get().byName(item.getItemType());
+                if (range == null) {
+                    return invalid("Item type '" + item.getItemType() + "' has no item number range!");
+                }
+                if (!range.contains(newItemNumber)) {
+                    // Point out the category the item number belongs to, if any
+                    ItemNumberRange owner = CategoryRegistry.get().byItemNumber(newItemNumber);
+                    return invalid("Invalid item number for the selected item type! "
+                            + "The item number for '" + item.getItemType() + "' must be between "
+                            + range.getFirstItemNumber() + " and " + range.getLastItemNumber() + "."
+                            + (owner == null ? "" : " " + newItemNumber + " belongs to '" + owner.getItemType() + "'."));
+                }
+                if (newItemNumber == item.getItemNumber()) {
+                    return noChange("New item number matches the current item number.");
+                }
+                if (inventory.containsItemNumber(newItemNumber)) {
+                    return OperationResult.failure(OperationResult.Status.CONFLICT,
+                            "The entered item number already exists!");
+                }
+                // Item numbers of deleted items stay theirs, so they can be restored
+                if (getDeletedItems().containsItemNumber(newItemNumber)) {
+                    return OperationResult.failure(OperationResult.Status.CONFLICT,
+                            "The entered item number belongs to a deleted item! Permanently delete it first.");
+                }
+                return null;
+
+            case ITEM_TYPE:
+                if (!(newValue instanceof String)) {
+                    return invalid("Invalid entry!");
+                }
+                if (newValue.equals(item.getItemType())) {
+                    return noChange("New item type matches the current item type.");
+                }
+                return checkItemType((String) newValue);
+
+            case ITEM_NAME:
+                if (!(newValue instanceof String)) {
+                    return invalid("Invalid entry!");
+                }
+                String newItemName = normalizeItemName((String) newValue);
+                if (newItemName.isEmpty()) {
+                    return invalid("Item Name cannot be empty!");
+                }
+                if (newItemName.equals(item.getItemName())) {
+                    return noChange("New item name matches the current item name.");
+                }
+                return checkItemName(newItemName);
+
+            case QUANTITY:
+                if (!(newValue instanceof Integer)) {
+                    return invalid("Invalid entry!");
+                }
+                if ((Integer) newValue == item.getQuantity()) {
+                    return noChange("New quantity matches the current quantity.");
+                }
+                return checkQuantity((Integer) newValue);
+
+            default:
+                return invalid("Invalid entry!");
+        }
+    }
+
+    /*
+     * Inventory operations
+     */
+
+    /**
+     * Method to create an inventory item with the next free item number of its
+     * type and today's date, and record it in the inventory journal.
+     *
+     * @param itemName The name of the item; whitespace is normalized.
+     * @param quantity The quantity of the item.
+     * @param itemType The type of the item.
+     * @return The result, holding the created item on success.
+     */
+    public synchronized OperationResult createItem(String itemName, int quantity, String itemType) {
+        String normalizedName = normalizeItemName(itemName);
+        OperationResult problem = checkNewItem(normalizedName, quantity, itemType);
+        if (problem != null) {
+            return problem;
+        }
+
+        int itemNumber = RandomNumberGenerator.generateRandomNumber(itemType, inventory);
+        InventoryItem newItem = new InventoryItem(normalizedName, quantity, itemNumber, itemType, LocalDate.now());
+        inventory.add(newItem);
+        publish(itemNumber);
+        CSVHandler.appendCreatedItemToInventoryJournal(newItem);
+        CSVHandler.recordCreatedItemsInHistory(List.of(itemNumber), snapshot);
+        return OperationResult.success("Item Created Successfully!", newItem);
+    }
+
+    /**
+     * Method to create several inventory items.
+     *
+     * @param items The items to create; only their names, quantities and types
+     *              are used.
+     * @return The result of every creation.
+     */
+    public synchronized BatchResult createItems(List<InventoryItem> items) {
+        BatchResult batch = new BatchResult();
+        for (InventoryItem item : items) {
+            batch.add(createItem(item.getItemName(), item.getQuantity(), item.getItemType()));
+        }
+        return batch;
+    }
+
+    /**
+     * Method to update one field of an inventory item and record the updated
+     * item in the inventory journal.
+     *
+     * @param itemNumber The item number of the item to update.
+     * @param field      The field to update.
+     * @param newValue   The new value: an Integer for the item number and the
+     *                   quantity, a String for the item type and the name.
+     * @return The result, holding the updated item on success.
+     */
+    public synchronized OperationResult updateItem(int itemNumber, ItemField field, Object newValue) {
+        OperationResult problem = checkUpdate(itemNumber, field, newValue);
+        if (problem != null) {
+            return problem;
+        }
+
+        InventoryItem item = inventory.findByItemNumber(itemNumber);
+        InventoryItem before = InventorySnapshot.copyOf(item);
+        switch (field) {
+            case ITEM_NUMBER:
+                // Renumber through the store so its item number index stays current
+                inventory.renumber(item, (Integer) newValue);
+                break;
+            case ITEM_TYPE:
+                item.setItemType((String) newValue);
+                break;
+            case ITEM_NAME:
+                item.setItemName(normalizeItemName((String) newValue));
+                break;
+            case QUANTITY:
+                item.setQuantity((Integer) newValue);
+                break;
+        }
+        publish(itemNumber);
+        publish(item.getItemNumber());
+        CSVHandler.appendUpdatedItemToInventoryJournal(itemNumber, item);
+        CSVHandler.recordUpdatedItemInHistory(before, item.getItemNumber(), snapshot);
+        if (field == ItemField.ITEM_NUMBER) {
+            reservations.itemRenumbered(itemNumber, item.getItemNumber());
+        }
+        return OperationResult.success("Item Updated Successfully!", item);
+    }
+
+    /**
+     * Method to apply several updates, in order.
+     *
+     * @param updates The updates to apply.
+     * @return The result of every update.
+     */
+    public synchronized BatchResult updateItems(List<ItemUpdate> updates) {
+        BatchResult batch = new BatchResult();
+        for (ItemUpdate update : updates) {
+            batch.add(updateItem(update.getItemNumber(), update.getField(), update.getNewValue()));
+        }
+        return batch;
+    }
+
+    /**
+     * Method to move an inventory item to the trash: it is appended to
+     * deleted_items.csv and its removal is recorded in the inventory journal.
+     *
+     * @param itemNumber The item number of the item to delete.
+     * @return The result, holding the deleted item on success.
+     */
+    public synchronized OperationResult deleteItem(int itemNumber) {
+        InventoryItem item = inventory.findByItemNumber(itemNumber);
+        if (item == null) {
+            return notFound(itemNumber);
+        }
+
+        CSVHandler.writeDeletedItemToCSV(item);
+        moveToTrash(item);
+        publish(itemNumber);
+        CSVHandler.appendDeletedItemToInventoryJournal(itemNumber);
+        CSVHandler.recordDeletedItemsInHistory(List.of(itemNumber), snapshot);
+        return OperationResult.success("Item Deleted Successfully!", item);
+    }
+
+    /**
+     * Method to move several inventory items to the trash as one batch: the items
+     * are appended to deleted_items.csv with one write and their removal is
+     * recorded in the inventory journal with another. If any item number is not
+     * found, no item is deleted.
+     *
+     * @param itemNumbers The item numbers of the items to delete.
+     * @return The result of every deletion, or only the failures if nothing was
+     *         deleted.
+     */
+    public synchronized BatchResult deleteItems(Collection<Integer> itemNumbers) {
+        BatchResult failures = new BatchResult();
+        List<InventoryItem> items = new ArrayList<>(itemNumbers.size());
+        for (int itemNumber : new LinkedHashSet<>(itemNumbers)) {
+            InventoryItem item = inventory.findByItemNumber(itemNumber);
+            if (item == null) {
+                failures.add(notFound(itemNumber));
+            } else {
+                items.add(item);
+            }
+        }
+        return failures.getFailureCount() > 0 ? failures : deleteSelected(items);
+    }
+
+    /**
+     * Method to move every inventory item whose item number is within a range to
+     * the trash as one batch.
+     *
+     * @param firstItemNumber The first item number of the range.
+     * @param lastItemNumber  The last item number of the range.
+     * @return The result of every deletion.
+     */
+    public synchronized BatchResult deleteItemsInRange(int firstItemNumber, int lastItemNumber) {
+        return deleteItemsMatching(item -> isInRange(item, firstItemNumber, lastItemNumber));
+    }
+
+    /**
+     * Method to move every inventory item accepted by a filter to the trash as one
+     * batch.
+     *
+     * @param filter The filter selecting the items to delete.
+     * @return The result of every deletion.
+     */
+    public synchronized BatchResult deleteItemsMatching(Predicate<InventoryItem> filter) {
+        return deleteSelected(select(inventory, filter));
+    }
+
+    /*
+     * Trash operations
+     */
+
+    /**
+     * Method to move a deleted item back to the inventory.
+     *
+     * @param itemNumber The item number of the deleted item.
+     * @return The result, holding the restored item on success.
+     */
+    public synchronized OperationResult restoreItem(int itemNumber) {
+        OperationResult result = restoreWithoutSaving(itemNumber);
+        if (result.isSuccess()) {
+            saveDeletedItems();
+        }
+        return result;
+    }
+
+    /**
+     * Method to move several deleted items back to the inventory as one batch: the
+     * items are recorded in the inventory journal with one write and
+     * deleted_items.csv is written once. If any item number is not found in the
+     * trash or is already used in the inventory, no item is restored.
+     *
+     * @param itemNumbers The item numbers of the deleted items.
+     * @return The result of every restoration, or only the failures if nothing
+     *         was restored.
+     */
+    public synchronized BatchResult restoreItems(Collection<Integer> itemNumbers) {
+        BatchResult failures = new BatchResult();
+        List<InventoryItem> items = findDeletedItems(itemNumbers, failures);
+        return failures.getFailureCount() > 0 ? failures : restoreSelected(items);
+    }
+
+    /**
+     * Method to move every deleted item whose item number is within a range back
+     * to the inventory as one batch.
+     *
+     * @param firstItemNumber The first item number of the range.
+     * @param lastItemNumber  The last item number of the range.
+     * @return The result of every restoration, or only the failures if nothing
+     *         was restored.
+     */
+    public synchronized BatchResult restoreItemsInRange(int firstItemNumber, int lastItemNumber) {
+        return restoreItemsMatching(item -> isInRange(item, firstItemNumber, lastItemNumber));
+    }
+
+    /**
+     * Method to move every deleted item accepted by a filter back to the
+     * inventory as one batch.
+     *
+     * @param filter The filter selecting the items to restore.
+     * @return The result of every restoration, or only the failures if nothing
+     *         was restored.
+     */
+    public synchronized BatchResult restoreItemsMatching(Predicate<InventoryItem> filter) {
+        return restoreSelected(select(getDeletedItems(), filter));
+    }
+
+    /**
+     * Method to move every deleted item back to the inventory as one batch.
+     *
+     * @return The result of every restoration, or only the failures if nothing
+     *         was restored.
+     */
+    public synchronized BatchResult restoreAllItems() {
+        return restoreSelected(new ArrayList<>(getDeletedItems()));
+    }
+
+    /**
+     * Method to remove a deleted item for good.
+     *
+     * @param itemNumber The item number of the deleted item.
+     * @return The result, holding the removed item on success.
+     */
+    public synchronized OperationResult purgeItem(int itemNumber) {
+        OperationResult result = purgeWithoutSaving(itemNumber);
+        if (result.isSuccess()) {
+            saveDeletedItems();
+        }
+        return result;
+    }
+
+    /**
+     * Method to remove several deleted items for good as one batch, writing
+     * deleted_items.csv once. If any item number is not found in the trash, no
+     * item is removed.
+     *
+     * @param itemNumbers The item numbers of the deleted items.
+     * @return The result of every removal, or only the failures if nothing was
+     *         removed.
+     */
+    public synchronized BatchResult purgeItems(Collection<Integer> itemNumbers) {
+        BatchResult failures = new BatchResult();
+        List<InventoryItem> items = findDeletedItems(itemNumbers, failures);
+        return failures.getFailureCount() > 0 ? failures : purgeSelected(items);
+    }
+
+    /**
+     * Method to remove every deleted item whose item number is within a range for
+     * good as one batch.
+     *
+     * @param firstItemNumber The first item number of the range.
+     * @param lastItemNumber  The last item number of the range.
+     * @return The result of every removal.
+     */
+    public synchronized BatchResult purgeItemsInRange(int firstItemNumber, int lastItemNumber) {
+        return purgeItemsMatching(item -> isInRange(item, firstItemNumber, lastItemNumber));
+    }
+
+    /**
+     * Method to remove every deleted item accepted by a filter for good as one
+     * batch.
+     *
+     * @param filter The filter selecting the items to remove.
+     * @return The result of every removal.
+     */
+    public synchronized BatchResult purgeItemsMatching(Predicate<InventoryItem> filter) {
+        return purgeSelected(select(getDeletedItems(), filter));
+    }
+
+    /**
+     * Method to remove every deleted item for good.
+     *
+     * @return The result of every removal.
+     */
+    public synchronized BatchResult purgeAllItems() {
+        return purgeSelected(new ArrayList<>(getDeletedItems()));
+    }
+
+    /*
+     * Reports
+     */
+
+    /**
+     * Method to get the inventory as an unchanging list, for work done off the
+     * thread applying the changes (such as writing a report in the background).
+     *
+     * @return The items of the latest snapshot, in item number order.
+     */
+    public List<InventoryItem> copyInventory() {
+        return snapshot.asList();
+    }
+
+    /**
+     * Method to summarize the items of one item type: how many there are, their
+     * total quantity, how many are low on stock and the lowest item numbers of
+     * those. The totals are kept up to date as items change, so this does not go
+     * through the inventory.
+     *
+     * @param itemType             The item type.
+     * @param maxListedItemNumbers The most low-stock item numbers to list.
+     * @return The summary of the item type.
+     */
+    public synchronized CategoryAggregates.Summary getCategorySummary(String itemType, int maxListedItemNumbers) {
+        return aggregates.summary(itemType, maxListedItemNumbers);
+    }
+
+    /**
+     * Method to summarize the items of every item type in the inventory (see
+     * getCategorySummary).
+     *
+     * @param maxListedItemNumbers The most low-stock item numbers to list per
+     *                             item type.
+     * @return The summaries, by item type.
+     */
+    public synchronized List<CategoryAggregates.Summary> getCategorySummaries(int maxListedItemNumbers) {
+        return aggregates.summaries(maxListedItemNumbers);
+    }
+
+    // Getter method for retrieving the quantity below which items are low on
+    // stock
+    public static int getLowStockThreshold() {
+        return LOW_STOCK_THRESHOLD;
+    }
+
+    /**
+     * Method to rebuild the inventory as it was at the end of a given day from
+     * the inventory history, such as to find how many items of a kind were held
+     * on that day. Only the events recorded since the last checkpoint before the
+     * day are replayed. This reads files and can take a moment, so it does not
+     * hold the lock of the service and can run on any thread.
+     *
+     * @param date The day.
+     * @return The inventory at the end of the day, in item number order, or null
+     *         if the history does not go back to that day.
+     * @throws IOException If the history cannot be read.
+     */
+    public List<InventoryItem> inventoryAt(LocalDate date) throws IOException {
+        long endOfDay = date.plusDays(1).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli() - 1;
+        InventorySnapshot past = CSVHandler.readInventoryFromHistory(endOfDay);
+        return past == null ? null : past.asList();
+    }
+
+    /**
+     * Method to generate a report of the inventory as a string.
+     *
+     * @param sortKey The order of the items within each item type.
+     * @return The content of the report.
+     */
+    public String generateReport(ReportEngine.SortKey sortKey) {
+        return ReportEngine.generateReport(snapshot.asList(), sortKey);
+    }
+
+    /**
+     * Method to write a report of the given items to a file. It does not touch
+     * the service, so it can run on any thread with a copy of the inventory.
+     *
+     * @param items            The items to report (see copyInventory).
+     * @param sortKey          The order of the items within each item type.
+     * @param reportPath       The path of the report file.
+     * @param progressListener Receives the progress, or null.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeReport(List<InventoryItem> items, ReportEngine.SortKey sortKey, Path reportPath,
+            ReportEngine.ProgressListener progressListener) throws IOException {
+        ReportEngine.writeReportToFile(items, sortKey, reportPath, progressListener);
+    }
+
+    /**
+     * Method to get the path of today's report file in the user's download
+     * folder.
+     *
+     * @return The path of the report file.
+     */
+    public static Path defaultReportPath() {
+        return Paths.get(System.getProperty("user.home"), "Downloads",
+                "inventory_report_" + LocalDate.now().format(REPORT_DATE_FORMATTER) + ".txt");
+    }
+
+    /*
+     * Changes made outside of the application
+     */
+
+    /**
+     * Method to add the items of rows another program appended to
+     * inventory.csv. The added items are journaled even though their rows are
+     * already in the file, since a compaction may rewrite the file from a copy
+     * of the inventory taken before they were added. Rows whose item number is
+     * already in use by an inventory item or a deleted item are not added, so
+     * the item of the application is kept; inventory.csv is then rewritten
+     * without them, as otherwise they would be loaded as a second item with
+     * the same number on the next start.
+     *
+     * @param items The items of the appended rows.
+     * @return The result of every addition; a CONFLICT holding the item for each
+     *         ignored row.
+     */
+    public synchronized BatchResult addExternalItems(List<InventoryItem> items) {
+        BatchResult batch = new BatchResult();
+        List<InventoryItem> addedItems = new ArrayList<>(items.size());
+        List<Integer> addedItemNumbers = new ArrayList<>(items.size());
+        InventoryStore trash = getDeletedItems();
+        for (InventoryItem item : items) {
+            if (inventory.containsItemNumber(item.getItemNumber())
+                    || trash.containsItemNumber(item.getItemNumber())) {
+                batch.add(new OperationResult(OperationResult.Status.CONFLICT,
+                        "Item number " + item.getItemNumber() + " is already in use!", item));
+                continue;
+            }
+            inventory.add(item);
+            publish(item.getItemNumber());
+            addedItems.add(item);
+            addedItemNumbers.add(item.getItemNumber());
+            batch.add(OperationResult.success("Item Added", item));
+        }
+        CSVHandler.appendExternalItemsToInventoryJournal(addedItems);
+        if (addedItems.size() < items.size()) {
+            // Drop the ignored rows from the file
+            CSVHandler.writeCreatedItemToInventoryCSV(inventory.asList());
+        }
+        CSVHandler.recordCreatedItemsInHistory(addedItemNumbers, snapshot);
+        return batch;
+    }
+
+    /**
+     * Method to replace every inventory item with the items of a reload of
+     * inventory.csv (see CSVHandler.reloadInventoryCSVFile).
+     *
+     * @param reloadedItems The reloaded items.
+     */
+    public synchronized void replaceInventory(Collection<InventoryItem> reloadedItems) {
+        inventory.clear();
+        inventory.addAll(reloadedItems);
+        snapshot = InventorySnapshot.of(inventory);
+        aggregates.reset(snapshot.asList());
+        CSVHandler.recordReplacedInventoryInHistory(snapshot);
+    }
+
+    /**
+     * Method to overwrite inventory.csv with the inventory after the user chose
+     * to keep it over a change another program made to the file. The journal is
+     * folded into the file, so the inventory is copied and written while the
+     * service is locked: a change made meanwhile would be journaled, then
+     * discarded with the journal while missing from the file. It can run on any
+     * thread, but changes wait for it to finish.
+     *
+     * @throws IOException If the file cannot be written.
+     */
+    public synchronized void overwriteInventoryFile() throws IOException {
+        CSVHandler.overwriteInventoryCSVFile(copyInventory());
+    }
+
+    /**
+     * Method to describe how the items of a file differ from the inventory.
+     *
+     * @param fileItems The items read from the file.
+     * @return A summary such as "2 items added, 1 removed, 0 changed", or null if
+     *         the file holds the same items.
+     */
+    public synchronized String describeDifferences(Collection<InventoryItem> fileItems) {
+        int added = 0;
+        int changed = 0;
+        for (InventoryItem fileItem : fileItems) {
+            InventoryItem item = inventory.findByItemNumber(fileItem.getItemNumber());
+            if (item == null) {
+                added++;
+            } else if (!item.getItemName().equals(fileItem.getItemName())
+                    || item.getQuantity() != fileItem.getQuantity()
+                    || !item.getItemType().equals(fileItem.getItemType())
+                    || !item.getCreationDate().equals(fileItem.getCreationDate())) {
+                changed++;
+            }
+        }
+        int removed = inventory.size() - (fileItems.size() - added);
+        if (added == 0 && removed == 0 && changed == 0) {
+            return null;
+        }
+        return added + " items added, " + removed + " removed, " + changed + " changed";
+    }
+
+    /**
+     * Method to describe an item in the format of the confirmation dialogs.
+     *
+     * @param item The item.
+     * @return The item number, name, quantity, type and creation date, one per
+     *         line.
+     */
+    public static String describeItem(InventoryItem item) {
+        return "Item Number: " + item.getItemNumber() + "\n"
+                + "Item Name: " + item.getItemName() + "\n"
+                + "Quantity: " + item.getQuantity() + "\n"
+                + "Item Type: " + item.getItemType() + "\n"
+                + "Create Date: " + item.getCreationDate().format(MESSAGE_DATE_FORMATTER);
+    }
+
+    /**
+     * Moves a deleted item to the inventory, recording it in the inventory
+     * journal, but leaves saving deleted_items.csv to the caller.
+     */
+    private OperationResult restoreWithoutSaving(int itemNumber) {
+        InventoryStore trash = getDeletedItems();
+        InventoryItem item = trash.findByItemNumber(itemNumber);
+        if (item == null) {
+            return notFound(itemNumber);
+        }
+        if (inventory.containsItemNumber(itemNumber)) {
+            return OperationResult.failure(OperationResult.Status.CONFLICT,
+                    "Item number " + itemNumber + " is already used by another inventory item!");
+        }
+
+        records.restore(item);
+        publish(itemNumber);
+        CSVHandler.writeRestoredItemToCSV(item);
+        CSVHandler.recordRestoredItemsInHistory(List.of(itemNumber), snapshot);
+        return OperationResult.success("Item restored successfully!", item);
+    }
+
+    /**
+     * Removes a deleted item, but leaves saving deleted_items.csv to the caller.
+     */
+    private OperationResult purgeWithoutSaving(int itemNumber) {
+        InventoryStore trash = getDeletedItems();
+        InventoryItem item = trash.findByItemNumber(itemNumber);
+        if (item == null) {
+            return notFound(itemNumber);
+        }
+        records.purge(item);
+        reservations.itemPurged(itemNumber);
+        return OperationResult.success("Item Permanently Deleted Successfully!", item);
+    }
+
+    /**
+     * Moves the given inventory items to the trash, with one write to
+     * deleted_items.csv and one to the inventory journal.
+     */
+    private BatchResult deleteSelected(List<InventoryItem> items) {
+        BatchResult batch = new BatchResult();
+        if (items.isEmpty()) {
+            return batch;
+        }
+
+        CSVHandler.writeDeletedItemsToCSV(items);
+        List<Integer> itemNumbers = new ArrayList<>(items.size());
+        for (InventoryItem item : items) {
+            moveToTrash(item);
+            publish(item.getItemNumber());
+            itemNumbers.add(item.getItemNumber());
+            batch.add(OperationResult.success("Item Deleted Successfully!", item));
+        }
+        CSVHandler.appendDeletedItemsToInventoryJournal(itemNumbers);
+        CSVHandler.recordDeletedItemsInHistory(itemNumbers, snapshot);
+        return batch;
+    }
+
+    /**
+     * Moves the given deleted items back to the inventory, with one write to the
+     * inventory journal and one to deleted_items.csv, unless one of their item
+     * numbers is already used in the inventory or by another of the items.
+     */
+    private BatchResult restoreSelected(List<InventoryItem> items) {
+        BatchResult failures = new BatchResult();
+        Set<Integer> itemNumbers = new HashSet<>();
+        for (InventoryItem item : items) {
+            int itemNumber = item.getItemNumber();
+            if (inventory.containsItemNumber(itemNumber) || !itemNumbers.add(itemNumber)) {
+                failures.add(new OperationResult(OperationResult.Status.CONFLICT,
+                        "Item number " + itemNumber + " is already used by another inventory item!", item));
+            }
+        }
+        if (failures.getFailureCount() > 0) {
+            return failures;
+        }
+
+        BatchResult batch = new BatchResult();
+        if (items.isEmpty()) {
+            return batch;
+        }
+        for (InventoryItem item : items) {
+            records.restore(item);
+            publish(item.getItemNumber());
+            batch.add(OperationResult.success("Item restored successfully!", item));
+        }
+        CSVHandler.writeRestoredItemsToCSV(items);
+        CSVHandler.recordRestoredItemsInHistory(itemNumbers, snapshot);
+        saveDeletedItems();
+        return batch;
+    }
+
+    /**
+     * Removes the given deleted items for good, writing deleted_items.csv once.
+     */
+    private BatchResult purgeSelected(List<InventoryItem> items) {
+        BatchResult batch = new BatchResult();
+        if (items.isEmpty()) {
+            return batch;
+        }
+        for (InventoryItem item : items) {
+            records.purge(item);
+            reservations.itemPurged(item.getItemNumber());
+            batch.add(OperationResult.success("Item Permanently Deleted Successfully!", item));
+        }
+        saveDeletedItems();
+        return batch;
+    }
+
+    /**
+     * Finds the deleted item of each item number, adding a failure to the batch
+     * for every item number that is not found in the trash.
+     */
+    private List<InventoryItem> findDeletedItems(Collection<Integer> itemNumbers, BatchResult failures) {
+        InventoryStore trash = getDeletedItems();
+        List<InventoryItem> items = new ArrayList<>(itemNumbers.size());
+        for (int itemNumber : new LinkedHashSet<>(itemNumbers)) {
+            InventoryItem item = trash.findByItemNumber(itemNumber);
+            if (item == null) {
+                failures.add(notFound(itemNumber));
+            } else {
+                items.add(item);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Returns the items of a store accepted by a filter.
+     */
+    private static List<InventoryItem> select(InventoryStore items, Predicate<InventoryItem> filter) {
+        List<InventoryItem> selected = new ArrayList<>();
+        for (InventoryItem item : items) {
+            if (filter.test(item)) {
+                selected.add(item);
+            }
+        }
+        return selected;
+    }
+
+    private static boolean isInRange(InventoryItem item, int firstItemNumber, int lastItemNumber) {
+        return item.getItemNumber() >= firstItemNumber && item.getItemNumber() <= lastItemNumber;
+    }
+
+    /**
+     * Publishes a new snapshot in which the given item number holds the live item
+     * with that number, or nothing if there is none. The version of the item in
+     * the previous snapshot is swapped for the live one in the aggregates of the
+     * item types.
+     */
+    private void publish(int itemNumber) {
+        InventoryItem previous = snapshot.get(itemNumber);
+        if (previous != null) {
+            aggregates.remove(previous);
+        }
+        InventoryItem item = inventory.findByItemNumber(itemNumber);
+        if (item != null) {
+            aggregates.add(item);
+        }
+        snapshot = item == null ? snapshot.without(itemNumber) : snapshot.with(item);
+    }
+
+    /**
+     * Writes the deleted items to deleted_items.csv.
+     */
+    private void saveDeletedItems() {
+        CSVHandler.writeItemsToDeletedItemsCSV(new ArrayList<>(records.getTrash()));
+    }
+
+    /**
+     * Moves an inventory item to the trash by flipping its record, or only removes
+     * it if the trash was not read yet (deleted_items.csv holds it by then).
+     */
+    private void moveToTrash(InventoryItem item) {
+        if (deletedItemsLoaded) {
+            records.moveToTrash(item);
+        } else {
+            inventory.remove(item);
+        }
+    }
+
+    private static boolean isSameItem(InventoryItem item, InventoryItem other) {
+        return item.getItemNumber() == other.getItemNumber() && item.getQuantity() == other.getQuantity()
+                && item.getItemName().equals(other.getItemName()) && item.getItemType().equals(other.getItemType())
+                && item.getCreationDate().equals(other.getCreationDate());
+    }
+
+    private static OperationResult checkItemName(String itemName) {
+        if (itemName.isEmpty()) {
+            return invalid("Empty input! Please fill out required field.");
+        }
+        if (!isValidItemName(itemName)) {
+            return invalid(
+                    "Invalid characters in item name! Only alphanumeric characters (A-Z, a-z) or digits (0-9).");
+        }
+        return null;
+    }
+
+    private static OperationResult checkQuantity(int quantity) {
+        return quantity >= 1 ? null : invalid("Quantity must be a positive number! (ex: 1, 2, 5, 10, 50, 100)");
+    }
+
+    private static OperationResult checkItemType(String itemType) {
+        return CategoryRegistry.get().byName(itemType) != null ? null
+                : invalid("Unknown item type '" + itemType + "'!");
+    }
+
+    private static OperationResult notFound(int itemNumber) {
+        return OperationResult.failure(OperationResult.Status.NOT_FOUND,
+                "Item not found! Item number " + itemNumber + " does not exist.");
+    }
+
+    private static OperationResult invalid(String message) {
+        return OperationResult.failure(OperationResult.Status.INVALID, message);
+    }
+
+    private static OperationResult noChange(String message) {
+        return OperationResult.failure(OperationResult.Status.NO_CHANGE, message);
+    }
+}
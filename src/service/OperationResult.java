@@ -0,0 +1,92 @@
+package src.service;
+
+import src.model.InventoryItem;
+
+public class OperationResult {
+
+    /**
+     * Outcome of an operation.
+     */
+    public enum Status {
+        // The operation was applied
+        SUCCESS,
+        // The input breaks a rule, such as a negative quantity or an item number
+        // outside the range of the item type
+        INVALID,
+        // No item has the given item number
+        NOT_FOUND,
+        // The item number is already used by another item, or not enough units
+        // are available for a reservation
+        CONFLICT,
+        // The new value equals the current one, so nothing was changed
+        NO_CHANGE
+    }
+
+    // Outcome of the operation
+    private final Status status;
+
+    // Message describing the outcome, suitable to show to the user
+    private final String message;
+
+    // Item the operation was applied to, or null if it failed before finding one
+    private final InventoryItem item;
+
+    /**
+     * Creates the result of an operation.
+     *
+     * @param status  The outcome of the operation.
+     * @param message The message describing the outcome.
+     * @param item    The item the operation was applied to, or null.
+     */
+    public OperationResult(Status status, String message, InventoryItem item) {
+        this.status = status;
+        this.message = message;
+        this.item = item;
+    }
+
+    /**
+     * Method to create the result of a successful operation.
+     *
+     * @param message The message describing the outcome.
+     * @param item    The item the operation was applied to.
+     * @return The result.
+     */
+    public static OperationResult success(String message, InventoryItem item) {
+        return new OperationResult(Status.SUCCESS, message, item);
+    }
+
+    /**
+     * Method to create the result of a failed operation.
+     *
+     * @param status  The reason of the failure.
+     * @param message The message describing the failure.
+     * @return The result.
+     */
+    public static OperationResult failure(Status status, String message) {
+        return new OperationResult(status, message, null);
+    }
+
+    /**
+     * Method to check whether the operation was applied.
+     *
+     * @return True if the operation succeeded, false if not.
+     */
+    public boolean isSuccess() {
+        return status == Status.SUCCESS;
+    }
+
+    // Getter method for retrieving the outcome of the operation
+    public Status getStatus() {
+        return status;
+    }
+
+    // Getter method for retrieving the message describing the outcome
+    public String getMessage() {
+        return message;
+    }
+
+    // Getter method for retrieving the item the operation was applied to
+    public InventoryItem getItem() {
+        return item;
+    }
+}
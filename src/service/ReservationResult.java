@@ -0,0 +1,29 @@
+package src.service;
+
+import src.model.Reservation;
+
+/**
+ * Result of a reservation operation, holding the reservation it was applied to.
+ */
+public class ReservationResult extends OperationResult {
+
+    // Reservation the operation was applied to, or null if it failed
+    private final Reservation reservation;
+
+    /**
+     * Creates the result of a reservation operation.
+     *
+     * @param status      The outcome of the operation.
+     * @param message     The message describing the outcome.
+     * @param reservation The reservation the operation was applied to, or null.
+     */
+    public ReservationResult(Status status, String message, Reservation reservation) {
+        super(status, message, null);
+        this.reservation = reservation;
+    }
+
+    // Getter method for retrieving the reservation the operation was applied to
+    public Reservation getReservation() {
+        return reservation;
+    }
+}
@@ -0,0 +1,353 @@
+package src.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import src.CSVReaderWriter.CSVHandler;
+import src.model.InventoryItem;
+import src.model.Reservation;
+import src.store.InventorySnapshot;
+import src.store.ReservationCalendar;
+
+/**
+ * Reservations of inventory items for events, such as 12 Table Runners for a
+ * wedding on the weekend of June 14th. The quantity of an item is its stock;
+ * the units available on a day are the stock minus the units reserved that
+ * day.
+ *
+ * The reservations are read from reservations.csv the first time they are
+ * needed and kept in a reservation calendar, which answers how many units of an
+ * item are reserved over a date range, and whether an item is overbooked, in
+ * O(log days) time however many reservations there are. New reservations and
+ * cancellations are appended to the file, which is rewritten once the
+ * cancelled rows outnumber the others. The stock is read from
+ * the latest snapshot of the inventory, so reservations never wait for the
+ * inventory lock. Every method holds the lock of this service.
+ */
+public class ReservationService {
+
+    /**
+     * Item reserved beyond its stock on some day, such as after its quantity was
+     * lowered.
+     */
+    public static class Overbooking {
+        private final int itemNumber;
+        private final LocalDate firstDay;
+        private final int reservedUnits;
+        private final int stock;
+
+        Overbooking(int itemNumber, LocalDate firstDay, int reservedUnits, int stock) {
+            this.itemNumber = itemNumber;
+            this.firstDay = firstDay;
+            this.reservedUnits = reservedUnits;
+            this.stock = stock;
+        }
+
+        // Getter method for retrieving the item number of the overbooked item
+        public int getItemNumber() {
+            return itemNumber;
+        }
+
+        // Getter method for retrieving the first overbooked day
+        public LocalDate getFirstDay() {
+            return firstDay;
+        }
+
+        // Getter method for retrieving the number of units reserved on the first
+        // overbooked day
+        public int getReservedUnits() {
+            return reservedUnits;
+        }
+
+        // Getter method for retrieving the stock of the item
+        public int getStock() {
+            return stock;
+        }
+    }
+
+    // Service holding the inventory whose items are reserved
+    private final InventoryService inventoryService;
+
+    // Number of units of each item reserved on each day
+    private final ReservationCalendar calendar = new ReservationCalendar();
+
+    // Reservations by reservation number
+    private final Map<Integer, Reservation> reservations = new HashMap<>();
+
+    // Reservations of each item by reservation number, in booking order
+    private final Map<Integer, Map<Integer, Reservation>> reservationsByItem = new HashMap<>();
+
+    // Whether the reservations were read from reservations.csv yet
+    private boolean loaded;
+
+    // Reservation number of the next reservation
+    private int nextReservationNumber = 1;
+
+    // Number of cancellations appended to reservations.csv since it was last
+    // rewritten
+    private int cancellationsSinceSave;
+
+    /**
+     * Creates a service for the reservations of the items of the given inventory.
+     *
+     * @param inventoryService The service holding the inventory.
+     */
+    ReservationService(InventoryService inventoryService) {
+        this.inventoryService = inventoryService;
+    }
+
+    /**
+     * Method to reserve units of an item for an event. The reservation is refused
+     * if fewer units are available on any day of the event than requested.
+     *
+     * @param itemNumber The item number of the item to reserve.
+     * @param quantity   The number of units.
+     * @param startDate  The first day the units are away.
+     * @param endDate    The last day the units are away.
+     * @param eventName  The name of the event; whitespace is normalized.
+     * @return The result, holding the reservation on success.
+     */
+    public synchronized ReservationResult reserve(int itemNumber, int quantity, LocalDate startDate,
+            LocalDate endDate, String eventName) {
+        String normalizedName = InventoryService.normalizeItemName(eventName);
+        if (normalizedName.isEmpty() || !InventoryService.isValidItemName(normalizedName)) {
+            return failure(OperationResult.Status.INVALID,
+                    "Invalid event name! Only alphanumeric characters (A-Z, a-z) or digits (0-9).");
+        }
+        if (quantity < 1) {
+            return failure(OperationResult.Status.INVALID,
+                    "Quantity must be a positive number! (ex: 1, 2, 5, 10, 50, 100)");
+        }
+        if (endDate.isBefore(startDate)) {
+            return failure(OperationResult.Status.INVALID, "The end date must not be before the start date!");
+        }
+        if (!ReservationCalendar.isWithinCalendar(startDate) || !ReservationCalendar.isWithinCalendar(endDate)) {
+            return failure(OperationResult.Status.INVALID, "Reservations must be between "
+                    + ReservationCalendar.FIRST_DAY + " and " + ReservationCalendar.LAST_DAY + "!");
+        }
+        InventoryItem item = inventoryService.snapshot().get(itemNumber);
+        if (item == null) {
+            return failure(OperationResult.Status.NOT_FOUND,
+                    "Item not found! Item number " + itemNumber + " does not exist.");
+        }
+
+        load();
+        int available = item.getQuantity() - calendar.peakReserved(itemNumber, startDate, endDate);
+        if (available < quantity) {
+            return failure(OperationResult.Status.CONFLICT, "Only " + Math.max(available, 0) + " of '"
+                    + item.getItemName() + "' available from " + startDate + " to " + endDate + "!");
+        }
+
+        Reservation reservation = new Reservation(nextReservationNumber++, itemNumber, quantity, startDate,
+                endDate, normalizedName);
+        add(reservation);
+        CSVHandler.appendReservationToCSV(reservation);
+        return new ReservationResult(OperationResult.Status.SUCCESS, "Reservation Created Successfully!",
+                reservation);
+    }
+
+    /**
+     * Method to cancel a reservation, making its units available again.
+     *
+     * @param reservationNumber The reservation number.
+     * @return The result, holding the cancelled reservation on success.
+     */
+    public synchronized ReservationResult cancel(int reservationNumber) {
+        load();
+        Reservation reservation = reservations.get(reservationNumber);
+        if (reservation == null) {
+            return failure(OperationResult.Status.NOT_FOUND,
+                    "Reservation not found! Reservation number " + reservationNumber + " does not exist.");
+        }
+        remove(reservation);
+        if (++cancellationsSinceSave > reservations.size()) {
+            save(); // Drop the cancelled rows once they outnumber the others
+        } else {
+            CSVHandler.appendCancelledReservationToCSV(reservationNumber);
+        }
+        return new ReservationResult(OperationResult.Status.SUCCESS, "Reservation Cancelled Successfully!",
+                reservation);
+    }
+
+    /**
+     * Method to find the number of units of an item available on every day of a
+     * date range.
+     *
+     * @param itemNumber The item number.
+     * @param from       The first day of the range.
+     * @param to         The last day of the range.
+     * @return The stock minus the most units reserved on a day of the range,
+     *         negative if the item is overbooked, or 0 if the item is not in the
+     *         inventory.
+     * @throws IllegalArgumentException If a day is outside the calendar.
+     */
+    public synchronized int available(int itemNumber, LocalDate from, LocalDate to) {
+        load();
+        InventoryItem item = inventoryService.snapshot().get(itemNumber);
+        return item == null ? 0 : item.getQuantity() - calendar.peakReserved(itemNumber, from, to);
+    }
+
+    /**
+     * Method to find the number of units of an item type available on every day
+     * of a date range, such as how many Table Runners are free for a weekend.
+     * Overbooked items count as none available.
+     *
+     * @param itemType The item type.
+     * @param from     The first day of the range.
+     * @param to       The last day of the range.
+     * @return The total number of available units of the items of the type.
+     * @throws IllegalArgumentException If a day is outside the calendar.
+     */
+    public synchronized long availableByType(String itemType, LocalDate from, LocalDate to) {
+        load();
+        long available = 0;
+        for (InventoryItem item : inventoryService.snapshot().asList()) {
+            if (item.getItemType().equals(itemType)) {
+                available += Math.max(0,
+                        item.getQuantity() - calendar.peakReserved(item.getItemNumber(), from, to));
+            }
+        }
+        return available;
+    }
+
+    /**
+     * Method to find the items with more units reserved than in stock on some day
+     * of a date range. Only the items with reservations are checked.
+     *
+     * @param from The first day of the range.
+     * @param to   The last day of the range.
+     * @return The overbooked items, in item number order.
+     * @throws IllegalArgumentException If a day is outside the calendar.
+     */
+    public synchronized List<Overbooking> findOverbookings(LocalDate from, LocalDate to) {
+        load();
+        InventorySnapshot inventory = inventoryService.snapshot();
+        List<Overbooking> overbookings = new ArrayList<>();
+        for (int itemNumber : calendar.getItemNumbers()) {
+            InventoryItem item = inventory.get(itemNumber);
+            int stock = item == null ? 0 : item.getQuantity();
+            LocalDate firstDay = calendar.firstDayOverbooked(itemNumber, from, to, stock);
+            if (firstDay != null) {
+                overbookings.add(new Overbooking(itemNumber, firstDay,
+                        calendar.peakReserved(itemNumber, firstDay, firstDay), stock));
+            }
+        }
+        overbookings.sort(Comparator.comparingInt(Overbooking::getItemNumber));
+        return overbookings;
+    }
+
+    /**
+     * Method to list the reservations of an item.
+     *
+     * @param itemNumber The item number.
+     * @return The reservations, by start date.
+     */
+    public synchronized List<Reservation> getReservations(int itemNumber) {
+        load();
+        Map<Integer, Reservation> itemReservations = reservationsByItem.get(itemNumber);
+        if (itemReservations == null) {
+            return new ArrayList<>();
+        }
+        List<Reservation> sorted = new ArrayList<>(itemReservations.values());
+        sorted.sort(Comparator.comparing(Reservation::getStartDate));
+        return sorted;
+    }
+
+    /**
+     * Method to move the reservations of an item to its new item number, called
+     * by the inventory service after the item was renumbered.
+     *
+     * @param itemNumber    The previous item number.
+     * @param newItemNumber The new item number.
+     */
+    synchronized void itemRenumbered(int itemNumber, int newItemNumber) {
+        load();
+        Map<Integer, Reservation> itemReservations = reservationsByItem.get(itemNumber);
+        if (itemReservations == null) {
+            return;
+        }
+        for (Reservation reservation : new ArrayList<>(itemReservations.values())) {
+            remove(reservation);
+            add(reservation.withItemNumber(newItemNumber));
+        }
+        save();
+    }
+
+    /**
+     * Method to cancel the reservations of an item removed for good, called by
+     * the inventory service after the item was purged from the trash.
+     *
+     * @param itemNumber The item number of the purged item.
+     */
+    synchronized void itemPurged(int itemNumber) {
+        load();
+        Map<Integer, Reservation> itemReservations = reservationsByItem.remove(itemNumber);
+        if (itemReservations == null) {
+            return;
+        }
+        for (Integer reservationNumber : itemReservations.keySet()) {
+            reservations.remove(reservationNumber);
+        }
+        calendar.removeItem(itemNumber);
+        save();
+    }
+
+    /**
+     * Reads the reservations from reservations.csv the first time they are
+     * needed.
+     */
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        loaded = true;
+        for (Reservation reservation : CSVHandler.readReservationsFromCSVFile()) {
+            if (reservation.getQuantity() < 1 || reservation.getEndDate().isBefore(reservation.getStartDate())
+                    || !ReservationCalendar.isWithinCalendar(reservation.getStartDate())
+                    || !ReservationCalendar.isWithinCalendar(reservation.getEndDate())
+                    || reservations.containsKey(reservation.getReservationNumber())) {
+                continue; // Skip the invalid row
+            }
+            add(reservation);
+            nextReservationNumber = Math.max(nextReservationNumber, reservation.getReservationNumber() + 1);
+        }
+    }
+
+    private void add(Reservation reservation) {
+        reservations.put(reservation.getReservationNumber(), reservation);
+        reservationsByItem.computeIfAbsent(reservation.getItemNumber(), itemNumber -> new LinkedHashMap<>())
+                .put(reservation.getReservationNumber(), reservation);
+        calendar.add(reservation.getItemNumber(), reservation.getStartDate(), reservation.getEndDate(),
+                reservation.getQuantity());
+    }
+
+    private void remove(Reservation reservation) {
+        reservations.remove(reservation.getReservationNumber());
+        Map<Integer, Reservation> itemReservations = reservationsByItem.get(reservation.getItemNumber());
+        itemReservations.remove(reservation.getReservationNumber());
+        if (itemReservations.isEmpty()) {
+            reservationsByItem.remove(reservation.getItemNumber());
+        }
+        calendar.add(reservation.getItemNumber(), reservation.getStartDate(), reservation.getEndDate(),
+                -reservation.getQuantity());
+    }
+
+    /**
+     * Writes every reservation to reservations.csv, in reservation number order.
+     */
+    private void save() {
+        cancellationsSinceSave = 0;
+        List<Reservation> sorted = new ArrayList<>(reservations.values());
+        sorted.sort(Comparator.comparingInt(Reservation::getReservationNumber));
+        CSVHandler.writeReservationsToCSV(sorted);
+    }
+
+    private static ReservationResult failure(OperationResult.Status status, String message) {
+        return new ReservationResult(status, message, null);
+    }
+}
@@ -0,0 +1,199 @@
+package src.store;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import src.model.InventoryItem;
+
+/**
+ * Number of items, total quantity and low-stock items of each item type, kept
+ * up to date as items are added and removed instead of being recomputed from
+ * the whole inventory. An update of an item is applied as the removal of its
+ * previous version and the addition of the new one. The counts and totals
+ * change in O(1) time per item; the low-stock item numbers are kept sorted,
+ * with a count per number since a hand-edited file may hold two items with the
+ * same number, so they change in O(log k) time for k low-stock items and the
+ * first few are listed without sorting them.
+ */
+public class CategoryAggregates {
+
+    /**
+     * Unchanging summary of one item type.
+     */
+    public static final class Summary {
+        private final String itemType;
+        private final int itemCount;
+        private final long totalQuantity;
+        private final int lowStockCount;
+        private final List<Integer> lowStockItemNumbers;
+
+        Summary(String itemType, int itemCount, long totalQuantity, int lowStockCount,
+                List<Integer> lowStockItemNumbers) {
+            this.itemType = itemType;
+            this.itemCount = itemCount;
+            this.totalQuantity = totalQuantity;
+            this.lowStockCount = lowStockCount;
+            this.lowStockItemNumbers = Collections.unmodifiableList(lowStockItemNumbers);
+        }
+
+        // Getter method for retrieving the item type
+        public String getItemType() {
+            return itemType;
+        }
+
+        // Getter method for retrieving the number of items of the type
+        public int getItemCount() {
+            return itemCount;
+        }
+
+        // Getter method for retrieving the total quantity of the items of the type
+        public long getTotalQuantity() {
+            return totalQuantity;
+        }
+
+        // Getter method for retrieving the number of items of the type below the
+        // low-stock threshold
+        public int getLowStockCount() {
+            return lowStockCount;
+        }
+
+        // Getter method for retrieving the lowest item numbers of the low-stock
+        // items, in item number order, up to the number asked for
+        public List<Integer> getLowStockItemNumbers() {
+            return lowStockItemNumbers;
+        }
+    }
+
+    /**
+     * Running totals of one item type.
+     */
+    private static final class Totals {
+        int itemCount;
+        long totalQuantity;
+        int lowStockCount;
+
+        // Number of low-stock items holding each item number, by item number
+        final TreeMap<Integer, Integer> lowStockItemNumbers = new TreeMap<>();
+    }
+
+    // Items with a quantity below this are low on stock
+    private final int lowStockThreshold;
+
+    // Totals of each item type holding at least one item, by item type
+    private final TreeMap<String, Totals> totalsByType = new TreeMap<>();
+
+    /**
+     * Creates empty aggregates.
+     *
+     * @param lowStockThreshold Items with a quantity below this are low on stock.
+     */
+    public CategoryAggregates(int lowStockThreshold) {
+        this.lowStockThreshold = lowStockThreshold;
+    }
+
+    // Getter method for retrieving the quantity below which items are low on stock
+    public int getLowStockThreshold() {
+        return lowStockThreshold;
+    }
+
+    /**
+     * Method to count an item in the totals of its type.
+     *
+     * @param item The added item, or its new version after an update.
+     */
+    public void add(InventoryItem item) {
+        Totals totals = totalsByType.computeIfAbsent(item.getItemType(), itemType -> new Totals());
+        totals.itemCount++;
+        totals.totalQuantity += item.getQuantity();
+        if (item.getQuantity() < lowStockThreshold) {
+            totals.lowStockCount++;
+            totals.lowStockItemNumbers.merge(item.getItemNumber(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Method to take an item out of the totals of its type.
+     *
+     * @param item The removed item, or its previous version before an update
+     *             (such as an item of an inventory snapshot).
+     */
+    public void remove(InventoryItem item) {
+        Totals totals = totalsByType.get(item.getItemType());
+        if (totals == null) {
+            return;
+        }
+        if (--totals.itemCount == 0) {
+            totalsByType.remove(item.getItemType());
+            return;
+        }
+        totals.totalQuantity -= item.getQuantity();
+        if (item.getQuantity() < lowStockThreshold) {
+            totals.lowStockCount--;
+            // Keep the number while another low-stock item still holds it
+            totals.lowStockItemNumbers.computeIfPresent(item.getItemNumber(),
+                    (itemNumber, count) -> count == 1 ? null : count - 1);
+        }
+    }
+
+    /**
+     * Method to recompute the totals from scratch, such as after the whole
+     * inventory was reloaded.
+     *
+     * @param items Every item.
+     */
+    public void reset(Collection<InventoryItem> items) {
+        totalsByType.clear();
+        for (InventoryItem item : items) {
+            add(item);
+        }
+    }
+
+    /**
+     * Method to summarize one item type.
+     *
+     * @param itemType             The item type.
+     * @param maxListedItemNumbers The most low-stock item numbers to list.
+     * @return The summary, with no items if the type holds none.
+     */
+    public Summary summary(String itemType, int maxListedItemNumbers) {
+        Totals totals = totalsByType.get(itemType);
+        return totals == null ? new Summary(itemType, 0, 0, 0, new ArrayList<>())
+                : summarize(itemType, totals, maxListedItemNumbers);
+    }
+
+    /**
+     * Method to summarize every item type holding at least one item.
+     *
+     * @param maxListedItemNumbers The most low-stock item numbers to list per
+     *                             item type.
+     * @return The summaries, by item type.
+     */
+    public List<Summary> summaries(int maxListedItemNumbers) {
+        List<Summary> summaries = new ArrayList<>(totalsByType.size());
+        for (Map.Entry<String, Totals> entry : totalsByType.entrySet()) {
+            summaries.add(summarize(entry.getKey(), entry.getValue(), maxListedItemNumbers));
+        }
+        return summaries;
+    }
+
+    /**
+     * Lists the lowest low-stock item numbers of a type, walking the sorted
+     * numbers only as far as needed.
+     */
+    private static Summary summarize(String itemType, Totals totals, int maxListedItemNumbers) {
+        List<Integer> lowStockItemNumbers = new ArrayList<>(
+                Math.min(maxListedItemNumbers, totals.lowStockItemNumbers.size()));
+        for (Integer itemNumber : totals.lowStockItemNumbers.keySet()) {
+            if (lowStockItemNumbers.size() >= maxListedItemNumbers) {
+                break;
+            }
+            lowStockItemNumbers.add(itemNumber);
+        }
+        return new Summary(itemType, totals.itemCount, totals.totalQuantity, totals.lowStockCount,
+                lowStockItemNumbers);
+    }
+}
@@ -0,0 +1,288 @@
+package src.store;
+
+import src.model.ItemTypeDictionary;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class CategoryRegistry {
+
+    // Prefix of the system properties overriding the range of a category, e.g.
+    // -Dinventory.itemNumbers.TableRunners=2000-2999 (spaces removed from the name)
+    private static final String PROPERTY_PREFIX = "inventory.itemNumbers.";
+
+    // Range handed out to item types that are not registered
+    private static final int UNKNOWN_TYPE_FIRST_ITEM_NUMBER = 0;
+    private static final int UNKNOWN_TYPE_LAST_ITEM_NUMBER = 99;
+
+    // Largest number of buckets of the item number lookup table
+    private static final int MAX_BUCKETS = 1 << 16;
+
+    // Registry used by the application, replaced once the configuration is loaded
+    private static volatile CategoryRegistry current = defaults();
+
+    // Categories by code, in the order they were configured
+    private final ItemNumberRange[] categories;
+
+    // Codes of the categories by name
+    private final Map<String, Integer> codesByName = new HashMap<>();
+
+    // Categories sorted by their first item number, for the item number lookup
+    private final ItemNumberRange[] categoriesByItemNumber;
+
+    // Lookup table from item number to the first category that may hold it: the
+    // item numbers from lowestItemNumber on are split into buckets of
+    // 2^bucketShift numbers, each holding an index into categoriesByItemNumber
+    private final int[] bucketStarts;
+    private final int bucketShift;
+    private final int lowestItemNumber;
+    private final int highestItemNumber;
+
+    /**
+     * Creates a registry of the given categories.
+     *
+     * @param categories The categories, in the order the item type pickers show
+     *                   them; a category's code is its position in the list.
+     * @throws IllegalArgumentException If two categories share a name or their
+     *                                  ranges overlap.
+     */
+    public CategoryRegistry(List<ItemNumberRange> categories) {
+        this.categories = categories.toArray(new ItemNumberRange[0]);
+        for (int code = 0; code < this.categories.length; code++) {
+            if (codesByName.put(this.categories[code].getItemType(), code) != null) {
+                throw new IllegalArgumentException("Duplicate category: " + this.categories[code].getItemType());
+            }
+        }
+
+        categoriesByItemNumber = this.categories.clone();
+        Arrays.sort(categoriesByItemNumber, Comparator.comparingInt(ItemNumberRange::getFirstItemNumber));
+        int smallestSize = Integer.MAX_VALUE;
+        for (int i = 0; i < categoriesByItemNumber.length; i++) {
+            if (i > 0 && categoriesByItemNumber[i - 1].getLastItemNumber() >= categoriesByItemNumber[i]
+                    .getFirstItemNumber()) {
+                throw new IllegalArgumentException("The item numbers of '" + categoriesByItemNumber[i - 1].getItemType()
+                        + "' and '" + categoriesByItemNumber[i].getItemType() + "' overlap");
+            }
+            smallestSize = Math.min(smallestSize, categoriesByItemNumber[i].size());
+        }
+
+        if (categoriesByItemNumber.length == 0) {
+            bucketStarts = new int[0];
+            bucketShift = 0;
+            lowestItemNumber = 0;
+            highestItemNumber = -1;
+            return;
+        }
+        lowestItemNumber = categoriesByItemNumber[0].getFirstItemNumber();
+        highestItemNumber = categoriesByItemNumber[categoriesByItemNumber.length - 1].getLastItemNumber();
+
+        // Buckets no wider than the smallest category meet at most two categories,
+        // unless the table would get too large
+        long span = (long) highestItemNumber - lowestItemNumber + 1;
+        int shift = 31 - Integer.numberOfLeadingZeros(smallestSize);
+        while (((span - 1) >>> shift) + 1 > MAX_BUCKETS) {
+            shift++;
+        }
+        bucketShift = shift;
+        bucketStarts = new int[(int) (((span - 1) >>> shift) + 1)];
+        int category = 0;
+        for (int bucket = 0; bucket < bucketStarts.length; bucket++) {
+            long bucketStart = lowestItemNumber + ((long) bucket << shift);
+            while (categoriesByItemNumber[category].getLastItemNumber() < bucketStart) {
+                category++;
+            }
+            bucketStarts[bucket] = category;
+        }
+    }
+
+    /**
+     * Method to get the registry used by the application.
+     *
+     * @return The loaded registry, or the default one if none was loaded.
+     */
+    public static CategoryRegistry get() {
+        return current;
+    }
+
+    /**
+     * Method to make a registry the one used by the application.
+     *
+     * @param registry The registry to use.
+     */
+    public static void install(CategoryRegistry registry) {
+        current = registry;
+    }
+
+    /**
+     * Method to get the registry of the original categories: Vases (100 - 199),
+     * Table Runners (200 - 299) and Greeneries (300 - 399), with the ranges
+     * overridden by system properties applied.
+     *
+     * @return The default registry.
+     */
+    public static CategoryRegistry defaults() {
+        List<ItemNumberRange> categories = new ArrayList<>();
+        categories.add(withOverride("Vases", 100, 199));
+        categories.add(withOverride("Table Runners", 200, 299));
+        categories.add(withOverride("Greeneries", 300, 399));
+        return new CategoryRegistry(categories);
+    }
+
+    /**
+     * Method to load a registry from a configuration file.
+     *
+     * Every line holds a category as name,firstItemNumber,lastItemNumber (e.g.
+     * "Table Runners,200,299"); empty lines and lines starting with '#' are
+     * ignored. A range can still be overridden with a system property such as
+     * -Dinventory.itemNumbers.TableRunners=2000-2999.
+     *
+     * @param filePath The path of the configuration file.
+     * @return The registry of the configured categories.
+     * @throws IOException If the file cannot be read or holds an invalid line.
+     */
+    public static CategoryRegistry load(String filePath) throws IOException {
+        List<ItemNumberRange> categories = new ArrayList<>();
+        List<String> lines = Files.readAllLines(Paths.get(filePath), StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(",");
+            try {
+                if (parts.length != 3 || parts[0].trim().isEmpty()) {
+                    throw new IllegalArgumentException("Expected name,firstItemNumber,lastItemNumber");
+                }
+                categories.add(withOverride(parts[0].trim(), Integer.parseInt(parts[1].trim()),
+                        Integer.parseInt(parts[2].trim())));
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid category on line " + (i + 1) + " of " + filePath + ": " + line, e);
+            }
+        }
+        try {
+            return new CategoryRegistry(categories);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid categories in " + filePath + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Method to get the names of the categories, in their configured order.
+     *
+     * @return The category names, for the item type pickers.
+     */
+    public String[] getItemTypes() {
+        String[] itemTypes = new String[categories.length];
+        for (int code = 0; code < categories.length; code++) {
+            itemTypes[code] = categories[code].getItemType();
+        }
+        return itemTypes;
+    }
+
+    /**
+     * Method to get the number of categories.
+     *
+     * @return The number of categories; every code is below it.
+     */
+    public int size() {
+        return categories.length;
+    }
+
+    /**
+     * Method to get a category by its code.
+     *
+     * @param code The code of the category.
+     * @return The category.
+     */
+    public ItemNumberRange byCode(int code) {
+        return categories[code];
+    }
+
+    /**
+     * Method to get the code of a category.
+     *
+     * @param itemType The name of the category.
+     * @return The code of the category, or -1 if it is not registered.
+     */
+    public int codeOf(String itemType) {
+        Integer code = codesByName.get(itemType);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Method to get a category by its name.
+     *
+     * @param itemType The name of the category.
+     * @return The category, or null if it is not registered.
+     */
+    public ItemNumberRange byName(String itemType) {
+        int code = codeOf(itemType);
+        return code < 0 ? null : categories[code];
+    }
+
+    /**
+     * Method to get the range of item numbers of an item type. Item types that
+     * are not registered (e.g. found in an older CSV file) share the range
+     * 0 - 99.
+     *
+     * @param itemType The item type.
+     * @return The range of item numbers of the item type.
+     */
+    public ItemNumberRange rangeOf(String itemType) {
+        ItemNumberRange category = byName(itemType);
+        return category != null ? category
+                : new ItemNumberRange(itemType, UNKNOWN_TYPE_FIRST_ITEM_NUMBER, UNKNOWN_TYPE_LAST_ITEM_NUMBER);
+    }
+
+    /**
+     * Method to find the category whose range holds an item number.
+     *
+     * The item number's bucket points at the first category that can hold it,
+     * so only one or two categories are checked no matter how many there are.
+     *
+     * @param itemNumber The item number.
+     * @return The category holding the item number, or null if none does.
+     */
+    public ItemNumberRange byItemNumber(int itemNumber) {
+        if (itemNumber < lowestItemNumber || itemNumber > highestItemNumber) {
+            return null;
+        }
+        int bucket = (int) (((long) itemNumber - lowestItemNumber) >>> bucketShift);
+        for (int i = bucketStarts[bucket]; i < categoriesByItemNumber.length
+                && categoriesByItemNumber[i].getFirstItemNumber() <= itemNumber; i++) {
+            if (categoriesByItemNumber[i].contains(itemNumber)) {
+                return categoriesByItemNumber[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates a category, applying the range configured for it with a system
+     * property if there is one.
+     */
+    private static ItemNumberRange withOverride(String itemType, int firstItemNumber, int lastItemNumber) {
+        itemType = ItemTypeDictionary.canonical(itemType);
+        String configuredRange = System.getProperty(PROPERTY_PREFIX + itemType.replace(" ", ""));
+        if (configuredRange != null) {
+            String[] bounds = configuredRange.trim().split("-");
+            if (bounds.length == 2) {
+                try {
+                    return new ItemNumberRange(itemType, Integer.parseInt(bounds[0].trim()),
+                            Integer.parseInt(bounds[1].trim()));
+                } catch (IllegalArgumentException e) {
+                    e.printStackTrace(); // Fall back to the configured range
+                }
+            }
+        }
+        return new ItemNumberRange(itemType, firstItemNumber, lastItemNumber);
+    }
+}
@@ -0,0 +1,569 @@
+package src.store;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import src.model.InventoryItem;
+
+/**
+ * Inventory store keeping its items as primitive columns instead of one
+ * InventoryItem object (with its own LocalDate, name String and type String)
+ * per item. Item numbers, quantities and creation dates (as epoch days) are
+ * int arrays, item types are one-byte codes into a dictionary, and item names
+ * are UTF-8 bytes packed into a single arena.
+ *
+ * The items are handed out as lightweight views: an InventoryItem whose getters
+ * and setters read and write the columns. Each position has at most one view,
+ * created when it is first asked for, so the same item is always the same
+ * instance. A view removed from the store keeps a copy of its values and goes
+ * on working as a plain InventoryItem. An item added to the store is copied
+ * into the columns; the live item is the view returned by get or
+ * findByItemNumber afterwards, unless the added item is a view this store
+ * handed out before, which is reattached.
+ */
+public class ColumnarInventoryStore extends AbstractList<InventoryItem> implements RandomAccess {
+
+    // Initial number of rows of the columns
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Initial size of the name arena in bytes
+    private static final int INITIAL_ARENA_SIZE = 256;
+
+    // Largest number of distinct item types a one-byte code can hold
+    private static final int MAX_ITEM_TYPES = 256;
+
+    // Stored in place of a missing creation date or item name
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NO_NAME = -1;
+
+    // Columns of the items, indexed by position
+    private int[] itemNumbers = new int[INITIAL_CAPACITY];
+    private int[] quantities = new int[INITIAL_CAPACITY];
+    private int[] creationEpochDays = new int[INITIAL_CAPACITY];
+    private byte[] typeCodes = new byte[INITIAL_CAPACITY];
+    private int[] nameOffsets = new int[INITIAL_CAPACITY];
+    private int[] nameLengths = new int[INITIAL_CAPACITY];
+
+    // View handed out for each position, or null if none was asked for yet
+    private ItemView[] views = new ItemView[INITIAL_CAPACITY];
+
+    // Number of items held by the store
+    private int size;
+
+    // UTF-8 bytes of every item name, one after the other
+    private byte[] nameArena = new byte[INITIAL_ARENA_SIZE];
+
+    // Bytes of the arena in use, and how many of them belong to replaced names
+    private int arenaSize;
+    private int unusedArenaBytes;
+
+    // Dictionary of the item types, indexed by their code
+    private final List<String> itemTypes = new ArrayList<>();
+    private final Map<String, Integer> itemTypeCodes = new HashMap<>();
+
+    // Primary index from item number to the position of the item
+    private final ItemNumberIndex itemNumberIndex = new ItemNumberIndex();
+
+    // Free-slot bitmaps of item numbers per item type, created on first use
+    private final Map<String, ItemNumberAllocator> allocators = new HashMap<>();
+
+    // Number of items sharing their item number with another item; these are
+    // not indexed
+    private int unindexedItemCount;
+
+    /**
+     * Method to find an item by its item number.
+     *
+     * @param itemNumber The item number to look up.
+     * @return The item with the given item number, or null if there is none.
+     */
+    public InventoryItem findByItemNumber(int itemNumber) {
+        int position = positionOfItemNumber(itemNumber);
+        return position == ItemNumberIndex.NOT_FOUND ? null : get(position);
+    }
+
+    /**
+     * Method to check whether an item with the given item number exists.
+     *
+     * @param itemNumber The item number to check.
+     * @return True if an item with the item number exists, false if not.
+     */
+    public boolean containsItemNumber(int itemNumber) {
+        return positionOfItemNumber(itemNumber) != ItemNumberIndex.NOT_FOUND;
+    }
+
+    /**
+     * Method to find a free item number for a new item of the given type.
+     *
+     * @param itemType The type of the new item.
+     * @return A free item number, or ItemNumberAllocator.NO_FREE_ITEM_NUMBER if
+     *         every item number of the type is in use.
+     */
+    public int nextFreeItemNumber(String itemType) {
+        ItemNumberAllocator allocator = allocators.get(itemType);
+        if (allocator == null) {
+            // Build the bitmap of the type once from the item number column
+            allocator = new ItemNumberAllocator(ItemNumberRange.forType(itemType));
+            for (int i = 0; i < size; i++) {
+                allocator.markUsed(itemNumbers[i]);
+            }
+            allocators.put(itemType, allocator);
+        }
+        return allocator.nextFreeItemNumber();
+    }
+
+    /**
+     * Method to change the item number of an item, keeping the primary index up
+     * to date. Calling setItemNumber on a view of the store does the same.
+     *
+     * @param item          The item to renumber.
+     * @param newItemNumber The new item number.
+     */
+    public void renumber(InventoryItem item, int newItemNumber) {
+        item.setItemNumber(newItemNumber);
+    }
+
+    /**
+     * Method to remove the item with the given item number.
+     *
+     * @param itemNumber The item number of the item to remove.
+     * @return The removed item, or null if there is none.
+     */
+    public InventoryItem removeByItemNumber(int itemNumber) {
+        int position = positionOfItemNumber(itemNumber);
+        return position == ItemNumberIndex.NOT_FOUND ? null : remove(position);
+    }
+
+    /**
+     * Returns the view of the item at the given position.
+     */
+    @Override
+    public InventoryItem get(int position) {
+        checkPosition(position);
+        ItemView view = views[position];
+        if (view == null) {
+            view = new ItemView(this, position);
+            views[position] = view;
+        }
+        return view;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(InventoryItem item) {
+        ensureCapacity(size + 1);
+        int position = size++;
+        writeRow(position, item);
+        index(position);
+        reattach(position, item);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public InventoryItem set(int position, InventoryItem item) {
+        checkPosition(position);
+        InventoryItem previous = detach(position);
+        unindex(position);
+        releaseName(position);
+        writeRow(position, item);
+        index(position);
+        reattach(position, item);
+        return previous;
+    }
+
+    /**
+     * Removes the item at the given position in constant time by moving the last
+     * item into its place, so the order of the remaining items may change. The
+     * returned view keeps a copy of the item's values.
+     */
+    @Override
+    public InventoryItem remove(int position) {
+        checkPosition(position);
+        InventoryItem removed = detach(position);
+        unindex(position);
+        releaseName(position);
+
+        int lastPosition = size - 1;
+        if (position != lastPosition) {
+            unindex(lastPosition);
+            moveRow(lastPosition, position);
+            index(position);
+        }
+        views[lastPosition] = null;
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        int position = positionOf(object);
+        if (position == ItemNumberIndex.NOT_FOUND) {
+            return false;
+        }
+        remove(position);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return positionOf(object) != ItemNumberIndex.NOT_FOUND;
+    }
+
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            detach(i);
+        }
+        Arrays.fill(views, 0, size, null);
+        size = 0;
+        arenaSize = 0;
+        unusedArenaBytes = 0;
+        itemNumberIndex.clear();
+        allocators.clear();
+        unindexedItemCount = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the position of the given view of this store, or NOT_FOUND. Items
+     * are identified by instance, like in InventoryStore, so any other object is
+     * not found.
+     */
+    private int positionOf(Object object) {
+        if (object instanceof ItemView && ((ItemView) object).store == this) {
+            int position = ((ItemView) object).position;
+            return position < 0 ? ItemNumberIndex.NOT_FOUND : position;
+        }
+        return ItemNumberIndex.NOT_FOUND;
+    }
+
+    /**
+     * Returns the position of an item with the given item number, or NOT_FOUND.
+     */
+    private int positionOfItemNumber(int itemNumber) {
+        int position = itemNumberIndex.get(itemNumber);
+        if (position == ItemNumberIndex.NOT_FOUND && unindexedItemCount > 0) {
+            // Fall back to a scan of the column only if duplicate item numbers were loaded
+            for (int i = 0; i < size; i++) {
+                if (itemNumbers[i] == itemNumber) {
+                    return i;
+                }
+            }
+        }
+        return position;
+    }
+
+    private void checkPosition(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Position " + position + " out of bounds for size " + size);
+        }
+    }
+
+    /**
+     * Copies the values of an item into the columns at the given position.
+     */
+    private void writeRow(int position, InventoryItem item) {
+        itemNumbers[position] = item.getItemNumber();
+        quantities[position] = item.getQuantity();
+        creationEpochDays[position] = encodeDate(item.getCreationDate());
+        typeCodes[position] = typeCode(item.getItemType());
+        writeName(position, item.getItemName());
+    }
+
+    /**
+     * Makes a view removed from this store earlier the view of the given
+     * position again, so it stays the live instance of the item.
+     */
+    private void reattach(int position, InventoryItem item) {
+        if (item instanceof ItemView && ((ItemView) item).store == this && ((ItemView) item).position < 0) {
+            ((ItemView) item).position = position;
+            views[position] = (ItemView) item;
+        }
+    }
+
+    /**
+     * Moves the row (and its view) at one position to another.
+     */
+    private void moveRow(int from, int to) {
+        itemNumbers[to] = itemNumbers[from];
+        quantities[to] = quantities[from];
+        creationEpochDays[to] = creationEpochDays[from];
+        typeCodes[to] = typeCodes[from];
+        nameOffsets[to] = nameOffsets[from];
+        nameLengths[to] = nameLengths[from];
+        views[to] = views[from];
+        if (views[to] != null) {
+            views[to].position = to;
+        }
+    }
+
+    /**
+     * Turns the view of the given position, if any, into a detached copy and
+     * returns it (or a new plain item if no view was handed out).
+     */
+    private InventoryItem detach(int position) {
+        ItemView view = views[position];
+        if (view == null) {
+            return new InventoryItem(readName(position), quantities[position], itemNumbers[position],
+                    readItemType(position), readDate(position));
+        }
+        view.copyFrom(position);
+        views[position] = null;
+        return view;
+    }
+
+    /**
+     * Adds the item at the given position to the primary index, unless another
+     * item already holds its item number.
+     */
+    private void index(int position) {
+        int itemNumber = itemNumbers[position];
+        if (itemNumberIndex.containsKey(itemNumber)) {
+            unindexedItemCount++;
+        } else {
+            itemNumberIndex.put(itemNumber, position);
+            for (ItemNumberAllocator allocator : allocators.values()) {
+                allocator.markUsed(itemNumber);
+            }
+        }
+    }
+
+    /**
+     * Removes the item at the given position from the primary index.
+     */
+    private void unindex(int position) {
+        int itemNumber = itemNumbers[position];
+        if (itemNumberIndex.get(itemNumber) == position) {
+            itemNumberIndex.remove(itemNumber);
+
+            // Free the item number unless a duplicate still holds it
+            if (unindexedItemCount == 0 || positionOfItemNumber(itemNumber) == ItemNumberIndex.NOT_FOUND) {
+                for (ItemNumberAllocator allocator : allocators.values()) {
+                    allocator.markFree(itemNumber);
+                }
+            }
+        } else {
+            unindexedItemCount--;
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= itemNumbers.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, itemNumbers.length + (itemNumbers.length >> 1));
+        itemNumbers = Arrays.copyOf(itemNumbers, newCapacity);
+        quantities = Arrays.copyOf(quantities, newCapacity);
+        creationEpochDays = Arrays.copyOf(creationEpochDays, newCapacity);
+        typeCodes = Arrays.copyOf(typeCodes, newCapacity);
+        nameOffsets = Arrays.copyOf(nameOffsets, newCapacity);
+        nameLengths = Arrays.copyOf(nameLengths, newCapacity);
+        views = Arrays.copyOf(views, newCapacity);
+    }
+
+    private static int encodeDate(LocalDate date) {
+        return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private LocalDate readDate(int position) {
+        int epochDay = creationEpochDays[position];
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Returns the code of an item type, adding it to the dictionary if needed.
+     */
+    private byte typeCode(String itemType) {
+        Integer code = itemTypeCodes.get(itemType);
+        if (code == null) {
+            if (itemTypes.size() == MAX_ITEM_TYPES) {
+                throw new IllegalStateException("A columnar store holds at most " + MAX_ITEM_TYPES + " item types");
+            }
+            code = itemTypes.size();
+            itemTypes.add(itemType);
+            itemTypeCodes.put(itemType, code);
+        }
+        return (byte) (int) code;
+    }
+
+    private String readItemType(int position) {
+        return itemTypes.get(typeCodes[position] & 0xFF);
+    }
+
+    /**
+     * Stores the name of the item at the given position at the end of the arena.
+     * The bytes of a replaced name stay unused until the arena is compacted.
+     */
+    private void writeName(int position, String itemName) {
+        // The position holds no name while the arena may be compacted
+        nameOffsets[position] = NO_NAME;
+        nameLengths[position] = 0;
+        if (itemName == null) {
+            return;
+        }
+        byte[] bytes = itemName.getBytes(StandardCharsets.UTF_8);
+        if (arenaSize + bytes.length > nameArena.length) {
+            compactArena(bytes.length);
+        }
+        System.arraycopy(bytes, 0, nameArena, arenaSize, bytes.length);
+        nameOffsets[position] = arenaSize;
+        nameLengths[position] = bytes.length;
+        arenaSize += bytes.length;
+    }
+
+    private void releaseName(int position) {
+        unusedArenaBytes += nameLengths[position];
+        nameOffsets[position] = NO_NAME;
+        nameLengths[position] = 0;
+    }
+
+    private String readName(int position) {
+        int offset = nameOffsets[position];
+        return offset == NO_NAME ? null : new String(nameArena, offset, nameLengths[position], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Makes room for a name of the given length by copying the names still in
+     * use into a new arena. The arena grows unless dropping the bytes of replaced
+     * names frees at least half of it.
+     */
+    private void compactArena(int neededBytes) {
+        int usedBytes = arenaSize - unusedArenaBytes;
+        int length = nameArena.length;
+        if (unusedArenaBytes < arenaSize / 2 || usedBytes + neededBytes > length) {
+            length = Math.max(length + (length >> 1), usedBytes + neededBytes);
+        }
+
+        byte[] compacted = new byte[length];
+        int compactedSize = 0;
+        for (int i = 0; i < size; i++) {
+            if (nameOffsets[i] != NO_NAME) {
+                System.arraycopy(nameArena, nameOffsets[i], compacted, compactedSize, nameLengths[i]);
+                nameOffsets[i] = compactedSize;
+                compactedSize += nameLengths[i];
+            }
+        }
+        nameArena = compacted;
+        arenaSize = compactedSize;
+        unusedArenaBytes = 0;
+    }
+
+    /**
+     * An item of a ColumnarInventoryStore. While it is held by the store, its
+     * values live in the store's columns; once removed, it keeps them in the
+     * fields of InventoryItem.
+     */
+    private static final class ItemView extends InventoryItem {
+        private final ColumnarInventoryStore store;
+
+        // Position of the item in the store, or -1 once it was removed
+        private int position;
+
+        ItemView(ColumnarInventoryStore store, int position) {
+            this.store = store;
+            this.position = position;
+        }
+
+        /**
+         * Copies the values of the row into this item before it is removed.
+         */
+        void copyFrom(int row) {
+            super.setItemName(store.readName(row));
+            super.setQuantity(store.quantities[row]);
+            super.setItemNumber(store.itemNumbers[row]);
+            super.setItemType(store.readItemType(row));
+            super.setCreationDate(store.readDate(row));
+            position = -1;
+        }
+
+        @Override
+        public String getItemName() {
+            return position < 0 ? super.getItemName() : store.readName(position);
+        }
+
+        @Override
+        public void setItemName(String itemName) {
+            if (position < 0) {
+                super.setItemName(itemName);
+            } else {
+                store.releaseName(position);
+                store.writeName(position, itemName);
+            }
+        }
+
+        @Override
+        public int getQuantity() {
+            return position < 0 ? super.getQuantity() : store.quantities[position];
+        }
+
+        @Override
+        public void setQuantity(int quantity) {
+            if (position < 0) {
+                super.setQuantity(quantity);
+            } else {
+                store.quantities[position] = quantity;
+            }
+        }
+
+        @Override
+        public int getItemNumber() {
+            return position < 0 ? super.getItemNumber() : store.itemNumbers[position];
+        }
+
+        /**
+         * Changes the item number, keeping the primary index of the store up to
+         * date.
+         */
+        @Override
+        public void setItemNumber(int itemNumber) {
+            if (position < 0) {
+                super.setItemNumber(itemNumber);
+            } else {
+                store.unindex(position);
+                store.itemNumbers[position] = itemNumber;
+                store.index(position);
+            }
+        }
+
+        @Override
+        public String getItemType() {
+            return position < 0 ? super.getItemType() : store.readItemType(position);
+        }
+
+        @Override
+        public void setItemType(String itemType) {
+            if (position < 0) {
+                super.setItemType(itemType);
+            } else {
+                store.typeCodes[position] = store.typeCode(itemType);
+            }
+        }
+
+        @Override
+        public LocalDate getCreationDate() {
+            return position < 0 ? super.getCreationDate() : store.readDate(position);
+        }
+
+        @Override
+        public void setCreationDate(LocalDate creationDate) {
+            if (position < 0) {
+                super.setCreationDate(creationDate);
+            } else {
+                store.creationEpochDays[position] = encodeDate(creationDate);
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package src.store;
+
+import java.util.Collection;
+
+import src.model.InventoryItem;
+
+/**
+ * The inventory and the trash held in one table of records.
+ *
+ * Both are InventoryStore views of the same table, each with a bitset of the
+ * slots it holds. Deleting an item clears its bit in the inventory and sets it
+ * in the trash, and restoring does the reverse, so the item itself never moves
+ * and each change costs two index updates. Permanently deleting an item frees
+ * its slot for the next item added. Since the trash shares the table, item
+ * numbers held by deleted items are never handed out to new items.
+ */
+public class InventoryRecordStore {
+
+    // Items currently in the inventory
+    private final InventoryStore inventory;
+
+    // Items moved to the trash
+    private final InventoryStore trash;
+
+    /**
+     * Creates an empty inventory and trash.
+     */
+    public InventoryRecordStore() {
+        this(new InventoryStore());
+    }
+
+    /**
+     * Creates an empty trash next to an existing inventory, sharing its table.
+     *
+     * @param inventory The store of inventory items.
+     */
+    public InventoryRecordStore(InventoryStore inventory) {
+        this.inventory = inventory;
+        this.trash = inventory.newSiblingStore();
+    }
+
+    // Getter method for retrieving the store of inventory items
+    public InventoryStore getInventory() {
+        return inventory;
+    }
+
+    // Getter method for retrieving the store of deleted items
+    public InventoryStore getTrash() {
+        return trash;
+    }
+
+    /**
+     * Method to move an inventory item to the trash.
+     *
+     * @param item The inventory item.
+     * @return True if the item was moved, false if it is not in the inventory.
+     */
+    public boolean moveToTrash(InventoryItem item) {
+        return move(item, inventory, trash);
+    }
+
+    /**
+     * Method to move a deleted item back to the inventory.
+     *
+     * @param item The deleted item.
+     * @return True if the item was moved, false if it is not in the trash.
+     */
+    public boolean restore(InventoryItem item) {
+        return move(item, trash, inventory);
+    }
+
+    /**
+     * Method to remove a deleted item for good, freeing its slot.
+     *
+     * @param item The deleted item.
+     * @return True if the item was removed, false if it is not in the trash.
+     */
+    public boolean purge(InventoryItem item) {
+        return trash.remove(item);
+    }
+
+    /**
+     * Method to replace the content of the trash, such as after reading
+     * deleted_items.csv.
+     *
+     * @param items The deleted items.
+     */
+    public void replaceTrash(Collection<InventoryItem> items) {
+        trash.clear();
+        trash.addAll(items);
+    }
+
+    /**
+     * Flips the item's slot from one store to the other.
+     */
+    private static boolean move(InventoryItem item, InventoryStore from, InventoryStore to) {
+        int slot = from.slotOf(item);
+        if (slot == ItemNumberIndex.NOT_FOUND) {
+            return false;
+        }
+        from.detach(slot);
+        to.attach(slot);
+        return true;
+    }
+}
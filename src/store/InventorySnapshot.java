@@ -0,0 +1,386 @@
+package src.store;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import src.model.InventoryItem;
+
+/**
+ * Immutable version of the inventory, which any thread can read without
+ * locking while the inventory keeps changing.
+ *
+ * The items are kept in a persistent radix trie keyed by item number (32
+ * children per node, seven levels for the whole int range). Adding, replacing
+ * or removing an item copies only the seven nodes on its path, so a new
+ * version costs a few hundred bytes whatever the size of the inventory, and
+ * every older version stays valid for the readers still holding it. Each node
+ * counts the items below it, so the n-th item in item number order is found
+ * without scanning.
+ *
+ * The items of a snapshot are copies detached from the live store; they must
+ * not be modified.
+ */
+public final class InventorySnapshot {
+
+    // Bits of the item number used per level of the trie
+    private static final int BITS_PER_LEVEL = 5;
+    private static final int WIDTH = 1 << BITS_PER_LEVEL;
+    private static final int MASK = WIDTH - 1;
+
+    // Shift of the root level; seven levels of five bits cover 35 >= 32 bits
+    private static final int ROOT_SHIFT = 30;
+
+    // Snapshot without any item
+    private static final InventorySnapshot EMPTY = new InventorySnapshot(null, 0);
+
+    /**
+     * Node of the trie. Children of the last level are the items themselves.
+     * Nodes are only modified while a snapshot is being built, before it is
+     * published.
+     */
+    private static final class Node {
+        final Object[] children;
+        int count;
+
+        Node() {
+            children = new Object[WIDTH];
+        }
+
+        Node(Node node) {
+            children = node.children.clone();
+            count = node.count;
+        }
+    }
+
+    // Root of the trie, or null if the snapshot is empty
+    private final Node root;
+
+    // Number of changes applied since the first snapshot
+    private final long version;
+
+    private InventorySnapshot(Node root, long version) {
+        this.root = root;
+        this.version = version;
+    }
+
+    /**
+     * Method to get a snapshot without any item.
+     *
+     * @return The empty snapshot.
+     */
+    public static InventorySnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Method to build a snapshot of the given items, copying each one. If several
+     * items share an item number, the first one is kept, as in InventoryStore.
+     *
+     * @param items The items.
+     * @return The snapshot.
+     */
+    public static InventorySnapshot of(Collection<InventoryItem> items) {
+        Node root = null;
+        for (InventoryItem item : items) {
+            if (root == null) {
+                root = new Node();
+            }
+            // Nodes created here are not shared yet, so they are filled in place
+            Node node = root;
+            int key = keyOf(item.getItemNumber());
+            Node[] path = new Node[ROOT_SHIFT / BITS_PER_LEVEL + 1];
+            int depth = 0;
+            for (int shift = ROOT_SHIFT; shift > 0; shift -= BITS_PER_LEVEL) {
+                path[depth++] = node;
+                int index = (key >>> shift) & MASK;
+                Node child = (Node) node.children[index];
+                if (child == null) {
+                    child = new Node();
+                    node.children[index] = child;
+                }
+                node = child;
+            }
+            path[depth] = node;
+            int index = key & MASK;
+            if (node.children[index] == null) {
+                node.children[index] = copyOf(item);
+                for (Node onPath : path) {
+                    onPath.count++;
+                }
+            }
+        }
+        return root == null ? EMPTY : new InventorySnapshot(root, 0);
+    }
+
+    /**
+     * Method to make a detached copy of an item, as stored by a snapshot.
+     *
+     * @param item The item.
+     * @return A copy holding the same values.
+     */
+    public static InventoryItem copyOf(InventoryItem item) {
+        return new InventoryItem(item.getItemName(), item.getQuantity(), item.getItemNumber(), item.getItemType(),
+                item.getCreationDate());
+    }
+
+    /**
+     * Method to find an item by its item number.
+     *
+     * @param itemNumber The item number.
+     * @return The item, or null if the snapshot has no item with the number.
+     */
+    public InventoryItem get(int itemNumber) {
+        int key = keyOf(itemNumber);
+        Node node = root;
+        for (int shift = ROOT_SHIFT; node != null && shift > 0; shift -= BITS_PER_LEVEL) {
+            node = (Node) node.children[(key >>> shift) & MASK];
+        }
+        return node == null ? null : (InventoryItem) node.children[key & MASK];
+    }
+
+    /**
+     * Method to create a version of the snapshot holding the given item in place
+     * of any item with the same item number. The item is copied.
+     *
+     * @param item The item to add or replace.
+     * @return The new snapshot.
+     */
+    public InventorySnapshot with(InventoryItem item) {
+        InventoryItem copy = copyOf(item);
+        int key = keyOf(item.getItemNumber());
+        boolean added = get(item.getItemNumber()) == null;
+        return new InventorySnapshot(with(root, ROOT_SHIFT, key, copy, added), version + 1);
+    }
+
+    private static Node with(Node node, int shift, int key, InventoryItem item, boolean added) {
+        Node copy = node == null ? new Node() : new Node(node);
+        int index = (key >>> shift) & MASK;
+        if (shift == 0) {
+            copy.children[index] = item;
+        } else {
+            copy.children[index] = with((Node) copy.children[index], shift - BITS_PER_LEVEL, key, item, added);
+        }
+        if (added) {
+            copy.count++;
+        }
+        return copy;
+    }
+
+    /**
+     * Method to create a version of the snapshot without the item with the given
+     * item number.
+     *
+     * @param itemNumber The item number.
+     * @return The new snapshot, or this one if it has no item with the number.
+     */
+    public InventorySnapshot without(int itemNumber) {
+        if (get(itemNumber) == null) {
+            return this;
+        }
+        return new InventorySnapshot(without(root, ROOT_SHIFT, keyOf(itemNumber)), version + 1);
+    }
+
+    private static Node without(Node node, int shift, int key) {
+        if (node.count == 1) {
+            return null; // The item is the only one below the node
+        }
+        Node copy = new Node(node);
+        int index = (key >>> shift) & MASK;
+        copy.children[index] = shift == 0 ? null
+                : without((Node) copy.children[index], shift - BITS_PER_LEVEL, key);
+        copy.count--;
+        return copy;
+    }
+
+    // Getter method for retrieving the number of items
+    public int size() {
+        return root == null ? 0 : root.count;
+    }
+
+    // Getter method for retrieving the number of changes applied since the first
+    // snapshot
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Method to get the item at the given position in item number order.
+     *
+     * @param position The position, from 0 to size() - 1.
+     * @return The item.
+     */
+    public InventoryItem getAt(int position) {
+        if (position < 0 || position >= size()) {
+            throw new IndexOutOfBoundsException("Position " + position + " of " + size());
+        }
+        Node node = root;
+        int remaining = position;
+        for (int shift = ROOT_SHIFT; shift > 0; shift -= BITS_PER_LEVEL) {
+            for (Object child : node.children) {
+                if (child == null) {
+                    continue;
+                }
+                int count = ((Node) child).count;
+                if (remaining < count) {
+                    node = (Node) child;
+                    break;
+                }
+                remaining -= count;
+            }
+        }
+        for (Object child : node.children) {
+            if (child != null && remaining-- == 0) {
+                return (InventoryItem) child;
+            }
+        }
+        throw new IllegalStateException("Item counts of the snapshot are inconsistent");
+    }
+
+    /**
+     * Method to view the items as a list in item number order. Access by position
+     * walks down the trie; iteration visits every item once, and iterating a
+     * sublist walks down the trie only once to find its first item.
+     *
+     * @return An unmodifiable list of the items.
+     */
+    public List<InventoryItem> asList() {
+        return new SnapshotList(0, size());
+    }
+
+    /**
+     * Items of the snapshot from one position to another.
+     */
+    private final class SnapshotList extends AbstractList<InventoryItem> {
+        private final int from;
+        private final int to;
+
+        SnapshotList(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public InventoryItem get(int position) {
+            if (position < 0 || position >= size()) {
+                throw new IndexOutOfBoundsException("Position " + position + " of " + size());
+            }
+            return getAt(from + position);
+        }
+
+        @Override
+        public int size() {
+            return to - from;
+        }
+
+        @Override
+        public Iterator<InventoryItem> iterator() {
+            return new SnapshotIterator(root, from, size());
+        }
+
+        @Override
+        public List<InventoryItem> subList(int fromIndex, int toIndex) {
+            if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("Range " + fromIndex + " to " + toIndex + " of " + size());
+            }
+            return new SnapshotList(from + fromIndex, from + toIndex);
+        }
+    }
+
+    /**
+     * Visits the items in item number order with one cursor per level.
+     */
+    private static final class SnapshotIterator implements Iterator<InventoryItem> {
+        private final Node[] nodes = new Node[ROOT_SHIFT / BITS_PER_LEVEL + 1];
+        private final int[] indexes = new int[nodes.length];
+        private InventoryItem next;
+        private int remaining;
+
+        SnapshotIterator(Node root, int position, int count) {
+            remaining = count;
+            if (count == 0) {
+                return;
+            }
+            // Walk down to the item at the position, as getAt does, keeping the path
+            Node node = root;
+            int skipped = position;
+            int level = 0;
+            for (; level < nodes.length - 1; level++) {
+                nodes[level] = node;
+                for (int index = 0; index < WIDTH; index++) {
+                    Node child = (Node) node.children[index];
+                    if (child == null) {
+                        continue;
+                    }
+                    if (skipped < child.count) {
+                        indexes[level] = index;
+                        node = child;
+                        break;
+                    }
+                    skipped -= child.count;
+                }
+            }
+            nodes[level] = node;
+            for (int index = 0; index < WIDTH; index++) {
+                if (node.children[index] != null && skipped-- == 0) {
+                    indexes[level] = index;
+                    next = (InventoryItem) node.children[index];
+                    return;
+                }
+            }
+            throw new IllegalStateException("Item counts of the snapshot are inconsistent");
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public InventoryItem next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            InventoryItem item = next;
+            if (--remaining > 0) {
+                advance(nodes.length - 1);
+            }
+            return item;
+        }
+
+        /**
+         * Moves to the next item, starting at the given level.
+         */
+        private void advance(int level) {
+            next = null;
+            while (level >= 0) {
+                Node node = nodes[level];
+                int index = indexes[level] + 1;
+                while (index < WIDTH && node.children[index] == null) {
+                    index++;
+                }
+                if (index == WIDTH) {
+                    level--; // Done with this node; continue with its parent
+                    continue;
+                }
+                indexes[level] = index;
+                if (level == nodes.length - 1) {
+                    next = (InventoryItem) node.children[index];
+                    return;
+                }
+                nodes[level + 1] = (Node) node.children[index];
+                indexes[level + 1] = -1;
+                level++;
+            }
+        }
+    }
+
+    /**
+     * Maps an item number to an unsigned key with the same order.
+     */
+    private static int keyOf(int itemNumber) {
+        return itemNumber ^ Integer.MIN_VALUE;
+    }
+}
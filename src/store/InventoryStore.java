@@ -0,0 +1,441 @@
+package src.store;
+
+import java.util.AbstractCollection;
+import java.util.AbstractList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+import src.model.InventoryItem;
+
+/**
+ * Collection of inventory items indexed by item number.
+ *
+ * The items live in the slots of a record table, which the store may share
+ * with other stores (see InventoryRecordStore, holding the inventory and the
+ * trash). The store keeps a bitset of the slots it holds, so an item can move
+ * between two stores of the same table by flipping its bit in each, without
+ * copying it. Items are listed in slot order, so an added item takes the
+ * position of the first free slot rather than the end, and positions shift
+ * when items before them are removed. The store is therefore not a List;
+ * asList gives a read-only List view for code that reads items by position,
+ * such as a table model.
+ */
+public class InventoryStore extends AbstractCollection<InventoryItem> {
+
+    // Table holding the items of the store, possibly shared with other stores
+    private final ItemRecordTable table;
+
+    // One bit per slot of the table, set while the store holds the slot's item
+    private long[] slotBits = new long[1];
+
+    // Number of items held by the store
+    private int size;
+
+    // Number of items held in the slots before each word of the bitset, valid
+    // for the first rankedWords words only
+    private int[] wordRanks = new int[1];
+    private int rankedWords;
+
+    // Primary index from item number to the slot of the item
+    private final ItemNumberIndex itemNumberIndex = new ItemNumberIndex();
+
+    // Number of items sharing their item number with another item (only
+    // possible when loading a hand-edited CSV file); these are not indexed
+    private int unindexedItemCount;
+
+    // Number of times items were added or removed, to fail fast in iterators
+    private int modCount;
+
+    /**
+     * Creates an empty store with a table of its own.
+     */
+    public InventoryStore() {
+        this(new ItemRecordTable());
+    }
+
+    /**
+     * Creates an empty store holding items of the given table.
+     *
+     * @param table The table holding the items.
+     */
+    InventoryStore(ItemRecordTable table) {
+        this.table = table;
+        table.register(this);
+    }
+
+    /**
+     * Creates an empty store sharing the table of this one.
+     */
+    InventoryStore newSiblingStore() {
+        return new InventoryStore(table);
+    }
+
+    /**
+     * Method to find an item by its item number.
+     *
+     * The lookup goes through the primary index, so it takes the same time no
+     * matter how many items the store holds.
+     *
+     * @param itemNumber The item number to look up.
+     * @return The item with the given item number, or null if there is none.
+     */
+    public InventoryItem findByItemNumber(int itemNumber) {
+        int slot = itemNumberIndex.get(itemNumber);
+        if (slot != ItemNumberIndex.NOT_FOUND) {
+            return table.get(slot);
+        }
+
+        // Fall back to a scan only if duplicate item numbers were loaded
+        if (unindexedItemCount > 0) {
+            for (InventoryItem item : this) {
+                if (item.getItemNumber() == itemNumber) {
+                    return item;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method to check whether an item with the given item number exists.
+     *
+     * @param itemNumber The item number to check.
+     * @return True if an item with the item number exists, false if not.
+     */
+    public boolean containsItemNumber(int itemNumber) {
+        return findByItemNumber(itemNumber) != null;
+    }
+
+    /**
+     * Method to find a free item number for a new item of the given type.
+     *
+     * Each item type has a bitmap of the item numbers in its range that is kept
+     * up to date as items are added, removed and renumbered, so a free number is
+     * found in O(1) amortized time. Numbers held by the other stores of the table
+     * (such as the trash) count as used, so restoring an item never finds its
+     * number taken by a newer one. The number is reserved once the new item is
+     * added to the store.
+     *
+     * @param itemType The type of the new item.
+     * @return A free item number, or ItemNumberAllocator.NO_FREE_ITEM_NUMBER if
+     *         every item number of the type is in use.
+     */
+    public int nextFreeItemNumber(String itemType) {
+        return table.nextFreeItemNumber(itemType);
+    }
+
+    /**
+     * Method to change the item number of an item held by the store, keeping the
+     * primary index up to date.
+     *
+     * @param item          The item to renumber.
+     * @param newItemNumber The new item number.
+     */
+    public void renumber(InventoryItem item, int newItemNumber) {
+        int slot = slotOf(item);
+        if (slot == ItemNumberIndex.NOT_FOUND) {
+            item.setItemNumber(newItemNumber);
+            return;
+        }
+
+        int previousItemNumber = item.getItemNumber();
+        item.setItemNumber(newItemNumber);
+        unindex(previousItemNumber, slot);
+        index(item, slot);
+    }
+
+    /**
+     * Method to remove the item with the given item number.
+     *
+     * @param itemNumber The item number of the item to remove.
+     * @return The removed item, or null if there is none.
+     */
+    public InventoryItem removeByItemNumber(int itemNumber) {
+        InventoryItem item = findByItemNumber(itemNumber);
+        if (item != null) {
+            removeSlot(slotOf(item));
+        }
+        return item;
+    }
+
+    /**
+     * Method to find the item at the given position in slot order, by counting
+     * the set bits of the bitset, in O(log n) time once the word ranks are up to
+     * date.
+     *
+     * @param position The position, from 0 to size() - 1.
+     * @return The item at the position.
+     */
+    public InventoryItem get(int position) {
+        return table.get(slotAt(position));
+    }
+
+    /**
+     * Method to get a read-only List view of the items in slot order, for code
+     * that reads them by position. The view follows later changes to the store.
+     *
+     * @return The List view of the store.
+     */
+    public List<InventoryItem> asList() {
+        return new ListView();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(InventoryItem item) {
+        attach(table.allocate(item));
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object object) {
+        if (!(object instanceof InventoryItem)) {
+            return false;
+        }
+        int slot = slotOf((InventoryItem) object);
+        if (slot == ItemNumberIndex.NOT_FOUND) {
+            return false;
+        }
+        removeSlot(slot);
+        return true;
+    }
+
+    @Override
+    public boolean contains(Object object) {
+        return object instanceof InventoryItem && slotOf((InventoryItem) object) != ItemNumberIndex.NOT_FOUND;
+    }
+
+    @Override
+    public void clear() {
+        for (int slot = nextSlot(0); slot >= 0; slot = nextSlot(slot + 1)) {
+            table.release(slot);
+        }
+        slotBits = new long[1];
+        wordRanks = new int[1];
+        rankedWords = 0;
+        size = 0;
+        itemNumberIndex.clear();
+        unindexedItemCount = 0;
+        table.resetAllocators();
+        modCount++;
+    }
+
+    /**
+     * Visits the items in slot order, skipping 64 free slots at a time.
+     */
+    @Override
+    public Iterator<InventoryItem> iterator() {
+        return new Iterator<InventoryItem>() {
+            private int nextSlot = nextSlot(0);
+            private int lastSlot = -1;
+            private int expectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                return nextSlot >= 0;
+            }
+
+            @Override
+            public InventoryItem next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (nextSlot < 0) {
+                    throw new NoSuchElementException();
+                }
+                lastSlot = nextSlot;
+                nextSlot = nextSlot(nextSlot + 1);
+                return table.get(lastSlot);
+            }
+
+            @Override
+            public void remove() {
+                if (lastSlot < 0) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                removeSlot(lastSlot);
+                lastSlot = -1;
+                expectedModCount = modCount;
+            }
+        };
+    }
+
+    /**
+     * Read-only List view of the store, reading the items by position.
+     */
+    private final class ListView extends AbstractList<InventoryItem> implements RandomAccess {
+
+        @Override
+        public InventoryItem get(int position) {
+            return InventoryStore.this.get(position);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<InventoryItem> iterator() {
+            return Collections.unmodifiableCollection(InventoryStore.this).iterator();
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            return InventoryStore.this.contains(object);
+        }
+    }
+
+    /**
+     * Returns the slot of the given item instance, or NOT_FOUND.
+     */
+    int slotOf(InventoryItem item) {
+        int slot = itemNumberIndex.get(item.getItemNumber());
+        if (slot != ItemNumberIndex.NOT_FOUND && table.get(slot) == item) {
+            return slot;
+        }
+        if (unindexedItemCount > 0) {
+            for (int candidate = nextSlot(0); candidate >= 0; candidate = nextSlot(candidate + 1)) {
+                if (table.get(candidate) == item) {
+                    return candidate;
+                }
+            }
+        }
+        return ItemNumberIndex.NOT_FOUND;
+    }
+
+    /**
+     * Starts holding the item of the given slot of the table.
+     */
+    void attach(int slot) {
+        int word = slot >>> 6;
+        if (word >= slotBits.length) {
+            int length = Math.max(word + 1, slotBits.length * 2);
+            long[] grownBits = new long[length];
+            System.arraycopy(slotBits, 0, grownBits, 0, slotBits.length);
+            slotBits = grownBits;
+            int[] grownRanks = new int[length];
+            System.arraycopy(wordRanks, 0, grownRanks, 0, wordRanks.length);
+            wordRanks = grownRanks;
+        }
+        slotBits[word] |= 1L << slot;
+        size++;
+        rankedWords = Math.min(rankedWords, word + 1);
+        index(table.get(slot), slot);
+        modCount++;
+    }
+
+    /**
+     * Stops holding the item of the given slot, leaving the slot to the caller.
+     */
+    void detach(int slot) {
+        int word = slot >>> 6;
+        slotBits[word] &= ~(1L << slot);
+        size--;
+        rankedWords = Math.min(rankedWords, word + 1);
+        unindex(table.get(slot).getItemNumber(), slot);
+        modCount++;
+    }
+
+    /**
+     * Removes the item of the given slot and frees the slot.
+     */
+    private InventoryItem removeSlot(int slot) {
+        InventoryItem removed = table.get(slot);
+        detach(slot);
+        table.release(slot);
+        return removed;
+    }
+
+    /**
+     * Returns the first slot held from the given one on, or -1.
+     */
+    private int nextSlot(int fromSlot) {
+        int word = fromSlot >>> 6;
+        if (word >= slotBits.length) {
+            return -1;
+        }
+        long bits = slotBits[word] & (-1L << fromSlot);
+        while (bits == 0) {
+            if (++word == slotBits.length) {
+                return -1;
+            }
+            bits = slotBits[word];
+        }
+        return (word << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Returns the slot of the item at the given position: the word holding it is
+     * found by a binary search over the word ranks, then the bit within it.
+     */
+    private int slotAt(int position) {
+        if (position < 0 || position >= size) {
+            throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+        }
+
+        // Bring the ranks up to date from the first word changed since last time
+        for (int word = Math.max(rankedWords, 1); word < slotBits.length; word++) {
+            wordRanks[word] = wordRanks[word - 1] + Long.bitCount(slotBits[word - 1]);
+        }
+        rankedWords = slotBits.length;
+
+        // Last word with fewer items before it than the position
+        int low = 0;
+        int high = slotBits.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (wordRanks[middle] <= position) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        long bits = slotBits[low];
+        for (int skipped = position - wordRanks[low]; skipped > 0; skipped--) {
+            bits &= bits - 1; // Drop the lowest set bit
+        }
+        return (low << 6) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * Adds the item in the given slot to the primary index, unless another item
+     * already holds its item number.
+     */
+    private void index(InventoryItem item, int slot) {
+        if (itemNumberIndex.containsKey(item.getItemNumber())) {
+            unindexedItemCount++;
+        } else {
+            itemNumberIndex.put(item.getItemNumber(), slot);
+            table.markUsed(item.getItemNumber());
+        }
+    }
+
+    /**
+     * Removes the item number an item in the given slot was indexed under, once
+     * the store no longer holds it with that number. A duplicate of the item
+     * number stays unindexed and is still found by the fallback scan.
+     */
+    private void unindex(int itemNumber, int slot) {
+        if (itemNumberIndex.get(itemNumber) == slot) {
+            itemNumberIndex.remove(itemNumber);
+        } else {
+            unindexedItemCount--;
+        }
+
+        // Free the item number unless a duplicate still holds it
+        table.markFreeUnlessHeld(itemNumber);
+    }
+}
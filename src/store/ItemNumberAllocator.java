@@ -0,0 +1,114 @@
+package src.store;
+
+public class ItemNumberAllocator {
+
+    // Returned by nextFreeItemNumber when every item number of the range is in use
+    public static final int NO_FREE_ITEM_NUMBER = -1;
+
+    // Range of item numbers handed out by this allocator
+    private final ItemNumberRange range;
+
+    // One bit per item number of the range, set while the number is in use
+    private final long[] usedBits;
+
+    // Number of item numbers of the range currently in use
+    private int usedCount;
+
+    // Word of the bitmap where the search for a free item number starts
+    private int cursor;
+
+    /**
+     * Creates an allocator with every item number of the range free.
+     *
+     * @param range The range of item numbers to allocate from.
+     */
+    public ItemNumberAllocator(ItemNumberRange range) {
+        this.range = range;
+        this.usedBits = new long[(range.size() + 63) >>> 6];
+    }
+
+    /**
+     * Method to find a free item number of the range.
+     *
+     * The search resumes at the bitmap word where the previous one stopped and
+     * skips 64 used numbers at a time, so a free number is found in O(1)
+     * amortized time. The number is only marked as used once an item holding it
+     * is added, so a cancelled creation does not leak it.
+     *
+     * @return A free item number, or NO_FREE_ITEM_NUMBER if the range is
+     *         exhausted.
+     */
+    public int nextFreeItemNumber() {
+        if (usedCount == range.size()) {
+            return NO_FREE_ITEM_NUMBER;
+        }
+
+        for (int checked = 0; checked < usedBits.length; checked++) {
+            int word = cursor;
+            long freeBits = ~usedBits[word];
+
+            // Ignore the bits past the end of the range in the last word
+            if (word == usedBits.length - 1 && (range.size() & 63) != 0) {
+                freeBits &= (1L << (range.size() & 63)) - 1;
+            }
+
+            if (freeBits != 0) {
+                int offset = (word << 6) + Long.numberOfTrailingZeros(freeBits);
+                return range.getFirstItemNumber() + offset;
+            }
+            cursor = (cursor + 1) % usedBits.length;
+        }
+        return NO_FREE_ITEM_NUMBER;
+    }
+
+    /**
+     * Method to mark an item number as used. Numbers outside the range are
+     * ignored.
+     *
+     * @param itemNumber The item number now in use.
+     */
+    public void markUsed(int itemNumber) {
+        if (!range.contains(itemNumber)) {
+            return;
+        }
+        int offset = itemNumber - range.getFirstItemNumber();
+        long bit = 1L << (offset & 63);
+        if ((usedBits[offset >>> 6] & bit) == 0) {
+            usedBits[offset >>> 6] |= bit;
+            usedCount++;
+        }
+    }
+
+    /**
+     * Method to mark an item number as free again. Numbers outside the range are
+     * ignored.
+     *
+     * @param itemNumber The item number no longer in use.
+     */
+    public void markFree(int itemNumber) {
+        if (!range.contains(itemNumber)) {
+            return;
+        }
+        int offset = itemNumber - range.getFirstItemNumber();
+        long bit = 1L << (offset & 63);
+        if ((usedBits[offset >>> 6] & bit) != 0) {
+            usedBits[offset >>> 6] &= ~bit;
+            usedCount--;
+
+            // Resume the next search at the freed number if it comes earlier
+            if ((offset >>> 6) < cursor) {
+                cursor = offset >>> 6;
+            }
+        }
+    }
+
+    // Getter method for retrieving the range of the allocator
+    public ItemNumberRange getRange() {
+        return range;
+    }
+
+    // Getter method for retrieving the number of free item numbers
+    public int getFreeCount() {
+        return range.size() - usedCount;
+    }
+}
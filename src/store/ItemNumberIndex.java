@@ -0,0 +1,152 @@
+package src.store;
+
+import java.util.Arrays;
+
+public class ItemNumberIndex {
+
+    // Returned by get when an item number is not in the index
+    public static final int NOT_FOUND = -1;
+
+    // Initial number of slots, always a power of two
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Open-addressing table: item numbers, their positions and slot occupancy
+    private int[] keys;
+    private int[] values;
+    private boolean[] occupied;
+
+    // Number of item numbers held in the index
+    private int size;
+
+    /**
+     * Creates an empty index.
+     */
+    public ItemNumberIndex() {
+        keys = new int[INITIAL_CAPACITY];
+        values = new int[INITIAL_CAPACITY];
+        occupied = new boolean[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Method to look up the value stored for an item number.
+     *
+     * @param itemNumber The item number to look up.
+     * @return The stored value, or NOT_FOUND if the item number is not indexed.
+     */
+    public int get(int itemNumber) {
+        int mask = keys.length - 1;
+        for (int slot = hash(itemNumber) & mask; occupied[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == itemNumber) {
+                return values[slot];
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Method to check whether an item number is indexed.
+     *
+     * @param itemNumber The item number to check.
+     * @return True if the item number is in the index, false if not.
+     */
+    public boolean containsKey(int itemNumber) {
+        return get(itemNumber) != NOT_FOUND;
+    }
+
+    /**
+     * Method to store a value for an item number, replacing any previous value.
+     *
+     * @param itemNumber The item number.
+     * @param value      The value to store (must not be negative).
+     */
+    public void put(int itemNumber, int value) {
+        // Keep the load factor at or below one half
+        if ((size + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(itemNumber) & mask;
+        while (occupied[slot]) {
+            if (keys[slot] == itemNumber) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = itemNumber;
+        values[slot] = value;
+        occupied[slot] = true;
+        size++;
+    }
+
+    /**
+     * Method to remove an item number from the index.
+     *
+     * @param itemNumber The item number to remove.
+     */
+    public void remove(int itemNumber) {
+        int mask = keys.length - 1;
+        int slot = hash(itemNumber) & mask;
+        while (occupied[slot] && keys[slot] != itemNumber) {
+            slot = (slot + 1) & mask;
+        }
+        if (!occupied[slot]) {
+            return;
+        }
+
+        // Shift later entries of the probe chain back so lookups never hit a gap
+        int gap = slot;
+        for (int next = (gap + 1) & mask; occupied[next]; next = (next + 1) & mask) {
+            int home = hash(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        occupied[gap] = false;
+        size--;
+    }
+
+    /**
+     * Method to remove every item number from the index.
+     */
+    public void clear() {
+        Arrays.fill(occupied, false);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of item numbers held in the index.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Rebuilds the table with the given number of slots.
+     */
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldOccupied = occupied;
+        keys = new int[capacity];
+        values = new int[capacity];
+        occupied = new boolean[capacity];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldOccupied[i]) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    /**
+     * Spreads the bits of an item number, since item numbers are often sequential.
+     */
+    private static int hash(int itemNumber) {
+        int h = itemNumber * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
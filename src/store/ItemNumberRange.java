@@ -0,0 +1,72 @@
+package src.store;
+
+public class ItemNumberRange {
+
+    // Type of the items numbered from this range
+    private final String itemType;
+
+    // First and last item number of the range (inclusive)
+    private final int firstItemNumber;
+    private final int lastItemNumber;
+
+    /**
+     * Creates a range of item numbers for an item type.
+     *
+     * @param itemType        The type of the items numbered from the range.
+     * @param firstItemNumber The first item number of the range.
+     * @param lastItemNumber  The last item number of the range (inclusive).
+     */
+    public ItemNumberRange(String itemType, int firstItemNumber, int lastItemNumber) {
+        if (lastItemNumber < firstItemNumber) {
+            throw new IllegalArgumentException("Invalid item number range for '" + itemType + "': "
+                    + firstItemNumber + "-" + lastItemNumber);
+        }
+        this.itemType = itemType;
+        this.firstItemNumber = firstItemNumber;
+        this.lastItemNumber = lastItemNumber;
+    }
+
+    /**
+     * Method to get the range of item numbers for an item type.
+     *
+     * The ranges come from the category registry (see CategoryRegistry), which
+     * by default holds Vases (100 - 199), Table Runners (200 - 299) and
+     * Greeneries (300 - 399); unknown item types use 0 - 99.
+     *
+     * @param itemType The type of the item.
+     * @return The range of item numbers for the item type.
+     */
+    public static ItemNumberRange forType(String itemType) {
+        return CategoryRegistry.get().rangeOf(itemType);
+    }
+
+    /**
+     * Method to check whether an item number belongs to the range.
+     *
+     * @param itemNumber The item number to check.
+     * @return True if the item number is within the range, false if not.
+     */
+    public boolean contains(int itemNumber) {
+        return itemNumber >= firstItemNumber && itemNumber <= lastItemNumber;
+    }
+
+    // Getter method for retrieving the item type
+    public String getItemType() {
+        return itemType;
+    }
+
+    // Getter method for retrieving the first item number of the range
+    public int getFirstItemNumber() {
+        return firstItemNumber;
+    }
+
+    // Getter method for retrieving the last item number of the range
+    public int getLastItemNumber() {
+        return lastItemNumber;
+    }
+
+    // Getter method for retrieving the number of item numbers in the range
+    public int size() {
+        return lastItemNumber - firstItemNumber + 1;
+    }
+}
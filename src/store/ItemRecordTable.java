@@ -0,0 +1,132 @@
+package src.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import src.model.InventoryItem;
+
+/**
+ * Slots holding the items of one or more InventoryStore views. An item keeps
+ * its slot for as long as a view of the table holds it, so moving it from one
+ * view to another only flips its bit in the two views. The slots of removed
+ * items are reused by the next additions.
+ */
+final class ItemRecordTable {
+
+    // Items by slot; null for a free slot
+    private final ArrayList<InventoryItem> records = new ArrayList<>();
+
+    // Free slots, reused before the table grows
+    private int[] freeSlots = new int[16];
+    private int freeSlotCount;
+
+    // Views holding the items of the table
+    private final List<InventoryStore> views = new ArrayList<>(2);
+
+    // Free-slot bitmaps of item numbers per item type, created on first use; an
+    // item number is in use while any view holds an item with it
+    private final Map<String, ItemNumberAllocator> allocators = new HashMap<>();
+
+    /**
+     * Registers a view of the table.
+     */
+    void register(InventoryStore view) {
+        views.add(view);
+        allocators.clear(); // Rebuilt with the items of the new view on next use
+    }
+
+    /**
+     * Puts an item in a free slot.
+     *
+     * @return The slot.
+     */
+    int allocate(InventoryItem item) {
+        if (freeSlotCount > 0) {
+            int slot = freeSlots[--freeSlotCount];
+            records.set(slot, item);
+            return slot;
+        }
+        records.add(item);
+        return records.size() - 1;
+    }
+
+    /**
+     * Frees a slot no view holds anymore.
+     */
+    void release(int slot) {
+        records.set(slot, null);
+        if (freeSlotCount == freeSlots.length) {
+            int[] grown = new int[freeSlots.length * 2];
+            System.arraycopy(freeSlots, 0, grown, 0, freeSlotCount);
+            freeSlots = grown;
+        }
+        freeSlots[freeSlotCount++] = slot;
+    }
+
+    InventoryItem get(int slot) {
+        return records.get(slot);
+    }
+
+    void set(int slot, InventoryItem item) {
+        records.set(slot, item);
+    }
+
+    // Getter method for retrieving the number of slots, used or free
+    int capacity() {
+        return records.size();
+    }
+
+    /**
+     * Finds an item number of the given type that no view holds.
+     */
+    int nextFreeItemNumber(String itemType) {
+        ItemNumberAllocator allocator = allocators.get(itemType);
+        if (allocator == null) {
+            // Build the bitmap of the type once from the items already held
+            allocator = new ItemNumberAllocator(ItemNumberRange.forType(itemType));
+            for (InventoryStore view : views) {
+                for (InventoryItem item : view) {
+                    allocator.markUsed(item.getItemNumber());
+                }
+            }
+            allocators.put(itemType, allocator);
+        }
+        return allocator.nextFreeItemNumber();
+    }
+
+    /**
+     * Marks an item number as used after a view started holding it.
+     */
+    void markUsed(int itemNumber) {
+        for (ItemNumberAllocator allocator : allocators.values()) {
+            allocator.markUsed(itemNumber);
+        }
+    }
+
+    /**
+     * Marks an item number as free after a view stopped holding it, unless a
+     * view still holds an item with it.
+     */
+    void markFreeUnlessHeld(int itemNumber) {
+        if (allocators.isEmpty()) {
+            return;
+        }
+        for (InventoryStore view : views) {
+            if (view.containsItemNumber(itemNumber)) {
+                return;
+            }
+        }
+        for (ItemNumberAllocator allocator : allocators.values()) {
+            allocator.markFree(itemNumber);
+        }
+    }
+
+    /**
+     * Drops the bitmaps of item numbers, to be rebuilt on next use.
+     */
+    void resetAllocators() {
+        allocators.clear();
+    }
+}
@@ -0,0 +1,213 @@
+package src.store;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Number of units of each item reserved on each day.
+ *
+ * Every item with reservations has a segment tree over the days from
+ * FIRST_DAY to LAST_DAY. A reservation adds its quantity to the O(log days)
+ * nodes covering its date range, and each node keeps the highest number of
+ * units reserved on any day below it, so the peak reservation over a date
+ * range, and the first day it exceeds the stock, are found in O(log days)
+ * time however many reservations the item has. Nodes are created the first
+ * time a reservation reaches them and dropped once no reservation holds units
+ * below them, so an item booked for a few weekends only holds a few dozen
+ * nodes.
+ */
+public class ReservationCalendar {
+
+    // Number of days covered by the calendar, a power of two
+    private static final int DAY_COUNT = 1 << 17;
+
+    // First and last day a reservation may cover (1970-01-01 to 2328-11-08)
+    public static final LocalDate FIRST_DAY = LocalDate.ofEpochDay(0);
+    public static final LocalDate LAST_DAY = LocalDate.ofEpochDay(DAY_COUNT - 1);
+
+    /**
+     * Node of a segment tree, covering a range of days. Missing children
+     * cover days without reservations.
+     */
+    private static final class Node {
+        Node left;
+        Node right;
+
+        // Units reserved on every day of the range by reservations covering the
+        // whole range
+        int covering;
+
+        // Highest number of units reserved on any day of the range, including
+        // covering
+        int peak;
+    }
+
+    // Root of the segment tree of every item with reservations
+    private final Map<Integer, Node> roots = new HashMap<>();
+
+    /**
+     * Method to check whether a day can be covered by a reservation.
+     *
+     * @param day The day.
+     * @return True if the day is between FIRST_DAY and LAST_DAY.
+     */
+    public static boolean isWithinCalendar(LocalDate day) {
+        return !day.isBefore(FIRST_DAY) && !day.isAfter(LAST_DAY);
+    }
+
+    /**
+     * Method to add reserved units to every day of a range.
+     *
+     * @param itemNumber The item number of the reserved item.
+     * @param from       The first day of the range.
+     * @param to         The last day of the range.
+     * @param quantity   The number of units, negative to release units.
+     */
+    public void add(int itemNumber, LocalDate from, LocalDate to, int quantity) {
+        Node root = add(roots.get(itemNumber), 0, DAY_COUNT - 1, dayOf(from), dayOf(to), quantity);
+        if (root == null) {
+            roots.remove(itemNumber); // The last reservation of the item was released
+        } else {
+            roots.put(itemNumber, root);
+        }
+    }
+
+    /**
+     * Method to find the highest number of units of an item reserved on any day
+     * of a range.
+     *
+     * @param itemNumber The item number.
+     * @param from       The first day of the range.
+     * @param to         The last day of the range.
+     * @return The peak number of reserved units, 0 if none is reserved.
+     */
+    public int peakReserved(int itemNumber, LocalDate from, LocalDate to) {
+        return peak(roots.get(itemNumber), 0, DAY_COUNT - 1, dayOf(from), dayOf(to));
+    }
+
+    /**
+     * Method to find the first day of a range on which more units of an item are
+     * reserved than the given stock.
+     *
+     * @param itemNumber The item number.
+     * @param from       The first day of the range.
+     * @param to         The last day of the range.
+     * @param stock      The number of units held.
+     * @return The first overbooked day, or null if the item is not overbooked in
+     *         the range.
+     */
+    public LocalDate firstDayOverbooked(int itemNumber, LocalDate from, LocalDate to, int stock) {
+        int day = firstDayAbove(roots.get(itemNumber), 0, DAY_COUNT - 1, dayOf(from), dayOf(to), stock);
+        return day < 0 ? null : LocalDate.ofEpochDay(day);
+    }
+
+    /**
+     * Method to drop every reservation of an item.
+     *
+     * @param itemNumber The item number.
+     */
+    public void removeItem(int itemNumber) {
+        roots.remove(itemNumber);
+    }
+
+    /**
+     * Method to drop every reservation.
+     */
+    public void clear() {
+        roots.clear();
+    }
+
+    // Getter method for retrieving the item numbers of the items with
+    // reservations
+    public Set<Integer> getItemNumbers() {
+        return Collections.unmodifiableSet(roots.keySet());
+    }
+
+    /**
+     * Adds units to the days from first to last within the node covering the
+     * days from low to high, creating the node if needed, and returns the node,
+     * or null if no units are reserved below it anymore.
+     */
+    private static Node add(Node node, int low, int high, int first, int last, int quantity) {
+        if (node == null) {
+            node = new Node();
+        }
+        if (first <= low && high <= last) {
+            node.covering += quantity;
+            node.peak += quantity;
+        } else {
+            int middle = (low + high) >>> 1;
+            if (first <= middle) {
+                node.left = add(node.left, low, middle, first, last, quantity);
+            }
+            if (last > middle) {
+                node.right = add(node.right, middle + 1, high, first, last, quantity);
+            }
+            node.peak = node.covering + Math.max(peakOf(node.left), peakOf(node.right));
+        }
+        boolean empty = node.covering == 0 && node.left == null && node.right == null;
+        return empty ? null : node;
+    }
+
+    /**
+     * Returns the peak reserved units on the days from first to last within the
+     * node covering the days from low to high.
+     */
+    private static int peak(Node node, int low, int high, int first, int last) {
+        if (node == null) {
+            return 0;
+        }
+        if (first <= low && high <= last) {
+            return node.peak;
+        }
+        int middle = (low + high) >>> 1;
+        int peak = 0;
+        if (first <= middle) {
+            peak = peak(node.left, low, middle, first, last);
+        }
+        if (last > middle) {
+            peak = Math.max(peak, peak(node.right, middle + 1, high, first, last));
+        }
+        return node.covering + peak;
+    }
+
+    /**
+     * Returns the first of the days from first to last within the node covering
+     * the days from low to high on which more than the given number of units
+     * are reserved, or -1. Subtrees whose peak is not above the number are
+     * skipped.
+     */
+    private static int firstDayAbove(Node node, int low, int high, int first, int last, int units) {
+        if (last < low || high < first) {
+            return -1;
+        }
+        if (node == null) {
+            // Nothing is reserved on these days beyond what the ancestors cover
+            return units < 0 ? Math.max(low, first) : -1;
+        }
+        if (node.peak <= units) {
+            return -1;
+        }
+        if (low == high) {
+            return low;
+        }
+        int middle = (low + high) >>> 1;
+        int remaining = units - node.covering;
+        int day = firstDayAbove(node.left, low, middle, first, last, remaining);
+        return day >= 0 ? day : firstDayAbove(node.right, middle + 1, high, first, last, remaining);
+    }
+
+    private static int peakOf(Node node) {
+        return node == null ? 0 : node.peak;
+    }
+
+    private static int dayOf(LocalDate day) {
+        if (!isWithinCalendar(day)) {
+            throw new IllegalArgumentException("Reservations must be between " + FIRST_DAY + " and " + LAST_DAY);
+        }
+        return (int) day.toEpochDay();
+    }
+}
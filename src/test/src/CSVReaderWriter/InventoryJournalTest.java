@@ -0,0 +1,142 @@
+package src.CSVReaderWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import src.model.InventoryItem;
+import src.store.InventoryStore;
+
+/**
+ * Tests of replaying the inventory journal after a compaction was interrupted
+ * by a crash.
+ */
+class InventoryJournalTest {
+
+    // Records of the compaction: item 101 is renumbered to 102, then a new item
+    // takes number 101
+    private static final String COMPACTING_RECORDS = "U,101,Arch,1,102,Vases,2024-01-01\n"
+            + "A,Bowl,1,101,Vases,2024-01-01\n";
+
+    // Record written to the fresh journal while the compaction ran
+    private static final String JOURNAL_RECORDS = "U,101,Bowl,7,101,Vases,2024-01-01\n";
+
+    @TempDir
+    Path directory;
+
+    private Path csv;
+    private Path journal;
+    private Path compactingJournal;
+    private Path foldedStamp;
+
+    @BeforeEach
+    void setUp() {
+        csv = directory.resolve("inventory.csv");
+        journal = directory.resolve("inventory.journal");
+        compactingJournal = directory.resolve("inventory.journal.compacting");
+        foldedStamp = directory.resolve("inventory.journal.folded");
+    }
+
+    @Test
+    void replaysBothJournalsWhenTheSnapshotWasNotRewrittenYet() throws IOException {
+        write(csv, "Arch,1,101,Vases,2024-01-01\n");
+        write(compactingJournal, COMPACTING_RECORDS);
+        write(journal, JOURNAL_RECORDS);
+
+        assertEquals(List.of("Bowl,7,101", "Arch,1,102"), attach());
+        assertJournalsRetired();
+        assertEquals(List.of("Bowl,7,101", "Arch,1,102"), attach(), "the rewritten snapshot holds every change");
+    }
+
+    @Test
+    void skipsTheCompactedRecordsWhenTheSnapshotWasAlreadyRewritten() throws IOException {
+        String snapshot = "Arch,1,102,Vases,2024-01-01\nBowl,1,101,Vases,2024-01-01\n";
+        write(csv, snapshot);
+        write(compactingJournal, COMPACTING_RECORDS);
+        write(journal, JOURNAL_RECORDS);
+        writeFoldedStamp(snapshot, COMPACTING_RECORDS.length(), 0);
+
+        // Replaying the renumbering again would turn Bowl into a second item 102
+        assertEquals(List.of("Bowl,7,101", "Arch,1,102"), attach());
+        assertJournalsRetired();
+    }
+
+    @Test
+    void skipsTheFoldedPartOfTheCurrentJournalAfterAFullRewrite() throws IOException {
+        String snapshot = "Arch,1,102,Vases,2024-01-01\nBowl,1,101,Vases,2024-01-01\n";
+        write(csv, snapshot);
+        write(journal, COMPACTING_RECORDS);
+        writeFoldedStamp(snapshot, 0, COMPACTING_RECORDS.length());
+
+        assertEquals(List.of("Bowl,1,101", "Arch,1,102"), attach());
+        assertJournalsRetired();
+    }
+
+    @Test
+    void ignoresAStampThatDoesNotMatchTheSnapshot() throws IOException {
+        write(csv, "Arch,1,101,Vases,2024-01-01\n");
+        write(compactingJournal, COMPACTING_RECORDS);
+        writeFoldedStamp("Arch,1,102,Vases,2024-01-01\nBowl,1,101,Vases,2024-01-01\n",
+                COMPACTING_RECORDS.length(), 0);
+
+        // The rewrite the stamp was written for never reached the CSV file
+        assertEquals(List.of("Bowl,1,101", "Arch,1,102"), attach());
+        assertJournalsRetired();
+    }
+
+    /**
+     * Loads the inventory through a new journal, as on startup, and returns its
+     * items as "name,quantity,item number" in item number order.
+     */
+    private List<String> attach() throws IOException {
+        InventoryJournal inventoryJournal = new InventoryJournal(csv.toString(),
+                directory.resolve("inventory.bin").toString(), journal.toString(), new GroupCommitWriter(0),
+                new InventoryFileWatcher(csv.toString()));
+        InventoryStore items = new InventoryStore();
+        inventoryJournal.attach(items);
+
+        List<InventoryItem> sorted = new ArrayList<>(items);
+        sorted.sort((a, b) -> Integer.compare(a.getItemNumber(), b.getItemNumber()));
+        List<String> rows = new ArrayList<>();
+        for (InventoryItem item : sorted) {
+            rows.add(item.getItemName() + "," + item.getQuantity() + "," + item.getItemNumber());
+        }
+        return rows;
+    }
+
+    private void assertJournalsRetired() {
+        assertFalse(Files.exists(compactingJournal), "the compacting journal is removed");
+        assertFalse(Files.exists(journal), "the journal is folded into the snapshot");
+        assertFalse(Files.exists(foldedStamp), "the folded stamp is removed");
+    }
+
+    /**
+     * Writes the stamp a snapshot rewrite leaves before the CSV file is replaced.
+     */
+    private void writeFoldedStamp(String snapshot, long foldedCompactingLength, long foldedJournalLength)
+            throws IOException {
+        byte[] bytes = snapshot.replace("\n", System.lineSeparator()).getBytes(StandardCharsets.UTF_8);
+        CRC32 checksum = new CRC32();
+        checksum.update(bytes);
+        write(foldedStamp, bytes.length + "," + checksum.getValue() + "," + foldedCompactingLength + ","
+                + foldedJournalLength);
+    }
+
+    private static void write(Path file, String content) throws IOException {
+        if (file.getFileName().toString().endsWith(".csv")) {
+            content = content.replace("\n", System.lineSeparator());
+        }
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,123 @@
+package src.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import src.model.InventoryItem;
+
+/**
+ * Tests of the positions and pages of InventorySnapshot as versions are made
+ * with and without items.
+ */
+class InventorySnapshotTest {
+
+    @Test
+    void itemsAreRankedByItemNumber() {
+        InventorySnapshot snapshot = InventorySnapshot.of(List.of(item(300), item(-5), item(101), item(0)));
+
+        assertEquals(List.of(-5, 0, 101, 300), itemNumbers(snapshot.asList()));
+        assertEquals(101, snapshot.getAt(2).getItemNumber());
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getAt(4));
+    }
+
+    @Test
+    void withShiftsTheRanksOfLaterItems() {
+        InventorySnapshot before = InventorySnapshot.of(List.of(item(100), item(300)));
+        InventorySnapshot after = before.with(item(200));
+
+        assertEquals(3, after.size());
+        assertEquals(200, after.getAt(1).getItemNumber());
+        assertEquals(300, after.getAt(2).getItemNumber());
+
+        // The previous version is left as it was
+        assertEquals(List.of(100, 300), itemNumbers(before.asList()));
+    }
+
+    @Test
+    void withReplacesAnItemWithTheSameItemNumber() {
+        InventorySnapshot snapshot = InventorySnapshot.of(List.of(item(100), item(200))).with(item(200, 9));
+
+        assertEquals(2, snapshot.size());
+        assertEquals(9, snapshot.getAt(1).getQuantity());
+        assertEquals(9, snapshot.get(200).getQuantity());
+    }
+
+    @Test
+    void withoutShiftsTheRanksOfLaterItems() {
+        InventorySnapshot before = InventorySnapshot.of(List.of(item(100), item(200), item(300)));
+        InventorySnapshot after = before.without(200);
+
+        assertEquals(List.of(100, 300), itemNumbers(after.asList()));
+        assertEquals(300, after.getAt(1).getItemNumber());
+        assertNull(after.get(200));
+        assertSame(after, after.without(200), "removing a missing item keeps the snapshot");
+        assertEquals(3, before.size());
+    }
+
+    @Test
+    void removingTheLastItemLeavesAnEmptySnapshot() {
+        InventorySnapshot snapshot = InventorySnapshot.of(List.of(item(100))).without(100);
+
+        assertEquals(0, snapshot.size());
+        assertEquals(List.of(), snapshot.asList());
+        assertEquals(1, snapshot.with(item(7)).size());
+    }
+
+    @Test
+    void pagesMatchASortedMapAfterManyChanges() {
+        Map<Integer, InventoryItem> expected = new TreeMap<>();
+        InventorySnapshot snapshot = InventorySnapshot.empty();
+        Random random = new Random(20240501L);
+
+        for (int step = 0; step < 3000; step++) {
+            // Item numbers around 0 and far apart, so the trie has several levels
+            int itemNumber = random.nextBoolean() ? random.nextInt(200) - 100 : random.nextInt();
+            if (random.nextInt(3) == 0) {
+                expected.remove(itemNumber);
+                snapshot = snapshot.without(itemNumber);
+            } else {
+                InventoryItem item = item(itemNumber, step);
+                expected.put(itemNumber, item);
+                snapshot = snapshot.with(item);
+            }
+
+            if (step % 100 == 0) {
+                List<InventoryItem> expectedItems = new ArrayList<>(expected.values());
+                assertEquals(expectedItems.size(), snapshot.size());
+                for (int offset = 0; offset < expectedItems.size(); offset += 37) {
+                    int to = Math.min(offset + 50, expectedItems.size());
+                    assertEquals(itemNumbers(expectedItems.subList(offset, to)),
+                            itemNumbers(snapshot.asList().subList(offset, to)));
+                    assertEquals(expectedItems.get(offset).getQuantity(), snapshot.getAt(offset).getQuantity());
+                }
+            }
+        }
+    }
+
+    private static List<Integer> itemNumbers(List<InventoryItem> items) {
+        List<Integer> itemNumbers = new ArrayList<>(items.size());
+        for (InventoryItem item : items) {
+            itemNumbers.add(item.getItemNumber());
+        }
+        return itemNumbers;
+    }
+
+    private static InventoryItem item(int itemNumber) {
+        return item(itemNumber, 1);
+    }
+
+    private static InventoryItem item(int itemNumber, int quantity) {
+        return new InventoryItem("Item " + itemNumber, quantity, itemNumber, "Vases", LocalDate.of(2024, 1, 1));
+    }
+}
@@ -0,0 +1,171 @@
+package src.store;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests of the reserved units per day kept by ReservationCalendar.
+ */
+class ReservationCalendarTest {
+
+    private static final int ITEM = 201;
+
+    // Day split between the two halves of the root of the segment tree
+    private static final int ROOT_MIDDLE = (1 << 16) - 1;
+
+    private final ReservationCalendar calendar = new ReservationCalendar();
+
+    @Test
+    void overlappingReservationsAddUpOnSharedDays() {
+        calendar.add(ITEM, day(10), day(20), 3);
+        calendar.add(ITEM, day(15), day(25), 4);
+
+        assertEquals(3, calendar.peakReserved(ITEM, day(10), day(14)));
+        assertEquals(7, calendar.peakReserved(ITEM, day(15), day(20)));
+        assertEquals(4, calendar.peakReserved(ITEM, day(21), day(30)));
+        assertEquals(7, calendar.peakReserved(ITEM, day(0), day(100)));
+        assertEquals(0, calendar.peakReserved(ITEM, day(26), day(100)));
+        assertEquals(0, calendar.peakReserved(ITEM + 1, day(10), day(20)));
+    }
+
+    @Test
+    void cancelledReservationReleasesItsUnits() {
+        calendar.add(ITEM, day(10), day(20), 3);
+        calendar.add(ITEM, day(15), day(25), 4);
+        calendar.add(ITEM, day(15), day(25), -4);
+
+        assertEquals(3, calendar.peakReserved(ITEM, day(0), day(100)));
+        assertNull(calendar.firstDayOverbooked(ITEM, day(0), day(100), 3));
+
+        calendar.add(ITEM, day(10), day(20), -3);
+        assertEquals(0, calendar.peakReserved(ITEM, day(0), day(100)));
+        assertTrue(calendar.getItemNumbers().isEmpty(), "an item without reservations keeps no tree");
+    }
+
+    @Test
+    void firstDayOverbookedIsTheFirstDayAboveTheStock() {
+        calendar.add(ITEM, day(10), day(20), 3);
+        calendar.add(ITEM, day(15), day(25), 4);
+
+        assertEquals(day(10), calendar.firstDayOverbooked(ITEM, day(0), day(100), 2));
+        assertEquals(day(15), calendar.firstDayOverbooked(ITEM, day(0), day(100), 5));
+        assertEquals(day(18), calendar.firstDayOverbooked(ITEM, day(18), day(100), 5));
+        assertNull(calendar.firstDayOverbooked(ITEM, day(0), day(14), 5));
+        assertNull(calendar.firstDayOverbooked(ITEM, day(0), day(100), 7));
+    }
+
+    @Test
+    void firstDayOverbookedAcrossTheMiddleOfTheRoot() {
+        calendar.add(ITEM, day(ROOT_MIDDLE - 5), day(ROOT_MIDDLE), 5);
+        calendar.add(ITEM, day(ROOT_MIDDLE + 1), day(ROOT_MIDDLE + 5), 6);
+
+        // The first day of the right half is the first one above 5
+        assertEquals(day(ROOT_MIDDLE + 1),
+                calendar.firstDayOverbooked(ITEM, day(ROOT_MIDDLE - 10), day(ROOT_MIDDLE + 10), 5));
+        assertEquals(day(ROOT_MIDDLE - 5),
+                calendar.firstDayOverbooked(ITEM, day(ROOT_MIDDLE - 10), day(ROOT_MIDDLE + 10), 4));
+        assertNull(calendar.firstDayOverbooked(ITEM, day(ROOT_MIDDLE - 10), day(ROOT_MIDDLE), 5));
+
+        // A reservation straddling the split adds to the last day of the left half
+        calendar.add(ITEM, day(ROOT_MIDDLE), day(ROOT_MIDDLE + 1), 2);
+        assertEquals(day(ROOT_MIDDLE),
+                calendar.firstDayOverbooked(ITEM, day(ROOT_MIDDLE - 10), day(ROOT_MIDDLE + 10), 6));
+        assertEquals(day(ROOT_MIDDLE + 1),
+                calendar.firstDayOverbooked(ITEM, day(ROOT_MIDDLE + 1), day(ROOT_MIDDLE + 10), 6));
+        assertEquals(8, calendar.peakReserved(ITEM, day(ROOT_MIDDLE), day(ROOT_MIDDLE + 1)));
+    }
+
+    @Test
+    void firstDayOverbookedWithUnitsCoveringAWholeNode() {
+        // Days 1024 to 2047 are exactly the range of one node
+        calendar.add(ITEM, day(1024), day(2047), 4);
+        calendar.add(ITEM, day(2047), day(2048), 1);
+
+        assertEquals(day(2047), calendar.firstDayOverbooked(ITEM, day(0), day(4095), 4));
+        assertEquals(day(1024), calendar.firstDayOverbooked(ITEM, day(0), day(4095), 3));
+        assertEquals(day(1500), calendar.firstDayOverbooked(ITEM, day(1500), day(4095), 3));
+        assertNull(calendar.firstDayOverbooked(ITEM, day(2048), day(4095), 1));
+        assertEquals(day(2048), calendar.firstDayOverbooked(ITEM, day(2048), day(4095), 0));
+    }
+
+    @Test
+    void everyDayIsOverbookedBelowZeroStock() {
+        assertEquals(day(40), calendar.firstDayOverbooked(ITEM, day(40), day(50), -1));
+
+        calendar.add(ITEM, day(45), day(46), 2);
+        assertEquals(day(40), calendar.firstDayOverbooked(ITEM, day(40), day(50), -1));
+    }
+
+    @Test
+    void reservationsStayWithinTheCalendar() {
+        calendar.add(ITEM, ReservationCalendar.FIRST_DAY, ReservationCalendar.FIRST_DAY, 1);
+        calendar.add(ITEM, ReservationCalendar.LAST_DAY, ReservationCalendar.LAST_DAY, 2);
+
+        assertEquals(ReservationCalendar.FIRST_DAY, calendar.firstDayOverbooked(ITEM,
+                ReservationCalendar.FIRST_DAY, ReservationCalendar.LAST_DAY, 0));
+        assertEquals(ReservationCalendar.LAST_DAY, calendar.firstDayOverbooked(ITEM,
+                ReservationCalendar.FIRST_DAY, ReservationCalendar.LAST_DAY, 1));
+        assertThrows(IllegalArgumentException.class, () -> calendar.add(ITEM,
+                ReservationCalendar.FIRST_DAY.minusDays(1), ReservationCalendar.FIRST_DAY, 1));
+        assertThrows(IllegalArgumentException.class, () -> calendar.peakReserved(ITEM,
+                ReservationCalendar.LAST_DAY, ReservationCalendar.LAST_DAY.plusDays(1)));
+    }
+
+    @Test
+    void matchesCountingEveryDayAroundTheMiddleOfTheRoot() {
+        int firstDay = ROOT_MIDDLE - 150;
+        int dayCount = 300;
+        int[] reserved = new int[dayCount];
+        List<int[]> reservations = new ArrayList<>();
+        Random random = new Random(20240615L);
+
+        for (int step = 0; step < 2000; step++) {
+            if (!reservations.isEmpty() && random.nextInt(3) == 0) {
+                // Cancel a random reservation
+                int[] reservation = reservations.remove(random.nextInt(reservations.size()));
+                reserve(reserved, firstDay, reservation[0], reservation[1], -reservation[2]);
+            } else {
+                int start = random.nextInt(dayCount);
+                int end = Math.min(dayCount - 1, start + random.nextInt(40));
+                int quantity = 1 + random.nextInt(5);
+                reservations.add(new int[] { start, end, quantity });
+                reserve(reserved, firstDay, start, end, quantity);
+            }
+
+            int from = random.nextInt(dayCount);
+            int to = from + random.nextInt(dayCount - from);
+            int stock = random.nextInt(20);
+            int expectedPeak = 0;
+            LocalDate expectedFirstOverbooked = null;
+            for (int d = from; d <= to; d++) {
+                expectedPeak = Math.max(expectedPeak, reserved[d]);
+                if (expectedFirstOverbooked == null && reserved[d] > stock) {
+                    expectedFirstOverbooked = day(firstDay + d);
+                }
+            }
+            assertEquals(expectedPeak, calendar.peakReserved(ITEM, day(firstDay + from), day(firstDay + to)));
+            assertEquals(expectedFirstOverbooked,
+                    calendar.firstDayOverbooked(ITEM, day(firstDay + from), day(firstDay + to), stock));
+        }
+    }
+
+    private void reserve(int[] reserved, int firstDay, int start, int end, int quantity) {
+        calendar.add(ITEM, day(firstDay + start), day(firstDay + end), quantity);
+        for (int d = start; d <= end; d++) {
+            reserved[d] += quantity;
+        }
+    }
+
+    private static LocalDate day(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+}
@@ -1,39 +1,39 @@
 package src.util;
 
-import java.util.List;
-
 import javax.swing.JOptionPane;
-import javax.swing.JTextArea;
 
-import src.CSVReaderWriter.CSVHandler;
+import src.gui_components.InventoryTableModel;
 import src.model.InventoryItem;
+import src.service.InventoryService;
+import src.service.OperationResult;
 
 public class PromptForUpdateConfirmation {
 
     /**
      * Displays a confirmation dialog for updating an inventory item.
-     * If the user confirms, the selected option of the item will be updated with
-     * the new value.
-     * After the update, it refreshes the inventory display and saves the updated
-     * data to the CSV file.
+     * If the user confirms, the selected field of the item will be updated with
+     * the new value through the inventory service, which records the updated item
+     * in the inventory journal. The update is applied through the inventory table
+     * model, so only the row of the item is repainted.
      *
-     * @param selectedItem       The InventoryItem object to be updated.
-     * @param selectedOption     The option selected for updating (Item Number, Item
-     *                           Type, Item Name, Quantity).
-     * @param newValue           The new value for the selected option.
-     * @param inventoryItemsList The inventory item list
-     * @param inventoryTextArea  Inventory Text Area
+     * @param selectedItem        The InventoryItem object to be updated.
+     * @param selectedField       The field selected for updating (Item Number,
+     *                            Item Type, Item Name, Quantity).
+     * @param newValue            The new value for the selected field, already
+     *                            checked with InventoryService.checkUpdate.
+     * @param inventoryService    The service applying the update
+     * @param inventoryTableModel The table model showing the inventory
      */
 
-    public static void showUpdateConfirmationDialog(InventoryItem selectedItem, String selectedOption, Object newValue,
-            List<InventoryItem> inventoryItemsList, JTextArea inventoryTextArea) {
+    public static void showUpdateConfirmationDialog(InventoryItem selectedItem, InventoryService.ItemField selectedField,
+            Object newValue, InventoryService inventoryService, InventoryTableModel inventoryTableModel) {
         // Construct message for confirmation dialog
         String message = String.format(
                 "Current Item Number: %d\nCurrent Item Name: %s\nCurrent Quantity: %d\nCurrent Item Type: %s\n\n"
                         + "New %s: %s\n\nAre you sure you want to update this inventory item?",
                 selectedItem.getItemNumber(), selectedItem.getItemName(), selectedItem.getQuantity(),
                 selectedItem.getItemType(),
-                selectedOption,
+                selectedField.getLabel(),
                 newValue);
 
         // Display confirmation dialog
@@ -42,31 +42,19 @@ public class PromptForUpdateConfirmation {
 
         // If user confirms update, proceed with the update
         if (confirmation == JOptionPane.YES_OPTION) {
-            // Update the selected option of the inventory item based on the provided new
-            // value
-            switch (selectedOption) {
-                case "Item Number":
-                    selectedItem.setItemNumber(Integer.parseInt(newValue.toString()));
-                    break;
-                case "Item Type":
-                    selectedItem.setItemType(newValue.toString());
-                    break;
-                case "Item Name":
-                    selectedItem.setItemName(newValue.toString());
-                    break;
-                case "Quantity":
-                    selectedItem.setQuantity(Integer.parseInt(newValue.toString()));
-                    break;
+            // Update the selected field of the inventory item, moving or repainting only
+            // its row of the inventory table
+            OperationResult[] result = new OperationResult[1];
+            inventoryTableModel.updateItem(selectedItem, () -> result[0] = inventoryService
+                    .updateItem(selectedItem.getItemNumber(), selectedField, newValue));
+
+            if (result[0].isSuccess()) {
+                // Display successful updated message
+                JOptionPane.showMessageDialog(null, result[0].getMessage(),
+                        "Updated Successful", JOptionPane.INFORMATION_MESSAGE);
+            } else {
+                JOptionPane.showMessageDialog(null, result[0].getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
             }
-            // Update inventory display and write to inventory.CSV
-            UpdateInventoryTextArea.reloadTextArea(inventoryItemsList, inventoryTextArea);
-
-            // Write new item created to Inventory csv
-            CSVHandler.writeCreatedItemToInventoryCSV(inventoryItemsList);
-
-            // Display successful updated message
-            JOptionPane.showMessageDialog(null, "Item Updated Successfully!",
-                    "Updated Successful", JOptionPane.INFORMATION_MESSAGE);
         }
     }
 }
@@ -0,0 +1,336 @@
+package src.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import src.model.InventoryItem;
+import src.model.ItemTypeDictionary;
+
+public class ReportEngine {
+
+    /**
+     * Order of the items within each item type of a report, together with the
+     * title printed at the top of the report.
+     */
+    public enum SortKey {
+        ALPHABETICAL("Inventory Report\n----------------\n\n",
+                Comparator.comparing(InventoryItem::getItemName)),
+        ITEM_NUMBER("Inventory Report (Sorted by Item Number)\n---------------------------------------\n\n",
+                Comparator.comparingInt(InventoryItem::getItemNumber)),
+        QUANTITY("Inventory Report (Sorted by Quantity)\n---------------------------------------\n\n",
+                Comparator.comparingInt(InventoryItem::getQuantity).reversed());
+
+        private final String title;
+        private final Comparator<InventoryItem> itemOrder;
+
+        SortKey(String title, Comparator<InventoryItem> itemOrder) {
+            this.title = title;
+            this.itemOrder = itemOrder;
+        }
+    }
+
+    /**
+     * Receives the number of rows written so far. Throwing from it (e.g. a
+     * CancellationException) stops the report.
+     */
+    public interface ProgressListener {
+        void rowsWritten(int written, int total);
+    }
+
+    // Header of the columns of every item type, formatted once
+    private static final String COLUMN_HEADER = String.format("%-5s %-20s %-65s %-15s %-25s%n", "#",
+            "Item Number", "Item Name", "Quantity", "Creation Date");
+
+    // Format of the creation date column, compiled once instead of per row
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM d, yyyy");
+
+    // Widths of the columns of an item row
+    private static final int POSITION_WIDTH = 5;
+    private static final int ITEM_NUMBER_WIDTH = 20;
+    private static final int ITEM_NAME_WIDTH = 65;
+    private static final int QUANTITY_WIDTH = 15;
+    private static final int DATE_WIDTH = 25;
+
+    // Size of the buffer between the encoder and the output channel
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Number of rows written between two progress updates
+    private static final int PROGRESS_INTERVAL = 10_000;
+
+    /**
+     * Method to write a report of the inventory to a file.
+     *
+     * The file gets the report followed by a line separator, like the previous
+     * PrintWriter.println output. If writing fails or the progress listener stops
+     * the report, the partial file is deleted.
+     *
+     * @param inventoryItemsList The items to report (not modified).
+     * @param sortKey            The order of the items within each item type.
+     * @param reportPath         The path of the report file.
+     * @param progressListener   Receives the progress, or null.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void writeReportToFile(List<InventoryItem> inventoryItemsList, SortKey sortKey, Path reportPath,
+            ProgressListener progressListener) throws IOException {
+        boolean written = false;
+        try (FileChannel channel = FileChannel.open(reportPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ReportWriter writer = new ReportWriter(channel);
+            writeReport(inventoryItemsList, sortKey, writer, progressListener);
+            writer.append(System.lineSeparator());
+            writer.flush();
+            written = true;
+        } finally {
+            if (!written) {
+                Files.deleteIfExists(reportPath);
+            }
+        }
+    }
+
+    /**
+     * Method to generate a report of the inventory as a string, for callers that
+     * need the whole content in memory.
+     *
+     * @param inventoryItemsList The items to report (not modified).
+     * @param sortKey            The order of the items within each item type.
+     * @return The content of the report.
+     */
+    public static String generateReport(List<InventoryItem> inventoryItemsList, SortKey sortKey) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try {
+            ReportWriter writer = new ReportWriter(Channels.newChannel(content));
+            writeReport(inventoryItemsList, sortKey, writer, null);
+            writer.flush();
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // Writing to memory does not fail
+        }
+        return new String(content.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the report in a single pass over the items sorted by type and key.
+     *
+     * The items are grouped and sorted once as an array of references. Each row
+     * is then formatted into the same StringBuilder and encoded into the writer's
+     * fixed buffer, so apart from that array (and one string per distinct creation
+     * date) no per-row String, formatter or per-type list is created and memory
+     * use does not grow with the size of the report.
+     */
+    private static void writeReport(List<InventoryItem> inventoryItemsList, SortKey sortKey, ReportWriter writer,
+            ProgressListener progressListener) throws IOException {
+        TypeGroups groups = groupByType(inventoryItemsList, sortKey);
+        InventoryItem[] items = groups.items;
+
+        writer.append(sortKey.title);
+
+        // Creation dates repeat a lot, so each distinct date is formatted only once
+        Map<LocalDate, String> formattedDates = new HashMap<>();
+
+        StringBuilder row = new StringBuilder(256);
+        int written = 0;
+        for (int group = 0; group < groups.itemTypes.length; group++) {
+            // Start a new section for every item type
+            if (group > 0) {
+                writer.append("\n");
+            }
+            row.setLength(0);
+            row.append("Type: ").append(groups.itemTypes[group]).append('\n').append(COLUMN_HEADER);
+            writer.append(row);
+
+            int position = 0;
+            for (int i = groups.starts[group]; i < groups.starts[group + 1]; i++) {
+                InventoryItem item = items[i];
+
+                // Format the row like "%-5d %-20d %-65s %-15d %-25s%n"
+                row.setLength(0);
+                row.append(++position);
+                pad(row, 0, POSITION_WIDTH);
+                row.append(' ');
+                int start = row.length();
+                row.append(item.getItemNumber());
+                pad(row, start, ITEM_NUMBER_WIDTH);
+                row.append(' ');
+                start = row.length();
+                row.append(item.getItemName());
+                pad(row, start, ITEM_NAME_WIDTH);
+                row.append(' ');
+                start = row.length();
+                row.append(item.getQuantity());
+                pad(row, start, QUANTITY_WIDTH);
+                row.append(' ');
+                start = row.length();
+                row.append(formattedDates.computeIfAbsent(item.getCreationDate(), DATE_FORMATTER::format));
+                pad(row, start, DATE_WIDTH);
+                row.append(System.lineSeparator());
+                writer.append(row);
+
+                if (progressListener != null && ++written % PROGRESS_INTERVAL == 0) {
+                    progressListener.rowsWritten(written, items.length);
+                }
+            }
+        }
+        if (items.length > 0) {
+            writer.append("\n");
+        }
+
+        if (progressListener != null) {
+            progressListener.rowsWritten(items.length, items.length);
+        }
+    }
+
+    /**
+     * Items of a report grouped by type: the items of the type at index g are
+     * items[starts[g]] up to items[starts[g + 1] - 1].
+     */
+    private static class TypeGroups {
+        private final InventoryItem[] items;
+        private final String[] itemTypes;
+        private final int[] starts;
+
+        TypeGroups(InventoryItem[] items, String[] itemTypes, int[] starts) {
+            this.items = items;
+            this.itemTypes = itemTypes;
+            this.starts = starts;
+        }
+    }
+
+    /**
+     * Returns the items grouped by type, with the types in alphabetical order and
+     * the items of each type sorted by the key.
+     *
+     * Every item type is replaced by its code in the ItemTypeDictionary, so the
+     * items are counted per type into an array indexed by code and copied into
+     * their group's range of a single array (keeping their order, like the
+     * previous per-type lists). Only the few distinct types are sorted by name,
+     * and each range is then sorted on its own, so the sort never has to compare
+     * item types.
+     */
+    private static TypeGroups groupByType(List<InventoryItem> inventoryItemsList, SortKey sortKey) {
+        InventoryItem[] unsortedItems = inventoryItemsList.toArray(new InventoryItem[0]);
+        int itemCount = unsortedItems.length;
+        int[] typeCodes = new int[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            typeCodes[i] = ItemTypeDictionary.codeOf(unsortedItems[i].getItemType());
+        }
+
+        int[] groupSizes = new int[ItemTypeDictionary.size()];
+        for (int typeCode : typeCodes) {
+            groupSizes[typeCode]++;
+        }
+
+        // Order the item types present in the list by name
+        List<Integer> presentCodes = new ArrayList<>();
+        for (int typeCode = 0; typeCode < groupSizes.length; typeCode++) {
+            if (groupSizes[typeCode] > 0) {
+                presentCodes.add(typeCode);
+            }
+        }
+        presentCodes.sort(Comparator.comparing(ItemTypeDictionary::nameOf));
+
+        // Turn the group sizes into the start of each group's range
+        String[] itemTypes = new String[presentCodes.size()];
+        int[] starts = new int[presentCodes.size() + 1];
+        int[] nextPositions = new int[groupSizes.length];
+        for (int group = 0; group < itemTypes.length; group++) {
+            int typeCode = presentCodes.get(group);
+            itemTypes[group] = ItemTypeDictionary.nameOf(typeCode);
+            nextPositions[typeCode] = starts[group];
+            starts[group + 1] = starts[group] + groupSizes[typeCode];
+        }
+
+        InventoryItem[] items = new InventoryItem[itemCount];
+        for (int i = 0; i < itemCount; i++) {
+            items[nextPositions[typeCodes[i]]++] = unsortedItems[i];
+        }
+
+        for (int group = 0; group < itemTypes.length; group++) {
+            Arrays.sort(items, starts[group], starts[group + 1], sortKey.itemOrder);
+        }
+        return new TypeGroups(items, itemTypes, starts);
+    }
+
+    /**
+     * Pads the field that starts at the given index with spaces up to the width.
+     */
+    private static void pad(StringBuilder row, int start, int width) {
+        for (int length = row.length() - start; length < width; length++) {
+            row.append(' ');
+        }
+    }
+
+    /**
+     * Encodes characters as UTF-8 into a fixed-size buffer that is written to the
+     * channel whenever it fills up. Report text is nearly all ASCII, so the
+     * characters are encoded by hand instead of through a CharsetEncoder.
+     */
+    private static class ReportWriter {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        private final byte[] bytes = buffer.array();
+        private int position;
+
+        ReportWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void append(CharSequence text) throws IOException {
+            int length = text.length();
+            for (int i = 0; i < length; i++) {
+                // Leave room for the longest encoding of a character
+                if (position > BUFFER_SIZE - 4) {
+                    drain();
+                }
+
+                char c = text.charAt(i);
+                if (c < 0x80) {
+                    bytes[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    bytes[position++] = (byte) (0xC0 | (c >> 6));
+                    bytes[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(text.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, text.charAt(++i));
+                    bytes[position++] = (byte) (0xF0 | (codePoint >> 18));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    bytes[position++] = '?'; // Unpaired surrogate, like String.getBytes
+                } else {
+                    bytes[position++] = (byte) (0xE0 | (c >> 12));
+                    bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    bytes[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        void flush() throws IOException {
+            drain();
+        }
+
+        private void drain() throws IOException {
+            buffer.limit(position).position(0);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+            position = 0;
+        }
+    }
+}
@@ -1,9 +1,15 @@
 package src.validators;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 import javax.swing.JOptionPane;
 
 import src.model.InventoryItem;
+import src.service.InventoryService;
 
 public class DataValidator {
 
@@ -13,7 +19,7 @@ public class DataValidator {
      * @param list - the list from the CSV file
      * @return - true if the list frpm the CSV file is empty, false if not
      */
-    public static boolean isCSVFileEmpty(List<InventoryItem> list) {
+    public static boolean isCSVFileEmpty(Collection<InventoryItem> list) {
         // Check if list is empty, if so, display message and exit method
         if (list.isEmpty()) {
             JOptionPane.showMessageDialog(null,
@@ -106,7 +112,7 @@ public class DataValidator {
      */
     public static boolean isValidItemName(String itemName) {
         // Ensure input contains only valid characters (A-Z, a-z. (0-9))
-        if (itemName.matches("[a-zA-Z0-9\\s]+")) {
+        if (InventoryService.isValidItemName(itemName)) {
             return true; // Continue method
         } else {
             // Show error message if the item name contains invalid characters
@@ -136,4 +142,66 @@ public class DataValidator {
             return true; // Validation passed
         }
     }
+
+    /**
+     * Method to check if the user entered several item numbers or ranges of item
+     * numbers instead of a single item number
+     * 
+     * @param itemNumbersString - the input to check (ex: 101, 105-110)
+     * @return - true if the input lists item numbers or ranges, false if not
+     */
+    public static boolean isItemNumberSelection(String itemNumbersString) {
+        return itemNumbersString.contains(",") || itemNumbersString.contains("-");
+    }
+
+    /**
+     * Method to validate the user input for several item numbers
+     * 
+     * @param itemNumbersString - item numbers and ranges of item numbers separated
+     *                          by commas (ex: 101, 105-110)
+     * @return - a filter accepting the items whose item number is listed or within
+     *         a listed range, or null if the input is invalid
+     */
+    public static Predicate<InventoryItem> parseItemNumberSelection(String itemNumbersString) {
+        Set<Integer> itemNumbers = new HashSet<>();
+        List<int[]> ranges = new ArrayList<>();
+        for (String part : itemNumbersString.split(",")) {
+            String[] bounds = part.trim().split("\\s*-\\s*", -1);
+            try {
+                if (bounds.length == 1 && bounds[0].matches("\\d+")) {
+                    itemNumbers.add(Integer.parseInt(bounds[0]));
+                    continue;
+                }
+                if (bounds.length == 2 && bounds[0].matches("\\d+") && bounds[1].matches("\\d+")) {
+                    int first = Integer.parseInt(bounds[0]);
+                    int last = Integer.parseInt(bounds[1]);
+                    if (first <= last) {
+                        ranges.add(new int[] { first, last });
+                        continue;
+                    }
+                }
+            } catch (NumberFormatException e) {
+                // Too large to be an item number; reported below
+            }
+            JOptionPane.showMessageDialog(null,
+                    "Invalid item numbers '" + part.trim()
+                            + "'! Enter item numbers or ranges separated by commas (ex: 101, 105-110).",
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return null; // Exit method
+        }
+
+        return item -> {
+            int itemNumber = item.getItemNumber();
+            if (itemNumbers.contains(itemNumber)) {
+                return true;
+            }
+            for (int[] range : ranges) {
+                if (itemNumber >= range[0] && itemNumber <= range[1]) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
 }
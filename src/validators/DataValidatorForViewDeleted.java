@@ -1,10 +1,10 @@
 package src.validators;
 
-import java.util.List;
+import java.util.Collection;
 
 import javax.swing.JOptionPane;
-import javax.swing.JTextArea;
 
+import src.gui_components.InventoryTable;
 import src.model.InventoryItem;
 
 public class DataValidatorForViewDeleted {
@@ -13,17 +13,17 @@ public class DataValidatorForViewDeleted {
      * Method to validate if the list of deleted items is empty
      * 
      * @param deletedItems      - the list of deleted items
-     * @param inventoryTextArea - the text area to display the message
+     * @param inventoryTable    - the table to display the message
      * @return - true if the list of deleted items is empty, false if not
      */
-    public static boolean isDeletedItemsListEmpty(List<InventoryItem> deletedItems, JTextArea inventoryTextArea) {
+    public static boolean isDeletedItemsListEmpty(Collection<InventoryItem> deletedItems, InventoryTable inventoryTable) {
 
         // check if list is empthy, if so, display messages and exit method
         if (deletedItems.isEmpty()) {
 
-            // Set text area to display message
-            inventoryTextArea
-                    .setText(" No items founds in deleted section. :() \n\n Please delete items to see them here.");
+            // Set table to display message
+            inventoryTable
+                    .setPlaceholderText(" No items founds in deleted section. :() \n\n Please delete items to see them here.");
 
             // Display dialog message
             JOptionPane.showMessageDialog(
@@ -1,10 +1,10 @@
 package src.validators;
 
-import java.util.List;
+import java.util.Collection;
 
 import javax.swing.JOptionPane;
-import javax.swing.JTextArea;
 
+import src.gui_components.InventoryTable;
 import src.model.InventoryItem;
 
 public class DataValidatorForViewInventory {
@@ -13,18 +13,18 @@ public class DataValidatorForViewInventory {
      * Method to validate if the list of inventory items is empty
      * 
      * @param inventoryItemsList - the list of inventory items
-     * @param inventoryTextArea  - the text area to display the message
+     * @param inventoryTable     - the table to display the message
      * @return - true if the list of inventory items is empty, false if not
      */
-    public static boolean isInventoryItemsListEmpty(List<InventoryItem> inventoryItemsList,
-            JTextArea inventoryTextArea) {
+    public static boolean isInventoryItemsListEmpty(Collection<InventoryItem> inventoryItemsList,
+            InventoryTable inventoryTable) {
 
         // check if list is empty, if so, display message and exit method
         if (inventoryItemsList.isEmpty()) {
 
-            // Set text area to display message
-            inventoryTextArea
-                    .setText(" No items founds in the inventory. :() \n\n Please add items to the inventory.");
+            // Set table to display message
+            inventoryTable
+                    .setPlaceholderText(" No items founds in the inventory. :() \n\n Please add items to the inventory.");
 
             // Display dialog message
             JOptionPane.showMessageDialog(